@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.assets;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/23/2026 at 2:10 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.utils.asset.AssetLocation;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+public class AssetHandle<T> {
+
+    private final AssetLocation location;
+    private final T placeholder;
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+
+    public AssetHandle(AssetLocation location, T placeholder) {
+        this.location = location;
+        this.placeholder = placeholder;
+    }
+
+    /**
+     * Runs the action on the render thread once the asset is uploaded
+     * If the asset is already uploaded the action runs immediately
+     * @param action Action
+     * @return AssetHandle
+     */
+    public AssetHandle<T> whenReady(Consumer<T> action) {
+        future.thenAccept(action);
+        return this;
+    }
+
+    /**
+     * Sets the uploaded asset
+     * @param asset Uploaded asset
+     */
+    public void complete(T asset) {
+        future.complete(asset);
+    }
+
+    /**
+     * Marks the asset as failed. The placeholder is used forever
+     * @param throwable Cause
+     */
+    public void fail(Throwable throwable) {
+        future.completeExceptionally(throwable);
+    }
+
+    /**
+     * @return Uploaded asset or the placeholder if the asset is not ready yet
+     */
+    public T get() {
+        return isReady() ? future.join() : placeholder;
+    }
+
+    /**
+     * @return If the asset is uploaded
+     */
+    public boolean isReady() {
+        return future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    /**
+     * @return If the asset could not be loaded
+     */
+    public boolean isFailed() {
+        return future.isCompletedExceptionally();
+    }
+
+    /**
+     * @return Future that is completed on the render thread
+     */
+    public CompletableFuture<T> getFuture() {
+        return future;
+    }
+
+    /**
+     * @return Location of the asset
+     */
+    public AssetLocation getLocation() {
+        return location;
+    }
+
+    /**
+     * @return Placeholder used until the asset is ready
+     */
+    public T getPlaceholder() {
+        return placeholder;
+    }
+
+}
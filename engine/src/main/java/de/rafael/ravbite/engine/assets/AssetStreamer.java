@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.assets;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/23/2026 at 3:10 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.models.ModelUtils;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+import de.rafael.ravbite.engine.sound.utils.Sound;
+import de.rafael.ravbite.utils.asset.AssetLocation;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AssetStreamer {
+
+    public static final long DEFAULT_TIME_BUDGET = 2_000_000L;
+    public static final long DEFAULT_BYTE_BUDGET = 8 * 1024 * 1024;
+    public static final int DEFAULT_PART_SIZE = 256 * 1024;
+
+    private static final ThreadLocal<Boolean> LOADER_THREAD = ThreadLocal.withInitial(() -> false);
+
+    private final EngineView engineView;
+    private final ConcurrentLinkedQueue<PendingUpload<?>> uploads = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger loading = new AtomicInteger();
+    private ExecutorService executor;
+
+    private PendingUpload<?> current;
+
+    // Budget of the upload stage per frame
+    public long timeBudget = DEFAULT_TIME_BUDGET;
+    public long byteBudget = DEFAULT_BYTE_BUDGET;
+    public int partSize = DEFAULT_PART_SIZE;
+    public int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    private long lastUploadTime = 0;
+    private long lastUploadBytes = 0;
+
+    public AssetStreamer(EngineView engineView) {
+        this.engineView = engineView;
+    }
+
+    /**
+     * Sets the maximum time the upload stage may take per frame
+     * @param timeBudget Time in nanoseconds
+     * @return AssetStreamer
+     */
+    public AssetStreamer timeBudget(long timeBudget) {
+        this.timeBudget = timeBudget;
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of bytes uploaded per frame
+     * @param byteBudget Bytes
+     * @return AssetStreamer
+     */
+    public AssetStreamer byteBudget(long byteBudget) {
+        this.byteBudget = byteBudget;
+        return this;
+    }
+
+    /**
+     * Sets the maximum size of one part of a texture or mesh upload
+     * @param partSize Bytes
+     * @return AssetStreamer
+     */
+    public AssetStreamer partSize(int partSize) {
+        this.partSize = partSize;
+        return this;
+    }
+
+    /**
+     * Sets the amount of loader threads. Has to be set before the first asset is loaded
+     * @param threads Amount of threads
+     * @return AssetStreamer
+     */
+    public AssetStreamer threads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Loads a PNG texture. The default texture is used until it is uploaded
+     * @param location Location of the texture
+     * @return Handle of the textureId
+     */
+    public AssetHandle<Integer> loadTexture(AssetLocation location) {
+        return load(location, engineView.getDefaultTexture(), () -> new TextureUpload(engineView, location.inputStream(), partSize));
+    }
+
+    /**
+     * Loads a Ogg Vorbis sound
+     * @param location Location of the sound
+     * @return Handle of the sound. The placeholder is null
+     */
+    public AssetHandle<Sound> loadSound(AssetLocation location) {
+        return load(location, null, () -> new SoundUpload(engineView, location));
+    }
+
+    /**
+     * Imports a model or loads it from the MeshCache. Textures of the materials are streamed with loadTexture()
+     * Add the MeshComponent in whenReady() to render the model once all meshes are stored
+     * @param location Location of the model
+     * @return Handle of the mesh. The placeholder is null
+     */
+    public AssetHandle<Mesh> loadModel(AssetLocation location) {
+        return load(location, null, () -> {
+            Mesh mesh = ModelUtils.rbLoadModel(location, engineView);
+            if(mesh == null) throw new IllegalStateException("Could not load model " + location.getPath(false));
+            return new MeshUpload(engineView, mesh, partSize);
+        });
+    }
+
+    /**
+     * Runs the loader on a loader thread and uploads the result in the upload stage of the following frames
+     * @param location Location of the asset
+     * @param placeholder Used until the asset is uploaded
+     * @param loader Reads and decodes the asset without touching OpenGL or OpenAL
+     * @return Handle of the asset
+     */
+    public <T> AssetHandle<T> load(AssetLocation location, T placeholder, Callable<AssetUpload<T>> loader) {
+        AssetHandle<T> handle = new AssetHandle<>(location, placeholder);
+        loading.incrementAndGet();
+        getExecutor().execute(() -> {
+            try {
+                uploads.add(new PendingUpload<>(handle, loader.call()));
+            } catch (Exception exception) {
+                exception.printStackTrace();
+                handle.fail(exception);
+            } finally {
+                loading.decrementAndGet();
+            }
+        });
+        return handle;
+    }
+
+    /**
+     * Queues an already decoded asset for the upload stage. Can be called on any thread
+     * @param handle Handle that is completed after the upload
+     * @param upload Decoded asset
+     */
+    public <T> void queue(AssetHandle<T> handle, AssetUpload<T> upload) {
+        uploads.add(new PendingUpload<>(handle, upload));
+    }
+
+    /**
+     * Uploads decoded assets part by part until the time or byte budget of the frame is used up
+     * The first part of a frame is always uploaded so parts that are larger than the byte budget still finish
+     * Called on the render thread at the end of every frame
+     */
+    public void processUploads() {
+        long start = System.nanoTime();
+        long deadline = start + timeBudget;
+        long bytes = 0;
+        while (true) {
+            if(current == null) {
+                current = uploads.poll();
+                if(current == null) break;
+            }
+            try {
+                bytes += current.upload.uploadNext();
+                if(current.upload.isDone()) {
+                    current.complete();
+                    current = null;
+                }
+            } catch (Exception exception) {
+                exception.printStackTrace();
+                current.fail(exception);
+                current = null;
+            }
+            if(bytes >= byteBudget || System.nanoTime() >= deadline) break;
+        }
+        lastUploadBytes = bytes;
+        lastUploadTime = System.nanoTime() - start;
+    }
+
+    /**
+     * Stops the loader threads and frees all decoded assets that are not uploaded
+     */
+    public void shutdown() {
+        if(executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        if(current != null) {
+            current.upload.free();
+            current = null;
+        }
+        PendingUpload<?> pendingUpload;
+        while ((pendingUpload = uploads.poll()) != null) {
+            pendingUpload.upload.free();
+        }
+    }
+
+    private ExecutorService getExecutor() {
+        if(executor == null) {
+            AtomicInteger count = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(() -> {
+                    LOADER_THREAD.set(true);
+                    runnable.run();
+                }, "Ravbite-Loader-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * @return If the current thread is a loader thread of an AssetStreamer
+     */
+    public static boolean isLoaderThread() {
+        return LOADER_THREAD.get();
+    }
+
+    /**
+     * @return If assets are loaded or waiting for the upload
+     */
+    public boolean isBusy() {
+        return loading.get() > 0 || current != null || !uploads.isEmpty();
+    }
+
+    /**
+     * @return Assets that are read or decoded right now
+     */
+    public int getLoadingCount() {
+        return loading.get();
+    }
+
+    /**
+     * @return Decoded assets that wait for the upload
+     */
+    public int getPendingUploads() {
+        return uploads.size() + (current != null ? 1 : 0);
+    }
+
+    /**
+     * @return Time of the last upload stage in nanoseconds
+     */
+    public long getLastUploadTime() {
+        return lastUploadTime;
+    }
+
+    /**
+     * @return Bytes uploaded in the last upload stage
+     */
+    public long getLastUploadBytes() {
+        return lastUploadBytes;
+    }
+
+    private record PendingUpload<T>(AssetHandle<T> handle, AssetUpload<T> upload) {
+
+        void complete() {
+            upload.free();
+            handle.complete(upload.getResult());
+        }
+
+        void fail(Exception exception) {
+            upload.free();
+            handle.fail(exception);
+        }
+
+    }
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.assets;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/23/2026 at 2:45 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.PackedMesh;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.StoredMesh;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.VertexLayout;
+import de.rafael.ravbite.engine.graphics.utils.DataWatcher;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MeshUpload implements AssetUpload<Mesh> {
+
+    private final EngineView engineView;
+    private final Mesh mesh;
+    private final int partSize;
+    private final List<Mesh> meshes = new ArrayList<>();
+    private int index = 0;
+
+    // Mesh that is uploaded in several parts
+    private Mesh current = null;
+    private PackedMesh packedMesh;
+    private ByteBuffer packedData = null;
+    private int vao, vertexBuffer, indexBuffer;
+    private int uploadedVertexBytes, uploadedIndexBytes;
+    private int generation;
+
+    /**
+     * @param engineView EngineView
+     * @param mesh Loaded mesh with its subMeshes and LODs
+     * @param partSize Maximum bytes uploaded by one part
+     */
+    public MeshUpload(EngineView engineView, Mesh mesh, int partSize) {
+        this.engineView = engineView;
+        this.mesh = mesh;
+        this.partSize = partSize;
+        addMeshes(mesh);
+    }
+
+    private void addMeshes(Mesh mesh) {
+        meshes.add(mesh);
+        for (Mesh subMesh : mesh.getSubMeshes()) {
+            addMeshes(subMesh);
+        }
+        for (int i = 1; i <= mesh.getLodCount(); i++) {
+            addMeshes(mesh.getLod(i));
+        }
+    }
+
+    /**
+     * Every subMesh and LOD is stored in its own part
+     * A mesh bigger than the part size allocates its buffers first and uploads the vertices and indices in parts of the part size
+     * @return Amount of uploaded bytes
+     */
+    @Override
+    public long uploadNext() {
+        DataWatcher dataWatcher = engineView.getDataWatcher();
+        if(current != null) {
+            // The buffers were deleted with the scene, so the mesh starts again
+            if(generation != dataWatcher.getGeneration(DataWatcher.DataScope.SCENE)) begin();
+            return uploadPart();
+        }
+
+        Mesh next = meshes.get(index);
+        if(next.getStoredMesh() != null && next.getStoredMesh().isAlive(dataWatcher)) {
+            index++;
+            return 0;
+        }
+        if(getBytes(next) <= partSize) {
+            index++;
+            next.store(engineView);
+            return next.getStoredMesh().getGpuBytes();
+        }
+        current = next;
+        begin();
+        return 0;
+    }
+
+    private static long getBytes(Mesh mesh) {
+        PackedMesh packedMesh = mesh.getPackedMesh();
+        if(packedMesh != null) return (long) packedMesh.getVertexData().remaining() + packedMesh.getIndexData().remaining();
+        VertexLayout layout = mesh.getVertexLayout();
+        return (long) layout.getVertexBytes(mesh) + layout.getIndexBytes(mesh);
+    }
+
+    /**
+     * Packs the current mesh if it has no packed data and allocates its buffers
+     */
+    private void begin() {
+        if(packedMesh == null) {
+            packedMesh = current.getPackedMesh();
+            if(packedMesh == null) {
+                VertexLayout layout = current.getVertexLayout();
+                int vertexCount = current.getVertices().length / 3;
+                int vertexBytes = layout.getVertexBytes(current);
+                int indexBytes = layout.getIndexBytes(current);
+                packedData = MemoryUtil.memAlloc(vertexBytes + indexBytes);
+                layout.writeVertices(current, packedData);
+                layout.writeIndices(current, packedData);
+                packedData.flip();
+                packedMesh = new PackedMesh(MemoryUtil.memSlice(packedData, 0, vertexBytes), MemoryUtil.memSlice(packedData, vertexBytes, indexBytes),
+                        vertexCount, current.getIndices().length, layout.getIndexType(vertexCount), layout.hasTangents(current));
+            }
+        }
+
+        DataWatcher dataWatcher = engineView.getDataWatcher();
+        generation = dataWatcher.getGeneration(DataWatcher.DataScope.SCENE);
+        vao = engineView.getUtils().glCreateVAO(DataWatcher.DataScope.SCENE);
+        dataWatcher.getResource(DataWatcher.DataType.VAO, vao).owner("MeshUpload");
+        indexBuffer = GL15.glGenBuffers();
+        dataWatcher.glVbo(DataWatcher.DataScope.SCENE, indexBuffer).owner("MeshUpload").bytes(packedMesh.getIndexData().remaining());
+        GL15.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, indexBuffer);
+        GL15.glBufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, packedMesh.getIndexData().remaining(), GL15.GL_STATIC_DRAW);
+        engineView.getUtils().glUnbindVAO();
+
+        vertexBuffer = GL15.glGenBuffers();
+        dataWatcher.glVbo(DataWatcher.DataScope.SCENE, vertexBuffer).owner("MeshUpload").bytes(packedMesh.getVertexData().remaining());
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vertexBuffer);
+        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, packedMesh.getVertexData().remaining(), GL15.GL_STATIC_DRAW);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+        uploadedVertexBytes = 0;
+        uploadedIndexBytes = 0;
+    }
+
+    /**
+     * Uploads the next part of the vertices or indices of the current mesh. The last part binds the attributes
+     * @return Amount of uploaded bytes
+     */
+    private long uploadPart() {
+        ByteBuffer vertexData = packedMesh.getVertexData();
+        if(uploadedVertexBytes < vertexData.remaining()) {
+            int bytes = Math.min(partSize, vertexData.remaining() - uploadedVertexBytes);
+            GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vertexBuffer);
+            GL15.nglBufferSubData(GL15.GL_ARRAY_BUFFER, uploadedVertexBytes, bytes, MemoryUtil.memAddress(vertexData) + uploadedVertexBytes);
+            GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+            uploadedVertexBytes += bytes;
+            return bytes;
+        }
+
+        ByteBuffer indexData = packedMesh.getIndexData();
+        GL30.glBindVertexArray(vao);
+        if(uploadedIndexBytes < indexData.remaining()) {
+            // The index buffer is bound to the VAO
+            int bytes = Math.min(partSize, indexData.remaining() - uploadedIndexBytes);
+            GL15.nglBufferSubData(GL15.GL_ELEMENT_ARRAY_BUFFER, uploadedIndexBytes, bytes, MemoryUtil.memAddress(indexData) + uploadedIndexBytes);
+            engineView.getUtils().glUnbindVAO();
+            uploadedIndexBytes += bytes;
+            return bytes;
+        }
+
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vertexBuffer);
+        current.getVertexLayout().bindAttributes(packedMesh.hasTangents());
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+        engineView.getUtils().glUnbindVAO();
+
+        int gpuBytes = vertexData.remaining() + indexData.remaining();
+        int fullBytes = VertexLayout.FULL.getStride(packedMesh.hasTangents()) * packedMesh.getVertexCount() + packedMesh.getIndexCount() * Integer.BYTES;
+        current.setStoredMesh(new StoredMesh(vao, packedMesh.getIndexCount(), packedMesh.getIndexType(), gpuBytes, fullBytes - gpuBytes)
+                .buffers(vertexBuffer, indexBuffer)
+                .scope(DataWatcher.DataScope.SCENE, generation));
+        free();
+        current = null;
+        index++;
+        return 0;
+    }
+
+    @Override
+    public boolean isDone() {
+        return index >= meshes.size();
+    }
+
+    @Override
+    public Mesh getResult() {
+        return mesh;
+    }
+
+    @Override
+    public void free() {
+        packedMesh = null;
+        if(packedData != null) {
+            MemoryUtil.memFree(packedData);
+            packedData = null;
+        }
+    }
+
+}
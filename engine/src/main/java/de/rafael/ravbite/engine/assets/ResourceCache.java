@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.assets;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/24/2026 at 10:40 AM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.models.ModelUtils;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.StoredMesh;
+import de.rafael.ravbite.engine.graphics.utils.DataWatcher;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+import de.rafael.ravbite.engine.sound.utils.Sound;
+import de.rafael.ravbite.utils.asset.AssetLocation;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Consumer;
+
+public class ResourceCache {
+
+    public static final long DEFAULT_MEMORY_CAP = 512L * 1024 * 1024;
+
+    private final EngineView engineView;
+
+    // Access order so the first entry is the least recently used one
+    private final LinkedHashMap<String, Entry<?>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Deque<Entry<?>> loadingEntries = new ArrayDeque<>();
+    private final List<ResourceHandle<?>> sceneHandles = new ArrayList<>();
+
+    // Unreferenced resources are evicted while the cache is larger
+    public long memoryCap = DEFAULT_MEMORY_CAP;
+
+    private long memoryUsage = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    private final ResourceType<Integer> textureType;
+    private final ResourceType<Sound> soundType;
+    private final ResourceType<Mesh> modelType;
+
+    /**
+     * Has to be used on the render thread
+     * @param engineView EngineView
+     */
+    public ResourceCache(EngineView engineView) {
+        this.engineView = engineView;
+        this.textureType = new ResourceType<>() {
+            @Override
+            public Integer load(AssetLocation location) throws IOException {
+                return engineView.getUtils().rbLoadTexture(location, DataWatcher.DataScope.CACHE);
+            }
+
+            @Override
+            public long getBytes(Integer texture) {
+                return engineView.getDataWatcher().getResource(DataWatcher.DataType.TEXTURE, texture).getBytes();
+            }
+
+            @Override
+            public void release(Integer texture) {
+                engineView.getDataWatcher().rbDeleteTexture(DataWatcher.DataScope.CACHE, texture);
+            }
+        };
+        this.soundType = new ResourceType<>() {
+            @Override
+            public Sound load(AssetLocation location) {
+                return engineView.getUtils().alLoadSound(location, DataWatcher.DataScope.CACHE);
+            }
+
+            @Override
+            public long getBytes(Sound sound) {
+                return engineView.getDataWatcher().getResource(DataWatcher.DataType.SOUND_BUFFER, sound.soundId()).getBytes();
+            }
+
+            @Override
+            public void release(Sound sound) {
+                engineView.getDataWatcher().alDeleteBuffer(DataWatcher.DataScope.CACHE, sound.soundId());
+            }
+        };
+        this.modelType = new ResourceType<>() {
+            @Override
+            public Mesh load(AssetLocation location) throws IOException {
+                Mesh mesh = ModelUtils.rbLoadModel(location, engineView);
+                if(mesh == null) throw new IOException("Could not load model " + location);
+                mesh.storeMeshes(engineView, DataWatcher.DataScope.CACHE);
+                return mesh;
+            }
+
+            @Override
+            public long getBytes(Mesh mesh) {
+                long[] bytes = {0};
+                forEachMesh(mesh, subMesh -> {
+                    if(subMesh.getStoredMesh() != null) bytes[0] += subMesh.getStoredMesh().getGpuBytes();
+                });
+                return bytes[0];
+            }
+
+            @Override
+            public void release(Mesh mesh) {
+                forEachMesh(mesh, subMesh -> {
+                    StoredMesh storedMesh = subMesh.getStoredMesh();
+                    if(storedMesh != null && storedMesh.getDataScope() == DataWatcher.DataScope.CACHE) {
+                        storedMesh.delete(engineView.getDataWatcher());
+                        subMesh.setStoredMesh(null);
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Sets the memory unreferenced resources may use before they are evicted
+     * @param memoryCap Bytes
+     * @return ResourceCache
+     */
+    public ResourceCache memoryCap(long memoryCap) {
+        this.memoryCap = memoryCap;
+        trim();
+        return this;
+    }
+
+    /**
+     * @param location Location of a PNG texture
+     * @return Handle of the textureId
+     * @throws IOException If the texture can't be loaded
+     */
+    public ResourceHandle<Integer> texture(AssetLocation location) throws IOException {
+        return acquire("texture#" + location.getCanonicalKey(), location, textureType);
+    }
+
+    /**
+     * @param location Location of a Ogg Vorbis sound
+     * @return Handle of the sound
+     * @throws IOException If the sound can't be loaded
+     */
+    public ResourceHandle<Sound> sound(AssetLocation location) throws IOException {
+        return acquire("sound#" + location.getCanonicalKey(), location, soundType);
+    }
+
+    /**
+     * The meshes are stored in OpenGL when the model is loaded. Textures of the materials are released with the model
+     * @param location Location of a model
+     * @return Handle of the mesh
+     * @throws IOException If the model can't be loaded
+     */
+    public ResourceHandle<Mesh> model(AssetLocation location) throws IOException {
+        return acquire("model#" + ModelUtils.IMPORT_FLAGS + "#" + location.getCanonicalKey(), location, modelType);
+    }
+
+    /**
+     * Returns a new handle of a cached resource or loads it
+     * @param key Key of the resource including the options it was loaded with
+     * @param location Location of the resource
+     * @param type Loads and releases the resource
+     * @return Handle that has to be released if the resource isn't needed anymore
+     * @throws IOException If the resource can't be loaded
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResourceHandle<T> acquire(String key, AssetLocation location, ResourceType<T> type) throws IOException {
+        Entry<T> entry = (Entry<T>) entries.get(key);
+        if(entry != null) {
+            hits++;
+        } else {
+            misses++;
+            entry = new Entry<>(key, type);
+            loadingEntries.push(entry);
+            try {
+                entry.resource = type.load(location);
+            } catch (IOException | RuntimeException exception) {
+                entry.releaseDependencies();
+                throw exception;
+            } finally {
+                loadingEntries.pop();
+            }
+            entry.bytes = type.getBytes(entry.resource);
+            entries.put(key, entry);
+            memoryUsage += entry.bytes;
+        }
+        entry.references++;
+        ResourceHandle<T> handle = new ResourceHandle<>(this, entry);
+        trim();
+        return handle;
+    }
+
+    /**
+     * Gives a handle an owner. Handles acquired while a resource is loaded are released with that resource
+     * Other handles are released when the scene is changed
+     * @param handle Handle
+     * @return Handle
+     */
+    public <T> ResourceHandle<T> bind(ResourceHandle<T> handle) {
+        Entry<?> loading = loadingEntries.peek();
+        if(loading != null) {
+            loading.dependencies.add(handle);
+        } else {
+            sceneHandles.add(handle);
+        }
+        return handle;
+    }
+
+    /**
+     * Releases all handles bound to the scene. Resources that are still referenced survive the scene change
+     */
+    public void releaseSceneHandles() {
+        List<ResourceHandle<?>> handles = new ArrayList<>(sceneHandles);
+        sceneHandles.clear();
+        for (ResourceHandle<?> handle : handles) {
+            handle.release();
+        }
+    }
+
+    void release(Entry<?> entry) {
+        entry.references--;
+        if(entry.references == 0) trim();
+    }
+
+    /**
+     * Evicts the least recently used unreferenced resources until the cache fits into the memoryCap
+     */
+    public void trim() {
+        evict(memoryCap);
+    }
+
+    /**
+     * Evicts all unreferenced resources
+     */
+    public void clear() {
+        evict(-1);
+    }
+
+    private void evict(long cap) {
+        while (memoryUsage > cap) {
+            Entry<?> victim = null;
+            for (Entry<?> entry : entries.values()) {
+                if(entry.references == 0) {
+                    victim = entry;
+                    break;
+                }
+            }
+            if(victim == null) return;
+            entries.remove(victim.key);
+            memoryUsage -= victim.bytes;
+            evictions++;
+            victim.free();
+        }
+    }
+
+    /**
+     * @param key Key of the resource
+     * @return If the resource is cached
+     */
+    public boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * @return Amount of cached resources
+     */
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * @return Estimated memory of all cached resources in bytes
+     */
+    public long getMemoryUsage() {
+        return memoryUsage;
+    }
+
+    /**
+     * @return Requests that returned a cached resource
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return Requests that had to load the resource
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return Resources that were evicted
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    private static void forEachMesh(Mesh mesh, Consumer<Mesh> action) {
+        action.accept(mesh);
+        for (Mesh subMesh : mesh.getSubMeshes()) {
+            forEachMesh(subMesh, action);
+        }
+        for (int i = 1; i <= mesh.getLodCount(); i++) {
+            forEachMesh(mesh.getLod(i), action);
+        }
+    }
+
+    static class Entry<T> {
+
+        final String key;
+        final ResourceType<T> type;
+        final List<ResourceHandle<?>> dependencies = new ArrayList<>();
+        T resource;
+        long bytes;
+        int references = 0;
+
+        Entry(String key, ResourceType<T> type) {
+            this.key = key;
+            this.type = type;
+        }
+
+        void free() {
+            type.release(resource);
+            releaseDependencies();
+        }
+
+        void releaseDependencies() {
+            for (ResourceHandle<?> dependency : dependencies) {
+                dependency.release();
+            }
+            dependencies.clear();
+        }
+
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.assets;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/24/2026 at 10:10 AM
+// In the project Ravbite
+//
+//------------------------------
+
+public class ResourceHandle<T> implements AutoCloseable {
+
+    private final ResourceCache cache;
+    private final ResourceCache.Entry<T> entry;
+    private boolean released = false;
+
+    ResourceHandle(ResourceCache cache, ResourceCache.Entry<T> entry) {
+        this.cache = cache;
+        this.entry = entry;
+    }
+
+    /**
+     * @return Cached resource
+     * @throws IllegalStateException If the handle was released
+     */
+    public T get() {
+        if(released) throw new IllegalStateException("Resource " + entry.key + " was released");
+        return entry.resource;
+    }
+
+    /**
+     * Drops the reference. The resource stays cached until it is evicted
+     * Calling release() more than once has no effect
+     */
+    public void release() {
+        if(released) return;
+        released = true;
+        cache.release(entry);
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+
+    /**
+     * @return If the handle was released
+     */
+    public boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * @return Key of the resource in the cache
+     */
+    public String getKey() {
+        return entry.key;
+    }
+
+}
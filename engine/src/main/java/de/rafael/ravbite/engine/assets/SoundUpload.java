@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.assets;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/23/2026 at 2:40 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.utils.DataWatcher;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+import de.rafael.ravbite.engine.sound.utils.Sound;
+import de.rafael.ravbite.utils.asset.AssetLocation;
+import org.lwjgl.openal.AL10;
+import org.lwjgl.stb.STBVorbisInfo;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ShortBuffer;
+
+public class SoundUpload implements AssetUpload<Sound> {
+
+    private final EngineView engineView;
+    private final AssetLocation location;
+    private final int channels;
+    private final int sampleRate;
+
+    private ShortBuffer pcm;
+    private Sound sound;
+
+    /**
+     * Decodes the Ogg Vorbis file. Called on a loader thread
+     * @param engineView EngineView
+     * @param location Location of the file
+     * @throws Exception If the file can't be read or decoded
+     */
+    public SoundUpload(EngineView engineView, AssetLocation location) throws Exception {
+        this.engineView = engineView;
+        this.location = location;
+        try (STBVorbisInfo info = STBVorbisInfo.malloc()) {
+            this.pcm = engineView.getUtils().alDecodeSound(location, info);
+            this.channels = info.channels();
+            this.sampleRate = info.sample_rate();
+        }
+    }
+
+    /**
+     * OpenAL copies static buffers at once so a sound is uploaded in one part
+     * @return Amount of uploaded bytes
+     */
+    @Override
+    public long uploadNext() {
+        int buffer = AL10.alGenBuffers();
+        AL10.alBufferData(buffer, channels == 1 ? AL10.AL_FORMAT_MONO16 : AL10.AL_FORMAT_STEREO16, pcm, sampleRate);
+        engineView.getDataWatcher().alBuffer(DataWatcher.DataScope.SCENE, buffer).owner(location.toString()).bytes(pcm.remaining() * 2L);
+        sound = new Sound(buffer, location);
+        return pcm.remaining() * 2L;
+    }
+
+    @Override
+    public boolean isDone() {
+        return sound != null;
+    }
+
+    @Override
+    public Sound getResult() {
+        return sound;
+    }
+
+    @Override
+    public void free() {
+        if(pcm != null) {
+            MemoryUtil.memFree(pcm);
+            pcm = null;
+        }
+    }
+
+}
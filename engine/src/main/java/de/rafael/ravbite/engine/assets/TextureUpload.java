@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.assets;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/23/2026 at 2:30 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.matthiasmann.twl.utils.PNGDecoder;
+import de.rafael.ravbite.engine.graphics.utils.DataWatcher;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.system.MemoryUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+public class TextureUpload implements AssetUpload<Integer> {
+
+    private final EngineView engineView;
+    private final int width, height;
+    private final int rowsPerPart;
+
+    private ByteBuffer pixels;
+    private int textureId = -1;
+    private int uploadedRows = 0;
+    private boolean done = false;
+
+    /**
+     * Decodes the PNG image. Called on a loader thread
+     * @param engineView EngineView
+     * @param inputStream Image data as InputStream
+     * @param partSize Maximum bytes uploaded by one part
+     * @throws IOException If the image can't be read
+     */
+    public TextureUpload(EngineView engineView, InputStream inputStream, int partSize) throws IOException {
+        this.engineView = engineView;
+        try (inputStream) {
+            PNGDecoder decoder = new PNGDecoder(inputStream);
+            this.width = decoder.getWidth();
+            this.height = decoder.getHeight();
+            this.pixels = MemoryUtil.memAlloc(4 * width * height);
+            try {
+                decoder.decode(pixels, width * 4, PNGDecoder.Format.RGBA);
+            } catch (IOException exception) {
+                MemoryUtil.memFree(pixels);
+                throw exception;
+            }
+            pixels.flip();
+        }
+        this.rowsPerPart = Math.max(1, partSize / (width * 4));
+    }
+
+    /**
+     * The first part allocates the texture, the following parts upload the rows and the last part generates the mipmaps
+     * @return Amount of uploaded bytes
+     */
+    @Override
+    public long uploadNext() {
+        if(textureId == -1) {
+            textureId = GL11.glGenTextures();
+            GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+            GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA, width, height, 0, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, (ByteBuffer) null);
+            // RGBA with mipmaps
+            engineView.getDataWatcher().glTexture(DataWatcher.DataScope.SCENE, textureId).owner("TextureUpload").bytes(4L * width * height * 4 / 3);
+            return 0;
+        }
+
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+        if(uploadedRows < height) {
+            int rows = Math.min(rowsPerPart, height - uploadedRows);
+            GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
+            GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, 0, uploadedRows, width, rows, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, MemoryUtil.memSlice(pixels, uploadedRows * width * 4, rows * width * 4));
+            uploadedRows += rows;
+            return (long) rows * width * 4;
+        }
+
+        engineView.getUtils().rbGenerateMipmaps();
+        done = true;
+        // The mipmap chain is a third of the base level
+        return (long) width * height * 4 / 3;
+    }
+
+    @Override
+    public boolean isDone() {
+        return done;
+    }
+
+    @Override
+    public Integer getResult() {
+        return textureId;
+    }
+
+    @Override
+    public void free() {
+        if(pixels != null) {
+            MemoryUtil.memFree(pixels);
+            pixels = null;
+        }
+    }
+
+}
@@ -38,6 +38,7 @@ package de.rafael.ravbite.engine.graphics.buffer;
 //
 //------------------------------
 
+import de.rafael.ravbite.engine.graphics.utils.DataWatcher;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL14;
 import org.lwjgl.opengl.GL30;
@@ -47,6 +48,9 @@ import java.nio.ByteBuffer;
 
 public class FrameBuffer {
 
+    private final DataWatcher dataWatcher;
+    private final DataWatcher.DataScope dataScope;
+
     private int frameBuffer;
     private int width, height;
 
@@ -56,6 +60,19 @@ public class FrameBuffer {
     private int depthTexture;
 
     public FrameBuffer(int width, int height) {
+        this(null, null, width, height);
+    }
+
+    /**
+     * Creates a framebuffer whose attachments are tracked by the DataWatcher
+     * @param dataWatcher DataWatcher the attachments are registered in
+     * @param dataScope Scope the attachments are deleted with
+     * @param width Width
+     * @param height Height
+     */
+    public FrameBuffer(DataWatcher dataWatcher, DataWatcher.DataScope dataScope, int width, int height) {
+        this.dataWatcher = dataWatcher;
+        this.dataScope = dataScope;
         this.width = width;
         this.height = height;
     }
@@ -75,12 +92,28 @@ public class FrameBuffer {
         depthTextureAttachment();
 
         GL30.glBindFramebuffer(GL30.GL_FRAMEBUFFER, 0);
+
+        if(dataWatcher != null) {
+            long pixels = (long) width * height;
+            dataWatcher.track(DataWatcher.DataType.FRAMEBUFFER, dataScope, frameBuffer).owner("FrameBuffer");
+            dataWatcher.track(DataWatcher.DataType.TEXTURE, dataScope, colorTexture).owner("FrameBuffer").bytes(pixels * 4);
+            dataWatcher.track(DataWatcher.DataType.TEXTURE, dataScope, depthTexture).owner("FrameBuffer").bytes(pixels * 4);
+            dataWatcher.track(DataWatcher.DataType.RENDERBUFFER, dataScope, depthBuffer).owner("FrameBuffer").bytes(pixels * 4);
+        }
     }
 
     /**
      * Disposes of the framebuffer
      */
     public void dispose() {
+        if(dataWatcher != null) {
+            // Objects of a cleaned up scope are not tracked anymore and are skipped
+            dataWatcher.release(DataWatcher.DataType.FRAMEBUFFER, frameBuffer);
+            dataWatcher.release(DataWatcher.DataType.TEXTURE, colorTexture);
+            dataWatcher.release(DataWatcher.DataType.TEXTURE, depthTexture);
+            dataWatcher.release(DataWatcher.DataType.RENDERBUFFER, depthBuffer);
+            return;
+        }
         GL30.glDeleteFramebuffers(frameBuffer);
         GL11.glDeleteTextures(colorTexture);
         GL11.glDeleteTextures(depthTexture);
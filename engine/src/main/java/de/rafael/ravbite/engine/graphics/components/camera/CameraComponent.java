@@ -40,8 +40,12 @@ package de.rafael.ravbite.engine.graphics.components.camera;
 import de.rafael.ravbite.engine.graphics.buffer.FrameBuffer;
 import de.rafael.ravbite.engine.graphics.components.classes.Component;
 import de.rafael.ravbite.engine.graphics.components.classes.ISizeDependent;
+import de.rafael.ravbite.engine.graphics.components.transform.Transform;
 import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.utils.DataWatcher;
 import de.rafael.ravbite.engine.graphics.view.EngineView;
+import de.rafael.ravbite.engine.utils.math.BoundingSphere;
+import de.rafael.ravbite.engine.utils.math.Maths;
 import org.apache.commons.lang3.ArrayUtils;
 import org.joml.Matrix4f;
 
@@ -52,8 +56,12 @@ public class CameraComponent extends Component implements ISizeDependent {
     public float fieldOfView = 100;
     public float nearPlane = 0.1f;
     public float farPlane = 1000f;
+    // Multiplies the screen size used for the LOD selection. Values below 1 switch to lower detail earlier
+    public float lodBias = 1f;
 
     private Matrix4f projectionMatrix;
+    private final Matrix4f viewMatrix = new Matrix4f();
+    private final FrustumCuller frustumCuller = new FrustumCuller(this);
 
     private FrameBuffer frameBuffer;
 
@@ -87,10 +95,15 @@ public class CameraComponent extends Component implements ISizeDependent {
         return this;
     }
 
+    public CameraComponent lodBias(float lodBias) {
+        this.lodBias = lodBias;
+        return this;
+    }
+
     @Override
     public void initialize() {
         EngineView engineView = this.getGameObject().getScene().getEngineView();
-        frameBuffer = new FrameBuffer(engineView.getWidth(), engineView.getHeight());
+        frameBuffer = new FrameBuffer(engineView.getDataWatcher(), DataWatcher.DataScope.SCENE, engineView.getWidth(), engineView.getHeight());
         frameBuffer.create();
 
         updateProjectionMatrix();
@@ -132,6 +145,16 @@ public class CameraComponent extends Component implements ISizeDependent {
         projectionMatrix.m33(0);
     }
 
+    /**
+     * Updates the viewMatrix and the frustum planes. Called before the camera renders
+     */
+    public void updateFrustum() {
+        Transform cameraTransform = getGameObject().getSpecialTransform(Transform.WORLD_SPACE);
+        // Shared with Transform.viewMatrix() so every view matrix is built the same way
+        Maths.createViewMatrix(cameraTransform, viewMatrix);
+        frustumCuller.updateFrustum(projectionMatrix, viewMatrix);
+    }
+
     /**
      * Called if a frame is render on this camera
      */
@@ -200,6 +223,39 @@ public class CameraComponent extends Component implements ISizeDependent {
         updateProjectionMatrix();
     }
 
+    /**
+     * Sets the LOD bias of the camera
+     * @param lodBias LodBias(1 = No bias)
+     */
+    public void setLodBias(float lodBias) {
+        this.lodBias = lodBias;
+    }
+
+    /**
+     * Projects a bounding sphere with the matrices of the last updateFrustum call
+     * @param worldMatrix World matrix of the GameObject
+     * @param sphere Bounding sphere in object space
+     * @return Height of the sphere on the screen as a fraction of the screen height. Infinite if the camera is inside the sphere
+     */
+    public float getScreenSize(Matrix4f worldMatrix, BoundingSphere sphere) {
+        float x = sphere.center.x, y = sphere.center.y, z = sphere.center.z;
+        float worldX = worldMatrix.m00() * x + worldMatrix.m10() * y + worldMatrix.m20() * z + worldMatrix.m30();
+        float worldY = worldMatrix.m01() * x + worldMatrix.m11() * y + worldMatrix.m21() * z + worldMatrix.m31();
+        float worldZ = worldMatrix.m02() * x + worldMatrix.m12() * y + worldMatrix.m22() * z + worldMatrix.m32();
+        float viewX = viewMatrix.m00() * worldX + viewMatrix.m10() * worldY + viewMatrix.m20() * worldZ + viewMatrix.m30();
+        float viewY = viewMatrix.m01() * worldX + viewMatrix.m11() * worldY + viewMatrix.m21() * worldZ + viewMatrix.m31();
+        float viewZ = viewMatrix.m02() * worldX + viewMatrix.m12() * worldY + viewMatrix.m22() * worldZ + viewMatrix.m32();
+        float distance = (float) Math.sqrt(viewX * viewX + viewY * viewY + viewZ * viewZ);
+
+        float scaleSquared = Math.max(worldMatrix.m00() * worldMatrix.m00() + worldMatrix.m01() * worldMatrix.m01() + worldMatrix.m02() * worldMatrix.m02(),
+                Math.max(worldMatrix.m10() * worldMatrix.m10() + worldMatrix.m11() * worldMatrix.m11() + worldMatrix.m12() * worldMatrix.m12(),
+                        worldMatrix.m20() * worldMatrix.m20() + worldMatrix.m21() * worldMatrix.m21() + worldMatrix.m22() * worldMatrix.m22()));
+        float radius = sphere.radius * (float) Math.sqrt(scaleSquared);
+        if(distance <= radius) return Float.POSITIVE_INFINITY;
+        // The diameter covers 2 * radius * m11 / distance of the 2 units high clip space
+        return radius * projectionMatrix.m11() / distance;
+    }
+
     /**
      * @return ProjectionMatrix used by the camera
      */
@@ -215,6 +271,34 @@ public class CameraComponent extends Component implements ISizeDependent {
         this.projectionMatrix = projectionMatrix;
     }
 
+    /**
+     * @return ViewMatrix of the last rendered frame
+     */
+    public Matrix4f getViewMatrix() {
+        return viewMatrix;
+    }
+
+    /**
+     * @return Culler that decides which GameObjects are rendered by this camera
+     */
+    public FrustumCuller getFrustumCuller() {
+        return frustumCuller;
+    }
+
+    /**
+     * @return Amount of GameObjects rendered in the last frame
+     */
+    public int getVisibleCount() {
+        return frustumCuller.getVisibleCount();
+    }
+
+    /**
+     * @return Amount of GameObjects skipped in the last frame
+     */
+    public int getCulledCount() {
+        return frustumCuller.getCulledCount();
+    }
+
     /**
      * @return FrameBuffer for the camera
      */
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.components.camera;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/19/2026 at 9:40 AM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.components.mesh.MeshComponent;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.objects.scene.query.ComponentQuery;
+import de.rafael.ravbite.engine.utils.math.BoundingSphere;
+import org.joml.FrustumIntersection;
+import org.joml.Matrix4f;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class FrustumCuller {
+
+    public static final int PARALLEL_THRESHOLD = 4096;
+    private static final int CHUNK_SIZE = 1024;
+
+    private final CameraComponent cameraComponent;
+    private final FrustumIntersection frustum = new FrustumIntersection();
+    private final Matrix4f viewProjectionMatrix = new Matrix4f();
+
+    private GameObject[] visibleObjects = new GameObject[64];
+    private boolean[] visible = new boolean[64];
+    private final float[] bounds = new float[6];
+    // Reused every frame, so the parallel cull only allocates when the scene grows
+    private final CullJob cullJob = new CullJob();
+    private CullTask[] cullTasks = new CullTask[0];
+    private int visibleCount = 0;
+    private int culledCount = 0;
+
+    public boolean parallel = true;
+
+    public FrustumCuller(CameraComponent cameraComponent) {
+        this.cameraComponent = cameraComponent;
+    }
+
+    /**
+     * Extracts the frustum planes of the camera
+     * @param projectionMatrix ProjectionMatrix of the camera
+     * @param viewMatrix ViewMatrix of the camera
+     */
+    public void updateFrustum(Matrix4f projectionMatrix, Matrix4f viewMatrix) {
+        projectionMatrix.mul(viewMatrix, viewProjectionMatrix);
+        frustum.set(viewProjectionMatrix, false);
+    }
+
+    /**
+     * Collects all GameObjects of the query the camera has to render
+     * The world matrices have to be calculated before, because they are read from multiple threads
+     * @param query Query with all renderable GameObjects
+     * @return Amount of visible GameObjects
+     */
+    public int cull(ComponentQuery<?> query) {
+        int size = query.size();
+        if(visible.length < size) {
+            visible = new boolean[Math.max(size, visible.length * 2)];
+            visibleObjects = new GameObject[visible.length];
+        }
+
+        if(parallel && size >= PARALLEL_THRESHOLD) {
+            int taskCount = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            if(cullTasks.length < taskCount) {
+                int length = cullTasks.length;
+                cullTasks = Arrays.copyOf(cullTasks, taskCount);
+                for (int i = length; i < taskCount; i++) {
+                    cullTasks[i] = new CullTask();
+                }
+            }
+            for (int i = 0; i < taskCount; i++) {
+                cullTasks[i].prepare(query, i * CHUNK_SIZE, Math.min(size, (i + 1) * CHUNK_SIZE));
+            }
+            cullJob.prepare(taskCount);
+            ForkJoinPool.commonPool().invoke(cullJob);
+        } else {
+            test(query, 0, size, bounds);
+        }
+
+        // Keep the order of the query
+        visibleCount = 0;
+        for (int i = 0; i < size; i++) {
+            if(visible[i]) visibleObjects[visibleCount++] = query.get(i);
+        }
+        Arrays.fill(visibleObjects, visibleCount, Math.min(visibleObjects.length, size), null);
+        culledCount = size - visibleCount;
+        return visibleCount;
+    }
+
+    private void test(ComponentQuery<?> query, int start, int end, float[] bounds) {
+        for (int i = start; i < end; i++) {
+            GameObject gameObject = query.get(i);
+            visible[i] = cameraComponent.isResponsibleFor(gameObject) && isVisible(gameObject, bounds);
+        }
+    }
+
+    /**
+     * Tests the bounding sphere first and the bounding box only if the sphere intersects the frustum
+     * GameObjects without a mesh are always visible
+     * @param gameObject GameObject
+     * @param bounds Temporary array for the world bounds
+     * @return If the bounds of the GameObject are in the frustum
+     */
+    private boolean isVisible(GameObject gameObject, float[] bounds) {
+        MeshComponent meshComponent = gameObject.getComponent(MeshComponent.class);
+        Mesh mesh = meshComponent != null ? meshComponent.getMesh() : null;
+        if(mesh == null || mesh.getBounds().isEmpty()) return true;
+
+        Matrix4f matrix = gameObject.getTransform().getWorldMatrix();
+        BoundingSphere sphere = mesh.getBoundingSphere();
+        float x = sphere.center.x, y = sphere.center.y, z = sphere.center.z;
+        float centerX = matrix.m00() * x + matrix.m10() * y + matrix.m20() * z + matrix.m30();
+        float centerY = matrix.m01() * x + matrix.m11() * y + matrix.m21() * z + matrix.m31();
+        float centerZ = matrix.m02() * x + matrix.m12() * y + matrix.m22() * z + matrix.m32();
+        float scaleSquared = Math.max(matrix.m00() * matrix.m00() + matrix.m01() * matrix.m01() + matrix.m02() * matrix.m02(),
+                Math.max(matrix.m10() * matrix.m10() + matrix.m11() * matrix.m11() + matrix.m12() * matrix.m12(),
+                        matrix.m20() * matrix.m20() + matrix.m21() * matrix.m21() + matrix.m22() * matrix.m22()));
+        float radius = sphere.radius * (float) Math.sqrt(scaleSquared);
+        int result = frustum.intersectSphere(centerX, centerY, centerZ, radius);
+        if(result == FrustumIntersection.INSIDE) return true;
+        if(result != FrustumIntersection.INTERSECT) return false;
+
+        mesh.getBounds().transform(matrix, bounds, 0);
+        return frustum.testAab(bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5]);
+    }
+
+    /**
+     * @return Visible GameObjects of the last cull. Only the first getVisibleCount() entries are valid
+     */
+    public GameObject[] getVisibleObjects() {
+        return visibleObjects;
+    }
+
+    /**
+     * @return Amount of visible GameObjects in the last frame
+     */
+    public int getVisibleCount() {
+        return visibleCount;
+    }
+
+    /**
+     * @return Amount of culled GameObjects in the last frame
+     */
+    public int getCulledCount() {
+        return culledCount;
+    }
+
+    /**
+     * @return Frustum of the camera
+     */
+    public FrustumIntersection getFrustum() {
+        return frustum;
+    }
+
+    /**
+     * Forks one CullTask per chunk and waits for all of them
+     */
+    private class CullJob extends RecursiveAction {
+
+        @Serial
+        private static final long serialVersionUID = -3348417766870181937L;
+
+        private int taskCount;
+
+        public void prepare(int taskCount) {
+            reinitialize();
+            this.taskCount = taskCount;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = 1; i < taskCount; i++) {
+                cullTasks[i].fork();
+            }
+            cullTasks[0].invoke();
+            // Join in reverse order so the tasks that were not stolen run on this thread
+            for (int i = taskCount - 1; i > 0; i--) {
+                cullTasks[i].join();
+            }
+        }
+
+    }
+
+    private class CullTask extends RecursiveAction {
+
+        @Serial
+        private static final long serialVersionUID = 6090782572748436764L;
+
+        private final float[] bounds = new float[6];
+        private ComponentQuery<?> query;
+        private int start;
+        private int end;
+
+        public void prepare(ComponentQuery<?> query, int start, int end) {
+            reinitialize();
+            this.query = query;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            test(query, start, end, bounds);
+        }
+
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.components.classes;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 4:20 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+
+public class CachedComponent<T extends Component> {
+
+    private final Component owner;
+    private final Class<T> type;
+
+    private T component;
+    private GameObject resolvedObject;
+    private int resolvedVersion = -1;
+
+    /**
+     * Resolves a component on the GameObject of the owner and only looks it up again if the components changed
+     * @param owner Component that uses the cached component
+     * @param type Type of the component
+     */
+    public CachedComponent(Component owner, Class<T> type) {
+        this.owner = owner;
+        this.type = type;
+    }
+
+    /**
+     * @return Component or null if the GameObject has no component of that type or the owner is not attached to a GameObject
+     */
+    public T get() {
+        GameObject gameObject = owner.getGameObject();
+        if(gameObject == null) return null;
+        if(gameObject != resolvedObject || gameObject.getComponentVersion() != resolvedVersion) {
+            component = gameObject.getComponent(type);
+            resolvedObject = gameObject;
+            resolvedVersion = gameObject.getComponentVersion();
+        }
+        return component;
+    }
+
+    /**
+     * @return Type of the component
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+}
@@ -67,7 +67,6 @@ public abstract class Component {
     /**
      * Called when the component gets removed from a GameObject
      */
-    // TODO: If components can be removed / Scene is removed
     public void dispose() {
 
     }
@@ -87,6 +86,18 @@ public abstract class Component {
      */
     public void fixedUpdate() {}
 
+    /**
+     * If true update() can be called on a worker thread while other GameObjects are updated
+     * A thread-safe component may only change its own GameObject and must not add or remove GameObjects or components
+     * World matrices read on a worker thread are the ones from the start of the update. Moving the own transform is marked dirty after all workers are done
+     * GL or AL calls have to be deferred to the render thread with the ThreadExecutor of the EngineView
+     * Components that are not thread-safe are updated on the render thread after all thread-safe components in scene order
+     * @return If the component is thread-safe
+     */
+    public boolean isThreadSafe() {
+        return false;
+    }
+
     /**
      * @return GameObject of the component
      */
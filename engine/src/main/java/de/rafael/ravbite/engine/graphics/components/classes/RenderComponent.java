@@ -38,12 +38,32 @@ package de.rafael.ravbite.engine.graphics.components.classes;
 //------------------------------
 
 import de.rafael.ravbite.engine.graphics.components.camera.CameraComponent;
+import de.rafael.ravbite.engine.graphics.objects.scene.render.RenderQueue;
+
+import java.awt.*;
 
 public abstract class RenderComponent extends Component {
 
     /**
-     * Called to render the GameObject
+     * Called to render the GameObject immediately
      */
     public abstract void render(CameraComponent cameraComponent);
 
+    /**
+     * Called to add the draw items of the GameObject to the sorted queue of the scene
+     * Renderers that don't override this are rendered immediately before the queue is executed
+     * @param cameraComponent Camera
+     * @param renderQueue Queue of the camera
+     */
+    public void submit(CameraComponent cameraComponent, RenderQueue renderQueue) {
+        render(cameraComponent);
+    }
+
+    /**
+     * @return Color the material color is multiplied with
+     */
+    public Color getTint() {
+        return Color.WHITE;
+    }
+
 }
@@ -45,11 +45,48 @@ import java.awt.*;
 public class LightComponent extends Component {
 
     public Color color;
+    public LightType type = LightType.POINT;
+    public float range = 50f;
+    public float intensity = 1f;
+    public float innerAngle = 20f;
+    public float outerAngle = 30f;
 
     public LightComponent(Color color) {
         this.color = color;
     }
 
+    public LightComponent(Color color, LightType type) {
+        this.color = color;
+        this.type = type;
+    }
+
+    public LightComponent type(LightType type) {
+        this.type = type;
+        return this;
+    }
+
+    public LightComponent range(float range) {
+        this.range = range;
+        return this;
+    }
+
+    public LightComponent intensity(float intensity) {
+        this.intensity = intensity;
+        return this;
+    }
+
+    /**
+     * Sets the cone of a spot light
+     * @param innerAngle Angle in degrees where the light starts to fade out
+     * @param outerAngle Angle in degrees where the light is gone
+     * @return LightComponent
+     */
+    public LightComponent spotAngles(float innerAngle, float outerAngle) {
+        this.innerAngle = innerAngle;
+        this.outerAngle = outerAngle;
+        return this;
+    }
+
     /**
      * Sets the color of the light
      * @param color New light
@@ -58,11 +95,40 @@ public class LightComponent extends Component {
         this.color = color;
     }
 
+    /**
+     * @return Type of the light
+     */
+    public LightType getType() {
+        return type;
+    }
+
+    /**
+     * @return Distance where the light reaches zero(Ignored by directional lights)
+     */
+    public float getRange() {
+        return range;
+    }
+
+    /**
+     * @return Multiplier of the color
+     */
+    public float getIntensity() {
+        return intensity;
+    }
+
     /**
      * @return Color as Vector3f
      */
     public Vector3f getColorAsVector() {
-        return new Vector3f(color.getRed() / 255f, color.getGreen() / 255f, color.getBlue() / 255f);
+        return getColorAsVector(new Vector3f());
+    }
+
+    /**
+     * @param dest Vector to write to
+     * @return dest
+     */
+    public Vector3f getColorAsVector(Vector3f dest) {
+        return dest.set(color.getRed() / 255f, color.getGreen() / 255f, color.getBlue() / 255f);
     }
 
 }
@@ -0,0 +1,407 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.components.light.cluster;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/20/2026 at 10:30 AM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.components.camera.CameraComponent;
+import de.rafael.ravbite.engine.graphics.components.light.LightComponent;
+import de.rafael.ravbite.engine.graphics.components.light.LightType;
+import de.rafael.ravbite.engine.graphics.objects.scene.query.ComponentQuery;
+import de.rafael.ravbite.engine.graphics.utils.DataWatcher;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL13;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL31;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+public class LightClusters {
+
+    // Has to match the defines in the standard fragment shader
+    public static final int CLUSTERS_X = 16;
+    public static final int CLUSTERS_Y = 9;
+    public static final int CLUSTERS_Z = 24;
+    public static final int CLUSTER_COUNT = CLUSTERS_X * CLUSTERS_Y * CLUSTERS_Z;
+
+    // position + range | color * intensity + type | direction + cos(outerAngle) | cos(innerAngle)
+    public static final int LIGHT_STRIDE = 16;
+
+    // Texture units the buffers are bound to
+    public static final int LIGHT_DATA_UNIT = 1;
+    public static final int CLUSTER_DATA_UNIT = 2;
+    public static final int LIGHT_INDEX_UNIT = 3;
+
+    // Packed once per frame. Directional lights are stored first
+    private float[] lightData = new float[LIGHT_STRIDE * 16];
+    private int lightCount = 0;
+    private int directionalCount = 0;
+
+    // Assigned per camera
+    private final int[] clusterData = new int[CLUSTER_COUNT * 2];
+    private int[] lightIndices = new int[256];
+    private int indexCount = 0;
+    private int[] lightRanges = new int[6 * 16];
+    private float clusterScale = 0;
+    private float clusterBias = 0;
+
+    // OpenGL
+    private int lightBuffer = -1, lightTexture, clusterBuffer, clusterTexture, indexBuffer, indexTexture;
+    // Generation of the SCENE scope the buffers were created in
+    private int bufferGeneration = -1;
+    private FloatBuffer lightUpload = BufferUtils.createFloatBuffer(LIGHT_STRIDE * 16);
+    private final IntBuffer clusterUpload = BufferUtils.createIntBuffer(CLUSTER_COUNT * 2);
+    private IntBuffer indexUpload = BufferUtils.createIntBuffer(256);
+
+    /**
+     * Packs all enabled lights. Called once per frame
+     * @param lights Query with all lights of the scene
+     */
+    public void pack(ComponentQuery<LightComponent> lights) {
+        if(lightData.length < lights.size() * LIGHT_STRIDE) {
+            lightData = new float[Math.max(lights.size(), lightData.length / LIGHT_STRIDE * 2) * LIGHT_STRIDE];
+        }
+        lightCount = 0;
+        for (int i = 0; i < lights.size(); i++) {
+            LightComponent light = lights.getComponent(i);
+            if(light.isEnabled() && light.getType() == LightType.DIRECTIONAL) packLight(light);
+        }
+        directionalCount = lightCount;
+        for (int i = 0; i < lights.size(); i++) {
+            LightComponent light = lights.getComponent(i);
+            if(light.isEnabled() && light.getType() != LightType.DIRECTIONAL) packLight(light);
+        }
+    }
+
+    private void packLight(LightComponent light) {
+        Matrix4f matrix = light.getGameObject().getTransform().getWorldMatrix();
+        int offset = lightCount * LIGHT_STRIDE;
+
+        lightData[offset] = matrix.m30();
+        lightData[offset + 1] = matrix.m31();
+        lightData[offset + 2] = matrix.m32();
+        lightData[offset + 3] = light.getRange();
+
+        lightData[offset + 4] = light.color.getRed() / 255f * light.getIntensity();
+        lightData[offset + 5] = light.color.getGreen() / 255f * light.getIntensity();
+        lightData[offset + 6] = light.color.getBlue() / 255f * light.getIntensity();
+        lightData[offset + 7] = light.getType().getId();
+
+        // Forward is -Z
+        float x = -matrix.m20(), y = -matrix.m21(), z = -matrix.m22();
+        float length = (float) Math.sqrt(x * x + y * y + z * z);
+        if(length > 0) {
+            x /= length;
+            y /= length;
+            z /= length;
+        }
+        lightData[offset + 8] = x;
+        lightData[offset + 9] = y;
+        lightData[offset + 10] = z;
+        lightData[offset + 11] = (float) Math.cos(Math.toRadians(light.outerAngle));
+        lightData[offset + 12] = (float) Math.cos(Math.toRadians(light.innerAngle));
+        lightCount++;
+    }
+
+    /**
+     * Assigns the packed point and spot lights to the view space clusters of the camera
+     * Every light is tested against the clusters its bounding box covers, so the cost depends on the size of the lights and not the amount of clusters
+     * @param cameraComponent Camera with an updated view matrix
+     */
+    public void assign(CameraComponent cameraComponent) {
+        Matrix4f view = cameraComponent.getViewMatrix();
+        Matrix4f projection = cameraComponent.getProjectionMatrix();
+        float near = cameraComponent.nearPlane;
+        float far = cameraComponent.farPlane;
+
+        // Exponential depth slices: slice = log(depth) * scale + bias
+        float logRatio = (float) Math.log(far / near);
+        clusterScale = CLUSTERS_Z / logRatio;
+        clusterBias = -CLUSTERS_Z * (float) Math.log(near) / logRatio;
+
+        Arrays.fill(clusterData, 0);
+        int localCount = lightCount - directionalCount;
+        if(lightRanges.length < localCount * 6) lightRanges = new int[Math.max(localCount, lightRanges.length / 6 * 2) * 6];
+
+        // Count the lights of every cluster
+        for (int i = 0; i < localCount; i++) {
+            int offset = (directionalCount + i) * LIGHT_STRIDE;
+            int range = i * 6;
+            float x = lightData[offset], y = lightData[offset + 1], z = lightData[offset + 2], radius = lightData[offset + 3];
+            float viewX = view.m00() * x + view.m10() * y + view.m20() * z + view.m30();
+            float viewY = view.m01() * x + view.m11() * y + view.m21() * z + view.m31();
+            float depth = -(view.m02() * x + view.m12() * y + view.m22() * z + view.m32());
+
+            float minDepth = Math.max(depth - radius, near);
+            float maxDepth = Math.min(depth + radius, far);
+            if(!computeRange(viewX, viewY, radius, minDepth, maxDepth, projection.m00(), projection.m11(), range)) {
+                lightRanges[range] = -1;
+                continue;
+            }
+            for (int clusterZ = lightRanges[range + 4]; clusterZ <= lightRanges[range + 5]; clusterZ++) {
+                for (int clusterY = lightRanges[range + 2]; clusterY <= lightRanges[range + 3]; clusterY++) {
+                    for (int clusterX = lightRanges[range]; clusterX <= lightRanges[range + 1]; clusterX++) {
+                        clusterData[clusterIndex(clusterX, clusterY, clusterZ) * 2 + 1]++;
+                    }
+                }
+            }
+        }
+
+        // Offsets of the clusters in the index list
+        indexCount = 0;
+        for (int cluster = 0; cluster < CLUSTER_COUNT; cluster++) {
+            clusterData[cluster * 2] = indexCount;
+            indexCount += clusterData[cluster * 2 + 1];
+            clusterData[cluster * 2 + 1] = 0;
+        }
+        if(lightIndices.length < indexCount) lightIndices = new int[Math.max(indexCount, lightIndices.length * 2)];
+
+        // Fill the index list
+        for (int i = 0; i < localCount; i++) {
+            int range = i * 6;
+            if(lightRanges[range] == -1) continue;
+            for (int clusterZ = lightRanges[range + 4]; clusterZ <= lightRanges[range + 5]; clusterZ++) {
+                for (int clusterY = lightRanges[range + 2]; clusterY <= lightRanges[range + 3]; clusterY++) {
+                    for (int clusterX = lightRanges[range]; clusterX <= lightRanges[range + 1]; clusterX++) {
+                        int cluster = clusterIndex(clusterX, clusterY, clusterZ) * 2;
+                        lightIndices[clusterData[cluster] + clusterData[cluster + 1]++] = directionalCount + i;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Calculates the clusters covered by the view space bounding box of a light
+     * @return If the light is inside the view frustum
+     */
+    private boolean computeRange(float viewX, float viewY, float radius, float minDepth, float maxDepth, float scaleX, float scaleY, int range) {
+        if(minDepth > maxDepth) return false;
+        // x / depth is monotone in both values, so the extremes are at the corners of the box
+        float minX = Math.min(scaleX * (viewX - radius) / minDepth, scaleX * (viewX - radius) / maxDepth);
+        float maxX = Math.max(scaleX * (viewX + radius) / minDepth, scaleX * (viewX + radius) / maxDepth);
+        float minY = Math.min(scaleY * (viewY - radius) / minDepth, scaleY * (viewY - radius) / maxDepth);
+        float maxY = Math.max(scaleY * (viewY + radius) / minDepth, scaleY * (viewY + radius) / maxDepth);
+        if(maxX < -1 || minX > 1 || maxY < -1 || minY > 1) return false;
+
+        lightRanges[range] = tile(minX, CLUSTERS_X);
+        lightRanges[range + 1] = tile(maxX, CLUSTERS_X);
+        lightRanges[range + 2] = tile(minY, CLUSTERS_Y);
+        lightRanges[range + 3] = tile(maxY, CLUSTERS_Y);
+        lightRanges[range + 4] = slice(minDepth);
+        lightRanges[range + 5] = slice(maxDepth);
+        return true;
+    }
+
+    private static int tile(float ndc, int count) {
+        return Math.max(0, Math.min(count - 1, (int) Math.floor((ndc * 0.5f + 0.5f) * count)));
+    }
+
+    /**
+     * @param depth Distance to the camera along the view direction
+     * @return Depth slice of the cluster grid
+     */
+    public int slice(float depth) {
+        return Math.max(0, Math.min(CLUSTERS_Z - 1, (int) Math.floor(Math.log(depth) * clusterScale + clusterBias)));
+    }
+
+    /**
+     * @return Index of the cluster in the grid
+     */
+    public static int clusterIndex(int clusterX, int clusterY, int clusterZ) {
+        return (clusterZ * CLUSTERS_Y + clusterY) * CLUSTERS_X + clusterX;
+    }
+
+    /**
+     * Uploads the packed lights into a texture buffer
+     * @param engineView EngineView the buffers are registered in
+     */
+    public void uploadLights(EngineView engineView) {
+        createBuffers(engineView);
+        int size = Math.max(lightCount, 1) * LIGHT_STRIDE;
+        if(lightUpload.capacity() < size) {
+            lightUpload = BufferUtils.createFloatBuffer(Math.max(size, lightUpload.capacity() * 2));
+            engineView.getDataWatcher().getResource(DataWatcher.DataType.BUFFER, lightBuffer).bytes((long) lightUpload.capacity() * Float.BYTES);
+        }
+        lightUpload.clear();
+        lightUpload.put(lightData, 0, lightCount * LIGHT_STRIDE);
+        lightUpload.position(size).flip();
+        GL15.glBindBuffer(GL31.GL_TEXTURE_BUFFER, lightBuffer);
+        GL15.glBufferData(GL31.GL_TEXTURE_BUFFER, lightUpload, GL15.GL_STREAM_DRAW);
+        GL15.glBindBuffer(GL31.GL_TEXTURE_BUFFER, 0);
+    }
+
+    /**
+     * Uploads the cluster grid and the light index list and binds all light buffers to their texture units
+     * @param engineView EngineView the buffers are registered in
+     */
+    public void uploadClusters(EngineView engineView) {
+        createBuffers(engineView);
+        clusterUpload.clear();
+        clusterUpload.put(clusterData).flip();
+        GL15.glBindBuffer(GL31.GL_TEXTURE_BUFFER, clusterBuffer);
+        GL15.glBufferData(GL31.GL_TEXTURE_BUFFER, clusterUpload, GL15.GL_STREAM_DRAW);
+
+        int size = Math.max(indexCount, 1);
+        if(indexUpload.capacity() < size) {
+            indexUpload = BufferUtils.createIntBuffer(Math.max(size, indexUpload.capacity() * 2));
+            engineView.getDataWatcher().getResource(DataWatcher.DataType.BUFFER, indexBuffer).bytes((long) indexUpload.capacity() * Integer.BYTES);
+        }
+        indexUpload.clear();
+        indexUpload.put(lightIndices, 0, indexCount);
+        indexUpload.position(size).flip();
+        GL15.glBindBuffer(GL31.GL_TEXTURE_BUFFER, indexBuffer);
+        GL15.glBufferData(GL31.GL_TEXTURE_BUFFER, indexUpload, GL15.GL_STREAM_DRAW);
+        GL15.glBindBuffer(GL31.GL_TEXTURE_BUFFER, 0);
+
+        bindTexture(LIGHT_DATA_UNIT, lightTexture);
+        bindTexture(CLUSTER_DATA_UNIT, clusterTexture);
+        bindTexture(LIGHT_INDEX_UNIT, indexTexture);
+        GL13.glActiveTexture(GL13.GL_TEXTURE0);
+    }
+
+    private void bindTexture(int unit, int texture) {
+        GL13.glActiveTexture(GL13.GL_TEXTURE0 + unit);
+        GL11.glBindTexture(GL31.GL_TEXTURE_BUFFER, texture);
+    }
+
+    private void createBuffers(EngineView engineView) {
+        DataWatcher dataWatcher = engineView.getDataWatcher();
+        // The SCENE scope is cleaned up when the scene is left, so the buffers are recreated when it is entered again
+        if(lightBuffer != -1 && bufferGeneration == dataWatcher.getGeneration(DataWatcher.DataScope.SCENE)) return;
+        bufferGeneration = dataWatcher.getGeneration(DataWatcher.DataScope.SCENE);
+        lightBuffer = GL15.glGenBuffers();
+        clusterBuffer = GL15.glGenBuffers();
+        indexBuffer = GL15.glGenBuffers();
+        lightTexture = createTexture(lightBuffer, GL30.GL_RGBA32F);
+        clusterTexture = createTexture(clusterBuffer, GL30.GL_RG32UI);
+        indexTexture = createTexture(indexBuffer, GL30.GL_R32UI);
+        // The buffers are sized by the upload buffers. The buffer textures only reference them
+        dataWatcher.glVbo(DataWatcher.DataScope.SCENE, lightBuffer).owner("LightClusters").bytes((long) lightUpload.capacity() * Float.BYTES);
+        dataWatcher.glVbo(DataWatcher.DataScope.SCENE, clusterBuffer).owner("LightClusters").bytes((long) clusterUpload.capacity() * Integer.BYTES);
+        dataWatcher.glVbo(DataWatcher.DataScope.SCENE, indexBuffer).owner("LightClusters").bytes((long) indexUpload.capacity() * Integer.BYTES);
+        dataWatcher.glTexture(DataWatcher.DataScope.SCENE, lightTexture).owner("LightClusters");
+        dataWatcher.glTexture(DataWatcher.DataScope.SCENE, clusterTexture).owner("LightClusters");
+        dataWatcher.glTexture(DataWatcher.DataScope.SCENE, indexTexture).owner("LightClusters");
+    }
+
+    private int createTexture(int buffer, int format) {
+        int texture = GL11.glGenTextures();
+        GL11.glBindTexture(GL31.GL_TEXTURE_BUFFER, texture);
+        GL15.glBindBuffer(GL31.GL_TEXTURE_BUFFER, buffer);
+        GL31.glTexBuffer(GL31.GL_TEXTURE_BUFFER, format, buffer);
+        GL11.glBindTexture(GL31.GL_TEXTURE_BUFFER, 0);
+        GL15.glBindBuffer(GL31.GL_TEXTURE_BUFFER, 0);
+        return texture;
+    }
+
+    /**
+     * @param cluster Index of the cluster
+     * @return Offset of the first light of the cluster in the index list
+     */
+    public int getClusterOffset(int cluster) {
+        return clusterData[cluster * 2];
+    }
+
+    /**
+     * @param cluster Index of the cluster
+     * @return Amount of lights in the cluster
+     */
+    public int getClusterLightCount(int cluster) {
+        return clusterData[cluster * 2 + 1];
+    }
+
+    /**
+     * @param index Position in the index list
+     * @return Index of the light in the packed light data
+     */
+    public int getLightIndex(int index) {
+        return lightIndices[index];
+    }
+
+    /**
+     * @param light Index of the light in the packed light data
+     * @param dest Vector to write to
+     * @return World position of the packed light
+     */
+    public Vector3f getLightPosition(int light, Vector3f dest) {
+        int offset = light * LIGHT_STRIDE;
+        return dest.set(lightData[offset], lightData[offset + 1], lightData[offset + 2]);
+    }
+
+    /**
+     * @return Amount of entries in the light index list
+     */
+    public int getIndexCount() {
+        return indexCount;
+    }
+
+    /**
+     * @return Amount of packed lights
+     */
+    public int getLightCount() {
+        return lightCount;
+    }
+
+    /**
+     * @return Amount of directional lights. They are stored first and affect every pixel
+     */
+    public int getDirectionalCount() {
+        return directionalCount;
+    }
+
+    /**
+     * @return Scale of the depth slice calculation
+     */
+    public float getClusterScale() {
+        return clusterScale;
+    }
+
+    /**
+     * @return Bias of the depth slice calculation
+     */
+    public float getClusterBias() {
+        return clusterBias;
+    }
+
+}
@@ -43,6 +43,7 @@ import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
 public class MeshComponent extends Component {
 
     public Mesh mesh;
+    private Mesh storedMesh;
 
     public MeshComponent(Mesh mesh) {
         this.mesh = mesh;
@@ -50,7 +51,13 @@ public class MeshComponent extends Component {
 
     @Override
     public void initialize() {
-        this.mesh.storeMeshes(getGameObject().getScene().getEngineView());
+        storeMesh();
+    }
+
+    @Override
+    public void dispose() {
+        if(storedMesh != null) storedMesh.release(getGameObject().getScene().getEngineView());
+        storedMesh = null;
     }
 
     @Override
@@ -70,9 +77,20 @@ public class MeshComponent extends Component {
      * @param mesh New Mesh
      */
     public void setMesh(Mesh mesh) {
-        // TODO: Dispose/Delete old mesh from OpenGL
         this.mesh = mesh;
+        // The field may already hold the new mesh when it was changed through the debug window
+        if(storedMesh != mesh) {
+            dispose();
+            storeMesh();
+        } else {
+            mesh.storeMeshes(getGameObject().getScene().getEngineView());
+        }
+        getGameObject().getScene().getSpatialIndex().invalidate(getGameObject());
+    }
+
+    private void storeMesh() {
         mesh.storeMeshes(getGameObject().getScene().getEngineView());
+        storedMesh = mesh.retain();
     }
 
 }
@@ -38,41 +38,175 @@ package de.rafael.ravbite.engine.graphics.components.rendering.mesh;
 //------------------------------
 
 import de.rafael.ravbite.engine.graphics.components.camera.CameraComponent;
-import de.rafael.ravbite.engine.graphics.components.classes.Component;
+import de.rafael.ravbite.engine.graphics.components.classes.CachedComponent;
 import de.rafael.ravbite.engine.graphics.components.classes.RenderComponent;
 import de.rafael.ravbite.engine.graphics.components.mesh.MeshComponent;
 import de.rafael.ravbite.engine.graphics.objects.game.material.IMaterial;
 import de.rafael.ravbite.engine.graphics.objects.game.material.standard.Material;
 import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
 import de.rafael.ravbite.engine.graphics.objects.game.mesh.StoredMesh;
+import de.rafael.ravbite.engine.graphics.objects.scene.render.RenderQueue;
 import de.rafael.ravbite.engine.graphics.shader.AbstractShader;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL13;
 import org.lwjgl.opengl.GL20;
 import org.lwjgl.opengl.GL30;
 
-import java.util.Optional;
+import java.awt.*;
+import java.util.Arrays;
 
 public class MeshRendererComponent extends RenderComponent {
 
+    private final CachedComponent<MeshComponent> meshComponent = new CachedComponent<>(this, MeshComponent.class);
+
+    public Color tint = Color.WHITE;
+
+    // Screen size(Fraction of the screen height) below which the next LOD level is used. Has to be descending
+    public float[] lodScreenSizes = {0.5f, 0.25f, 0.125f, 0.0625f};
+    // Relative band around every screen size in which the level is not changed
+    public float lodHysteresis = 0.1f;
+    public boolean lodCrossFade = false;
+    public float lodFadeDuration = 0.25f;
+
+    // Every camera selects its own level because the lodBias and the distance differ
+    private LodState[] lodStates = new LodState[0];
+    private int lodStateCount = 0;
+
+    /**
+     * Sets the color the material color is multiplied with. Objects with different tints can still be drawn instanced
+     * @param tint Color
+     * @return MeshRendererComponent
+     */
+    public MeshRendererComponent tint(Color tint) {
+        this.tint = tint;
+        return this;
+    }
+
+    public MeshRendererComponent lodScreenSizes(float... lodScreenSizes) {
+        this.lodScreenSizes = lodScreenSizes;
+        return this;
+    }
+
+    public MeshRendererComponent lodHysteresis(float lodHysteresis) {
+        this.lodHysteresis = lodHysteresis;
+        return this;
+    }
+
+    /**
+     * Enables dithered cross-fading between LOD levels. Both levels are drawn while fading
+     * @param lodCrossFade New state
+     * @param lodFadeDuration Duration of the fade in seconds
+     * @return MeshRendererComponent
+     */
+    public MeshRendererComponent lodCrossFade(boolean lodCrossFade, float lodFadeDuration) {
+        this.lodCrossFade = lodCrossFade;
+        this.lodFadeDuration = lodFadeDuration;
+        return this;
+    }
+
+    @Override
+    public Color getTint() {
+        return tint;
+    }
+
+    @Override
+    public void update() {
+        for (int i = lodStateCount - 1; i >= 0; i--) {
+            LodState lodState = lodStates[i];
+            // Cameras that were removed from their GameObject don't render anymore
+            if(lodState.camera.getGameObject() == null) {
+                lodStates[i] = lodStates[--lodStateCount];
+                lodStates[lodStateCount] = null;
+                continue;
+            }
+            if(lodState.previousLevel != -1) {
+                lodState.fade += getGameObject().getScene().getEngineView().getDeltaTime() / lodFadeDuration;
+                if(lodState.fade >= 1) {
+                    lodState.fade = 1;
+                    lodState.previousLevel = -1;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        lodStates = new LodState[0];
+        lodStateCount = 0;
+    }
+
+    /**
+     * @param cameraComponent Camera
+     * @return LOD state of the camera or null if the camera didn't select a level yet
+     */
+    private LodState findLodState(CameraComponent cameraComponent) {
+        for (int i = 0; i < lodStateCount; i++) {
+            if(lodStates[i].camera == cameraComponent) return lodStates[i];
+        }
+        return null;
+    }
+
+    private LodState lodState(CameraComponent cameraComponent) {
+        LodState lodState = findLodState(cameraComponent);
+        if(lodState == null) {
+            if(lodStateCount == lodStates.length) lodStates = Arrays.copyOf(lodStates, lodStates.length + 2);
+            lodState = new LodState(cameraComponent);
+            lodStates[lodStateCount++] = lodState;
+        }
+        return lodState;
+    }
+
+    /**
+     * Selects the LOD level from the projected size of the mesh. The level only changes if the size leaves the hysteresis band
+     * The level and the fade are kept per camera
+     * The view matrix of the camera has to be updated before
+     * @param cameraComponent Camera
+     * @return Selected LOD level
+     */
+    public int selectLod(CameraComponent cameraComponent) {
+        MeshComponent meshComponent = this.meshComponent.get();
+        Mesh mesh = meshComponent != null ? meshComponent.getMesh() : null;
+        LodState lodState = lodState(cameraComponent);
+        if(mesh == null || mesh.getLodCount() == 0) {
+            lodState.level = 0;
+            lodState.previousLevel = -1;
+            return 0;
+        }
+
+        float screenSize = cameraComponent.getScreenSize(getGameObject().getTransform().getWorldMatrix(), mesh.getBoundingSphere()) * cameraComponent.lodBias;
+        int levels = Math.min(mesh.getLodCount(), lodScreenSizes.length);
+        // Lowest level the size has clearly passed and highest level the size is still close to
+        int coarse = 0;
+        int fine = 0;
+        for (int i = 0; i < levels; i++) {
+            if(screenSize < lodScreenSizes[i] * (1 - lodHysteresis)) coarse = i + 1;
+            if(screenSize < lodScreenSizes[i] * (1 + lodHysteresis)) fine = i + 1;
+        }
+        int level = Math.max(coarse, Math.min(lodState.level, fine));
+        if(level != lodState.level) {
+            if(lodCrossFade && lodFadeDuration > 0) {
+                lodState.previousLevel = lodState.level;
+                lodState.fade = 0;
+            }
+            lodState.level = level;
+        }
+        return level;
+    }
+
     @Override
     public void render(CameraComponent cameraComponent) {
-        // TODO: Optimize
-        Optional<Component> componentOptional = getGameObject().hasComponent(MeshComponent.class);
-        if(componentOptional.isPresent()) {
+        MeshComponent meshComponent = this.meshComponent.get();
+        if(meshComponent != null) {
             // Mesh
-            MeshComponent meshComponent = (MeshComponent) componentOptional.get();
-            Mesh[] meshes = meshComponent.getMesh().collectMeshes();
+            Mesh[] meshes = meshComponent.getMesh().getLod(getLodLevel(cameraComponent)).collectMeshes();
             for (Mesh engineMesh : meshes) {
                 StoredMesh mesh = engineMesh.getStoredMesh();
 
                 // Material
                 IMaterial material = engineMesh.getMaterial();
 
+                // The attribute arrays are enabled in the VAO
                 GL30.glBindVertexArray(mesh.getVao());
-                GL20.glEnableVertexAttribArray(0);
-                GL20.glEnableVertexAttribArray(1);
-                GL20.glEnableVertexAttribArray(2);
 
                 // Apply Material
                 AbstractShader abstractShader = null;
@@ -80,6 +214,8 @@ public class MeshRendererComponent extends RenderComponent {
                     // Start Shader
                     abstractShader = getGameObject().getScene().getEngineView().getShader(material.getShaderId());
                     abstractShader.bind();
+                    abstractShader.prepare(cameraComponent);
+                    abstractShader.prepareMaterial(material);
                     abstractShader.prepareObject(this.getGameObject(), material, cameraComponent, this);
 
                     if(material instanceof Material standardMaterial) {
@@ -94,14 +230,11 @@ public class MeshRendererComponent extends RenderComponent {
                 }
 
                 // Render the mesh
-                GL20.glDrawElements(GL11.GL_TRIANGLES, mesh.getVertexCount(), GL11.GL_UNSIGNED_INT, 0);
+                GL20.glDrawElements(GL11.GL_TRIANGLES, mesh.getVertexCount(), mesh.getIndexType(), 0);
 
                 // Stop Shader
                 if(abstractShader != null) abstractShader.unbind();
 
-                GL20.glDisableVertexAttribArray(0);
-                GL20.glDisableVertexAttribArray(1);
-                GL20.glDisableVertexAttribArray(2);
                 GL30.glBindVertexArray(0);
             }
         } else {
@@ -109,4 +242,67 @@ public class MeshRendererComponent extends RenderComponent {
         }
     }
 
+    @Override
+    public void submit(CameraComponent cameraComponent, RenderQueue renderQueue) {
+        MeshComponent meshComponent = this.meshComponent.get();
+        if(meshComponent != null) {
+            Mesh mesh = meshComponent.getMesh();
+            int level = selectLod(cameraComponent);
+            LodState lodState = findLodState(cameraComponent);
+            if(lodState.previousLevel == -1) {
+                submit(renderQueue, mesh.getLod(level), 0);
+            } else {
+                // The incoming level is invisible at the start of the fade
+                if(lodState.fade > 0) submit(renderQueue, mesh.getLod(level), lodState.fade);
+                submit(renderQueue, mesh.getLod(lodState.previousLevel), lodState.fade - 1);
+            }
+        }
+    }
+
+    private void submit(RenderQueue renderQueue, Mesh mesh, float fade) {
+        for (Mesh engineMesh : mesh.collectMeshes()) {
+            renderQueue.submit(this, engineMesh.getStoredMesh(), engineMesh.getMaterial(), fade);
+        }
+    }
+
+    /**
+     * @param cameraComponent Camera
+     * @return LOD level selected in the last frame for the camera
+     */
+    public int getLodLevel(CameraComponent cameraComponent) {
+        LodState lodState = findLodState(cameraComponent);
+        return lodState != null ? lodState.level : 0;
+    }
+
+    /**
+     * @param cameraComponent Camera
+     * @return LOD level that is faded out for the camera or -1 if no fade is running
+     */
+    public int getPreviousLodLevel(CameraComponent cameraComponent) {
+        LodState lodState = findLodState(cameraComponent);
+        return lodState != null ? lodState.previousLevel : -1;
+    }
+
+    /**
+     * @param cameraComponent Camera
+     * @return Progress of the running fade for the camera(0 - 1)
+     */
+    public float getLodFade(CameraComponent cameraComponent) {
+        LodState lodState = findLodState(cameraComponent);
+        return lodState != null ? lodState.fade : 1;
+    }
+
+    private static class LodState {
+
+        private final CameraComponent camera;
+        private int level = 0;
+        private int previousLevel = -1;
+        private float fade = 1;
+
+        public LodState(CameraComponent camera) {
+            this.camera = camera;
+        }
+
+    }
+
 }
@@ -38,11 +38,16 @@ package de.rafael.ravbite.engine.graphics.components.transform;
 //------------------------------
 
 import de.rafael.ravbite.engine.graphics.components.classes.Component;
+import de.rafael.ravbite.engine.graphics.components.transform.storage.TransformStorage;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.scene.scheduler.UpdateScheduler;
 import de.rafael.ravbite.engine.utils.math.Maths;
 import org.joml.Matrix4f;
 import org.joml.Quaternionf;
 import org.joml.Vector3f;
 
+import java.util.List;
+
 public class Transform extends Component {
 
     public static final int WORLD_SPACE = 0;
@@ -54,6 +59,26 @@ public class Transform extends Component {
     public final Vector3f scale;
     public final Quaternionf rotation;
 
+    private final Matrix4f localMatrix = new Matrix4f();
+    private final Matrix4f worldMatrix = new Matrix4f();
+    private Transform worldTransform;
+
+    private boolean localDirty = true;
+    private boolean worldDirty = true;
+    private boolean deferredDirty = false;
+    private int worldVersion = 0;
+
+    private boolean interpolate = false;
+    private Vector3f previousPosition;
+    private Vector3f previousScale;
+    private Quaternionf previousRotation;
+    private Quaternionf renderRotation;
+    private Matrix4f renderMatrix;
+
+    private TransformStorage storage;
+    private int storageSlot = -1;
+    private int storageVersion = -1;
+
     public Transform() {
         this.position = new Vector3f(0f, 0f, 0f);
         this.velocity = new Vector3f(0f, 0f, 0f);
@@ -70,11 +95,13 @@ public class Transform extends Component {
 
     public Transform position(float x, float y, float z) {
         this.position.set(x, y, z);
+        markDirty();
         return this;
     }
 
     public Transform position(Vector3f vector) {
         this.position.set(vector);
+        markDirty();
         return this;
     }
 
@@ -90,41 +117,51 @@ public class Transform extends Component {
 
     public Transform rotation(float x, float y, float z, float w) {
         this.rotation.set(x, y, z, w);
+        markDirty();
         return this;
     }
 
     public Transform rotation(Vector3f vector) {
-        this.rotation.set(Maths.eulerToQuaternion(vector.x, vector.y, vector.z));
+        Maths.eulerToQuaternion(vector.x, vector.y, vector.z, this.rotation);
+        markDirty();
         return this;
     }
 
     public Transform rotation(Quaternionf quaternion) {
         this.rotation.set(quaternion);
+        markDirty();
         return this;
     }
 
     public Transform scale(float x, float y, float z) {
         this.scale.set(x, y, z);
+        markDirty();
         return this;
     }
 
     public Transform scale(Vector3f vector) {
         this.scale.set(vector);
+        markDirty();
         return this;
     }
 
     public Transform scale(float s) {
         this.scale.set(s, s, s);
+        markDirty();
         return this;
     }
 
     /**
-     * Adds a transform to this transform
+     * Adds a transform to this transform like it is the parent of this transform
      * @param transform Transform to add
      */
     public void add(Transform transform) {
+        this.position.mul(transform.scale);
+        transform.rotation.transform(this.position);
         this.position.add(transform.position);
-        this.rotation.mul(transform.rotation);
+        transform.rotation.mul(this.rotation, this.rotation);
+        this.scale.mul(transform.scale);
+        markDirty();
     }
 
     /**
@@ -135,6 +172,7 @@ public class Transform extends Component {
      */
     public void move(float x, float y, float z) {
         this.position.add(x, y, z);
+        markDirty();
     }
 
     /**
@@ -152,7 +190,9 @@ public class Transform extends Component {
      * @param z Z value
      */
     public void rotate(float x, float y, float z) {
-        this.rotate(Maths.eulerToQuaternion(x, y, z));
+        // Same as rotate(Maths.eulerToQuaternion(x, y, z)) without the temporary quaternion
+        this.rotation.rotateX((float) Math.toRadians(x % 360)).rotateY((float) Math.toRadians(y % 360)).rotateZ((float) Math.toRadians(z % 360));
+        markDirty();
     }
 
     /**
@@ -161,6 +201,244 @@ public class Transform extends Component {
      */
     public void rotate(Quaternionf rotation) {
         this.rotation.mul(rotation);
+        markDirty();
+    }
+
+    /**
+     * Marks the cached matrices of this transform and all children as outdated
+     * Has to be called if position, rotation or scale are changed directly
+     */
+    public void markDirty() {
+        if(isUpdatedInParallel()) {
+            // Other transforms are read by the worker threads at the same time
+            deferredDirty = true;
+            return;
+        }
+        localDirty = true;
+        if(storage != null) {
+            storage.write(storageSlot, this);
+        } else {
+            markWorldDirty();
+        }
+    }
+
+    /**
+     * Marks the transform as dirty if it was changed during the parallel update. Called by the UpdateScheduler on the render thread
+     */
+    public void applyDeferredDirty() {
+        if(deferredDirty) {
+            deferredDirty = false;
+            markDirty();
+        }
+    }
+
+    /**
+     * @return If the thread-safe components of the scene are updated on worker threads right now
+     */
+    private boolean isUpdatedInParallel() {
+        GameObject gameObject = getGameObject();
+        if(gameObject == null || gameObject.getScene() == null) return false;
+        UpdateScheduler updateScheduler = gameObject.getScene().getUpdateScheduler();
+        return updateScheduler != null && updateScheduler.isParallelPhase();
+    }
+
+    /**
+     * Called when the GameObject got a new parent
+     */
+    public void parentChanged() {
+        markDirty();
+        if(storage != null) storage.parentChanged();
+    }
+
+    /**
+     * Marks the world matrix of this transform and all children as outdated
+     */
+    private void markWorldDirty() {
+        // If this transform is already dirty all children are dirty too
+        if(worldDirty) return;
+        worldDirty = true;
+
+        GameObject gameObject = getGameObject();
+        if(gameObject == null) return;
+        List<GameObject> children = gameObject.getChildrenObjects();
+        for (int i = 0; i < children.size(); i++) {
+            children.get(i).getTransform().markWorldDirty();
+        }
+    }
+
+    /**
+     * @return Cached matrix of this transform relative to the parent
+     */
+    public Matrix4f getLocalMatrix() {
+        if(localDirty) {
+            localMatrix.translationRotateScale(position, rotation, scale);
+            localDirty = false;
+        }
+        return localMatrix;
+    }
+
+    /**
+     * During the parallel update the matrix from the start of the update is returned
+     * @return Cached matrix of this transform in world space
+     */
+    public Matrix4f getWorldMatrix() {
+        // The UpdateScheduler resolved every matrix before the parallel update
+        if(isUpdatedInParallel()) return worldMatrix;
+        if(storage != null) {
+            storage.update();
+            if(storageVersion != storage.getVersion(storageSlot)) {
+                storage.getWorldMatrix(storageSlot, worldMatrix);
+                if(worldTransform != null) {
+                    decompose(worldMatrix, worldTransform);
+                }
+                storageVersion = storage.getVersion(storageSlot);
+                worldVersion++;
+                worldDirty = false;
+            }
+            return worldMatrix;
+        }
+        if(worldDirty) {
+            GameObject gameObject = getGameObject();
+            GameObject parentObject = gameObject != null ? gameObject.getParentObject() : null;
+            if(parentObject != null) {
+                parentObject.getTransform().getWorldMatrix().mul(getLocalMatrix(), worldMatrix);
+            } else {
+                worldMatrix.set(getLocalMatrix());
+            }
+            if(worldTransform != null) {
+                decompose(worldMatrix, worldTransform);
+            }
+            worldDirty = false;
+            worldVersion++;
+        }
+        return worldMatrix;
+    }
+
+    /**
+     * The returned transform is owned by this transform and updated in place. Do not modify it
+     * @return Cached transform in world space
+     */
+    public Transform getWorldTransform() {
+        if(worldTransform == null) {
+            worldTransform = new Transform();
+            decompose(getWorldMatrix(), worldTransform);
+        } else {
+            getWorldMatrix();
+        }
+        worldTransform.velocity.set(velocity);
+        return worldTransform;
+    }
+
+    /**
+     * Writes position, rotation and scale of a matrix into a transform
+     * @param matrix Matrix to decompose
+     * @param target Transform to write to
+     */
+    private static void decompose(Matrix4f matrix, Transform target) {
+        matrix.getTranslation(target.position);
+        matrix.getScale(target.scale);
+        matrix.getNormalizedRotation(target.rotation);
+        target.markDirty();
+    }
+
+    /**
+     * If enabled the transform is rendered between the states of the last two fixed updates
+     * Should be enabled for GameObjects that are only moved in fixedUpdate()
+     * @param interpolate New state
+     */
+    public void setInterpolate(boolean interpolate) {
+        this.interpolate = interpolate;
+        if(interpolate && previousPosition == null) {
+            previousPosition = new Vector3f();
+            previousScale = new Vector3f();
+            previousRotation = new Quaternionf();
+            renderRotation = new Quaternionf();
+            renderMatrix = new Matrix4f();
+        }
+        storeState();
+    }
+
+    /**
+     * @return If the transform is interpolated
+     */
+    public boolean isInterpolated() {
+        return interpolate;
+    }
+
+    /**
+     * Saves the current state as the state of the last fixed update
+     * Called by the scene for every GameObject before the physics results are written and before fixedUpdate()
+     */
+    public void storeState() {
+        if(!interpolate) return;
+        previousPosition.set(position);
+        previousScale.set(scale);
+        previousRotation.set(rotation);
+    }
+
+    /**
+     * Only used by the renderer
+     * @param alpha How far the frame is between the last two fixed updates(0 - 1)
+     * @return Matrix in world space between the previous and the current state
+     */
+    public Matrix4f getRenderMatrix(float alpha) {
+        GameObject gameObject = getGameObject();
+        GameObject parentObject = gameObject != null ? gameObject.getParentObject() : null;
+        Matrix4f parentMatrix = parentObject != null ? parentObject.getTransform().getRenderMatrix(alpha) : null;
+        if(!interpolate) {
+            // Only recalculate if a parent is interpolated
+            if(parentMatrix == null || parentMatrix == parentObject.getTransform().worldMatrix) return getWorldMatrix();
+            if(renderMatrix == null) renderMatrix = new Matrix4f();
+            return parentMatrix.mul(getLocalMatrix(), renderMatrix);
+        }
+
+        previousRotation.slerp(rotation, alpha, renderRotation);
+        renderMatrix.translationRotateScale(
+                previousPosition.x + (position.x - previousPosition.x) * alpha,
+                previousPosition.y + (position.y - previousPosition.y) * alpha,
+                previousPosition.z + (position.z - previousPosition.z) * alpha,
+                renderRotation.x, renderRotation.y, renderRotation.z, renderRotation.w,
+                previousScale.x + (scale.x - previousScale.x) * alpha,
+                previousScale.y + (scale.y - previousScale.y) * alpha,
+                previousScale.z + (scale.z - previousScale.z) * alpha);
+        if(parentMatrix != null) parentMatrix.mul(renderMatrix, renderMatrix);
+        return renderMatrix;
+    }
+
+    /**
+     * Only used by the TransformStorage
+     * @param storage Storage that calculates the world matrix or null
+     * @param storageSlot Slot in the storage
+     */
+    public void bindStorage(TransformStorage storage, int storageSlot) {
+        this.storage = storage;
+        this.storageSlot = storageSlot;
+        this.storageVersion = -1;
+        this.localDirty = true;
+        this.worldDirty = true;
+    }
+
+    /**
+     * @return Slot in the TransformStorage or -1
+     */
+    public int getStorageSlot() {
+        return storageSlot;
+    }
+
+    /**
+     * Changes every time the world matrix is recalculated
+     * @return Version of the world matrix
+     */
+    public int getWorldVersion() {
+        return worldVersion;
+    }
+
+    /**
+     * @return If the world matrix has to be recalculated
+     */
+    public boolean isDirty() {
+        if(storage != null) return storage.isChanged() || storageVersion != storage.getVersion(storageSlot);
+        return worldDirty;
     }
 
     /**
@@ -171,6 +449,15 @@ public class Transform extends Component {
         return Maths.createViewMatrix(this);
     }
 
+    /**
+     * Converts the transform into a viewMatrix without allocating
+     * @param dest Matrix to write to
+     * @return dest
+     */
+    public Matrix4f viewMatrix(Matrix4f dest) {
+        return Maths.createViewMatrix(this, dest);
+    }
+
     @Override
     public Transform clone() {
         return new Transform(new Vector3f(this.position), new Vector3f(this.velocity), new Vector3f(this.scale), new Quaternionf(this.rotation));
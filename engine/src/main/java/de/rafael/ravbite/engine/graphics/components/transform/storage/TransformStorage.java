@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.components.transform.storage;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 6:10 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.components.transform.Transform;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.scene.callbacks.SceneCallback;
+import org.joml.Matrix4f;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+public class TransformStorage extends SceneCallback {
+
+    private static final int MATRIX_SIZE = 16;
+
+    private final boolean offHeap;
+
+    private int capacity;
+    private int size = 0;
+
+    private Transform[] transforms;
+    private float[] positions;
+    private float[] rotations;
+    private float[] scales;
+    private boolean[] dirty;
+
+    private int[] parents;
+    private int[] order;
+    // Scratch arrays of rebuildOrder(), reused so structural changes don't allocate
+    private int[] depths;
+    private int[] depthOffsets = new int[16];
+    private int[] updatedStamps;
+    // Changes every time the world matrix of the slot is recalculated
+    private int[] slotVersions;
+
+    // Only one of them is used depending on offHeap
+    private float[] worldArray;
+    private FloatBuffer worldBuffer;
+
+    private boolean structureChanged = false;
+    private boolean changed = false;
+    private int stamp = 0;
+    private int version = 0;
+
+    private final Matrix4f localMatrix = new Matrix4f();
+    private final Matrix4f parentMatrix = new Matrix4f();
+
+    /**
+     * Stores transforms in packed primitive arrays indexed by a dense slot and calculates
+     * all world matrices in one linear pass that processes parents before children
+     * @param offHeap If true the world matrices are stored in native memory and have to be freed with free()
+     */
+    public TransformStorage(boolean offHeap) {
+        this.offHeap = offHeap;
+        allocate(256);
+    }
+
+    @Override
+    public void objectAdded(GameObject gameObject) {
+        add(gameObject.getTransform());
+    }
+
+    @Override
+    public void objectRemoved(GameObject gameObject) {
+        remove(gameObject.getTransform());
+    }
+
+    /**
+     * Adds a transform to the storage and binds it
+     * @param transform Transform to add
+     */
+    public void add(Transform transform) {
+        if(transform.getStorageSlot() >= 0) return;
+        if(size == capacity) allocate(capacity * 2);
+
+        int slot = size++;
+        transforms[slot] = transform;
+        transform.bindStorage(this, slot);
+        write(slot, transform);
+        structureChanged = true;
+    }
+
+    /**
+     * Removes a transform from the storage. The last slot is moved into the free slot
+     * @param transform Transform to remove
+     */
+    public void remove(Transform transform) {
+        int slot = transform.getStorageSlot();
+        if(slot < 0 || transforms[slot] != transform) return;
+
+        int last = --size;
+        if(slot != last) {
+            Transform moved = transforms[last];
+            transforms[slot] = moved;
+            moved.bindStorage(this, slot);
+            write(slot, moved);
+        }
+        transforms[last] = null;
+        transform.bindStorage(null, -1);
+        structureChanged = true;
+    }
+
+    /**
+     * Copies position, rotation and scale of the transform into the packed arrays
+     * @param slot Slot of the transform
+     * @param transform Transform
+     */
+    public void write(int slot, Transform transform) {
+        positions[slot * 3] = transform.position.x;
+        positions[slot * 3 + 1] = transform.position.y;
+        positions[slot * 3 + 2] = transform.position.z;
+        rotations[slot * 4] = transform.rotation.x;
+        rotations[slot * 4 + 1] = transform.rotation.y;
+        rotations[slot * 4 + 2] = transform.rotation.z;
+        rotations[slot * 4 + 3] = transform.rotation.w;
+        scales[slot * 3] = transform.scale.x;
+        scales[slot * 3 + 1] = transform.scale.y;
+        scales[slot * 3 + 2] = transform.scale.z;
+        dirty[slot] = true;
+        changed = true;
+    }
+
+    /**
+     * Tells the storage that the parent of a transform changed
+     */
+    public void parentChanged() {
+        structureChanged = true;
+        changed = true;
+    }
+
+    /**
+     * Recalculates all outdated world matrices in one pass
+     */
+    public void update() {
+        if(!changed && !structureChanged) return;
+        if(structureChanged) rebuildOrder();
+
+        stamp++;
+        for (int i = 0; i < size; i++) {
+            int slot = order[i];
+            int parent = parents[slot];
+            if(!dirty[slot] && (parent < 0 || updatedStamps[parent] != stamp)) continue;
+
+            int p = slot * 3;
+            int r = slot * 4;
+            localMatrix.translationRotateScale(
+                    positions[p], positions[p + 1], positions[p + 2],
+                    rotations[r], rotations[r + 1], rotations[r + 2], rotations[r + 3],
+                    scales[p], scales[p + 1], scales[p + 2]);
+            if(parent >= 0) {
+                loadMatrix(parent, parentMatrix);
+                parentMatrix.mul(localMatrix, localMatrix);
+            }
+            if(offHeap) {
+                localMatrix.get(slot * MATRIX_SIZE, worldBuffer);
+            } else {
+                localMatrix.get(worldArray, slot * MATRIX_SIZE);
+            }
+
+            dirty[slot] = false;
+            updatedStamps[slot] = stamp;
+            slotVersions[slot]++;
+        }
+        changed = false;
+        version++;
+    }
+
+    /**
+     * Resolves the parent slots and sorts all slots by their depth in the hierarchy
+     */
+    private void rebuildOrder() {
+        int maxDepth = 0;
+        for (int slot = 0; slot < size; slot++) {
+            GameObject parentObject = transforms[slot].getGameObject().getParentObject();
+            parents[slot] = parentObject == null ? -1 : parentObject.getTransform().getStorageSlot();
+
+            int depth = 0;
+            while (parentObject != null && parentObject.getTransform().getStorageSlot() >= 0) {
+                depth++;
+                parentObject = parentObject.getParentObject();
+            }
+            depths[slot] = depth;
+            maxDepth = Math.max(maxDepth, depth);
+
+            // Moved slots have to be recalculated
+            dirty[slot] = true;
+        }
+
+        // Counting sort by depth so every parent is processed before its children
+        int offsetCount = maxDepth + 2;
+        if(depthOffsets.length < offsetCount) depthOffsets = new int[Math.max(offsetCount, depthOffsets.length * 2)];
+        int[] offsets = depthOffsets;
+        Arrays.fill(offsets, 0, offsetCount, 0);
+        for (int slot = 0; slot < size; slot++) {
+            offsets[depths[slot] + 1]++;
+        }
+        for (int i = 1; i < offsetCount; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+        for (int slot = 0; slot < size; slot++) {
+            order[offsets[depths[slot]]++] = slot;
+        }
+        structureChanged = false;
+    }
+
+    /**
+     * Grows all arrays
+     * @param newCapacity New capacity
+     */
+    private void allocate(int newCapacity) {
+        if(transforms == null) {
+            transforms = new Transform[newCapacity];
+            positions = new float[newCapacity * 3];
+            rotations = new float[newCapacity * 4];
+            scales = new float[newCapacity * 3];
+            dirty = new boolean[newCapacity];
+            parents = new int[newCapacity];
+            order = new int[newCapacity];
+            updatedStamps = new int[newCapacity];
+            slotVersions = new int[newCapacity];
+            if(offHeap) {
+                worldBuffer = MemoryUtil.memAllocFloat(newCapacity * MATRIX_SIZE);
+            } else {
+                worldArray = new float[newCapacity * MATRIX_SIZE];
+            }
+        } else {
+            transforms = Arrays.copyOf(transforms, newCapacity);
+            positions = Arrays.copyOf(positions, newCapacity * 3);
+            rotations = Arrays.copyOf(rotations, newCapacity * 4);
+            scales = Arrays.copyOf(scales, newCapacity * 3);
+            dirty = Arrays.copyOf(dirty, newCapacity);
+            parents = Arrays.copyOf(parents, newCapacity);
+            order = Arrays.copyOf(order, newCapacity);
+            updatedStamps = Arrays.copyOf(updatedStamps, newCapacity);
+            slotVersions = Arrays.copyOf(slotVersions, newCapacity);
+            if(offHeap) {
+                worldBuffer = MemoryUtil.memRealloc(worldBuffer, newCapacity * MATRIX_SIZE);
+            } else {
+                worldArray = Arrays.copyOf(worldArray, newCapacity * MATRIX_SIZE);
+            }
+        }
+        depths = new int[newCapacity];
+        capacity = newCapacity;
+    }
+
+    /**
+     * Frees the native memory if the storage is off heap
+     */
+    public void free() {
+        if(offHeap && worldBuffer != null) {
+            MemoryUtil.memFree(worldBuffer);
+            worldBuffer = null;
+        }
+    }
+
+    /**
+     * Copies the world matrix of a slot into a matrix
+     * @param slot Slot of the transform
+     * @param dest Matrix to write to
+     * @return dest
+     */
+    public Matrix4f getWorldMatrix(int slot, Matrix4f dest) {
+        update();
+        return loadMatrix(slot, dest);
+    }
+
+    private Matrix4f loadMatrix(int slot, Matrix4f dest) {
+        if(offHeap) {
+            return dest.set(slot * MATRIX_SIZE, worldBuffer);
+        } else {
+            return dest.set(worldArray, slot * MATRIX_SIZE);
+        }
+    }
+
+    /**
+     * Packed world matrices, 16 floats per slot in column-major order
+     * @return Native buffer of all world matrices or null if the storage is not off heap
+     */
+    public FloatBuffer getWorldBuffer() {
+        update();
+        return worldBuffer;
+    }
+
+    /**
+     * Packed world matrices, 16 floats per slot in column-major order
+     * @return Array of all world matrices or null if the storage is off heap
+     */
+    public float[] getWorldArray() {
+        update();
+        return worldArray;
+    }
+
+    /**
+     * @return Counter that changes after every update that calculated new matrices
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Only changes if the world matrix of this slot was recalculated, so unchanged transforms keep their version
+     * @param slot Slot of the transform
+     * @return Version of the world matrix of the slot
+     */
+    public int getVersion(int slot) {
+        return slotVersions[slot];
+    }
+
+    /**
+     * @return If matrices changed since the last update
+     */
+    public boolean isChanged() {
+        return changed || structureChanged;
+    }
+
+    /**
+     * @return If the world matrices are stored in native memory
+     */
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * @return Amount of stored transforms
+     */
+    public int size() {
+        return size;
+    }
+
+}
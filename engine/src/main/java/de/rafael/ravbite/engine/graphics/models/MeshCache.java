@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.models;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/22/2026 at 11:45 AM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.objects.game.material.IMaterial;
+import de.rafael.ravbite.engine.graphics.objects.game.material.standard.DiffuseProperty;
+import de.rafael.ravbite.engine.graphics.objects.game.material.standard.Material;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.PackedMesh;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.VertexLayout;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+import de.rafael.ravbite.engine.utils.math.BoundingBox;
+import de.rafael.ravbite.engine.utils.math.BoundingSphere;
+import org.joml.Vector3f;
+import org.lwjgl.opengl.GL11;
+
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+public class MeshCache {
+
+    public static final String EXTENSION = ".rbmesh";
+    public static final int MAGIC = 0x48534D52;
+    public static final int VERSION = 1;
+    // Read back as another value if the file was written with a different byte order
+    private static final int BYTE_ORDER_MARK = 0x01020304;
+
+    private static final int HEADER_BYTES = 16;
+    // Fixed part of a mesh record without the strings
+    private static final int RECORD_BYTES = 6 * 4 + 10 * 4 + 2 * (8 + 4) + 2 * 4;
+
+    private static final int MATERIAL_NONE = 0;
+    private static final int MATERIAL_DIFFUSE = 1;
+
+    private final File directory;
+
+    /**
+     * Stores processed meshes in .rbmesh files
+     * A file holds the vertices and indices of every mesh in the VertexLayout of the mesh, the bounds, the subMesh hierarchy and the diffuse materials
+     * The data is written in native byte order, so it can be memory-mapped and uploaded without any conversion
+     * @param directory Directory of the cache files
+     */
+    public MeshCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates the cache key of a model. Changing the source, the import flags or the format creates a new key
+     * @param source Content of the model file
+     * @param importFlags Flags the model is imported with
+     * @return Key of the model
+     */
+    public String createKey(ByteBuffer source, int importFlags) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(source.duplicate());
+            digest.update(ByteBuffer.allocate(8).putInt(importFlags).putInt(VERSION).flip());
+            StringBuilder key = new StringBuilder();
+            for (byte b : digest.digest()) {
+                key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * @param key Key of the model
+     * @return File the model is cached in
+     */
+    public File getFile(String key) {
+        return new File(directory, key + EXTENSION);
+    }
+
+    /**
+     * Memory-maps the cache file of the key. The vertices and indices stay in the mapping until the meshes are stored
+     * A file that doesn't match the format is deleted and treated as a miss, so the model is imported again
+     * @param key Key of the model
+     * @param engineView EngineView the materials are created for
+     * @return Root mesh or null if the file doesn't exist, was written by another version or is broken
+     * @throws IOException If the file can't be read
+     */
+    public Mesh load(String key, EngineView engineView) throws IOException {
+        File file = getFile(key);
+        if(!file.isFile()) return null;
+
+        MappedByteBuffer mapping;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer buffer = mapping.order(ByteOrder.nativeOrder());
+        if(buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) return discard(file, "unknown format");
+        if(buffer.getInt() != VERSION || buffer.getInt() != BYTE_ORDER_MARK) return null;
+
+        int meshCount = buffer.getInt();
+        if(meshCount <= 0 || (long) meshCount * RECORD_BYTES > buffer.remaining()) return discard(file, "invalid mesh count " + meshCount);
+        int[] parents = new int[meshCount];
+        VertexLayout[] layouts = new VertexLayout[meshCount];
+        PackedMesh[] packedMeshes = new PackedMesh[meshCount];
+        BoundingBox[] bounds = new BoundingBox[meshCount];
+        BoundingSphere[] spheres = new BoundingSphere[meshCount];
+        int[] materialTypes = new int[meshCount];
+        int[] colors = new int[meshCount];
+        String[] texturePaths = new String[meshCount];
+        String[] names = new String[meshCount];
+        // Everything is read and checked before any material is created
+        for (int i = 0; i < meshCount; i++) {
+            if(buffer.remaining() < RECORD_BYTES) return discard(file, "truncated mesh record " + i);
+            parents[i] = buffer.getInt();
+            // Parents are always written before their subMeshes
+            if(parents[i] < -1 || parents[i] >= i || (parents[i] == -1) != (i == 0)) return discard(file, "invalid parent of mesh " + i);
+            layouts[i] = VertexLayout.fromFlags(buffer.getInt());
+            boolean tangents = buffer.getInt() != 0;
+            int vertexCount = buffer.getInt();
+            int indexCount = buffer.getInt();
+            int indexType = buffer.getInt();
+            bounds[i] = new BoundingBox(new Vector3f(buffer.getFloat(), buffer.getFloat(), buffer.getFloat()), new Vector3f(buffer.getFloat(), buffer.getFloat(), buffer.getFloat()));
+            spheres[i] = new BoundingSphere(new Vector3f(buffer.getFloat(), buffer.getFloat(), buffer.getFloat()), buffer.getFloat());
+            long vertexOffset = buffer.getLong();
+            int vertexBytes = buffer.getInt();
+            long indexOffset = buffer.getLong();
+            int indexBytes = buffer.getInt();
+            materialTypes[i] = buffer.getInt();
+            colors[i] = buffer.getInt();
+            if(materialTypes[i] != MATERIAL_NONE && materialTypes[i] != MATERIAL_DIFFUSE) return discard(file, "invalid material of mesh " + i);
+            if(!readString(buffer, texturePaths, i) || !readString(buffer, names, i)) return discard(file, "invalid string in mesh " + i);
+
+            if(vertexCount < 0 || indexCount < 0) return discard(file, "invalid counts of mesh " + i);
+            if(vertexCount > 0) {
+                if(indexType != GL11.GL_UNSIGNED_SHORT && indexType != GL11.GL_UNSIGNED_INT) return discard(file, "invalid index type of mesh " + i);
+                int indexSize = indexType == GL11.GL_UNSIGNED_SHORT ? 2 : 4;
+                if(!isBlock(mapping, vertexOffset, vertexBytes, (long) layouts[i].getStride(tangents) * vertexCount)
+                        || !isBlock(mapping, indexOffset, indexBytes, (long) indexSize * indexCount)) return discard(file, "invalid data block of mesh " + i);
+                packedMeshes[i] = new PackedMesh(mapping.slice((int) vertexOffset, vertexBytes), mapping.slice((int) indexOffset, indexBytes), vertexCount, indexCount, indexType, tangents);
+            }
+        }
+
+        Mesh[] meshes = new Mesh[meshCount];
+        for (int i = 0; i < meshCount; i++) {
+            IMaterial material = materialTypes[i] == MATERIAL_DIFFUSE ? ModelUtils.rbCreateMaterial(engineView, new Color(colors[i], true), texturePaths[i]) : null;
+            Mesh mesh = new Mesh(names[i], material, null, null, null, null, null);
+            mesh.setVertexLayout(layouts[i]);
+            if(packedMeshes[i] != null) mesh.setPackedMesh(packedMeshes[i]);
+            meshes[i] = mesh;
+        }
+        for (int i = 0; i < meshCount; i++) {
+            if(parents[i] >= 0) meshes[parents[i]].addSubMesh(meshes[i]);
+        }
+        // Adding subMeshes resets the bounds of the parents
+        for (int i = 0; i < meshCount; i++) {
+            meshes[i].setBounds(bounds[i], spheres[i]);
+        }
+        return meshes[0];
+    }
+
+    /**
+     * Deletes a broken cache file, so the model is imported and stored again
+     * @param file Cache file
+     * @param reason Why the file can't be used
+     * @return Always null
+     */
+    private static Mesh discard(File file, String reason) {
+        System.out.println("Discarding broken mesh cache file " + file.getName() + ": " + reason);
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+        return null;
+    }
+
+    private static boolean isBlock(ByteBuffer mapping, long offset, int bytes, long neededBytes) {
+        return offset >= 0 && bytes >= neededBytes && offset + bytes <= mapping.capacity();
+    }
+
+    /**
+     * Writes the mesh and all subMeshes into the cache file of the key
+     * The file is written next to the old one and moved over it, so a failed write never leaves a broken file
+     * @param key Key of the model
+     * @param root Root mesh
+     * @throws IOException If the file can't be written
+     */
+    public void store(String key, Mesh root) throws IOException {
+        Mesh[] meshes = root.collectMeshes();
+        Map<Mesh, Integer> indices = new IdentityHashMap<>();
+        byte[][] texturePaths = new byte[meshes.length][];
+        byte[][] names = new byte[meshes.length][];
+        long headerBytes = HEADER_BYTES;
+        for (int i = 0; i < meshes.length; i++) {
+            Mesh mesh = meshes[i];
+            indices.put(mesh, i);
+            DiffuseProperty diffuse = mesh.getMaterial() instanceof Material material ? material.getDiffuse() : null;
+            texturePaths[i] = diffuse != null && diffuse.getTexturePath() != null ? diffuse.getTexturePath().getBytes(StandardCharsets.UTF_8) : null;
+            names[i] = mesh.getName() != null ? mesh.getName().getBytes(StandardCharsets.UTF_8) : null;
+            headerBytes += RECORD_BYTES + stringBytes(texturePaths[i]) + stringBytes(names[i]);
+        }
+
+        // Every data block starts 4 byte aligned
+        long[] offsets = new long[meshes.length * 2];
+        long size = align(headerBytes);
+        for (int i = 0; i < meshes.length; i++) {
+            offsets[i * 2] = size;
+            size = align(size + vertexBytes(meshes[i]));
+            offsets[i * 2 + 1] = size;
+            size = align(size + indexBytes(meshes[i]));
+        }
+        if(size > Integer.MAX_VALUE) throw new IOException("Mesh is too big for the cache: " + size + " bytes");
+
+        Files.createDirectories(directory.toPath());
+        Path file = getFile(key).toPath();
+        // Every store gets its own file, so loaders storing the same key at once don't write into each other
+        Path temporary = Files.createTempFile(directory.toPath(), key, ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            ByteBuffer buffer = mapping.order(ByteOrder.nativeOrder());
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(BYTE_ORDER_MARK).putInt(meshes.length);
+            for (int i = 0; i < meshes.length; i++) {
+                Mesh mesh = meshes[i];
+                VertexLayout layout = mesh.getVertexLayout();
+                boolean hasData = mesh.getVertices() != null && mesh.getIndices() != null;
+                int vertexCount = hasData ? mesh.getVertices().length / 3 : 0;
+                Integer parent = mesh.getParentMesh() != null ? indices.get(mesh.getParentMesh()) : null;
+                buffer.putInt(parent != null ? parent : -1);
+                buffer.putInt(layout.getFlags());
+                buffer.putInt(hasData && layout.hasTangents(mesh) ? 1 : 0);
+                buffer.putInt(vertexCount);
+                buffer.putInt(hasData ? mesh.getIndices().length : 0);
+                buffer.putInt(hasData ? layout.getIndexType(vertexCount) : GL11.GL_UNSIGNED_INT);
+
+                BoundingBox bounds = mesh.getBounds();
+                BoundingSphere sphere = mesh.getBoundingSphere();
+                buffer.putFloat(bounds.min.x).putFloat(bounds.min.y).putFloat(bounds.min.z);
+                buffer.putFloat(bounds.max.x).putFloat(bounds.max.y).putFloat(bounds.max.z);
+                buffer.putFloat(sphere.center.x).putFloat(sphere.center.y).putFloat(sphere.center.z).putFloat(sphere.radius);
+
+                buffer.putLong(offsets[i * 2]).putInt(vertexBytes(mesh));
+                buffer.putLong(offsets[i * 2 + 1]).putInt(indexBytes(mesh));
+
+                DiffuseProperty diffuse = mesh.getMaterial() instanceof Material material ? material.getDiffuse() : null;
+                buffer.putInt(diffuse != null ? MATERIAL_DIFFUSE : MATERIAL_NONE);
+                buffer.putInt(diffuse != null ? diffuse.getColor().getRGB() : 0);
+                writeString(buffer, texturePaths[i]);
+                writeString(buffer, names[i]);
+            }
+
+            for (int i = 0; i < meshes.length; i++) {
+                Mesh mesh = meshes[i];
+                if(mesh.getVertices() == null || mesh.getIndices() == null) continue;
+                mesh.getVertexLayout().writeVertices(mesh, buffer.position((int) offsets[i * 2]));
+                mesh.getVertexLayout().writeIndices(mesh, buffer.position((int) offsets[i * 2 + 1]));
+            }
+            mapping.force();
+        } catch (IOException | RuntimeException exception) {
+            Files.deleteIfExists(temporary);
+            throw exception;
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int vertexBytes(Mesh mesh) {
+        if(mesh.getVertices() == null || mesh.getIndices() == null) return 0;
+        return mesh.getVertexLayout().getVertexBytes(mesh);
+    }
+
+    private static int indexBytes(Mesh mesh) {
+        if(mesh.getVertices() == null || mesh.getIndices() == null) return 0;
+        return mesh.getVertexLayout().getIndexBytes(mesh);
+    }
+
+    private static long align(long offset) {
+        return (offset + 3) & ~3L;
+    }
+
+    private static int stringBytes(byte[] string) {
+        return 4 + (string != null ? string.length : 0);
+    }
+
+    private static void writeString(ByteBuffer buffer, byte[] string) {
+        if(string == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(string.length).put(string);
+        }
+    }
+
+    private static boolean readString(ByteBuffer buffer, String[] strings, int index) {
+        if(buffer.remaining() < 4) return false;
+        int length = buffer.getInt();
+        if(length < 0) {
+            strings[index] = null;
+            return length == -1;
+        }
+        if(length > buffer.remaining()) return false;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        strings[index] = new String(bytes, StandardCharsets.UTF_8);
+        return true;
+    }
+
+    /**
+     * @return Directory of the cache files
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+}
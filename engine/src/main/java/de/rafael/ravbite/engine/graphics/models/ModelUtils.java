@@ -37,6 +37,8 @@ package de.rafael.ravbite.engine.graphics.models;
 //
 //------------------------------
 
+import de.rafael.ravbite.engine.assets.AssetStreamer;
+import de.rafael.ravbite.engine.assets.ResourceCache;
 import de.rafael.ravbite.engine.graphics.objects.game.material.standard.DiffuseProperty;
 import de.rafael.ravbite.engine.graphics.objects.game.material.standard.Material;
 import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
@@ -51,34 +53,56 @@ import java.awt.*;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
 
 public class ModelUtils {
 
+    public static final int IMPORT_FLAGS = Assimp.aiProcess_Triangulate |
+            Assimp.aiProcess_OptimizeMeshes |
+            Assimp.aiProcess_FlipUVs |
+            Assimp.aiProcess_CalcTangentSpace |
+            Assimp.aiProcess_JoinIdenticalVertices |
+            Assimp.aiProcess_ValidateDataStructure |
+            Assimp.aiProcess_ImproveCacheLocality |
+            Assimp.aiProcess_GenUVCoords |
+            Assimp.aiProcess_TransformUVCoords |
+            Assimp.aiProcess_LimitBoneWeights |
+            Assimp.aiProcess_OptimizeMeshes |
+            Assimp.aiProcess_GenSmoothNormals |
+            Assimp.aiProcess_SplitLargeMeshes;
+
+    /**
+     * Minimum amount of meshes in a scene to process them in parallel
+     */
+    public static final int PARALLEL_THRESHOLD = 4;
+
     /**
      * Loads all available meshes from a modelFile
+     * The processed meshes are stored in the MeshCache of the engineView and loaded from it without Assimp next time
      * @param assetLocation Path to the modelFile
      * @return MeshArray
      */
     public static Mesh rbLoadModel(AssetLocation assetLocation, EngineView engineView) {
         try {
-            AIScene aiScene = ModelUtils.rbLoadScene(assetLocation);
-
-            PointerBuffer pointerBuffer = aiScene.mMeshes();
-            Mesh mesh = null;
-            for (int i = 0; i < Objects.requireNonNull(pointerBuffer).limit(); i++) {
-                AIMesh aiMesh = AIMesh.create(pointerBuffer.get(i));
-                Mesh loadedMesh = ModelUtils.rbProcessMesh(aiScene, aiMesh, engineView);
-                if(mesh == null) {
-                    mesh = loadedMesh;
-                } else {
-                    mesh.addSubMesh(loadedMesh);
+            MeshCache meshCache = engineView.getMeshCache();
+            if(meshCache == null) return rbImportModel(assetLocation, engineView);
+
+            String key = meshCache.createKey(rbReadSource(assetLocation), IMPORT_FLAGS);
+            Mesh mesh = meshCache.load(key, engineView);
+            if(mesh == null) {
+                mesh = rbImportModel(assetLocation, engineView);
+                if(mesh != null) {
+                    try {
+                        meshCache.store(key, mesh);
+                    } catch (IOException exception) {
+                        exception.printStackTrace();
+                    }
                 }
             }
-            Assimp.aiReleaseImport(aiScene);
             return mesh;
         } catch(Exception exception) {
             exception.printStackTrace();
@@ -86,6 +110,78 @@ public class ModelUtils {
         }
     }
 
+    /**
+     * Imports all available meshes from a modelFile with Assimp
+     * @param assetLocation Path to the modelFile
+     * @return MeshArray
+     * @throws IOException ?
+     */
+    public static Mesh rbImportModel(AssetLocation assetLocation, EngineView engineView) throws IOException {
+        AIScene aiScene = ModelUtils.rbLoadScene(assetLocation);
+        if(aiScene == null) return null;
+
+        try {
+            return rbProcessScene(aiScene, engineView, true);
+        } finally {
+            Assimp.aiReleaseImport(aiScene);
+        }
+    }
+
+    /**
+     * Converts all meshes of a aiScene to one Mesh with the other meshes as subMeshes
+     * If parallel is true the geometry, materials and bounds of the meshes are processed on the common ForkJoinPool
+     * Textures are loaded on the calling thread or streamed on a loader thread. The VAOs are created later by storeMeshes() or the AssetStreamer on the render thread
+     * @param aiScene Scene of the model
+     * @param engineView EngineView
+     * @param parallel If the meshes should be processed on worker threads
+     * @return MeshArray or null if the scene has no meshes
+     * @throws IOException If a texture doesn't exist
+     */
+    public static Mesh rbProcessScene(AIScene aiScene, EngineView engineView, boolean parallel) throws IOException {
+        PointerBuffer pointerBuffer = aiScene.mMeshes();
+        int meshCount = pointerBuffer == null ? 0 : aiScene.mNumMeshes();
+        if(meshCount == 0) return null;
+
+        Mesh[] meshes = new Mesh[meshCount];
+        ImportedMaterial[] materials = new ImportedMaterial[meshCount];
+        IntStream indices = IntStream.range(0, meshCount);
+        if(parallel && meshCount >= PARALLEL_THRESHOLD) indices = indices.parallel();
+        indices.forEach(i -> {
+            AIMesh aiMesh = AIMesh.create(pointerBuffer.get(i));
+            meshes[i] = rbProcessGeometry(aiMesh);
+            meshes[i].calculateBounds();
+            materials[i] = rbReadMaterial(aiScene, aiMesh);
+        });
+
+        // Textures need the GL context so the materials are created in the order of the meshes
+        Mesh mesh = null;
+        for (int i = 0; i < meshCount; i++) {
+            meshes[i].setMaterial(rbCreateMaterial(engineView, materials[i]));
+            if(mesh == null) {
+                mesh = meshes[i];
+            } else {
+                mesh.addSubMesh(meshes[i]);
+            }
+        }
+        mesh.calculateBounds();
+        return mesh;
+    }
+
+    /**
+     * Reads the content of a modelFile to create the cache key. External files are memory-mapped
+     * @param assetLocation Path to the modelFile
+     * @return Content of the file
+     * @throws IOException If the file doesn't exist
+     */
+    public static ByteBuffer rbReadSource(AssetLocation assetLocation) throws IOException {
+        if(assetLocation.getLocation() == AssetLocation.INTERNAL) {
+            return IOUtils.ioResourceToByteBuffer(assetLocation.getPath(true), 8192);
+        }
+        try (FileChannel channel = FileChannel.open(new File(assetLocation.getPath(false)).toPath(), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
     /**
      * Loads the aiScene from a modelFile
      * @param assetLocation Path to the modelFile
@@ -94,19 +190,7 @@ public class ModelUtils {
      */
     public static AIScene rbLoadScene(AssetLocation assetLocation) throws IOException {
         AIScene aiScene = null;
-        int i = Assimp.aiProcess_Triangulate |
-                Assimp.aiProcess_OptimizeMeshes |
-                Assimp.aiProcess_FlipUVs |
-                Assimp.aiProcess_CalcTangentSpace |
-                Assimp.aiProcess_JoinIdenticalVertices |
-                Assimp.aiProcess_ValidateDataStructure |
-                Assimp.aiProcess_ImproveCacheLocality |
-                Assimp.aiProcess_GenUVCoords |
-                Assimp.aiProcess_TransformUVCoords |
-                Assimp.aiProcess_LimitBoneWeights |
-                Assimp.aiProcess_OptimizeMeshes |
-                Assimp.aiProcess_GenSmoothNormals |
-                Assimp.aiProcess_SplitLargeMeshes;
+        int i = IMPORT_FLAGS;
         if(assetLocation.getLocation() == AssetLocation.INTERNAL) {
             AIFileIO aiFileIO = rbCreateAIFileIO();
             aiScene = Assimp.aiImportFileEx(assetLocation.getPath(true), i, aiFileIO);
@@ -168,101 +252,156 @@ public class ModelUtils {
      * @throws IOException ?
      */
     public static Mesh rbProcessMesh(AIScene aiScene, AIMesh aiMesh, EngineView engineView) throws IOException {
-        List<Float> verticesList = new ArrayList<>();
-        List<Float> normalsList = new ArrayList<>();
-        List<Float> tangentsList = new ArrayList<>();
-        List<Float> textureCoordsList = new ArrayList<>();
-        List<Integer> indicesList = new ArrayList<>();
-
-        AIVector3D.Buffer verticesData = aiMesh.mVertices();
-        for (int i = 0; i < verticesData.limit(); i++) {
-            AIVector3D vertex = verticesData.get(i);
-            verticesList.add(vertex.x());
-            verticesList.add(vertex.y());
-            verticesList.add(vertex.z());
-        }
-        
-        AIVector3D.Buffer normalsData = aiMesh.mNormals();
-        for (int i = 0; i < Objects.requireNonNull(normalsData).limit(); i++) {
-            AIVector3D normal = normalsData.get(i);
-            normalsList.add(normal.x());
-            normalsList.add(normal.y());
-            normalsList.add(normal.z());
-        }
+        Mesh mesh = rbProcessGeometry(aiMesh);
+        mesh.setMaterial(rbCreateMaterial(engineView, rbReadMaterial(aiScene, aiMesh)));
+        mesh.calculateBounds();
+        return mesh;
+    }
 
-        AIVector3D.Buffer tangentsData = aiMesh.mTangents();
-        for (int i = 0; i < Objects.requireNonNull(tangentsData).limit(); i++) {
-            AIVector3D tangent = tangentsData.get(i);
-            tangentsList.add(tangent.x());
-            tangentsList.add(tangent.y());
-            tangentsList.add(tangent.z());
+    /**
+     * Reads the diffuse color and texture path of the material of a aiMesh without touching OpenGL
+     * @param aiScene Scene of the aiMesh
+     * @param aiMesh InputMesh
+     * @return ImportedMaterial or null if the aiMesh has no material
+     */
+    public static ImportedMaterial rbReadMaterial(AIScene aiScene, AIMesh aiMesh) {
+        PointerBuffer materialData = aiScene.mMaterials();
+        if(materialData == null || aiMesh.mMaterialIndex() < 0 || aiMesh.mMaterialIndex() >= aiScene.mNumMaterials()) return null;
+        AIMaterial aiMaterial = AIMaterial.create(materialData.get(aiMesh.mMaterialIndex()));
+
+        int textureCount = Assimp.aiGetMaterialTextureCount(aiMaterial, Assimp.aiTextureType_DIFFUSE);
+        if(textureCount > 1) {
+            System.out.println("More than one texture per mesh is currently not supported. Mesh[" + aiMesh.mName().dataString() + "]");
         }
 
-        AIVector3D.Buffer textureCoordsData = aiMesh.mTextureCoords(0);
-        for (int i = 0; i < Objects.requireNonNull(textureCoordsData).limit(); i++) {
-            AIVector3D textureCord = textureCoordsData.get(i);
-            textureCoordsList.add(textureCord.x());
-            textureCoordsList.add(textureCord.y());
+        String texturePath = null;
+        if(textureCount > 0) {
+            AIString pathString = AIString.create();
+            Assimp.aiGetMaterialTexture(aiMaterial, Assimp.aiTextureType_DIFFUSE, 0, pathString, (IntBuffer) null, null, null, null, null, null);
+            texturePath = pathString.dataString();
         }
 
-        AIFace.Buffer facesData = aiMesh.mFaces();
-        for (int i = 0; i < facesData.limit(); i++) {
-            AIFace face = facesData.get(i);
-            IntBuffer indicesData = face.mIndices();
-            for (int idi = 0; idi < indicesData.limit(); idi++) {
-                indicesList.add(indicesData.get(idi));
-            }
+        AIColor4D color = AIColor4D.create();
+        Color diffuseColor = new Color(0, 0, 0);
+        int result = Assimp.aiGetMaterialColor(aiMaterial, Assimp.AI_MATKEY_COLOR_DIFFUSE, Assimp.aiTextureType_NONE, 0, color);
+        if (result == 0) {
+            diffuseColor = new Color(color.r(), color.g(), color.b(), color.a());
         }
+        return new ImportedMaterial(diffuseColor, texturePath);
+    }
 
-        float[] vertices = new float[verticesList.size()]; for (int i = 0; i < verticesList.size(); i++) {vertices[i] = verticesList.get(i);}
-        float[] normals = new float[normalsList.size()]; for (int i = 0; i < normalsList.size(); i++) {normals[i] = normalsList.get(i);}
-        float[] tangents = new float[tangentsList.size()]; for (int i = 0; i < tangentsList.size(); i++) {tangents[i] = tangentsList.get(i);}
-        float[] textureCoords = new float[textureCoordsList.size()]; for (int i = 0; i < textureCoordsList.size(); i++) {textureCoords[i] = textureCoordsList.get(i);}
-        int[] indices = new int[indicesList.size()]; for (int i = 0; i < indicesList.size(); i++) {indices[i] = indicesList.get(i);}
+    /**
+     * Copies the vertices and indices of a aiMesh into primitive arrays that are sized from the counts of the aiMesh
+     * Missing normals, tangents or textureCoords stay null
+     * @param aiMesh InputMesh
+     * @return Mesh without a material and bounds
+     */
+    public static Mesh rbProcessGeometry(AIMesh aiMesh) {
+        int vertexCount = aiMesh.mNumVertices();
+        float[] vertices = rbReadVectors(aiMesh.mVertices(), vertexCount, 3);
+        float[] normals = rbReadVectors(aiMesh.mNormals(), vertexCount, 3);
+        float[] tangents = rbReadVectors(aiMesh.mTangents(), vertexCount, 3);
+        float[] textureCoords = rbReadVectors(aiMesh.mTextureCoords(0), vertexCount, 2);
+        int[] indices = rbReadIndices(aiMesh.mFaces(), aiMesh.mNumFaces());
+        return new Mesh(aiMesh.mName().dataString(), null, vertices, normals, tangents, textureCoords, indices);
+    }
 
-        AIMaterial aiMaterial = null;
-        PointerBuffer materialData = aiScene.mMaterials();
-        for (int i = 0; i < aiScene.mNumMaterials(); i++) {
-            if(i == aiMesh.mMaterialIndex()) {
-                assert materialData != null;
-                aiMaterial = AIMaterial.create(materialData.get(i));
+    /**
+     * Reads the first components of every vector. Positions, normals and tangents are copied with one bulk get
+     * @param vectors Vectors of the aiMesh or null
+     * @param count Amount of vectors
+     * @param components 2 or 3
+     * @return Components or null if the vectors are null
+     */
+    private static float[] rbReadVectors(AIVector3D.Buffer vectors, int count, int components) {
+        if(vectors == null) return null;
+        float[] data = new float[count * components];
+        // A AIVector3D is 3 tightly packed floats
+        FloatBuffer floats = MemoryUtil.memFloatBuffer(vectors.address(), count * 3);
+        if(components == 3) {
+            floats.get(data);
+        } else {
+            for (int v = 0; v < count; v++) {
+                for (int c = 0; c < components; c++) {
+                    data[v * components + c] = floats.get(v * 3 + c);
+                }
             }
         }
+        return data;
+    }
 
-        Material material = new Material(engineView).create();
-        if(aiMaterial != null) {
-            material = new Material(engineView);
+    /**
+     * Reads the indices of all triangles without creating a struct object for every face
+     * Points and lines that are left after aiProcess_Triangulate are skipped
+     * @param faces Faces of the aiMesh
+     * @param faceCount Amount of faces
+     * @return Indices
+     */
+    private static int[] rbReadIndices(AIFace.Buffer faces, int faceCount) {
+        long address = faces.address();
+        int triangles = 0;
+        for (int i = 0; i < faceCount; i++) {
+            if(AIFace.nmNumIndices(address + (long) i * AIFace.SIZEOF) == 3) triangles++;
+        }
 
-            int textureCount = Assimp.aiGetMaterialTextureCount(aiMaterial, Assimp.aiTextureType_DIFFUSE);
-            if(textureCount > 1) {
-                System.out.println("More than one texture per mesh is currently not supported. Mesh[" + aiMesh.mName() + "]");
-            }
+        int[] indices = new int[triangles * 3];
+        int offset = 0;
+        for (int i = 0; i < faceCount; i++) {
+            long face = address + (long) i * AIFace.SIZEOF;
+            if(AIFace.nmNumIndices(face) != 3) continue;
+            long faceIndices = MemoryUtil.memGetAddress(face + AIFace.MINDICES);
+            indices[offset++] = MemoryUtil.memGetInt(faceIndices);
+            indices[offset++] = MemoryUtil.memGetInt(faceIndices + 4);
+            indices[offset++] = MemoryUtil.memGetInt(faceIndices + 8);
+        }
+        return indices;
+    }
 
-            int textureId = -1;
-            if(textureCount > 0) {
-                AIString pathString = AIString.create();
-                Assimp.aiGetMaterialTexture(aiMaterial, Assimp.aiTextureType_DIFFUSE, 0, pathString, (IntBuffer) null, null, null, null, null, null);
-                String path = pathString.dataString();
+    /**
+     * Creates the material of an imported mesh
+     * @param engineView EngineView
+     * @param importedMaterial Material read by rbReadMaterial() or null for the default material
+     * @return Material
+     * @throws IOException If the texture doesn't exist
+     */
+    public static Material rbCreateMaterial(EngineView engineView, ImportedMaterial importedMaterial) throws IOException {
+        if(importedMaterial == null) return new Material(engineView).create();
+        return rbCreateMaterial(engineView, importedMaterial.diffuseColor(), importedMaterial.texturePath());
+    }
 
-                AssetLocation assetLocation = AssetLocation.create(path, AssetLocation.DETECT);
-                textureId = engineView.getUtils().rbLoadTexture(assetLocation);
-            }
+    /**
+     * Creates the material of an imported mesh
+     * Textures are shared through the ResourceCache and bound to the model that is loaded or the current scene
+     * On a loader thread of the AssetStreamer the texture is streamed and the default texture is used until it is uploaded
+     * @param engineView EngineView
+     * @param diffuseColor Diffuse color
+     * @param texturePath Path of the diffuse texture or null
+     * @return Material
+     * @throws IOException If the texture doesn't exist
+     */
+    public static Material rbCreateMaterial(EngineView engineView, Color diffuseColor, String texturePath) throws IOException {
+        Material material = new Material(engineView);
 
-            AIColor4D color = AIColor4D.create();
-            Color diffuseColor = new Color(0, 0, 0);
-            int result = Assimp.aiGetMaterialColor(aiMaterial, Assimp.AI_MATKEY_COLOR_DIFFUSE, Assimp.aiTextureType_NONE, 0, color);
-            if (result == 0) {
-                diffuseColor = new Color(color.r(), color.g(), color.b(), color.a());
+        DiffuseProperty diffuseProperty = new DiffuseProperty(material, diffuseColor).texturePath(texturePath);
+        if(texturePath != null) {
+            AssetLocation assetLocation = AssetLocation.create(texturePath, AssetLocation.DETECT);
+            if(AssetStreamer.isLoaderThread()) {
+                engineView.getAssetStreamer().loadTexture(assetLocation).whenReady(diffuseProperty::setDiffuseTextureId);
+            } else {
+                ResourceCache resourceCache = engineView.getResourceCache();
+                diffuseProperty.texture(resourceCache.bind(resourceCache.texture(assetLocation)).get());
             }
-
-            DiffuseProperty diffuseProperty = new DiffuseProperty(material, diffuseColor);
-            if(textureId >= 0) diffuseProperty.texture(textureId);
-            material.diffuse(diffuseProperty);
-
-            material.create();
         }
+        material.diffuse(diffuseProperty);
 
-        return new Mesh(aiMesh.mName().dataString(), material, vertices, normals, tangents, textureCoords, indices);
+        return material.create();
     }
 
+    /**
+     * Material properties of a aiMesh that can be read on any thread
+     * @param diffuseColor Diffuse color
+     * @param texturePath Path of the diffuse texture or null
+     */
+    public record ImportedMaterial(Color diffuseColor, String texturePath) {}
+
 }
@@ -39,13 +39,16 @@ package de.rafael.ravbite.engine.graphics.objects.game;
 
 import de.rafael.ravbite.engine.graphics.components.camera.CameraComponent;
 import de.rafael.ravbite.engine.graphics.components.classes.Component;
+import de.rafael.ravbite.engine.graphics.components.classes.ComponentTypes;
 import de.rafael.ravbite.engine.graphics.components.classes.ISizeDependent;
 import de.rafael.ravbite.engine.graphics.components.classes.RenderComponent;
 import de.rafael.ravbite.engine.graphics.components.transform.Transform;
 import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
+import de.rafael.ravbite.engine.graphics.objects.scene.render.RenderQueue;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 
@@ -55,18 +58,25 @@ public class GameObject implements ISizeDependent {
     private final String name;
 
     private int renderLayer = 0;
+    private boolean staticObject = false;
 
     private final Transform transform;
     private final List<Component> objectComponents = new ArrayList<>();
+    private final HashMap<Class<?>, Component> componentIndex = new HashMap<>();
+    private int componentVersion = 0;
 
     private GameObject parentObject = null;
     private final List<GameObject> childrenObjects = new ArrayList<>();
 
+    private int registryIndex = -1;
+
     public GameObject(Scene scene) {
         this.scene = scene;
         this.name = "GameObject-" + System.currentTimeMillis();
         this.transform = new Transform();
+        this.transform.setGameObject(this);
         this.objectComponents.add(this.transform);
+        this.indexComponent(this.transform);
     }
 
     public GameObject(Scene scene, GameObject parentObject) {
@@ -74,14 +84,18 @@ public class GameObject implements ISizeDependent {
         this.name = "GameObject-" + System.currentTimeMillis();
         this.parentObject = parentObject;
         this.transform = new Transform();
+        this.transform.setGameObject(this);
         this.objectComponents.add(this.transform);
+        this.indexComponent(this.transform);
     }
 
     public GameObject(Scene scene, String name) {
         this.scene = scene;
         this.name = name;
         this.transform = new Transform();
+        this.transform.setGameObject(this);
         this.objectComponents.add(this.transform);
+        this.indexComponent(this.transform);
     }
 
     public GameObject(Scene scene, String name, GameObject parentObject) {
@@ -89,7 +103,9 @@ public class GameObject implements ISizeDependent {
         this.name = name;
         this.parentObject = parentObject;
         this.transform = new Transform();
+        this.transform.setGameObject(this);
         this.objectComponents.add(this.transform);
+        this.indexComponent(this.transform);
     }
 
     @Override
@@ -110,8 +126,17 @@ public class GameObject implements ISizeDependent {
      * @return GameObject
      */
     public GameObject appendChild(GameObject child) {
+        if(child.getParentObject() != null && child.getParentObject() != this) {
+            child.getParentObject().getChildrenObjects().remove(child);
+        }
         child.setParentObject(this);
         childrenObjects.add(child);
+        if(isInScene()) {
+            scene.getObjectRegistry().register(child);
+        } else if(child.isInScene()) {
+            // Moved out of the scene tree
+            scene.getObjectRegistry().unregister(child);
+        }
         return this;
     }
 
@@ -122,12 +147,35 @@ public class GameObject implements ISizeDependent {
      */
     public GameObject appendChildren(GameObject... children) {
         for (GameObject child : children) {
-            child.setParentObject(this);
+            appendChild(child);
+        }
+        return this;
+    }
+
+    /**
+     * Removes a child and all of its children from the GameObject and the scene
+     * @param child GameObject to remove
+     * @return GameObject
+     */
+    public GameObject removeChild(GameObject child) {
+        if(childrenObjects.remove(child)) {
+            if(child.isInScene()) scene.getObjectRegistry().unregister(child);
+            child.setParentObject(null);
         }
-        childrenObjects.addAll(List.of(children));
         return this;
     }
 
+    /**
+     * Removes the GameObject from the scene and disposes all components
+     */
+    public void destroy() {
+        if(parentObject != null) parentObject.removeChild(this);
+        for (GameObject gameObject : getGameObjects()) {
+            gameObject.dispose();
+        }
+        dispose();
+    }
+
     /**
      * Append new component to GameObject
      * @param component Component to add
@@ -137,7 +185,9 @@ public class GameObject implements ISizeDependent {
         if(component instanceof Transform) return this;
         component.setGameObject(this);
         objectComponents.add(component);
+        indexComponent(component);
         component.initialize();
+        scene.getObjectRegistry().componentAdded(this, component);
         return this;
     }
 
@@ -153,32 +203,111 @@ public class GameObject implements ISizeDependent {
         return this;
     }
 
-    public Optional<Component> hasComponent(Class<? extends Component> type) {
-        for (Component objectComponent : objectComponents) {
-            if(type.isAssignableFrom(objectComponent.getClass())) {
-                return Optional.of(objectComponent);
+    /**
+     * Removes and disposes a component. The transform can't be removed
+     * @param component Component to remove
+     * @return GameObject
+     */
+    public GameObject removeComponent(Component component) {
+        if(component instanceof Transform || !objectComponents.remove(component)) return this;
+        for (Class<?> type : ComponentTypes.superTypes(component.getClass())) {
+            if(componentIndex.get(type) == component) {
+                componentIndex.remove(type);
+                for (Component objectComponent : objectComponents) {
+                    if(type.isInstance(objectComponent)) {
+                        componentIndex.put(type, objectComponent);
+                        break;
+                    }
+                }
             }
         }
-        return Optional.empty();
+        componentVersion++;
+        scene.getObjectRegistry().componentRemoved(this, component);
+        component.dispose();
+        component.setGameObject(null);
+        return this;
+    }
+
+    /**
+     * Adds the component to the index under its own type and all super types
+     * The first component of a type stays in the index like in a linear search
+     * @param component Component to index
+     */
+    private void indexComponent(Component component) {
+        for (Class<?> type : ComponentTypes.superTypes(component.getClass())) {
+            componentIndex.putIfAbsent(type, component);
+        }
+        componentVersion++;
+    }
+
+    /**
+     * Allocates an Optional. Use getComponent in code that runs every frame
+     * @param type Type of the component
+     * @return Optional with the first component of the type
+     */
+    public Optional<Component> hasComponent(Class<? extends Component> type) {
+        return Optional.ofNullable(componentIndex.get(type));
+    }
+
+    /**
+     * Looks up a component without allocating
+     * @param type Type of the component(Subclasses are also matched)
+     * @return First component of the type or null
+     */
+    public <T extends Component> T getComponent(Class<T> type) {
+        return type.cast(componentIndex.get(type));
+    }
+
+    /**
+     * @return Counter that changes every time a component is added or removed
+     */
+    public int getComponentVersion() {
+        return componentVersion;
     }
 
     /**
      * Called to render the GameObject
      */
     public void render(CameraComponent cameraComponent) {
-        for (Component objectComponent : objectComponents) {
+        for (int i = 0; i < objectComponents.size(); i++) {
+            Component objectComponent = objectComponents.get(i);
             if(objectComponent instanceof RenderComponent renderer) {
                 renderer.render(cameraComponent);
             }
         }
     }
 
+    /**
+     * Called to add the GameObject to the render queue
+     */
+    public void submit(CameraComponent cameraComponent, RenderQueue renderQueue) {
+        for (int i = 0; i < objectComponents.size(); i++) {
+            Component objectComponent = objectComponents.get(i);
+            if(objectComponent instanceof RenderComponent renderer) {
+                renderer.submit(cameraComponent, renderQueue);
+            }
+        }
+    }
+
     /**
      * Called every frame
      */
     public void update() {
-        for (Component objectComponent : objectComponents) {
-            objectComponent.update();
+        for (int i = 0; i < objectComponents.size(); i++) {
+            objectComponents.get(i).update();
+        }
+    }
+
+    /**
+     * Called every frame by the parallel update
+     * @param threadSafe If only thread-safe or only not thread-safe components should be updated
+     */
+    public void update(boolean threadSafe) {
+        for (int i = 0; i < objectComponents.size(); i++) {
+            Component objectComponent = objectComponents.get(i);
+            if(objectComponent.isThreadSafe() == threadSafe) {
+                objectComponent.update();
+            }
         }
     }
 
@@ -186,8 +315,8 @@ public class GameObject implements ISizeDependent {
      * Called every fixed update(Physics)
      */
     public void fixedUpdate() {
-        for (Component objectComponent : objectComponents) {
-            objectComponent.fixedUpdate();
+        for (int i = 0; i < objectComponents.size(); i++) {
+            objectComponents.get(i).fixedUpdate();
         }
     }
 
@@ -212,6 +341,28 @@ public class GameObject implements ISizeDependent {
         return list;
     }
 
+    /**
+     * @return If the GameObject is part of the scene tree
+     */
+    public boolean isInScene() {
+        return registryIndex >= 0 || this == scene.getSceneObject();
+    }
+
+    /**
+     * @return Index of the GameObject in the ObjectRegistry of the scene or -1
+     */
+    public int getRegistryIndex() {
+        return registryIndex;
+    }
+
+    /**
+     * Only used by the ObjectRegistry
+     * @param registryIndex New index
+     */
+    public void setRegistryIndex(int registryIndex) {
+        this.registryIndex = registryIndex;
+    }
+
     /**
      * @return Scene were the GameObject is located
      */
@@ -241,6 +392,22 @@ public class GameObject implements ISizeDependent {
         this.renderLayer = renderLayer;
     }
 
+    /**
+     * @return If the GameObject doesn't move after the scene is prepared
+     */
+    public boolean isStatic() {
+        return staticObject;
+    }
+
+    /**
+     * Marks the GameObject as static. The meshes of static GameObjects are merged by the StaticBatcher after Scene.prepare()
+     * A static GameObject must not be moved after the scene is prepared
+     * @param staticObject New state
+     */
+    public void setStatic(boolean staticObject) {
+        this.staticObject = staticObject;
+    }
+
     /**
      * @return List of components
      */
@@ -254,6 +421,7 @@ public class GameObject implements ISizeDependent {
      */
     public void setParentObject(GameObject parentObject) {
         this.parentObject = parentObject;
+        this.transform.parentChanged();
     }
 
     /**
@@ -278,6 +446,7 @@ public class GameObject implements ISizeDependent {
     }
 
     /**
+     * The WORLD_SPACE transform is cached and must not be modified
      * @param space Space of Transform(WORLD_SPACE, OBJECT_SPACE)
      * @return Transform
      */
@@ -285,9 +454,7 @@ public class GameObject implements ISizeDependent {
         if(space == Transform.OBJECT_SPACE) {
             return this.transform;
         } else {
-            Transform transform = this.transform.clone();
-            if(parentObject != null) transform.add(parentObject.getSpecialTransform(Transform.WORLD_SPACE));
-            return transform;
+            return this.transform.getWorldTransform();
         }
     }
 
@@ -45,4 +45,9 @@ public interface IMaterial {
 
     int getShaderId();
 
+    /**
+     * @return If the material is rendered back-to-front with blending
+     */
+    boolean isTransparent();
+
 }
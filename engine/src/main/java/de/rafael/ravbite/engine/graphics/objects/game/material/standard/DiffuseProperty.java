@@ -46,6 +46,7 @@ public class DiffuseProperty {
     private final Material material;
 
     private Integer diffuseTextureId;
+    private String texturePath;
     private Color color;
 
     public DiffuseProperty(Material material, Color color) {
@@ -58,6 +59,16 @@ public class DiffuseProperty {
         return this;
     }
 
+    /**
+     * Sets the path the texture was loaded from. Needed to restore the material from the MeshCache
+     * @param texturePath Path of the texture
+     * @return DiffuseProperty
+     */
+    public DiffuseProperty texturePath(String texturePath) {
+        this.texturePath = texturePath;
+        return this;
+    }
+
     /**
      * @return Material
      */
@@ -75,6 +86,13 @@ public class DiffuseProperty {
         return diffuseTextureId;
     }
 
+    /**
+     * @return Path the texture was loaded from or null
+     */
+    public String getTexturePath() {
+        return texturePath;
+    }
+
     /**
      * @return Color
      */
@@ -86,7 +104,15 @@ public class DiffuseProperty {
      * @return Color as Vector
      */
     public Vector4f getColorAsVector() {
-        return new Vector4f(color.getRed() / 255f, color.getGreen() / 255f, color.getBlue() / 255f, color.getAlpha() / 255f);
+        return getColorAsVector(new Vector4f());
+    }
+
+    /**
+     * @param dest Vector to write to
+     * @return dest
+     */
+    public Vector4f getColorAsVector(Vector4f dest) {
+        return dest.set(color.getRed() / 255f, color.getGreen() / 255f, color.getBlue() / 255f, color.getAlpha() / 255f);
     }
 
     /**
@@ -98,6 +98,14 @@ public class Material implements IMaterial {
         return shaderId;
     }
 
+    /**
+     * @return If the diffuse color is not fully opaque
+     */
+    @Override
+    public boolean isTransparent() {
+        return diffuse != null && diffuse.getColor().getAlpha() < 255;
+    }
+
     /**
      * @return DiffuseProperty
      */
@@ -38,8 +38,13 @@ package de.rafael.ravbite.engine.graphics.objects.game.mesh;
 //------------------------------
 
 import de.rafael.ravbite.engine.graphics.objects.game.material.IMaterial;
+import de.rafael.ravbite.engine.graphics.utils.DataWatcher;
 import de.rafael.ravbite.engine.graphics.view.EngineView;
+import de.rafael.ravbite.engine.utils.math.BoundingBox;
+import de.rafael.ravbite.engine.utils.math.BoundingSphere;
+import org.joml.Vector3f;
 
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -52,6 +57,8 @@ public class Mesh {
     private StoredMesh storedMesh;
 
     private IMaterial material;
+    private VertexLayout vertexLayout = VertexLayout.COMPACT;
+    private PackedMesh packedMesh;
 
     private float[] vertices;
     private float[] normals;
@@ -61,6 +68,13 @@ public class Mesh {
     private int[] indices;
 
     private Mesh[] subMeshes = new Mesh[0];
+    private Mesh[] lods = new Mesh[0];
+
+    private BoundingBox bounds;
+    private BoundingSphere boundingSphere;
+    private Mesh[] collectedMeshes;
+
+    private int users;
 
     public Mesh(IMaterial material, float[] vertices, float[] normals, float[] tangents, float[] textureCoords, int[] indices) {
         this.material = material;
@@ -81,35 +95,192 @@ public class Mesh {
         this.tangents = tangents;
     }
 
+    /**
+     * Calculates the bounding box and sphere of this mesh and all subMeshes
+     * Called when the mesh is loaded or generated
+     */
+    public void calculateBounds() {
+        float[] vertices = getVertices();
+        bounds = new BoundingBox();
+        if(vertices != null) bounds.include(vertices);
+        for (Mesh subMesh : subMeshes) {
+            bounds.include(subMesh.getBounds());
+        }
+
+        if(bounds.isEmpty()) {
+            boundingSphere = new BoundingSphere(new Vector3f(), 0);
+            return;
+        }
+        boundingSphere = BoundingSphere.create(bounds, vertices != null ? vertices : new float[0]);
+        for (Mesh subMesh : subMeshes) {
+            if(!subMesh.getBounds().isEmpty()) boundingSphere.include(subMesh.getBoundingSphere());
+        }
+    }
+
+    /**
+     * Sets precalculated bounds of this mesh and all subMeshes. Used if the bounds were stored with the mesh
+     * @param bounds Bounding box in object space
+     * @param boundingSphere Bounding sphere in object space
+     */
+    public void setBounds(BoundingBox bounds, BoundingSphere boundingSphere) {
+        this.bounds = bounds;
+        this.boundingSphere = boundingSphere;
+    }
+
+    /**
+     * @return Cached bounds of this mesh and all subMeshes in object space
+     */
+    public BoundingBox getBounds() {
+        if(bounds == null) calculateBounds();
+        return bounds;
+    }
+
+    /**
+     * @return Cached bounding sphere of this mesh and all subMeshes in object space
+     */
+    public BoundingSphere getBoundingSphere() {
+        if(boundingSphere == null) calculateBounds();
+        return boundingSphere;
+    }
+
+    private void invalidateBounds() {
+        bounds = null;
+        boundingSphere = null;
+        if(parentMesh != null) parentMesh.invalidateBounds();
+    }
+
+    private void invalidateCollectedMeshes() {
+        collectedMeshes = null;
+        if(parentMesh != null) parentMesh.invalidateCollectedMeshes();
+    }
+
     /**
      * Store the meshData into openGL VAOs and VBOs
      * @param engineView Window to handle the VAOs and VBOs
      */
     public void store(EngineView engineView) {
-        storedMesh = engineView.getUtils().rbLoadToVAO(this);
+        store(engineView, DataWatcher.DataScope.SCENE);
     }
 
     /**
-     * Stores all meshes in OpenGL
+     * Store the meshData into openGL VAOs and VBOs
+     * @param engineView Window to handle the VAOs and VBOs
+     * @param dataScope Scope the VAOs and VBOs are deleted with
+     */
+    public void store(EngineView engineView, DataWatcher.DataScope dataScope) {
+        storedMesh = engineView.getUtils().rbLoadToVAO(this, dataScope);
+    }
+
+    /**
+     * Stores all meshes in OpenGL that are not stored yet
+     * Meshes uploaded by the AssetStreamer or the ResourceCache are skipped as long as their scope was not cleaned up
      * @param engineView Window to handle the VAOs and VBOs
      */
     public void storeMeshes(EngineView engineView) {
-        store(engineView);
+        storeMeshes(engineView, DataWatcher.DataScope.SCENE);
+    }
+
+    /**
+     * Stores all meshes in OpenGL that are not stored yet
+     * @param engineView Window to handle the VAOs and VBOs
+     * @param dataScope Scope the VAOs and VBOs are deleted with
+     */
+    public void storeMeshes(EngineView engineView, DataWatcher.DataScope dataScope) {
+        if(storedMesh == null || !storedMesh.isAlive(engineView.getDataWatcher())) store(engineView, dataScope);
         for (Mesh subMesh : subMeshes) {
-            subMesh.storeMeshes(engineView);
+            subMesh.storeMeshes(engineView, dataScope);
+        }
+        for (Mesh lod : lods) {
+            lod.storeMeshes(engineView, dataScope);
         }
     }
 
     /**
+     * Registers a new user of the stored mesh
+     * @return Mesh
+     */
+    public Mesh retain() {
+        users++;
+        return this;
+    }
+
+    /**
+     * Unregisters a user of the stored mesh. The VAOs and VBOs of the SCENE scope are deleted when the last user is gone
+     * Meshes of the ResourceCache are kept until the cache evicts them
+     * @param engineView Window that handles the VAOs and VBOs
+     */
+    public void release(EngineView engineView) {
+        if(users == 0 || --users > 0) return;
+        deleteStoredMeshes(engineView.getDataWatcher());
+    }
+
+    private void deleteStoredMeshes(DataWatcher dataWatcher) {
+        if(storedMesh != null && storedMesh.getDataScope() == DataWatcher.DataScope.SCENE) {
+            storedMesh.delete(dataWatcher);
+            storedMesh = null;
+        }
+        for (Mesh subMesh : subMeshes) {
+            subMesh.deleteStoredMeshes(dataWatcher);
+        }
+        for (Mesh lod : lods) {
+            lod.deleteStoredMeshes(dataWatcher);
+        }
+    }
+
+    /**
+     * @return Amount of components using the stored mesh
+     */
+    public int getUsers() {
+        return users;
+    }
+
+    /**
+     * Generates simplified LOD levels with the default MeshSimplifier. Every level has half the triangles of the previous one
+     * Has to be called before the mesh is stored
+     * @param levels Maximum amount of levels
+     */
+    public void generateLods(int levels) {
+        setLods(new MeshSimplifier().generateLods(this, levels));
+    }
+
+    /**
+     * Sets the LOD levels of the mesh. Level 0 is always the mesh itself
+     * @param lods Simplified meshes with the same subMesh hierarchy from high to low detail
+     */
+    public void setLods(Mesh[] lods) {
+        this.lods = lods;
+    }
+
+    /**
+     * @param level LOD level(Clamped to the available levels)
+     * @return The mesh for level 0 or the simplified mesh of the level
+     */
+    public Mesh getLod(int level) {
+        if(level <= 0 || lods.length == 0) return this;
+        return lods[Math.min(level, lods.length) - 1];
+    }
+
+    /**
+     * @return Amount of LOD levels without the mesh itself
+     */
+    public int getLodCount() {
+        return lods.length;
+    }
+
+    /**
+     * The returned array is cached and must not be modified
      * @return All subMesh and the mesh
      */
     public Mesh[] collectMeshes() {
-        List<Mesh> meshList = new ArrayList<>();
-        meshList.add(this);
-        for (Mesh subMesh : subMeshes) {
-            meshList.addAll(List.of(subMesh.collectMeshes()));
+        if(collectedMeshes == null) {
+            List<Mesh> meshList = new ArrayList<>();
+            meshList.add(this);
+            for (Mesh subMesh : subMeshes) {
+                meshList.addAll(List.of(subMesh.collectMeshes()));
+            }
+            collectedMeshes = meshList.toArray(new Mesh[0]);
         }
-        return meshList.toArray(new Mesh[0]);
+        return collectedMeshes;
     }
 
     /**
@@ -120,6 +291,8 @@ public class Mesh {
         subMeshes = Arrays.copyOf(subMeshes, subMeshes.length + 1);
         subMeshes[subMeshes.length - 1] = subMesh;
         subMesh.setParentMesh(this);
+        invalidateBounds();
+        invalidateCollectedMeshes();
     }
 
     /**
@@ -192,18 +365,79 @@ public class Mesh {
         return material;
     }
 
+    /**
+     * Sets the layout the mesh is stored with. Has to be set before the mesh is stored
+     * @param vertexLayout VertexLayout
+     */
+    public void setVertexLayout(VertexLayout vertexLayout) {
+        if(vertexLayout != this.vertexLayout) dropPackedMesh();
+        this.vertexLayout = vertexLayout;
+    }
+
+    /**
+     * Sets data that is already in the VertexLayout of the mesh. It is uploaded instead of the float arrays
+     * The float arrays are only decoded from it if they are requested
+     * @param packedMesh Packed data or null
+     */
+    public void setPackedMesh(PackedMesh packedMesh) {
+        this.packedMesh = packedMesh;
+    }
+
+    /**
+     * @return Packed data or null if the mesh is stored from the float arrays
+     */
+    public PackedMesh getPackedMesh() {
+        return packedMesh;
+    }
+
+    /**
+     * Decodes the float arrays from the packed data if they were not decoded yet
+     */
+    private void unpack() {
+        if(packedMesh == null || vertices != null) return;
+        int vertexCount = packedMesh.getVertexCount();
+        float[] vertices = new float[vertexCount * 3];
+        float[] textureCoords = new float[vertexCount * 2];
+        float[] normals = new float[vertexCount * 3];
+        float[] tangents = packedMesh.hasTangents() ? new float[vertexCount * 3] : null;
+        vertexLayout.readVertices(packedMesh.getVertexData().duplicate().order(ByteOrder.nativeOrder()), vertexCount, vertices, textureCoords, normals, tangents);
+        this.indices = VertexLayout.readIndices(packedMesh.getIndexData().duplicate().order(ByteOrder.nativeOrder()), packedMesh.getIndexCount(), packedMesh.getIndexType());
+        this.textureCoords = textureCoords;
+        this.normals = normals;
+        this.tangents = tangents;
+        this.vertices = vertices;
+    }
+
+    /**
+     * Called before the float arrays are changed, because the packed data would be outdated
+     */
+    private void dropPackedMesh() {
+        unpack();
+        packedMesh = null;
+    }
+
+    /**
+     * @return Layout the mesh is stored with
+     */
+    public VertexLayout getVertexLayout() {
+        return vertexLayout;
+    }
+
     /**
      * Sets the vertices
      * @param vertices New vertices
      */
     public void setVertices(float[] vertices) {
+        dropPackedMesh();
         this.vertices = vertices;
+        invalidateBounds();
     }
 
     /**
      * @return Vertices in this mesh
      */
     public float[] getVertices() {
+        unpack();
         return vertices;
     }
 
@@ -212,6 +446,7 @@ public class Mesh {
      * @param normals New normals
      */
     public void setNormals(float[] normals) {
+        dropPackedMesh();
         this.normals = normals;
     }
 
@@ -219,6 +454,7 @@ public class Mesh {
      * @return Normals in this mesh
      */
     public float[] getNormals() {
+        unpack();
         return normals;
     }
 
@@ -227,6 +463,7 @@ public class Mesh {
      * @param tangents New tangents
      */
     public void setTangents(float[] tangents) {
+        dropPackedMesh();
         this.tangents = tangents;
     }
 
@@ -234,6 +471,7 @@ public class Mesh {
      * @return Tangents in this mesh
      */
     public float[] getTangents() {
+        unpack();
         return tangents;
     }
 
@@ -242,6 +480,7 @@ public class Mesh {
      * @param textureCoords New textureCoords
      */
     public void setTextureCoords(float[] textureCoords) {
+        dropPackedMesh();
         this.textureCoords = textureCoords;
     }
 
@@ -249,6 +488,7 @@ public class Mesh {
      * @return TextureCoords used for this mesh
      */
     public float[] getTextureCoords() {
+        unpack();
         return textureCoords;
     }
 
@@ -257,6 +497,7 @@ public class Mesh {
      * @param indices New indices
      */
     public void setIndices(int[] indices) {
+        dropPackedMesh();
         this.indices = indices;
     }
 
@@ -264,6 +505,7 @@ public class Mesh {
      * @return Indices in this mesh
      */
     public int[] getIndices() {
+        unpack();
         return indices;
     }
 
@@ -273,6 +515,8 @@ public class Mesh {
      */
     public void setSubMeshes(Mesh[] subMeshes) {
         this.subMeshes = subMeshes;
+        invalidateBounds();
+        invalidateCollectedMeshes();
     }
 
     /**
@@ -84,7 +84,9 @@ public class MeshGenerator {
             }
         }
         // TODO: Generate tangents and other data
-        return new Mesh(new Material(engineView).create(), vertices, normals, new float[] {}, textureCoords, indices);
+        Mesh mesh = new Mesh(new Material(engineView).create(), vertices, normals, new float[] {}, textureCoords, indices);
+        mesh.calculateBounds();
+        return mesh;
     }
 
 }
@@ -0,0 +1,407 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.game.mesh;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/21/2026 at 2:15 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import java.util.*;
+
+public class MeshSimplifier {
+
+    // Planes of open edges are weighted higher so the outline of the mesh is kept
+    private static final double BOUNDARY_WEIGHT = 100;
+
+    public float reduction = 0.5f;
+    public float maxError = Float.MAX_VALUE;
+    public boolean lockSeams = true;
+
+    /**
+     * Sets the factor the triangle count is multiplied with for every LOD level
+     * @param reduction Factor between 0 and 1
+     * @return MeshSimplifier
+     */
+    public MeshSimplifier reduction(float reduction) {
+        this.reduction = reduction;
+        return this;
+    }
+
+    /**
+     * Sets the quadric error after which no more edges are collapsed. The target triangle count may not be reached
+     * @param maxError Maximum error
+     * @return MeshSimplifier
+     */
+    public MeshSimplifier maxError(float maxError) {
+        this.maxError = maxError;
+        return this;
+    }
+
+    /**
+     * If true vertices that share their position with another vertex(UV or normal seams) are never moved
+     * Otherwise both sides of the seam are simplified independently and cracks can appear
+     * @param lockSeams New state
+     * @return MeshSimplifier
+     */
+    public MeshSimplifier lockSeams(boolean lockSeams) {
+        this.lockSeams = lockSeams;
+        return this;
+    }
+
+    /**
+     * Generates LOD levels for the mesh and all subMeshes. Every level is simplified from the previous one
+     * Generation stops early if a level can't be reduced any further
+     * @param mesh Mesh to generate the levels for
+     * @param levels Maximum amount of levels without the original mesh
+     * @return Generated levels. Every level has the same subMesh hierarchy as the mesh
+     */
+    public Mesh[] generateLods(Mesh mesh, int levels) {
+        List<Mesh> lods = new ArrayList<>();
+        Mesh previous = mesh;
+        int previousTriangles = countTriangles(mesh);
+        for (int level = 1; level <= levels; level++) {
+            Mesh lod = simplify(previous, reduction);
+            int triangles = countTriangles(lod);
+            if(triangles >= previousTriangles) break;
+            lod.setName(mesh.getName() != null ? mesh.getName() + "-LOD" + level : null);
+            lods.add(lod);
+            previous = lod;
+            previousTriangles = triangles;
+        }
+        return lods.toArray(new Mesh[0]);
+    }
+
+    /**
+     * Simplifies the mesh and all subMeshes
+     * @param mesh Mesh
+     * @param ratio Part of the triangles that should be kept
+     * @return New mesh with the same materials and subMesh hierarchy
+     */
+    public Mesh simplify(Mesh mesh, float ratio) {
+        Mesh result;
+        if(mesh.getVertices() == null || mesh.getIndices() == null) {
+            result = new Mesh(mesh.getName(), mesh.getMaterial(), mesh.getVertices(), mesh.getNormals(), mesh.getTangents(), mesh.getTextureCoords(), mesh.getIndices());
+        } else {
+            int targetTriangles = Math.max(1, Math.round(mesh.getIndices().length / 3f * ratio));
+            result = compact(mesh, simplifyIndices(mesh.getVertices(), mesh.getIndices(), targetTriangles));
+        }
+        result.setVertexLayout(mesh.getVertexLayout());
+        for (Mesh subMesh : mesh.getSubMeshes()) {
+            result.addSubMesh(simplify(subMesh, ratio));
+        }
+        return result;
+    }
+
+    /**
+     * Collapses the edges with the lowest quadric error until the target triangle count is reached
+     * The vertex that is kept does not move, so all attributes of the remaining vertices stay valid
+     * @param positions Positions of the vertices
+     * @param indices Indices of the triangles
+     * @param targetTriangles Amount of triangles that should be left
+     * @return Indices of the remaining triangles that point into the original vertices
+     */
+    public int[] simplifyIndices(float[] positions, int[] indices, int targetTriangles) {
+        int vertexCount = positions.length / 3;
+        int triangleCount = indices.length / 3;
+        int[] triangles = Arrays.copyOf(indices, triangleCount * 3);
+        boolean[] removed = new boolean[triangleCount];
+        double[] quadrics = new double[vertexCount * 10];
+
+        // Every vertex gets the planes of its triangles
+        Map<Long, Integer> edgeUses = new HashMap<>();
+        for (int t = 0; t < triangleCount; t++) {
+            int a = triangles[t * 3], b = triangles[t * 3 + 1], c = triangles[t * 3 + 2];
+            double[] normal = normal(positions, a, b, c);
+            double length = Math.sqrt(normal[0] * normal[0] + normal[1] * normal[1] + normal[2] * normal[2]);
+            if(length > 0) {
+                double nx = normal[0] / length, ny = normal[1] / length, nz = normal[2] / length;
+                double d = -(nx * positions[a * 3] + ny * positions[a * 3 + 1] + nz * positions[a * 3 + 2]);
+                double area = length / 2;
+                addPlane(quadrics, a, nx, ny, nz, d, area);
+                addPlane(quadrics, b, nx, ny, nz, d, area);
+                addPlane(quadrics, c, nx, ny, nz, d, area);
+            }
+            edgeUses.merge(edgeKey(a, b), 1, Integer::sum);
+            edgeUses.merge(edgeKey(b, c), 1, Integer::sum);
+            edgeUses.merge(edgeKey(c, a), 1, Integer::sum);
+        }
+
+        // Open edges get a plane perpendicular to their triangle
+        for (int t = 0; t < triangleCount; t++) {
+            for (int e = 0; e < 3; e++) {
+                int a = triangles[t * 3 + e], b = triangles[t * 3 + (e + 1) % 3];
+                if(edgeUses.get(edgeKey(a, b)) == 1) addBoundaryPlane(quadrics, positions, triangles, t, a, b);
+            }
+        }
+
+        boolean[] locked = lockSeams ? findSeams(positions) : new boolean[vertexCount];
+
+        // Triangles around every vertex
+        int[][] vertexTriangles = new int[vertexCount][];
+        int[] vertexTriangleCounts = new int[vertexCount];
+        for (int index : triangles) vertexTriangleCounts[index]++;
+        for (int v = 0; v < vertexCount; v++) {
+            vertexTriangles[v] = new int[Math.max(4, vertexTriangleCounts[v])];
+            vertexTriangleCounts[v] = 0;
+        }
+        for (int t = 0; t < triangleCount; t++) {
+            for (int i = 0; i < 3; i++) {
+                int v = triangles[t * 3 + i];
+                vertexTriangles[v][vertexTriangleCounts[v]++] = t;
+            }
+        }
+
+        int[] versions = new int[vertexCount];
+        boolean[] collapsed = new boolean[vertexCount];
+        PriorityQueue<Collapse> queue = new PriorityQueue<>();
+        for (long key : edgeUses.keySet()) {
+            pushCollapse(queue, quadrics, positions, locked, versions, (int) (key >>> 32), (int) key);
+        }
+
+        int remaining = triangleCount;
+        int[] neighbourStamps = new int[vertexCount];
+        int stamp = 0;
+        while(remaining > targetTriangles && !queue.isEmpty()) {
+            Collapse collapse = queue.poll();
+            if(collapse.error > maxError) break;
+            int from = collapse.from, to = collapse.to;
+            if(collapsed[from] || collapsed[to] || versions[from] != collapse.fromVersion || versions[to] != collapse.toVersion) continue;
+            if(flips(positions, triangles, removed, vertexTriangles[from], vertexTriangleCounts[from], from, to)) continue;
+
+            // Move all triangles of from to the kept vertex
+            for (int i = 0; i < vertexTriangleCounts[from]; i++) {
+                int t = vertexTriangles[from][i];
+                if(removed[t]) continue;
+                int fromCorner = corner(triangles, t, from);
+                if(fromCorner == -1) continue;
+                if(corner(triangles, t, to) != -1) {
+                    removed[t] = true;
+                    remaining--;
+                } else {
+                    triangles[t * 3 + fromCorner] = to;
+                    if(vertexTriangleCounts[to] == vertexTriangles[to].length) {
+                        vertexTriangles[to] = Arrays.copyOf(vertexTriangles[to], vertexTriangles[to].length * 2);
+                    }
+                    vertexTriangles[to][vertexTriangleCounts[to]++] = t;
+                }
+            }
+            for (int i = 0; i < 10; i++) {
+                quadrics[to * 10 + i] += quadrics[from * 10 + i];
+            }
+            collapsed[from] = true;
+            versions[to]++;
+
+            // The error of all edges of the kept vertex changed
+            stamp++;
+            for (int i = 0; i < vertexTriangleCounts[to]; i++) {
+                int t = vertexTriangles[to][i];
+                if(removed[t]) continue;
+                for (int c = 0; c < 3; c++) {
+                    int neighbour = triangles[t * 3 + c];
+                    if(neighbour == to || neighbourStamps[neighbour] == stamp) continue;
+                    neighbourStamps[neighbour] = stamp;
+                    pushCollapse(queue, quadrics, positions, locked, versions, to, neighbour);
+                }
+            }
+        }
+
+        int[] result = new int[remaining * 3];
+        int offset = 0;
+        for (int t = 0; t < triangleCount; t++) {
+            if(removed[t]) continue;
+            System.arraycopy(triangles, t * 3, result, offset, 3);
+            offset += 3;
+        }
+        return result;
+    }
+
+    /**
+     * Creates a new mesh that only contains the vertices used by the indices
+     */
+    private Mesh compact(Mesh mesh, int[] indices) {
+        int vertexCount = mesh.getVertices().length / 3;
+        int[] remap = new int[vertexCount];
+        Arrays.fill(remap, -1);
+        int used = 0;
+        int[] newIndices = new int[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            int index = indices[i];
+            if(remap[index] == -1) remap[index] = used++;
+            newIndices[i] = remap[index];
+        }
+        return new Mesh(mesh.getName(), mesh.getMaterial(),
+                compactAttribute(mesh.getVertices(), 3, remap, used),
+                compactAttribute(mesh.getNormals(), 3, remap, used),
+                compactAttribute(mesh.getTangents(), 3, remap, used),
+                compactAttribute(mesh.getTextureCoords(), 2, remap, used),
+                newIndices);
+    }
+
+    private float[] compactAttribute(float[] data, int size, int[] remap, int used) {
+        if(data == null) return null;
+        float[] result = new float[used * size];
+        for (int v = 0; v < remap.length; v++) {
+            if(remap[v] == -1 || (v + 1) * size > data.length) continue;
+            System.arraycopy(data, v * size, result, remap[v] * size, size);
+        }
+        return result;
+    }
+
+    private void pushCollapse(PriorityQueue<Collapse> queue, double[] quadrics, float[] positions, boolean[] locked, int[] versions, int a, int b) {
+        if(locked[a] && locked[b]) return;
+        // The vertex that moves must not be locked
+        double errorAToB = locked[a] ? Double.MAX_VALUE : error(quadrics, a, b, positions, b);
+        double errorBToA = locked[b] ? Double.MAX_VALUE : error(quadrics, a, b, positions, a);
+        if(errorAToB <= errorBToA) {
+            queue.add(new Collapse(a, b, versions[a], versions[b], errorAToB));
+        } else {
+            queue.add(new Collapse(b, a, versions[b], versions[a], errorBToA));
+        }
+    }
+
+    /**
+     * @return If a triangle around from would turn around when from is moved to the position of to
+     */
+    private boolean flips(float[] positions, int[] triangles, boolean[] removed, int[] vertexTriangles, int count, int from, int to) {
+        for (int i = 0; i < count; i++) {
+            int t = vertexTriangles[i];
+            if(removed[t]) continue;
+            int fromCorner = corner(triangles, t, from);
+            if(fromCorner == -1 || corner(triangles, t, to) != -1) continue;
+            int b = triangles[t * 3 + (fromCorner + 1) % 3], c = triangles[t * 3 + (fromCorner + 2) % 3];
+            double[] before = normal(positions, from, b, c);
+            double[] after = normal(positions, to, b, c);
+            if(before[0] * after[0] + before[1] * after[1] + before[2] * after[2] <= 0) return true;
+        }
+        return false;
+    }
+
+    private boolean[] findSeams(float[] positions) {
+        int vertexCount = positions.length / 3;
+        boolean[] seams = new boolean[vertexCount];
+        Map<Position, Integer> first = new HashMap<>();
+        for (int v = 0; v < vertexCount; v++) {
+            Integer other = first.putIfAbsent(new Position(positions[v * 3], positions[v * 3 + 1], positions[v * 3 + 2]), v);
+            if(other != null) {
+                seams[v] = true;
+                seams[other] = true;
+            }
+        }
+        return seams;
+    }
+
+    private void addBoundaryPlane(double[] quadrics, float[] positions, int[] triangles, int t, int a, int b) {
+        double[] normal = normal(positions, triangles[t * 3], triangles[t * 3 + 1], triangles[t * 3 + 2]);
+        double ex = positions[b * 3] - positions[a * 3], ey = positions[b * 3 + 1] - positions[a * 3 + 1], ez = positions[b * 3 + 2] - positions[a * 3 + 2];
+        // Plane through the edge that is perpendicular to the triangle
+        double px = ey * normal[2] - ez * normal[1];
+        double py = ez * normal[0] - ex * normal[2];
+        double pz = ex * normal[1] - ey * normal[0];
+        double length = Math.sqrt(px * px + py * py + pz * pz);
+        if(length == 0) return;
+        px /= length;
+        py /= length;
+        pz /= length;
+        double d = -(px * positions[a * 3] + py * positions[a * 3 + 1] + pz * positions[a * 3 + 2]);
+        double weight = BOUNDARY_WEIGHT * (ex * ex + ey * ey + ez * ez);
+        addPlane(quadrics, a, px, py, pz, d, weight);
+        addPlane(quadrics, b, px, py, pz, d, weight);
+    }
+
+    private static void addPlane(double[] quadrics, int vertex, double a, double b, double c, double d, double weight) {
+        int offset = vertex * 10;
+        quadrics[offset] += weight * a * a;
+        quadrics[offset + 1] += weight * a * b;
+        quadrics[offset + 2] += weight * a * c;
+        quadrics[offset + 3] += weight * a * d;
+        quadrics[offset + 4] += weight * b * b;
+        quadrics[offset + 5] += weight * b * c;
+        quadrics[offset + 6] += weight * b * d;
+        quadrics[offset + 7] += weight * c * c;
+        quadrics[offset + 8] += weight * c * d;
+        quadrics[offset + 9] += weight * d * d;
+    }
+
+    /**
+     * @return Error of the summed quadrics of a and b at the position of the target vertex
+     */
+    private static double error(double[] quadrics, int a, int b, float[] positions, int target) {
+        double x = positions[target * 3], y = positions[target * 3 + 1], z = positions[target * 3 + 2];
+        return Math.max(0, evaluate(quadrics, a * 10, x, y, z) + evaluate(quadrics, b * 10, x, y, z));
+    }
+
+    private static double evaluate(double[] quadrics, int offset, double x, double y, double z) {
+        return quadrics[offset] * x * x + 2 * quadrics[offset + 1] * x * y + 2 * quadrics[offset + 2] * x * z + 2 * quadrics[offset + 3] * x
+                + quadrics[offset + 4] * y * y + 2 * quadrics[offset + 5] * y * z + 2 * quadrics[offset + 6] * y
+                + quadrics[offset + 7] * z * z + 2 * quadrics[offset + 8] * z
+                + quadrics[offset + 9];
+    }
+
+    private static double[] normal(float[] positions, int a, int b, int c) {
+        double abx = positions[b * 3] - positions[a * 3], aby = positions[b * 3 + 1] - positions[a * 3 + 1], abz = positions[b * 3 + 2] - positions[a * 3 + 2];
+        double acx = positions[c * 3] - positions[a * 3], acy = positions[c * 3 + 1] - positions[a * 3 + 1], acz = positions[c * 3 + 2] - positions[a * 3 + 2];
+        return new double[] {aby * acz - abz * acy, abz * acx - abx * acz, abx * acy - aby * acx};
+    }
+
+    private static int corner(int[] triangles, int t, int vertex) {
+        for (int i = 0; i < 3; i++) {
+            if(triangles[t * 3 + i] == vertex) return i;
+        }
+        return -1;
+    }
+
+    private static long edgeKey(int a, int b) {
+        return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+    }
+
+    private static int countTriangles(Mesh mesh) {
+        int triangles = 0;
+        for (Mesh part : mesh.collectMeshes()) {
+            if(part.getIndices() != null) triangles += part.getIndices().length / 3;
+        }
+        return triangles;
+    }
+
+    private record Position(float x, float y, float z) {}
+
+    private record Collapse(int from, int to, int fromVersion, int toVersion, double error) implements Comparable<Collapse> {
+
+        @Override
+        public int compareTo(Collapse other) {
+            return Double.compare(error, other.error);
+        }
+
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.game.mesh;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/22/2026 at 10:20 AM
+// In the project Ravbite
+//
+//------------------------------
+
+import java.nio.ByteBuffer;
+
+public class PackedMesh {
+
+    private final ByteBuffer vertexData;
+    private final ByteBuffer indexData;
+    private final int vertexCount;
+    private final int indexCount;
+    private final int indexType;
+    private final boolean tangents;
+
+    /**
+     * Vertex and index data that is already in the VertexLayout of the mesh and can be uploaded without conversion
+     * The buffers are usually slices of a memory-mapped MeshCache file
+     * @param vertexData Interleaved vertices in native byte order
+     * @param indexData Indices in native byte order
+     * @param vertexCount Amount of vertices
+     * @param indexCount Amount of indices
+     * @param indexType GL_UNSIGNED_SHORT or GL_UNSIGNED_INT
+     * @param tangents If the vertices have a tangent
+     */
+    public PackedMesh(ByteBuffer vertexData, ByteBuffer indexData, int vertexCount, int indexCount, int indexType, boolean tangents) {
+        this.vertexData = vertexData;
+        this.indexData = indexData;
+        this.vertexCount = vertexCount;
+        this.indexCount = indexCount;
+        this.indexType = indexType;
+        this.tangents = tangents;
+    }
+
+    /**
+     * @return Interleaved vertices. Use duplicate() before changing the position
+     */
+    public ByteBuffer getVertexData() {
+        return vertexData;
+    }
+
+    /**
+     * @return Indices. Use duplicate() before changing the position
+     */
+    public ByteBuffer getIndexData() {
+        return indexData;
+    }
+
+    /**
+     * @return Amount of vertices
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * @return Amount of indices
+     */
+    public int getIndexCount() {
+        return indexCount;
+    }
+
+    /**
+     * @return GL_UNSIGNED_SHORT or GL_UNSIGNED_INT
+     */
+    public int getIndexType() {
+        return indexType;
+    }
+
+    /**
+     * @return If the vertices have a tangent
+     */
+    public boolean hasTangents() {
+        return tangents;
+    }
+
+}
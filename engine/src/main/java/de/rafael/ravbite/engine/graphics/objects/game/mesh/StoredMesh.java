@@ -37,14 +37,82 @@ package de.rafael.ravbite.engine.graphics.objects.game.mesh;
 //
 //------------------------------
 
+import de.rafael.ravbite.engine.graphics.utils.DataWatcher;
+import org.lwjgl.opengl.GL11;
+
 public class StoredMesh {
 
     private final int vao;
     private final int vertexCount;
+    private final int indexType;
+    private final int gpuBytes;
+    private final int savedBytes;
+
+    private int vertexBuffer = 0;
+    private int indexBuffer = 0;
+    private DataWatcher.DataScope dataScope = null;
+    private int generation = 0;
 
     public StoredMesh(int vao, int vertexCount) {
+        this(vao, vertexCount, GL11.GL_UNSIGNED_INT, 0, 0);
+    }
+
+    /**
+     * @param vao OpenGL vaoId
+     * @param vertexCount Amount of indices that are drawn
+     * @param indexType GL_UNSIGNED_SHORT or GL_UNSIGNED_INT
+     * @param gpuBytes Bytes of the vertex and index buffer
+     * @param savedBytes Bytes saved compared to 32-bit floats and indices
+     */
+    public StoredMesh(int vao, int vertexCount, int indexType, int gpuBytes, int savedBytes) {
         this.vao = vao;
         this.vertexCount = vertexCount;
+        this.indexType = indexType;
+        this.gpuBytes = gpuBytes;
+        this.savedBytes = savedBytes;
+    }
+
+    /**
+     * Sets the buffers of the VAO
+     * @param vertexBuffer OpenGL vboId of the vertices
+     * @param indexBuffer OpenGL vboId of the indices
+     * @return StoredMesh
+     */
+    public StoredMesh buffers(int vertexBuffer, int indexBuffer) {
+        this.vertexBuffer = vertexBuffer;
+        this.indexBuffer = indexBuffer;
+        return this;
+    }
+
+    /**
+     * Sets the scope the VAO and buffers are registered in
+     * @param dataScope Scope of the DataWatcher
+     * @param generation Generation of the scope at the time of the upload
+     * @return StoredMesh
+     */
+    public StoredMesh scope(DataWatcher.DataScope dataScope, int generation) {
+        this.dataScope = dataScope;
+        this.generation = generation;
+        return this;
+    }
+
+    /**
+     * @param dataWatcher DataWatcher of the EngineView
+     * @return False if the scope of the mesh was cleaned up since the upload
+     */
+    public boolean isAlive(DataWatcher dataWatcher) {
+        return dataScope == null || dataWatcher.getGeneration(dataScope) == generation;
+    }
+
+    /**
+     * Deletes the VAO and buffers if they are still alive
+     * @param dataWatcher DataWatcher of the EngineView
+     */
+    public void delete(DataWatcher dataWatcher) {
+        if(dataScope == null || !isAlive(dataWatcher)) return;
+        dataWatcher.rbDeleteVao(dataScope, vao);
+        dataWatcher.rbDeleteVbo(dataScope, vertexBuffer);
+        dataWatcher.rbDeleteVbo(dataScope, indexBuffer);
     }
 
     /**
@@ -61,4 +129,56 @@ public class StoredMesh {
         return vertexCount;
     }
 
+    /**
+     * @return Type of the indices(GL_UNSIGNED_SHORT or GL_UNSIGNED_INT)
+     */
+    public int getIndexType() {
+        return indexType;
+    }
+
+    /**
+     * @return Bytes of the vertex and index buffer
+     */
+    public int getGpuBytes() {
+        return gpuBytes;
+    }
+
+    /**
+     * @return Bytes saved by the vertex layout compared to 32-bit floats and indices
+     */
+    public int getSavedBytes() {
+        return savedBytes;
+    }
+
+    /**
+     * @return OpenGL vboId of the vertices or 0
+     */
+    public int getVertexBuffer() {
+        return vertexBuffer;
+    }
+
+    /**
+     * @return OpenGL vboId of the indices or 0
+     */
+    public int getIndexBuffer() {
+        return indexBuffer;
+    }
+
+    /**
+     * @return Scope the VAO is registered in or null
+     */
+    public DataWatcher.DataScope getDataScope() {
+        return dataScope;
+    }
+
+    @Override
+    public String toString() {
+        return "StoredMesh{" +
+                "vao=" + vao +
+                ", vertexCount=" + vertexCount +
+                ", gpuBytes=" + gpuBytes +
+                ", savedBytes=" + savedBytes +
+                '}';
+    }
+
 }
@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.game.mesh;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/20/2026 at 6:30 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL33;
+
+import java.nio.ByteBuffer;
+
+public class VertexLayout {
+
+    // Attribute locations every shader binds its inputs to
+    public static final int POSITION_ATTRIBUTE = 0;
+    public static final int TEXTURE_COORDS_ATTRIBUTE = 1;
+    public static final int NORMAL_ATTRIBUTE = 2;
+    public static final int TANGENT_ATTRIBUTE = 8;
+
+    // 32-bit floats and indices for every attribute
+    public static final VertexLayout FULL = new VertexLayout(false, false, false, true);
+    // Half float texture coordinates, 2_10_10_10 normals and tangents and 16-bit indices if possible
+    public static final VertexLayout COMPACT = new VertexLayout(true, true, true, true);
+
+    private final boolean halfTextureCoords;
+    private final boolean packedNormals;
+    private final boolean shortIndices;
+    private final boolean tangents;
+
+    /**
+     * Describes how a mesh is interleaved into a single vertex buffer
+     * @param halfTextureCoords If the texture coordinates are stored as GL_HALF_FLOAT
+     * @param packedNormals If normals and tangents are stored as GL_INT_2_10_10_10_REV
+     * @param shortIndices If GL_UNSIGNED_SHORT indices are used for meshes with less than 65536 vertices
+     * @param tangents If the tangents are uploaded when the mesh has them
+     */
+    public VertexLayout(boolean halfTextureCoords, boolean packedNormals, boolean shortIndices, boolean tangents) {
+        this.halfTextureCoords = halfTextureCoords;
+        this.packedNormals = packedNormals;
+        this.shortIndices = shortIndices;
+        this.tangents = tangents;
+    }
+
+    /**
+     * @return The options of the layout packed into an int
+     */
+    public int getFlags() {
+        return (halfTextureCoords ? 1 : 0) | (packedNormals ? 2 : 0) | (shortIndices ? 4 : 0) | (tangents ? 8 : 0);
+    }
+
+    /**
+     * @param flags Flags created by getFlags
+     * @return FULL, COMPACT or a new layout with the options
+     */
+    public static VertexLayout fromFlags(int flags) {
+        if(flags == FULL.getFlags()) return FULL;
+        if(flags == COMPACT.getFlags()) return COMPACT;
+        return new VertexLayout((flags & 1) != 0, (flags & 2) != 0, (flags & 4) != 0, (flags & 8) != 0);
+    }
+
+    /**
+     * @param mesh Mesh
+     * @return If the tangents of the mesh are part of the vertex
+     */
+    public boolean hasTangents(Mesh mesh) {
+        return tangents && mesh.getTangents() != null;
+    }
+
+    /**
+     * @param tangents If the vertex has a tangent
+     * @return Bytes of one vertex
+     */
+    public int getStride(boolean tangents) {
+        int normalSize = packedNormals ? 4 : 12;
+        return 12 + (halfTextureCoords ? 4 : 8) + normalSize + (tangents ? normalSize : 0);
+    }
+
+    /**
+     * @param vertexCount Vertices of the mesh
+     * @return GL_UNSIGNED_SHORT or GL_UNSIGNED_INT
+     */
+    public int getIndexType(int vertexCount) {
+        return shortIndices && vertexCount < 65536 ? GL11.GL_UNSIGNED_SHORT : GL11.GL_UNSIGNED_INT;
+    }
+
+    /**
+     * @param mesh Mesh
+     * @return Bytes of the vertex buffer of the mesh
+     */
+    public int getVertexBytes(Mesh mesh) {
+        return getStride(hasTangents(mesh)) * (mesh.getVertices().length / 3);
+    }
+
+    /**
+     * @param mesh Mesh
+     * @return Bytes of the index buffer of the mesh
+     */
+    public int getIndexBytes(Mesh mesh) {
+        int indexSize = getIndexType(mesh.getVertices().length / 3) == GL11.GL_UNSIGNED_SHORT ? 2 : 4;
+        return indexSize * mesh.getIndices().length;
+    }
+
+    /**
+     * Interleaves the vertices of the mesh. Missing texture coordinates or normals are written as 0
+     * @param mesh Mesh
+     * @param dest Buffer with at least getVertexBytes(mesh) remaining bytes
+     */
+    public void writeVertices(Mesh mesh, ByteBuffer dest) {
+        float[] vertices = mesh.getVertices();
+        float[] textureCoords = mesh.getTextureCoords();
+        float[] normals = mesh.getNormals();
+        float[] tangents = hasTangents(mesh) ? mesh.getTangents() : null;
+        int vertexCount = vertices.length / 3;
+        for (int v = 0; v < vertexCount; v++) {
+            dest.putFloat(vertices[v * 3]).putFloat(vertices[v * 3 + 1]).putFloat(vertices[v * 3 + 2]);
+
+            float u = 0, w = 0;
+            if(textureCoords != null && v * 2 + 1 < textureCoords.length) {
+                u = textureCoords[v * 2];
+                w = textureCoords[v * 2 + 1];
+            }
+            if(halfTextureCoords) {
+                dest.putShort(toHalf(u)).putShort(toHalf(w));
+            } else {
+                dest.putFloat(u).putFloat(w);
+            }
+
+            writeDirection(normals, v, dest);
+            if(tangents != null) writeDirection(tangents, v, dest);
+        }
+    }
+
+    private void writeDirection(float[] data, int vertex, ByteBuffer dest) {
+        float x = 0, y = 0, z = 0;
+        if(data != null && vertex * 3 + 2 < data.length) {
+            x = data[vertex * 3];
+            y = data[vertex * 3 + 1];
+            z = data[vertex * 3 + 2];
+        }
+        if(packedNormals) {
+            dest.putInt(packNormal(x, y, z));
+        } else {
+            dest.putFloat(x).putFloat(y).putFloat(z);
+        }
+    }
+
+    /**
+     * Writes the indices of the mesh with the index type of the mesh
+     * @param mesh Mesh
+     * @param dest Buffer with at least getIndexBytes(mesh) remaining bytes
+     */
+    public void writeIndices(Mesh mesh, ByteBuffer dest) {
+        boolean shorts = getIndexType(mesh.getVertices().length / 3) == GL11.GL_UNSIGNED_SHORT;
+        for (int index : mesh.getIndices()) {
+            if(shorts) {
+                dest.putShort((short) index);
+            } else {
+                dest.putInt(index);
+            }
+        }
+    }
+
+    /**
+     * Reads vertices written by writeVertices. Packed values are decoded, so the result can differ slightly from the written data
+     * @param src Buffer positioned at the first vertex
+     * @param vertexCount Amount of vertices
+     * @param positions Destination with vertexCount * 3 floats
+     * @param textureCoords Destination with vertexCount * 2 floats
+     * @param normals Destination with vertexCount * 3 floats
+     * @param tangents Destination with vertexCount * 3 floats or null if the vertices have no tangent
+     */
+    public void readVertices(ByteBuffer src, int vertexCount, float[] positions, float[] textureCoords, float[] normals, float[] tangents) {
+        for (int v = 0; v < vertexCount; v++) {
+            positions[v * 3] = src.getFloat();
+            positions[v * 3 + 1] = src.getFloat();
+            positions[v * 3 + 2] = src.getFloat();
+            if(halfTextureCoords) {
+                textureCoords[v * 2] = fromHalf(src.getShort());
+                textureCoords[v * 2 + 1] = fromHalf(src.getShort());
+            } else {
+                textureCoords[v * 2] = src.getFloat();
+                textureCoords[v * 2 + 1] = src.getFloat();
+            }
+            readDirection(src, normals, v);
+            if(tangents != null) readDirection(src, tangents, v);
+        }
+    }
+
+    private void readDirection(ByteBuffer src, float[] dest, int vertex) {
+        if(packedNormals) {
+            int packed = src.getInt();
+            dest[vertex * 3] = unpackComponent(packed);
+            dest[vertex * 3 + 1] = unpackComponent(packed >> 10);
+            dest[vertex * 3 + 2] = unpackComponent(packed >> 20);
+        } else {
+            dest[vertex * 3] = src.getFloat();
+            dest[vertex * 3 + 1] = src.getFloat();
+            dest[vertex * 3 + 2] = src.getFloat();
+        }
+    }
+
+    /**
+     * Reads indices written by writeIndices
+     * @param src Buffer positioned at the first index
+     * @param indexCount Amount of indices
+     * @param indexType GL_UNSIGNED_SHORT or GL_UNSIGNED_INT
+     * @return Indices
+     */
+    public static int[] readIndices(ByteBuffer src, int indexCount, int indexType) {
+        int[] indices = new int[indexCount];
+        for (int i = 0; i < indexCount; i++) {
+            indices[i] = indexType == GL11.GL_UNSIGNED_SHORT ? Short.toUnsignedInt(src.getShort()) : src.getInt();
+        }
+        return indices;
+    }
+
+    /**
+     * Points the attributes of the bound VAO at the bound GL_ARRAY_BUFFER
+     * @param tangents If the vertex has a tangent
+     */
+    public void bindAttributes(boolean tangents) {
+        int stride = getStride(tangents);
+        int offset = 0;
+        GL20.glVertexAttribPointer(POSITION_ATTRIBUTE, 3, GL11.GL_FLOAT, false, stride, offset);
+        GL20.glEnableVertexAttribArray(POSITION_ATTRIBUTE);
+        offset += 12;
+
+        GL20.glVertexAttribPointer(TEXTURE_COORDS_ATTRIBUTE, 2, halfTextureCoords ? GL30.GL_HALF_FLOAT : GL11.GL_FLOAT, false, stride, offset);
+        GL20.glEnableVertexAttribArray(TEXTURE_COORDS_ATTRIBUTE);
+        offset += halfTextureCoords ? 4 : 8;
+
+        offset = bindDirection(NORMAL_ATTRIBUTE, stride, offset);
+        if(tangents) bindDirection(TANGENT_ATTRIBUTE, stride, offset);
+    }
+
+    private int bindDirection(int attribute, int stride, int offset) {
+        if(packedNormals) {
+            GL20.glVertexAttribPointer(attribute, 4, GL33.GL_INT_2_10_10_10_REV, true, stride, offset);
+        } else {
+            GL20.glVertexAttribPointer(attribute, 3, GL11.GL_FLOAT, false, stride, offset);
+        }
+        GL20.glEnableVertexAttribArray(attribute);
+        return offset + (packedNormals ? 4 : 12);
+    }
+
+    /**
+     * Converts a float to a IEEE 754 half float. Rounds to the nearest even value
+     * @param value Float
+     * @return Bits of the half float
+     */
+    public static short toHalf(float value) {
+        int bits = Float.floatToIntBits(value);
+        int sign = (bits >>> 16) & 0x8000;
+        int floatExponent = (bits >>> 23) & 0xFF;
+        int mantissa = bits & 0x7FFFFF;
+        if(floatExponent == 0xFF) return (short) (sign | 0x7C00 | (mantissa != 0 ? 0x200 : 0));
+
+        int exponent = floatExponent - 127 + 15;
+        if(exponent >= 0x1F) return (short) (sign | 0x7C00);
+        if(exponent <= 0) {
+            // Subnormal half or zero
+            if(exponent < -10) return (short) sign;
+            mantissa |= 0x800000;
+            int shift = 14 - exponent;
+            int half = mantissa >> shift;
+            int remainder = mantissa & ((1 << shift) - 1);
+            int halfway = 1 << (shift - 1);
+            if(remainder > halfway || (remainder == halfway && (half & 1) != 0)) half++;
+            return (short) (sign | half);
+        }
+
+        int half = (exponent << 10) | (mantissa >> 13);
+        int remainder = mantissa & 0x1FFF;
+        // A carry into the exponent is the correct rounding
+        if(remainder > 0x1000 || (remainder == 0x1000 && (half & 1) != 0)) half++;
+        return (short) (sign | half);
+    }
+
+    /**
+     * Converts the bits of a IEEE 754 half float to a float
+     * @param half Bits of the half float
+     * @return Float
+     */
+    public static float fromHalf(short half) {
+        int bits = half & 0xFFFF;
+        int sign = (bits & 0x8000) << 16;
+        int exponent = (bits >>> 10) & 0x1F;
+        int mantissa = bits & 0x3FF;
+        if(exponent == 0x1F) return Float.intBitsToFloat(sign | 0x7F800000 | (mantissa << 13));
+        if(exponent == 0) {
+            // Subnormal half or zero
+            float value = mantissa / 16777216f;
+            return sign != 0 ? -value : value;
+        }
+        return Float.intBitsToFloat(sign | ((exponent - 15 + 127) << 23) | (mantissa << 13));
+    }
+
+    /**
+     * Packs a direction into GL_INT_2_10_10_10_REV as signed normalized values. W is 0
+     * @return Packed direction
+     */
+    public static int packNormal(float x, float y, float z) {
+        return packComponent(x) | (packComponent(y) << 10) | (packComponent(z) << 20);
+    }
+
+    private static int packComponent(float value) {
+        return Math.round(Math.max(-1f, Math.min(1f, value)) * 511f) & 0x3FF;
+    }
+
+    private static float unpackComponent(int packed) {
+        // Sign extend the 10 bits
+        int value = (packed << 22) >> 22;
+        return Math.max(-1f, value / 511f);
+    }
+
+}
@@ -38,18 +38,31 @@ package de.rafael.ravbite.engine.graphics.objects.scene;
 //------------------------------
 
 import de.rafael.ravbite.engine.graphics.components.camera.CameraComponent;
+import de.rafael.ravbite.engine.graphics.components.camera.FrustumCuller;
 import de.rafael.ravbite.engine.graphics.components.classes.Component;
 import de.rafael.ravbite.engine.graphics.components.classes.ISizeDependent;
+import de.rafael.ravbite.engine.graphics.components.classes.RenderComponent;
 import de.rafael.ravbite.engine.graphics.components.light.LightComponent;
+import de.rafael.ravbite.engine.graphics.components.light.cluster.LightClusters;
 import de.rafael.ravbite.engine.graphics.components.transform.Transform;
+import de.rafael.ravbite.engine.graphics.components.transform.storage.TransformStorage;
 import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.scene.batch.StaticBatch;
+import de.rafael.ravbite.engine.graphics.objects.scene.batch.StaticBatcher;
+import de.rafael.ravbite.engine.graphics.objects.scene.callbacks.SceneCallback;
+import de.rafael.ravbite.engine.graphics.objects.scene.query.ComponentQuery;
+import de.rafael.ravbite.engine.graphics.objects.scene.registry.ObjectRegistry;
+import de.rafael.ravbite.engine.graphics.objects.scene.render.RenderQueue;
+import de.rafael.ravbite.engine.graphics.objects.scene.render.indirect.IndirectRenderer;
+import de.rafael.ravbite.engine.graphics.objects.scene.scheduler.UpdateScheduler;
+import de.rafael.ravbite.engine.graphics.objects.scene.spatial.SpatialIndex;
 import de.rafael.ravbite.engine.graphics.view.EngineView;
 import de.rafael.ravbite.engine.input.InputSystem;
+import de.rafael.ravbite.engine.physics.PhysicsWorld;
 import de.rafael.ravbite.engine.utils.RavbiteUtils;
 import org.joml.Vector3f;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public abstract class Scene implements ISizeDependent {
 
@@ -57,6 +70,26 @@ public abstract class Scene implements ISizeDependent {
     private final String name;
 
     private final GameObject sceneObject;
+    private final ObjectRegistry objectRegistry = new ObjectRegistry();
+    private final HashMap<List<Class<?>>, ComponentQuery<?>> queries = new HashMap<>();
+
+    private final ComponentQuery<CameraComponent> cameras;
+    private final ComponentQuery<RenderComponent> renderers;
+    private final ComponentQuery<LightComponent> lights;
+    private final SpatialIndex spatialIndex = new SpatialIndex();
+    private final RenderQueue renderQueue = createRenderQueue();
+    private final LightClusters lightClusters = new LightClusters();
+    private final StaticBatcher staticBatcher = new StaticBatcher();
+
+    // Reused every frame
+    private CameraComponent[] renderedCameras = new CameraComponent[0];
+    private GameObject[] nearestLights = new GameObject[0];
+    private GameObject[] updatedObjects = new GameObject[0];
+
+    private TransformStorage transformStorage;
+    private UpdateScheduler updateScheduler;
+    private PhysicsWorld physicsWorld;
+    private IndirectRenderer indirectRenderer;
 
     private final HashMap<Integer, Object> storedObjects = new HashMap<>();
 
@@ -65,6 +98,11 @@ public abstract class Scene implements ISizeDependent {
         this.name = name;
 
         this.sceneObject = new GameObject(this, "Scene");
+
+        this.cameras = query(CameraComponent.class);
+        this.renderers = query(RenderComponent.class);
+        this.lights = query(LightComponent.class);
+        this.objectRegistry.listen(spatialIndex);
     }
 
     /**
@@ -73,12 +111,38 @@ public abstract class Scene implements ISizeDependent {
     public abstract void prepare();
 
     /**
-     * Delete all GameObjects
+     * Merges the meshes of all static GameObjects into chunked batches. Called by the EngineView after prepare()
+     * If indirect rendering is enabled the static GameObjects are drawn by the IndirectRenderer instead
+     * @return Batches that were added to the scene
+     */
+    public List<StaticBatch> batchStaticGeometry() {
+        if(indirectRenderer != null) {
+            if(indirectRenderer.build(getGameObjects()) > 0) {
+                indirectRenderer.store(engineView);
+                indirectRenderer.apply();
+            }
+            return List.of();
+        }
+
+        List<StaticBatch> batches = staticBatcher.build(getGameObjects());
+        if(!batches.isEmpty()) {
+            staticBatcher.apply(this);
+        }
+        return batches;
+    }
+
+    /**
+     * Delete all GameObjects and stop the physics simulation and the update workers
+     * Both have to be enabled again in prepare()
      */
     public void dispose() {
-        for (GameObject gameObject : sceneObject.getGameObjects()) {
-            gameObject.dispose();
+        disablePhysics();
+        disableParallelUpdates();
+        GameObject[] objects = objectRegistry.getObjects();
+        for (int i = 0; i < objectRegistry.size(); i++) {
+            objects[i].dispose();
         }
+        if(indirectRenderer != null) indirectRenderer.dispose();
     }
 
     public void storeObject(int slot, Object object) {
@@ -99,53 +163,97 @@ public abstract class Scene implements ISizeDependent {
 
     /**
      * Called to render the frame
-     * @return Array of rendered cameras
+     * @return Array of rendered cameras. The array is reused in the next frame
      */
     public CameraComponent[] render() {
-        Collection<GameObject> gameObjects = getGameObjects();
-        List<CameraComponent> cameras = new ArrayList<>();
-        // TODO: Optimize
-        for (GameObject gameObject : gameObjects) {
-            Optional<Component> componentOptional = gameObject.hasComponent(CameraComponent.class);
-            if(componentOptional.isPresent()) {
-                CameraComponent cameraComponent = (CameraComponent) componentOptional.get();
-                cameraComponent.startRendering();
-                renderCamera(gameObjects, cameraComponent);
-                cameraComponent.stopRendering();
-                cameras.add(cameraComponent);
-            }
+        spatialIndex.maintain();
+        renderQueue.resetStatistics();
+        if(indirectRenderer != null) indirectRenderer.resetStatistics();
+        lightClusters.pack(lights);
+        lightClusters.uploadLights(engineView);
+        if(renderedCameras.length != cameras.size()) renderedCameras = new CameraComponent[cameras.size()];
+        for (int i = 0; i < cameras.size(); i++) {
+            CameraComponent cameraComponent = cameras.getComponent(i);
+            cameraComponent.startRendering();
+            renderCamera(cameraComponent);
+            cameraComponent.stopRendering();
+            renderedCameras[i] = cameraComponent;
         }
 
-        return cameras.toArray(new CameraComponent[0]);
+        return renderedCameras;
     }
 
     /**
      * Called to render the frame in the camera
      * @param cameraComponent Camera
      */
-    private void renderCamera(Collection<GameObject> gameObjects, CameraComponent cameraComponent) {
-        for (GameObject gameObject : gameObjects) {
-            if(cameraComponent.isResponsibleFor(gameObject)) {
-                gameObject.render(cameraComponent);
-            }
+    private void renderCamera(CameraComponent cameraComponent) {
+        collectDrawItems(cameraComponent);
+        lightClusters.assign(cameraComponent);
+        lightClusters.uploadClusters(engineView);
+        if(indirectRenderer != null) indirectRenderer.render(cameraComponent);
+        renderQueue.execute(engineView);
+    }
+
+    /**
+     * Culls all renderers against the camera and submits the visible ones to the render queue
+     * No GL calls are made as long as every renderer overrides RenderComponent.submit
+     * @param cameraComponent Camera
+     */
+    public void collectDrawItems(CameraComponent cameraComponent) {
+        cameraComponent.updateFrustum();
+        FrustumCuller frustumCuller = cameraComponent.getFrustumCuller();
+        int visibleCount = frustumCuller.cull(renderers);
+        GameObject[] visibleObjects = frustumCuller.getVisibleObjects();
+        renderQueue.begin(cameraComponent);
+        for (int i = 0; i < visibleCount; i++) {
+            visibleObjects[i].submit(cameraComponent, renderQueue);
         }
     }
 
     /**
      * Called every frame
+     * GameObjects that are added during the update are updated in the next frame. Removed GameObjects are skipped
      */
     public void update() {
-        Collection<GameObject> gameObjects = getGameObjects();
-        for (GameObject gameObject : gameObjects) {
-            gameObject.update();
+        if(transformStorage != null) transformStorage.update();
+        int size = snapshotObjects();
+        if(updateScheduler != null) {
+            updateScheduler.update(updatedObjects, size);
+        } else {
+            for (int i = 0; i < size; i++) {
+                if(updatedObjects[i].isInScene()) updatedObjects[i].update();
+            }
         }
+        Arrays.fill(updatedObjects, 0, size, null);
     }
 
     /**
      * Called every fixed update(Physics)
      */
     public void fixedUpdate() {
+        int size = snapshotObjects();
+        // The state has to be saved before the physics results are written into the transforms
+        for (int i = 0; i < size; i++) {
+            updatedObjects[i].getTransform().storeState();
+        }
+        if(physicsWorld != null) physicsWorld.fixedUpdate(engineView.getFixedDeltaTime());
+        for (int i = 0; i < size; i++) {
+            if(updatedObjects[i].isInScene()) updatedObjects[i].fixedUpdate();
+        }
+        Arrays.fill(updatedObjects, 0, size, null);
+    }
 
+    /**
+     * Copies the registered GameObjects into a reused array
+     * The registry grows and swaps objects into free slots, so a pass over the live array breaks when components add or remove GameObjects
+     * @return Amount of GameObjects in the snapshot
+     */
+    private int snapshotObjects() {
+        int size = objectRegistry.size();
+        if(updatedObjects.length < size) updatedObjects = new GameObject[objectRegistry.getObjects().length];
+        System.arraycopy(objectRegistry.getObjects(), 0, updatedObjects, 0, size);
+        return size;
     }
 
     @Override
@@ -154,40 +262,222 @@ public abstract class Scene implements ISizeDependent {
     }
 
     /**
-     * @return All GameObjects in scene
+     * @return Read-only live view of all GameObjects in scene
      */
-    // TODO: Optimize
     public Collection<GameObject> getGameObjects() {
-        return sceneObject.getGameObjects();
+        return objectRegistry.asList();
+    }
+
+    /**
+     * Returns a live set of all GameObjects that have a component of every given type
+     * The set is updated when GameObjects or components are added or removed and is shared by every caller
+     * @param type Type of the component that is stored in the query
+     * @param with Additional types every GameObject needs
+     * @return Query
+     */
+    @SafeVarargs
+    @SuppressWarnings({"unchecked", "varargs"})
+    public final <T extends Component> ComponentQuery<T> query(Class<T> type, Class<? extends Component>... with) {
+        List<Class<?>> key = new ArrayList<>(with.length + 1);
+        key.add(type);
+        key.addAll(List.of(with));
+        ComponentQuery<?> query = queries.get(key);
+        if(query == null) {
+            ComponentQuery<T> componentQuery = new ComponentQuery<>(type, with);
+            componentQuery.initialize(objectRegistry);
+            objectRegistry.listen(componentQuery);
+            queries.put(key, componentQuery);
+            return componentQuery;
+        }
+        return (ComponentQuery<T>) query;
+    }
+
+    /**
+     * Stores all transforms of the scene in packed arrays and calculates the world matrices in one linear pass
+     * @param offHeap If true the world matrices are stored in native memory
+     * @return TransformStorage
+     */
+    public TransformStorage enableTransformStorage(boolean offHeap) {
+        if(transformStorage == null) {
+            transformStorage = new TransformStorage(offHeap);
+            for (int i = 0; i < objectRegistry.size(); i++) {
+                transformStorage.objectAdded(objectRegistry.get(i));
+            }
+            objectRegistry.listen(transformStorage);
+        }
+        return transformStorage;
+    }
+
+    /**
+     * Updates all thread-safe components on multiple threads
+     * Should be called in prepare() because the worker threads are stopped when the scene is disposed
+     * @param parallelism Amount of worker threads
+     * @return UpdateScheduler
+     */
+    public UpdateScheduler enableParallelUpdates(int parallelism) {
+        if(updateScheduler == null) {
+            updateScheduler = new UpdateScheduler(parallelism, UpdateScheduler.DEFAULT_CHUNK_SIZE);
+        }
+        return updateScheduler;
+    }
+
+    /**
+     * Updates all components on the render thread again
+     */
+    public void disableParallelUpdates() {
+        if(updateScheduler != null) {
+            updateScheduler.shutdown();
+            updateScheduler = null;
+        }
+    }
+
+    /**
+     * @return UpdateScheduler or null if parallel updates are disabled
+     */
+    public UpdateScheduler getUpdateScheduler() {
+        return updateScheduler;
+    }
+
+    /**
+     * Simulates all GameObjects with a ColliderComponent. The simulation runs on its own thread in fixedUpdate()
+     * Should be called in prepare() because the simulation is stopped when the scene is disposed
+     * @return PhysicsWorld
+     */
+    public PhysicsWorld enablePhysics() {
+        if(physicsWorld == null) {
+            physicsWorld = new PhysicsWorld(engineView.getEngineWatcher());
+            for (int i = 0; i < objectRegistry.size(); i++) {
+                physicsWorld.objectAdded(objectRegistry.get(i));
+            }
+            objectRegistry.listen(physicsWorld);
+        }
+        return physicsWorld;
+    }
+
+    /**
+     * Stops the simulation and removes all bodies
+     */
+    public void disablePhysics() {
+        if(physicsWorld != null) {
+            objectRegistry.stopListening(physicsWorld);
+            physicsWorld.dispose();
+            physicsWorld = null;
+        }
+    }
+
+    /**
+     * Draws the static GameObjects with GPU culling and glMultiDrawElementsIndirect instead of batching them on the CPU
+     * Has to be called in prepare() on the render thread because the OpenGL version is checked
+     * @return IndirectRenderer or null if OpenGL 4.3 is not available. The classic path is used then
+     */
+    public IndirectRenderer enableIndirectRendering() {
+        if(indirectRenderer == null && IndirectRenderer.isSupported()) {
+            indirectRenderer = new IndirectRenderer();
+        }
+        return indirectRenderer;
+    }
+
+    /**
+     * @return IndirectRenderer or null if indirect rendering is not enabled or supported
+     */
+    public IndirectRenderer getIndirectRenderer() {
+        return indirectRenderer;
+    }
+
+    /**
+     * @return PhysicsWorld or null if physics are disabled
+     */
+    public PhysicsWorld getPhysicsWorld() {
+        return physicsWorld;
+    }
+
+    /**
+     * @return TransformStorage or null if it is not enabled
+     */
+    public TransformStorage getTransformStorage() {
+        return transformStorage;
+    }
+
+    /**
+     * Adds a callback that is informed when GameObjects are added or removed
+     * @param callback Callback
+     */
+    public void listen(SceneCallback callback) {
+        objectRegistry.listen(callback);
+    }
+
+    /**
+     * Removes a callback
+     * @param callback Callback
+     */
+    public void stopListening(SceneCallback callback) {
+        objectRegistry.stopListening(callback);
     }
 
     /**
      * @param limit Max amount of lights in this array
      * @param centerPosition Position of the GameObject
-     * @return Light array
+     * @return Light array sorted by distance
      */
-    // TODO: Optimize
     public LightComponent[] getLights(int limit, Vector3f centerPosition) {
-        Collection<GameObject> gameObjects = getGameObjects();
-        Collection<GameObject> lights = gameObjects.stream().filter(item -> item.hasComponent(LightComponent.class).isPresent()).collect(Collectors.toList());
-        List<GameObject> sortedLights = lights.stream().sorted((o1, o2) -> {
-            float o1Distance = centerPosition.distance(o1.getSpecialTransform(Transform.WORLD_SPACE).position);
-            float o2Distance = centerPosition.distance(o2.getSpecialTransform(Transform.WORLD_SPACE).position);
-
-            if (o2Distance > o1Distance) { //  || !light1.hasAttenuation()
-                return -1;
-            } else if (o2Distance < o1Distance) { //  || !light2.hasAttenuation()
-                return 1;
-            } else {
-                return 0;
-            }
-        }).toList();
+        LightComponent[] components = new LightComponent[Math.min(limit, lights.size())];
+        int found = getLights(centerPosition, components);
+        return found == components.length ? components : Arrays.copyOf(components, found);
+    }
 
-        LightComponent[] components = new LightComponent[Math.min(sortedLights.size(), limit)];
-        for (int i = 0; i < components.length; i++) {
-            components[i] = (LightComponent) sortedLights.get(i).hasComponent(LightComponent.class).orElseGet(null);
+    /**
+     * Finds the nearest lights without allocating
+     * @param centerPosition Position of the GameObject
+     * @param dest Array to write the lights to sorted by distance. The length is the max amount of lights
+     * @return Amount of found lights
+     */
+    public int getLights(Vector3f centerPosition, LightComponent[] dest) {
+        int limit = Math.min(dest.length, lights.size());
+        if(nearestLights.length != limit) nearestLights = new GameObject[limit];
+        int found = spatialIndex.nearest(centerPosition, LightComponent.class, nearestLights);
+        for (int i = 0; i < found; i++) {
+            dest[i] = nearestLights[i].getComponent(LightComponent.class);
         }
-        return components;
+        return found;
+    }
+
+    /**
+     * Lights of the scene packed for the shaders and assigned to the clusters of the current camera
+     * @return LightClusters of the scene
+     */
+    public LightClusters getLightClusters() {
+        return lightClusters;
+    }
+
+    /**
+     * @return StaticBatcher used after prepare() with the statistics of the last batching
+     */
+    public StaticBatcher getStaticBatcher() {
+        return staticBatcher;
+    }
+
+    /**
+     * Creates the RenderQueue of the scene. Called once while the scene is constructed
+     * @return New RenderQueue
+     */
+    protected RenderQueue createRenderQueue() {
+        return new RenderQueue();
+    }
+
+    /**
+     * Queue that sorts the draw items of a camera by layer, shader, texture and VAO
+     * @return RenderQueue of the scene
+     */
+    public RenderQueue getRenderQueue() {
+        return renderQueue;
+    }
+
+    /**
+     * Bounding volume hierarchy over all GameObjects. Updated at the start of every render
+     * @return SpatialIndex of the scene
+     */
+    public SpatialIndex getSpatialIndex() {
+        return spatialIndex;
     }
 
     /**
@@ -218,6 +508,13 @@ public abstract class Scene implements ISizeDependent {
         return sceneObject;
     }
 
+    /**
+     * @return Registry that stores all GameObjects in the scene
+     */
+    public ObjectRegistry getObjectRegistry() {
+        return objectRegistry;
+    }
+
     /**
      * @return Utils instance
      */
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.scene.batch;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/20/2026 at 3:10 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.game.material.IMaterial;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+
+import java.awt.*;
+import java.util.List;
+
+public class StaticBatch {
+
+    private final IMaterial material;
+    private final int renderLayer;
+    private final Color tint;
+    private final Mesh mesh;
+    private final List<GameObject> sources;
+    private final int sourceMeshes;
+
+    /**
+     * @param material Material shared by all merged meshes
+     * @param renderLayer Layer the batch is rendered in
+     * @param tint Tint of the renderers
+     * @param mesh Merged mesh in world space
+     * @param sources GameObjects that were merged
+     * @param sourceMeshes Amount of merged meshes
+     */
+    public StaticBatch(IMaterial material, int renderLayer, Color tint, Mesh mesh, List<GameObject> sources, int sourceMeshes) {
+        this.material = material;
+        this.renderLayer = renderLayer;
+        this.tint = tint;
+        this.mesh = mesh;
+        this.sources = sources;
+        this.sourceMeshes = sourceMeshes;
+    }
+
+    /**
+     * @return Material shared by all merged meshes
+     */
+    public IMaterial getMaterial() {
+        return material;
+    }
+
+    /**
+     * @return Layer the batch is rendered in
+     */
+    public int getRenderLayer() {
+        return renderLayer;
+    }
+
+    /**
+     * @return Tint of the renderers
+     */
+    public Color getTint() {
+        return tint;
+    }
+
+    /**
+     * @return Merged mesh. The vertices are already in world space
+     */
+    public Mesh getMesh() {
+        return mesh;
+    }
+
+    /**
+     * @return GameObjects that were merged
+     */
+    public List<GameObject> getSources() {
+        return sources;
+    }
+
+    /**
+     * @return Amount of merged meshes
+     */
+    public int getSourceMeshes() {
+        return sourceMeshes;
+    }
+
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.scene.batch;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/20/2026 at 3:25 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.components.mesh.MeshComponent;
+import de.rafael.ravbite.engine.graphics.components.rendering.mesh.MeshRendererComponent;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.game.material.IMaterial;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
+import org.joml.Matrix3f;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+import java.awt.*;
+import java.util.List;
+import java.util.*;
+
+public class StaticBatcher {
+
+    public float chunkSize = 64f;
+    public int maxVertices = 65535;
+
+    private final List<StaticBatch> batches = new ArrayList<>();
+    private int sourceObjects = 0;
+    private int sourceMeshes = 0;
+    private int vertexCount = 0;
+    private int triangleCount = 0;
+
+    /**
+     * Sets the size of the spatial chunks. Every chunk is culled on its own
+     * @param chunkSize Edge length of a chunk in world units
+     * @return StaticBatcher
+     */
+    public StaticBatcher chunkSize(float chunkSize) {
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Sets the maximum vertices of a batch. Bigger groups are split into multiple batches
+     * Batches with less than 65536 vertices can use 16-bit indices
+     * @param maxVertices Maximum vertices
+     * @return StaticBatcher
+     */
+    public StaticBatcher maxVertices(int maxVertices) {
+        this.maxVertices = maxVertices;
+        return this;
+    }
+
+    /**
+     * Merges the meshes of all static GameObjects that share material, render layer, tint and chunk
+     * Only plain MeshRendererComponents with opaque materials are merged because transparent meshes have to be sorted per object
+     * No OpenGL calls are made and the GameObjects are not changed
+     * @param gameObjects GameObjects to batch
+     * @return Created batches
+     */
+    public List<StaticBatch> build(Collection<GameObject> gameObjects) {
+        batches.clear();
+        sourceObjects = 0;
+        sourceMeshes = 0;
+        vertexCount = 0;
+        triangleCount = 0;
+
+        // Group all meshes
+        Map<BatchKey, List<BatchEntry>> groups = new LinkedHashMap<>();
+        float[] bounds = new float[6];
+        for (GameObject gameObject : gameObjects) {
+            if(!canBatch(gameObject)) continue;
+            Matrix4f worldMatrix = gameObject.getTransform().getWorldMatrix();
+            Color tint = gameObject.getComponent(MeshRendererComponent.class).getTint();
+            for (Mesh mesh : gameObject.getComponent(MeshComponent.class).getMesh().collectMeshes()) {
+                if(mesh.getVertices() == null || mesh.getVertices().length == 0) continue;
+                mesh.getBounds().transform(worldMatrix, bounds, 0);
+                BatchKey key = new BatchKey(mesh.getMaterial(), gameObject.getRenderLayer(), tint,
+                        chunk(bounds[0], bounds[3]), chunk(bounds[1], bounds[4]), chunk(bounds[2], bounds[5]));
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(new BatchEntry(gameObject, mesh, worldMatrix));
+            }
+            sourceObjects++;
+        }
+
+        // Merge every group, split if it has too many vertices
+        for (Map.Entry<BatchKey, List<BatchEntry>> group : groups.entrySet()) {
+            List<BatchEntry> entries = group.getValue();
+            int start = 0;
+            int vertices = 0;
+            for (int i = 0; i < entries.size(); i++) {
+                int meshVertices = entries.get(i).mesh().getVertices().length / 3;
+                if(i > start && vertices + meshVertices > maxVertices) {
+                    batches.add(merge(group.getKey(), entries.subList(start, i)));
+                    start = i;
+                    vertices = 0;
+                }
+                vertices += meshVertices;
+            }
+            batches.add(merge(group.getKey(), entries.subList(start, entries.size())));
+        }
+        return batches;
+    }
+
+    /**
+     * Adds a GameObject for every built batch to the scene and removes the MeshRendererComponents of the merged GameObjects
+     * The merged GameObjects stay in the scene, only their rendering is replaced
+     * @param scene Scene the batches are added to
+     */
+    public void apply(Scene scene) {
+        for (int i = 0; i < batches.size(); i++) {
+            StaticBatch batch = batches.get(i);
+            GameObject batchObject = new GameObject(scene, "StaticBatch-" + i);
+            batchObject.setRenderLayer(batch.getRenderLayer());
+            batchObject.setStatic(true);
+            batchObject.appendComponents(new MeshComponent(batch.getMesh()), new MeshRendererComponent().tint(batch.getTint()));
+            scene.getSceneObject().appendChild(batchObject);
+            for (GameObject source : batch.getSources()) {
+                MeshRendererComponent renderer = source.getComponent(MeshRendererComponent.class);
+                if(renderer != null) source.removeComponent(renderer);
+            }
+        }
+    }
+
+    /**
+     * @param gameObject GameObject
+     * @return If the GameObject is static and all its meshes can be merged
+     */
+    public static boolean canBatch(GameObject gameObject) {
+        if(!gameObject.isStatic()) return false;
+        MeshRendererComponent renderer = gameObject.getComponent(MeshRendererComponent.class);
+        MeshComponent meshComponent = gameObject.getComponent(MeshComponent.class);
+        // Subclasses of the renderer may render in a different way
+        if(renderer == null || renderer.getClass() != MeshRendererComponent.class || meshComponent == null || meshComponent.getMesh() == null) return false;
+        for (Mesh mesh : meshComponent.getMesh().collectMeshes()) {
+            if(mesh.getVertices() == null || mesh.getVertices().length == 0) continue;
+            if(mesh.getIndices() == null || mesh.getMaterial() == null || mesh.getMaterial().isTransparent()) return false;
+        }
+        return true;
+    }
+
+    private int chunk(float min, float max) {
+        return (int) Math.floor((min + max) * 0.5f / chunkSize);
+    }
+
+    private StaticBatch merge(BatchKey key, List<BatchEntry> entries) {
+        int vertices = 0;
+        int indices = 0;
+        boolean tangents = true;
+        for (BatchEntry entry : entries) {
+            vertices += entry.mesh().getVertices().length / 3;
+            indices += entry.mesh().getIndices().length;
+            tangents &= entry.mesh().getTangents() != null;
+        }
+
+        float[] positionData = new float[vertices * 3];
+        float[] normalData = new float[vertices * 3];
+        float[] tangentData = tangents ? new float[vertices * 3] : null;
+        float[] textureData = new float[vertices * 2];
+        int[] indexData = new int[indices];
+
+        Matrix3f normalMatrix = new Matrix3f();
+        Vector3f vector = new Vector3f();
+        Set<GameObject> sources = new LinkedHashSet<>();
+        int vertexOffset = 0;
+        int indexOffset = 0;
+        for (BatchEntry entry : entries) {
+            Mesh mesh = entry.mesh();
+            Matrix4f worldMatrix = entry.worldMatrix();
+            worldMatrix.normal(normalMatrix);
+            sources.add(entry.gameObject());
+
+            int meshVertices = mesh.getVertices().length / 3;
+            for (int v = 0; v < meshVertices; v++) {
+                int target = (vertexOffset + v) * 3;
+                write(worldMatrix.transformPosition(read(mesh.getVertices(), v, vector)), positionData, target);
+                if(mesh.getNormals() != null) {
+                    write(normalMatrix.transform(read(mesh.getNormals(), v, vector)).normalize(), normalData, target);
+                }
+                if(tangentData != null) {
+                    write(worldMatrix.transformDirection(read(mesh.getTangents(), v, vector)).normalize(), tangentData, target);
+                }
+            }
+            if(mesh.getTextureCoords() != null) {
+                System.arraycopy(mesh.getTextureCoords(), 0, textureData, vertexOffset * 2, Math.min(mesh.getTextureCoords().length, meshVertices * 2));
+            }
+            int[] meshIndices = mesh.getIndices();
+            for (int i = 0; i < meshIndices.length; i++) {
+                indexData[indexOffset + i] = meshIndices[i] + vertexOffset;
+            }
+            vertexOffset += meshVertices;
+            indexOffset += meshIndices.length;
+        }
+
+        Mesh mesh = new Mesh("StaticBatch", key.material(), positionData, normalData, tangentData, textureData, indexData);
+        mesh.calculateBounds();
+
+        sourceMeshes += entries.size();
+        vertexCount += vertices;
+        triangleCount += indices / 3;
+        return new StaticBatch(key.material(), key.renderLayer(), key.tint(), mesh, new ArrayList<>(sources), entries.size());
+    }
+
+    private static Vector3f read(float[] data, int vertex, Vector3f dest) {
+        return dest.set(data[vertex * 3], data[vertex * 3 + 1], data[vertex * 3 + 2]);
+    }
+
+    private static void write(Vector3f value, float[] data, int offset) {
+        data[offset] = value.x;
+        data[offset + 1] = value.y;
+        data[offset + 2] = value.z;
+    }
+
+    /**
+     * @return Batches of the last build
+     */
+    public List<StaticBatch> getBatches() {
+        return batches;
+    }
+
+    /**
+     * @return Amount of merged GameObjects
+     */
+    public int getSourceObjects() {
+        return sourceObjects;
+    }
+
+    /**
+     * @return Amount of merged meshes
+     */
+    public int getSourceMeshes() {
+        return sourceMeshes;
+    }
+
+    /**
+     * @return Vertices of all batches
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * @return Triangles of all batches
+     */
+    public int getTriangleCount() {
+        return triangleCount;
+    }
+
+    @Override
+    public String toString() {
+        return "StaticBatcher{" +
+                "sourceObjects=" + sourceObjects +
+                ", sourceMeshes=" + sourceMeshes +
+                ", batches=" + batches.size() +
+                ", vertices=" + vertexCount +
+                ", triangles=" + triangleCount +
+                '}';
+    }
+
+    private record BatchKey(IMaterial material, int renderLayer, Color tint, int x, int y, int z) {}
+
+    private record BatchEntry(GameObject gameObject, Mesh mesh, Matrix4f worldMatrix) {}
+
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.scene.query;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 5:03 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.components.classes.Component;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.scene.callbacks.SceneCallback;
+import de.rafael.ravbite.engine.graphics.objects.scene.registry.ObjectRegistry;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+public class ComponentQuery<T extends Component> extends SceneCallback {
+
+    private final Class<T> type;
+    private final Class<? extends Component>[] types;
+
+    private GameObject[] objects = new GameObject[16];
+    private Component[] components = new Component[16];
+    private int size = 0;
+
+    private final IdentityHashMap<GameObject, Integer> indices = new IdentityHashMap<>();
+
+    private final List<GameObject> view = new AbstractList<>() {
+        @Override
+        public GameObject get(int index) {
+            if(index >= size) throw new IndexOutOfBoundsException(index);
+            return objects[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    };
+
+    /**
+     * Live set of all GameObjects that have a component of every given type
+     * @param type Type of the component that is stored for fast access
+     * @param with Additional types every GameObject needs
+     */
+    @SafeVarargs
+    @SuppressWarnings({"unchecked", "varargs"})
+    public ComponentQuery(Class<T> type, Class<? extends Component>... with) {
+        this.type = type;
+        this.types = (Class<? extends Component>[]) new Class<?>[with.length + 1];
+        this.types[0] = type;
+        System.arraycopy(with, 0, this.types, 1, with.length);
+    }
+
+    /**
+     * Fills the query with the current content of the registry
+     * @param objectRegistry Registry of the scene
+     */
+    public void initialize(ObjectRegistry objectRegistry) {
+        for (int i = 0; i < objectRegistry.size(); i++) {
+            objectAdded(objectRegistry.get(i));
+        }
+    }
+
+    @Override
+    public void objectAdded(GameObject gameObject) {
+        if(matches(gameObject)) add(gameObject);
+    }
+
+    @Override
+    public void objectRemoved(GameObject gameObject) {
+        remove(gameObject);
+    }
+
+    @Override
+    public void componentAdded(GameObject gameObject, Component component) {
+        if(isRelevant(component)) update(gameObject);
+    }
+
+    @Override
+    public void componentRemoved(GameObject gameObject, Component component) {
+        if(isRelevant(component)) update(gameObject);
+    }
+
+    /**
+     * Adds, removes or refreshes the GameObject after its components changed
+     * @param gameObject GameObject
+     */
+    private void update(GameObject gameObject) {
+        Integer index = indices.get(gameObject);
+        if(matches(gameObject)) {
+            if(index == null) {
+                add(gameObject);
+            } else {
+                components[index] = gameObject.getComponent(type);
+            }
+        } else if(index != null) {
+            remove(gameObject);
+        }
+    }
+
+    private void add(GameObject gameObject) {
+        if(indices.containsKey(gameObject)) return;
+        if(size == objects.length) {
+            objects = Arrays.copyOf(objects, size * 2);
+            components = Arrays.copyOf(components, size * 2);
+        }
+        indices.put(gameObject, size);
+        objects[size] = gameObject;
+        components[size] = gameObject.getComponent(type);
+        size++;
+    }
+
+    private void remove(GameObject gameObject) {
+        Integer index = indices.remove(gameObject);
+        if(index == null) return;
+        size--;
+        if(index != size) {
+            objects[index] = objects[size];
+            components[index] = components[size];
+            indices.put(objects[index], index);
+        }
+        objects[size] = null;
+        components[size] = null;
+    }
+
+    /**
+     * @param gameObject GameObject to check
+     * @return If the GameObject has a component of every type
+     */
+    public boolean matches(GameObject gameObject) {
+        for (Class<? extends Component> queryType : types) {
+            if(gameObject.getComponent(queryType) == null) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param component Component that changed
+     * @return If the component can change the result
+     */
+    private boolean isRelevant(Component component) {
+        for (Class<? extends Component> queryType : types) {
+            if(queryType.isInstance(component)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param index Index in the result
+     * @return GameObject stored at the index
+     */
+    public GameObject get(int index) {
+        return objects[index];
+    }
+
+    /**
+     * @param index Index in the result
+     * @return Component of the main type of the GameObject stored at the index
+     */
+    public T getComponent(int index) {
+        return type.cast(components[index]);
+    }
+
+    /**
+     * @return Amount of matching GameObjects
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Read-only live view of all matching GameObjects
+     */
+    public List<GameObject> asList() {
+        return view;
+    }
+
+    /**
+     * @return Types every GameObject in this query has
+     */
+    public Class<?>[] getTypes() {
+        return types;
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.scene.registry;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 3:05 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.components.classes.Component;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.scene.callbacks.SceneCallback;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ObjectRegistry {
+
+    private GameObject[] objects = new GameObject[64];
+    private int size = 0;
+
+    private final List<SceneCallback> callbacks = new ArrayList<>();
+
+    private final List<GameObject> view = new AbstractList<>() {
+        @Override
+        public GameObject get(int index) {
+            if(index >= size) throw new IndexOutOfBoundsException(index);
+            return objects[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    };
+
+    /**
+     * Adds the GameObject and all of its children to the registry
+     * @param gameObject GameObject to add
+     */
+    public void register(GameObject gameObject) {
+        if(gameObject.getRegistryIndex() < 0) {
+            if(size == objects.length) {
+                objects = Arrays.copyOf(objects, objects.length * 2);
+            }
+            gameObject.setRegistryIndex(size);
+            objects[size++] = gameObject;
+
+            for (int i = 0; i < callbacks.size(); i++) {
+                callbacks.get(i).objectAdded(gameObject);
+            }
+        }
+
+        List<GameObject> children = gameObject.getChildrenObjects();
+        for (int i = 0; i < children.size(); i++) {
+            register(children.get(i));
+        }
+    }
+
+    /**
+     * Removes the GameObject and all of its children from the registry
+     * The last GameObject is moved into the free slot to keep the array contiguous
+     * @param gameObject GameObject to remove
+     */
+    public void unregister(GameObject gameObject) {
+        List<GameObject> children = gameObject.getChildrenObjects();
+        for (int i = 0; i < children.size(); i++) {
+            unregister(children.get(i));
+        }
+
+        int index = gameObject.getRegistryIndex();
+        if(index < 0) return;
+
+        GameObject last = objects[--size];
+        objects[index] = last;
+        last.setRegistryIndex(index);
+        objects[size] = null;
+        gameObject.setRegistryIndex(-1);
+
+        for (int i = 0; i < callbacks.size(); i++) {
+            callbacks.get(i).objectRemoved(gameObject);
+        }
+    }
+
+    /**
+     * Informs all callbacks that a component was appended to a registered GameObject
+     * @param gameObject GameObject of the component
+     * @param component Added component
+     */
+    public void componentAdded(GameObject gameObject, Component component) {
+        if(gameObject.getRegistryIndex() < 0) return;
+        for (int i = 0; i < callbacks.size(); i++) {
+            callbacks.get(i).componentAdded(gameObject, component);
+        }
+    }
+
+    /**
+     * Informs all callbacks that a component was removed from a registered GameObject
+     * @param gameObject GameObject the component was removed from
+     * @param component Removed component
+     */
+    public void componentRemoved(GameObject gameObject, Component component) {
+        if(gameObject.getRegistryIndex() < 0) return;
+        for (int i = 0; i < callbacks.size(); i++) {
+            callbacks.get(i).componentRemoved(gameObject, component);
+        }
+    }
+
+    /**
+     * Adds a callback that is informed about every change
+     * @param callback Callback
+     */
+    public void listen(SceneCallback callback) {
+        callbacks.add(callback);
+    }
+
+    /**
+     * Removes a callback
+     * @param callback Callback
+     */
+    public void stopListening(SceneCallback callback) {
+        callbacks.remove(callback);
+    }
+
+    /**
+     * Only the first size() entries are valid
+     * @return Backing array of all registered GameObjects
+     */
+    public GameObject[] getObjects() {
+        return objects;
+    }
+
+    /**
+     * @param index Index of the GameObject
+     * @return GameObject stored at the index
+     */
+    public GameObject get(int index) {
+        return objects[index];
+    }
+
+    /**
+     * @return Amount of registered GameObjects
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Read-only live view of all registered GameObjects
+     */
+    public List<GameObject> asList() {
+        return view;
+    }
+
+    /**
+     * @return All registered callbacks
+     */
+    public List<SceneCallback> getCallbacks() {
+        return callbacks;
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.scene.render;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/19/2026 at 11:15 AM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.components.classes.RenderComponent;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.game.material.IMaterial;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.StoredMesh;
+import de.rafael.ravbite.engine.graphics.shader.AbstractShader;
+
+public class DrawItem {
+
+    private GameObject gameObject;
+    private RenderComponent renderer;
+    private StoredMesh mesh;
+    private IMaterial material;
+    private AbstractShader shader;
+    private int texture;
+    private boolean transparent;
+    private float depth;
+    private float fade;
+
+    /**
+     * Only used by the RenderQueue. Items are pooled and reused every frame
+     */
+    void set(GameObject gameObject, RenderComponent renderer, StoredMesh mesh, IMaterial material, AbstractShader shader, int texture, boolean transparent, float depth, float fade) {
+        this.gameObject = gameObject;
+        this.renderer = renderer;
+        this.mesh = mesh;
+        this.material = material;
+        this.shader = shader;
+        this.texture = texture;
+        this.transparent = transparent;
+        this.depth = depth;
+        this.fade = fade;
+    }
+
+    /**
+     * Removes all references so submitted objects can be collected
+     */
+    void clear() {
+        this.gameObject = null;
+        this.renderer = null;
+        this.mesh = null;
+        this.material = null;
+        this.shader = null;
+    }
+
+    /**
+     * @return GameObject the transform is taken from
+     */
+    public GameObject getGameObject() {
+        return gameObject;
+    }
+
+    /**
+     * @return RenderComponent that submitted the item
+     */
+    public RenderComponent getRenderer() {
+        return renderer;
+    }
+
+    /**
+     * @return Mesh to draw
+     */
+    public StoredMesh getMesh() {
+        return mesh;
+    }
+
+    /**
+     * @return Material of the mesh
+     */
+    public IMaterial getMaterial() {
+        return material;
+    }
+
+    /**
+     * @return Shader of the material
+     */
+    public AbstractShader getShader() {
+        return shader;
+    }
+
+    /**
+     * @return Texture bound to unit 0 or 0 if none
+     */
+    public int getTexture() {
+        return texture;
+    }
+
+    /**
+     * @return If the item is drawn in the back-to-front pass with blending
+     */
+    public boolean isTransparent() {
+        return transparent;
+    }
+
+    /**
+     * @return Normalized view depth(0 = near plane, 1 = far plane)
+     */
+    public float getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return LOD cross-fade of the mesh(0 = Not fading). See AbstractShader.prepareLodFade
+     */
+    public float getFade() {
+        return fade;
+    }
+
+}
@@ -0,0 +1,575 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.scene.render;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/19/2026 at 11:40 AM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.components.camera.CameraComponent;
+import de.rafael.ravbite.engine.graphics.components.classes.RenderComponent;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.game.material.IMaterial;
+import de.rafael.ravbite.engine.graphics.objects.game.material.standard.Material;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.StoredMesh;
+import de.rafael.ravbite.engine.graphics.shader.AbstractShader;
+import de.rafael.ravbite.engine.graphics.utils.DataWatcher;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+import org.joml.Matrix4f;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.*;
+
+import java.awt.*;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+public class RenderQueue {
+
+    // Key layout (bit 63 is always 0 so the keys can be compared signed)
+    // Opaque:      layer(7) | transparent(1) = 0 | instanced(1) | shader(8) | texture(16) | vao(16) | depth(14) front-to-back
+    // Transparent: layer(7) | transparent(1) = 1 | depth(24) back-to-front | shader(8) | texture(12) | vao(11)
+    public static final int MAX_LAYER = 127;
+    private static final long TRANSPARENT_BIT = 1L << 55;
+    private static final long INSTANCED_BIT = 1L << 54;
+    private static final int OPAQUE_DEPTH_BITS = 14;
+    private static final int TRANSPARENT_DEPTH_BITS = 24;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    // Per instance data: world matrix(4 columns) | color
+    public static final int INSTANCE_FLOATS = 20;
+    public static final int INSTANCE_MATRIX_ATTRIBUTE = 3;
+    public static final int INSTANCE_COLOR_ATTRIBUTE = 7;
+    public static final int MAX_INSTANCES = 1024;
+
+    public boolean instancing = true;
+
+    private DrawItem[] items = new DrawItem[0];
+    private long[] keys = new long[0];
+    private int[] order = new int[0];
+    private int count = 0;
+
+    // Exclusive end of every batch in the sorted order
+    private int[] batchEnds = new int[0];
+    private int batchCount = 0;
+
+    private int instanceBuffer = -1;
+    // Generation of the SCENE scope the instance buffer was created in
+    private int instanceBufferGeneration = -1;
+    private final FloatBuffer instanceData = BufferUtils.createFloatBuffer(MAX_INSTANCES * INSTANCE_FLOATS);
+
+    private CameraComponent cameraComponent;
+
+    // Statistics
+    private int shaderBinds = 0;
+    private int textureBinds = 0;
+    private int vaoBinds = 0;
+    private int drawCalls = 0;
+    private int instancedDrawCalls = 0;
+    private int instances = 0;
+
+    public RenderQueue() {
+        grow(64);
+    }
+
+    /**
+     * Starts collecting the draw items of a camera
+     * @param cameraComponent Camera the depth is calculated for
+     */
+    public void begin(CameraComponent cameraComponent) {
+        clear();
+        this.cameraComponent = cameraComponent;
+    }
+
+    /**
+     * Adds a mesh to the queue. The transform of the GameObject of the renderer is used
+     * @param renderer RenderComponent that submits the mesh
+     * @param mesh Mesh to draw
+     * @param material Material of the mesh or null for the default material of the EngineView
+     */
+    public void submit(RenderComponent renderer, StoredMesh mesh, IMaterial material) {
+        submit(renderer, mesh, material, 0);
+    }
+
+    /**
+     * Adds a mesh that is cross-faded between two LOD levels. Fading items are never instanced
+     * Opaque items whose shader has an instanced variant are always drawn with it, even if no other item shares their batch
+     * @param renderer RenderComponent that submits the mesh
+     * @param mesh Mesh to draw
+     * @param material Material of the mesh or null for the default material of the EngineView
+     * @param fade 0 if the mesh is not fading, (0, 1] for the incoming level and [-1, 0) for the outgoing level
+     */
+    public void submit(RenderComponent renderer, StoredMesh mesh, IMaterial material, float fade) {
+        if(mesh == null) return;
+        GameObject gameObject = renderer.getGameObject();
+        if(material == null) {
+            // Meshes without a material are drawn with the StandardShader like before the queue existed
+            material = gameObject.getScene().getEngineView().getDefaultMaterial();
+            if(material == null) throw new IllegalStateException("Mesh of GameObject[" + gameObject.getName() + "] has no material and no StandardShader is registered");
+        }
+        AbstractShader shader = material.getEngineView().getShader(material.getShaderId());
+        int texture = 0;
+        if(material instanceof Material standardMaterial && standardMaterial.getDiffuse() != null) {
+            texture = standardMaterial.getDiffuse().getDiffuseTextureId();
+        }
+        boolean transparent = material.isTransparent();
+        boolean instanced = instancing && !transparent && fade == 0 && shader != null && shader.getInstancedShader() != null;
+        float depth = viewDepth(gameObject);
+
+        if(count == items.length) grow(items.length * 2);
+        items[count].set(gameObject, renderer, mesh, material, shader, texture, transparent, depth, fade);
+        keys[count] = createKey(gameObject.getRenderLayer(), transparent, instanced, material.getShaderId(), texture, mesh.getVao(), depth);
+        order[count] = count;
+        count++;
+    }
+
+    /**
+     * Sorts all items and draws them. Shader, texture and VAO are only bound if they change
+     * Consecutive opaque items with the same mesh and material are drawn with one instanced draw call
+     * @param engineView EngineView the instance buffer is registered in
+     */
+    public void execute(EngineView engineView) {
+        sort();
+        batch();
+
+        AbstractShader boundShader = null;
+        IMaterial boundMaterial = null;
+        int boundTexture = -1;
+        int boundVao = -1;
+        boolean blending = false;
+        int start = 0;
+        for (int b = 0; b < batchCount; b++) {
+            int end = batchEnds[b];
+            int batchSize = end - start;
+            DrawItem item = items[order[start]];
+            boolean instanced = isInstanced(keys[start]);
+            AbstractShader shader = instanced ? item.getShader().getInstancedShader() : item.getShader();
+            if(item.isTransparent() != blending) {
+                blending = item.isTransparent();
+                setBlending(blending);
+            }
+            if(shader != boundShader) {
+                boundShader = shader;
+                boundShader.bind();
+                boundShader.prepare(cameraComponent);
+                boundMaterial = null;
+                shaderBinds++;
+            }
+            if(item.getMaterial() != boundMaterial) {
+                boundMaterial = item.getMaterial();
+                boundShader.prepareMaterial(boundMaterial);
+            }
+            if(item.getTexture() != 0 && item.getTexture() != boundTexture) {
+                boundTexture = item.getTexture();
+                bindTexture(boundTexture);
+                textureBinds++;
+            }
+            if(item.getMesh().getVao() != boundVao) {
+                boundVao = item.getMesh().getVao();
+                bindVao(boundVao);
+                vaoBinds++;
+            }
+
+            if(instanced) {
+                uploadInstances(engineView, fillInstances(engineView.getInterpolationAlpha(), start, end));
+                drawElementsInstanced(item.getMesh(), batchSize);
+                // A batch with one item is an ordinary draw even if the instanced shader is used
+                if(batchSize > 1) instancedDrawCalls++;
+            } else {
+                boundShader.prepareObject(item.getGameObject(), item.getMaterial(), cameraComponent, item.getRenderer());
+                boundShader.prepareLodFade(item.getFade());
+                drawElements(item.getMesh());
+            }
+            instances += batchSize;
+            drawCalls++;
+            start = end;
+        }
+
+        if(blending) setBlending(false);
+        if(boundShader != null) boundShader.unbind();
+        if(boundVao != -1) bindVao(0);
+        clear();
+    }
+
+    /**
+     * Splits the sorted items into batches. A batch holds consecutive instanced items with the same mesh and material
+     * Every other item is a batch of its own
+     * @return Amount of batches which is the amount of draw calls execute needs
+     */
+    public int batch() {
+        if(batchEnds.length < count) batchEnds = new int[items.length];
+        batchCount = 0;
+        int start = 0;
+        while(start < count) {
+            int end = start + 1;
+            DrawItem first = items[order[start]];
+            if(isInstanced(keys[start])) {
+                while(end < count && end - start < MAX_INSTANCES && isInstanced(keys[end]) && canInstance(first, items[order[end]])) end++;
+            }
+            batchEnds[batchCount++] = end;
+            start = end;
+        }
+        return batchCount;
+    }
+
+    private boolean canInstance(DrawItem first, DrawItem item) {
+        return !item.isTransparent() && item.getFade() == 0 && item.getMaterial() == first.getMaterial() && item.getMesh().getVao() == first.getMesh().getVao() && item.getMesh().getVertexCount() == first.getMesh().getVertexCount();
+    }
+
+    /**
+     * Writes the world matrices and colors of a batch into the instance data
+     * @param alpha Interpolation alpha of the frame
+     * @param start First item of the batch in the sorted queue
+     * @param end Exclusive end of the batch
+     * @return Instance data with INSTANCE_FLOATS floats per item. The buffer is reused by the next batch
+     */
+    public FloatBuffer fillInstances(float alpha, int start, int end) {
+        instanceData.clear();
+        for (int i = start; i < end; i++) {
+            DrawItem item = items[order[i]];
+            int offset = (i - start) * INSTANCE_FLOATS;
+            item.getGameObject().getTransform().getRenderMatrix(alpha).get(offset, instanceData);
+            Color tint = item.getRenderer().getTint();
+            instanceData.put(offset + 16, tint.getRed() / 255f);
+            instanceData.put(offset + 17, tint.getGreen() / 255f);
+            instanceData.put(offset + 18, tint.getBlue() / 255f);
+            instanceData.put(offset + 19, tint.getAlpha() / 255f);
+        }
+        instanceData.limit((end - start) * INSTANCE_FLOATS);
+        return instanceData;
+    }
+
+    // The GL calls of execute are kept apart, so the queue can be driven without a context
+
+    /**
+     * Streams the instance data into the instance buffer and points the instance attributes of the bound VAO at it
+     * @param engineView EngineView the instance buffer is registered in
+     * @param instanceData Data written by fillInstances
+     */
+    protected void uploadInstances(EngineView engineView, FloatBuffer instanceData) {
+        // The SCENE scope is cleaned up when the scene is left, so the buffer is recreated when it is entered again
+        int generation = engineView.getDataWatcher().getGeneration(DataWatcher.DataScope.SCENE);
+        if(instanceBuffer == -1 || instanceBufferGeneration != generation) {
+            instanceBufferGeneration = generation;
+            instanceBuffer = GL15.glGenBuffers();
+            engineView.getDataWatcher().glVbo(DataWatcher.DataScope.SCENE, instanceBuffer).owner("RenderQueue").bytes((long) MAX_INSTANCES * INSTANCE_FLOATS * Float.BYTES);
+        }
+
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, instanceBuffer);
+        // Orphan the old storage so the driver doesn't wait for the previous batch
+        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, (long) MAX_INSTANCES * INSTANCE_FLOATS * Float.BYTES, GL15.GL_STREAM_DRAW);
+        GL15.glBufferSubData(GL15.GL_ARRAY_BUFFER, 0, instanceData);
+
+        // The pointers are VAO state. They are set every batch because a VAO id can be reused after the mesh was deleted
+        bindInstanceAttributes();
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+    }
+
+    /**
+     * @param texture Texture that is bound to unit 0
+     */
+    protected void bindTexture(int texture) {
+        GL13.glActiveTexture(GL13.GL_TEXTURE0);
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, texture);
+    }
+
+    /**
+     * @param vao VAO that is bound or 0
+     */
+    protected void bindVao(int vao) {
+        GL30.glBindVertexArray(vao);
+    }
+
+    /**
+     * Draws the bound mesh once
+     * @param mesh Mesh
+     */
+    protected void drawElements(StoredMesh mesh) {
+        GL11.glDrawElements(GL11.GL_TRIANGLES, mesh.getVertexCount(), mesh.getIndexType(), 0);
+    }
+
+    /**
+     * Draws the bound mesh once per instance of the uploaded instance data
+     * @param mesh Mesh
+     * @param instances Items of the batch
+     */
+    protected void drawElementsInstanced(StoredMesh mesh, int instances) {
+        GL31.glDrawElementsInstanced(GL11.GL_TRIANGLES, mesh.getVertexCount(), mesh.getIndexType(), 0, instances);
+    }
+
+    /**
+     * Points the instance attributes of the bound VAO at the bound GL_ARRAY_BUFFER. Every instance reads INSTANCE_FLOATS floats
+     */
+    public static void bindInstanceAttributes() {
+        for (int column = 0; column < 4; column++) {
+            instanceAttribute(INSTANCE_MATRIX_ATTRIBUTE + column, column * 4);
+        }
+        instanceAttribute(INSTANCE_COLOR_ATTRIBUTE, 16);
+    }
+
+    private static void instanceAttribute(int attribute, int offset) {
+        GL20.glVertexAttribPointer(attribute, 4, GL11.GL_FLOAT, false, INSTANCE_FLOATS * Float.BYTES, (long) offset * Float.BYTES);
+        GL33.glVertexAttribDivisor(attribute, 1);
+        GL20.glEnableVertexAttribArray(attribute);
+    }
+
+    /**
+     * Removes all items without drawing them
+     */
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            items[i].clear();
+        }
+        count = 0;
+        cameraComponent = null;
+    }
+
+    /**
+     * Sorts the items by their key
+     */
+    public void sort() {
+        sort(0, count - 1);
+    }
+
+    /**
+     * Packs the sort key of a draw item that is not instanced
+     * @param layer Render layer(Clamped to 0 - 127)
+     * @param transparent If the item is drawn back-to-front
+     * @param shader ID of the shader
+     * @param texture ID of the texture
+     * @param vao ID of the VAO
+     * @param depth Normalized view depth(0 - 1)
+     * @return Key where a smaller value is drawn first
+     */
+    public static long createKey(int layer, boolean transparent, int shader, int texture, int vao, float depth) {
+        return createKey(layer, transparent, false, shader, texture, vao, depth);
+    }
+
+    /**
+     * Packs the sort key of a draw item
+     * Instanced items are sorted apart from the other items of their shader because they bind the instanced variant
+     * @param layer Render layer(Clamped to 0 - 127)
+     * @param transparent If the item is drawn back-to-front
+     * @param instanced If the item is drawn with the instanced variant of the shader. Ignored for transparent items
+     * @param shader ID of the shader
+     * @param texture ID of the texture
+     * @param vao ID of the VAO
+     * @param depth Normalized view depth(0 - 1)
+     * @return Key where a smaller value is drawn first
+     */
+    public static long createKey(int layer, boolean transparent, boolean instanced, int shader, int texture, int vao, float depth) {
+        long key = (long) Math.max(0, Math.min(MAX_LAYER, layer)) << 56;
+        if(!transparent) {
+            if(instanced) key |= INSTANCED_BIT;
+            key |= (long) (shader & 0xFF) << 46;
+            key |= (long) (texture & 0xFFFF) << 30;
+            key |= (long) (vao & 0xFFFF) << 14;
+            key |= quantizeDepth(depth, OPAQUE_DEPTH_BITS);
+        } else {
+            long maxDepth = (1L << TRANSPARENT_DEPTH_BITS) - 1;
+            key |= TRANSPARENT_BIT;
+            key |= (maxDepth - quantizeDepth(depth, TRANSPARENT_DEPTH_BITS)) << 31;
+            key |= (long) (shader & 0xFF) << 23;
+            key |= (long) (texture & 0xFFF) << 11;
+            key |= vao & 0x7FF;
+        }
+        return key;
+    }
+
+    /**
+     * @param key Sort key
+     * @return If the item is drawn with the instanced variant of its shader
+     */
+    public static boolean isInstanced(long key) {
+        return (key & TRANSPARENT_BIT) == 0 && (key & INSTANCED_BIT) != 0;
+    }
+
+    private static long quantizeDepth(float depth, int bits) {
+        float clamped = Math.max(0f, Math.min(1f, depth));
+        return (long) (clamped * ((1L << bits) - 1));
+    }
+
+    private float viewDepth(GameObject gameObject) {
+        if(cameraComponent == null) return 0f;
+        Matrix4f worldMatrix = gameObject.getTransform().getWorldMatrix();
+        Matrix4f viewMatrix = cameraComponent.getViewMatrix();
+        float x = worldMatrix.m30(), y = worldMatrix.m31(), z = worldMatrix.m32();
+        float viewZ = -(viewMatrix.m02() * x + viewMatrix.m12() * y + viewMatrix.m22() * z + viewMatrix.m32());
+        return (viewZ - cameraComponent.nearPlane) / (cameraComponent.farPlane - cameraComponent.nearPlane);
+    }
+
+    /**
+     * @param enabled If alpha blending is enabled and depth writes are disabled
+     */
+    protected void setBlending(boolean enabled) {
+        if(enabled) {
+            GL11.glEnable(GL11.GL_BLEND);
+            GL11.glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA);
+            GL11.glDepthMask(false);
+        } else {
+            GL11.glDisable(GL11.GL_BLEND);
+            GL11.glDepthMask(true);
+        }
+    }
+
+    private void sort(int low, int high) {
+        // Quicksort on the keys that moves the item order with them
+        while(high - low > INSERTION_SORT_THRESHOLD) {
+            long pivot = keys[(low + high) >>> 1];
+            int i = low, j = high;
+            while(i <= j) {
+                while(keys[i] < pivot) i++;
+                while(keys[j] > pivot) j--;
+                if(i <= j) swap(i++, j--);
+            }
+            // Recurse into the smaller part to keep the stack small
+            if(j - low < high - i) {
+                sort(low, j);
+                low = i;
+            } else {
+                sort(i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && keys[j - 1] > keys[j]; j--) {
+                swap(j - 1, j);
+            }
+        }
+    }
+
+    private void swap(int a, int b) {
+        long key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        int index = order[a];
+        order[a] = order[b];
+        order[b] = index;
+    }
+
+    private void grow(int capacity) {
+        int oldCapacity = items.length;
+        items = Arrays.copyOf(items, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        order = Arrays.copyOf(order, capacity);
+        for (int i = oldCapacity; i < capacity; i++) {
+            items[i] = new DrawItem();
+        }
+    }
+
+    /**
+     * Resets the statistics. Called at the start of every frame
+     */
+    public void resetStatistics() {
+        shaderBinds = 0;
+        textureBinds = 0;
+        vaoBinds = 0;
+        drawCalls = 0;
+        instancedDrawCalls = 0;
+        instances = 0;
+    }
+
+    /**
+     * @param index Position in the sorted queue
+     * @return DrawItem at the position
+     */
+    public DrawItem getItem(int index) {
+        return items[order[index]];
+    }
+
+    /**
+     * @param index Position in the sorted queue
+     * @return Sort key at the position
+     */
+    public long getKey(int index) {
+        return keys[index];
+    }
+
+    /**
+     * @return Amount of submitted items
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return Shader binds since the last reset
+     */
+    public int getShaderBinds() {
+        return shaderBinds;
+    }
+
+    /**
+     * @return Texture binds since the last reset
+     */
+    public int getTextureBinds() {
+        return textureBinds;
+    }
+
+    /**
+     * @return VAO binds since the last reset
+     */
+    public int getVaoBinds() {
+        return vaoBinds;
+    }
+
+    /**
+     * @return Draw calls since the last reset
+     */
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    /**
+     * @return Draw calls that drew more than one instance since the last reset
+     */
+    public int getInstancedDrawCalls() {
+        return instancedDrawCalls;
+    }
+
+    /**
+     * @return Drawn items since the last reset
+     */
+    public int getInstances() {
+        return instances;
+    }
+
+    /**
+     * @param batch Index of the batch
+     * @return Exclusive end of the batch in the sorted queue
+     */
+    public int getBatchEnd(int batch) {
+        return batchEnds[batch];
+    }
+
+}
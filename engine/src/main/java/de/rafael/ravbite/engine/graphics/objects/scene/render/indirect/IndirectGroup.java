@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.scene.render.indirect;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/20/2026 at 5:05 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.objects.game.material.IMaterial;
+import de.rafael.ravbite.engine.graphics.shader.AbstractShader;
+
+public class IndirectGroup {
+
+    private final IMaterial material;
+    private final AbstractShader shader;
+    private final int texture;
+    private final int renderLayer;
+    private final MeshArena arena;
+    private final int firstCommand;
+    private int commandCount = 0;
+
+    /**
+     * Draws that are submitted with one glMultiDrawElementsIndirect call
+     * @param material Material of all draws
+     * @param shader Instanced shader of the material
+     * @param texture Texture bound to unit 0 or 0 if none
+     * @param renderLayer Layer of all draws
+     * @param arena Arena that holds the meshes
+     * @param firstCommand Index of the first command in the command buffer
+     */
+    public IndirectGroup(IMaterial material, AbstractShader shader, int texture, int renderLayer, MeshArena arena, int firstCommand) {
+        this.material = material;
+        this.shader = shader;
+        this.texture = texture;
+        this.renderLayer = renderLayer;
+        this.arena = arena;
+        this.firstCommand = firstCommand;
+    }
+
+    /**
+     * Adds the next command to the group
+     */
+    void addCommand() {
+        commandCount++;
+    }
+
+    /**
+     * @return Material of all draws
+     */
+    public IMaterial getMaterial() {
+        return material;
+    }
+
+    /**
+     * @return Instanced shader of the material
+     */
+    public AbstractShader getShader() {
+        return shader;
+    }
+
+    /**
+     * @return Texture bound to unit 0 or 0 if none
+     */
+    public int getTexture() {
+        return texture;
+    }
+
+    /**
+     * @return Layer of all draws
+     */
+    public int getRenderLayer() {
+        return renderLayer;
+    }
+
+    /**
+     * @return Arena that holds the meshes
+     */
+    public MeshArena getArena() {
+        return arena;
+    }
+
+    /**
+     * @return Index of the first command in the command buffer
+     */
+    public int getFirstCommand() {
+        return firstCommand;
+    }
+
+    /**
+     * @return Amount of commands
+     */
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+}
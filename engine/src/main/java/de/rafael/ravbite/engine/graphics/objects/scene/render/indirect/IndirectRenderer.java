@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.scene.render.indirect;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/20/2026 at 5:20 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.components.camera.CameraComponent;
+import de.rafael.ravbite.engine.graphics.components.mesh.MeshComponent;
+import de.rafael.ravbite.engine.graphics.components.rendering.mesh.MeshRendererComponent;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.game.material.IMaterial;
+import de.rafael.ravbite.engine.graphics.objects.game.material.standard.Material;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.objects.scene.batch.StaticBatcher;
+import de.rafael.ravbite.engine.graphics.objects.scene.render.RenderQueue;
+import de.rafael.ravbite.engine.graphics.shader.AbstractShader;
+import de.rafael.ravbite.engine.graphics.shader.indirect.CullingShader;
+import de.rafael.ravbite.engine.graphics.utils.DataWatcher;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+import de.rafael.ravbite.engine.utils.math.BoundingSphere;
+import org.joml.Matrix4f;
+import org.lwjgl.opengl.*;
+
+import java.awt.*;
+import java.util.List;
+import java.util.*;
+
+public class IndirectRenderer {
+
+    // count, instanceCount, firstIndex, baseVertex, baseInstance
+    public static final int COMMAND_INTS = 5;
+    public static final int SPHERE_FLOATS = 4;
+
+    private final int arenaVertices;
+    private final int arenaIndices;
+
+    private final List<MeshArena> arenas = new ArrayList<>();
+    private final List<IndirectGroup> groups = new ArrayList<>();
+    private final List<GameObject> sources = new ArrayList<>();
+    private int drawCount = 0;
+    private int[] commands = new int[0];
+    private float[] instances = new float[0];
+    private float[] spheres = new float[0];
+
+    private int instanceBuffer = -1, sphereBuffer, templateBuffer, commandBuffer;
+    private CullingShader cullingShader;
+    private final Matrix4f viewProjectionMatrix = new Matrix4f();
+
+    // Statistics
+    private int multiDrawCalls = 0;
+
+    public IndirectRenderer() {
+        this(1 << 20, 3 << 20);
+    }
+
+    /**
+     * Draws static meshes from shared arenas. A compute shader culls every draw and writes the indirect commands
+     * @param arenaVertices Vertices of an arena
+     * @param arenaIndices Indices of an arena
+     */
+    public IndirectRenderer(int arenaVertices, int arenaIndices) {
+        this.arenaVertices = arenaVertices;
+        this.arenaIndices = arenaIndices;
+    }
+
+    /**
+     * Compute shaders, shader storage buffers and glMultiDrawElementsIndirect need OpenGL 4.3
+     * @return If the OpenGL context of the current thread supports the indirect path
+     */
+    public static boolean isSupported() {
+        try {
+            return GL.getCapabilities().OpenGL43;
+        } catch (IllegalStateException | LinkageError exception) {
+            // No context on this thread or no OpenGL at all
+            return false;
+        }
+    }
+
+    /**
+     * Puts the meshes of all static GameObjects into the arenas. Draws with the same render layer and material are grouped
+     * A mesh that is used by multiple GameObjects is only stored once per arena
+     * No OpenGL calls are made and the GameObjects are not changed
+     * @param gameObjects GameObjects to add
+     * @return Amount of draws
+     */
+    public int build(Collection<GameObject> gameObjects) {
+        arenas.clear();
+        groups.clear();
+        sources.clear();
+        drawCount = 0;
+
+        Map<GroupKey, List<DrawEntry>> drawsByGroup = new LinkedHashMap<>();
+        for (GameObject gameObject : gameObjects) {
+            if(!canDraw(gameObject)) continue;
+            for (Mesh mesh : gameObject.getComponent(MeshComponent.class).getMesh().collectMeshes()) {
+                if(mesh.getVertices() == null || mesh.getVertices().length == 0) continue;
+                drawsByGroup.computeIfAbsent(new GroupKey(gameObject.getRenderLayer(), mesh.getMaterial()), key -> new ArrayList<>()).add(new DrawEntry(gameObject, mesh));
+            }
+            sources.add(gameObject);
+        }
+
+        MeshArena arena = null;
+        Map<Mesh, int[]> storedMeshes = new IdentityHashMap<>();
+        for (Map.Entry<GroupKey, List<DrawEntry>> entry : drawsByGroup.entrySet()) {
+            IMaterial material = entry.getKey().material();
+            IndirectGroup group = null;
+            for (DrawEntry draw : entry.getValue()) {
+                Mesh mesh = draw.mesh();
+                int[] range = storedMeshes.get(mesh);
+                if(range == null) {
+                    if(arena == null || !arena.fits(mesh)) {
+                        arena = new MeshArena(Math.max(arenaVertices, mesh.getVertices().length / 3), Math.max(arenaIndices, mesh.getIndices().length));
+                        arenas.add(arena);
+                        storedMeshes.clear();
+                    }
+                    int baseVertex = arena.getVertexCount();
+                    range = new int[] {arena.add(mesh), baseVertex};
+                    storedMeshes.put(mesh, range);
+                }
+                if(group == null || group.getArena() != arena) {
+                    group = new IndirectGroup(material, shaderOf(material), textureOf(material), entry.getKey().renderLayer(), arena, drawCount);
+                    groups.add(group);
+                }
+                addDraw(draw.gameObject(), mesh, range[0], range[1]);
+                group.addCommand();
+            }
+        }
+        return drawCount;
+    }
+
+    private void addDraw(GameObject gameObject, Mesh mesh, int firstIndex, int baseVertex) {
+        if(drawCount * COMMAND_INTS == commands.length) {
+            int capacity = Math.max(64, drawCount * 2);
+            commands = Arrays.copyOf(commands, capacity * COMMAND_INTS);
+            instances = Arrays.copyOf(instances, capacity * RenderQueue.INSTANCE_FLOATS);
+            spheres = Arrays.copyOf(spheres, capacity * SPHERE_FLOATS);
+        }
+
+        int command = drawCount * COMMAND_INTS;
+        commands[command] = mesh.getIndices().length;
+        commands[command + 1] = 1;
+        commands[command + 2] = firstIndex;
+        commands[command + 3] = baseVertex;
+        // The instance attributes of the draw are read at the base instance
+        commands[command + 4] = drawCount;
+
+        Matrix4f worldMatrix = gameObject.getTransform().getWorldMatrix();
+        int instance = drawCount * RenderQueue.INSTANCE_FLOATS;
+        worldMatrix.get(instances, instance);
+        Color tint = gameObject.getComponent(MeshRendererComponent.class).getTint();
+        instances[instance + 16] = tint.getRed() / 255f;
+        instances[instance + 17] = tint.getGreen() / 255f;
+        instances[instance + 18] = tint.getBlue() / 255f;
+        instances[instance + 19] = tint.getAlpha() / 255f;
+
+        // The GameObjects are static, so the world sphere is calculated once
+        BoundingSphere sphere = mesh.getBoundingSphere();
+        int offset = drawCount * SPHERE_FLOATS;
+        float x = sphere.center.x, y = sphere.center.y, z = sphere.center.z;
+        spheres[offset] = worldMatrix.m00() * x + worldMatrix.m10() * y + worldMatrix.m20() * z + worldMatrix.m30();
+        spheres[offset + 1] = worldMatrix.m01() * x + worldMatrix.m11() * y + worldMatrix.m21() * z + worldMatrix.m31();
+        spheres[offset + 2] = worldMatrix.m02() * x + worldMatrix.m12() * y + worldMatrix.m22() * z + worldMatrix.m32();
+        float scaleSquared = Math.max(worldMatrix.m00() * worldMatrix.m00() + worldMatrix.m01() * worldMatrix.m01() + worldMatrix.m02() * worldMatrix.m02(),
+                Math.max(worldMatrix.m10() * worldMatrix.m10() + worldMatrix.m11() * worldMatrix.m11() + worldMatrix.m12() * worldMatrix.m12(),
+                        worldMatrix.m20() * worldMatrix.m20() + worldMatrix.m21() * worldMatrix.m21() + worldMatrix.m22() * worldMatrix.m22()));
+        spheres[offset + 3] = sphere.radius * (float) Math.sqrt(scaleSquared);
+        drawCount++;
+    }
+
+    /**
+     * Uploads the arenas, the draw data and compiles the culling shader
+     * @param engineView EngineView the buffers are registered in
+     */
+    public void store(EngineView engineView) {
+        DataWatcher dataWatcher = engineView.getDataWatcher();
+        instanceBuffer = createBuffer(dataWatcher, GL15.GL_ARRAY_BUFFER, (long) drawCount * RenderQueue.INSTANCE_FLOATS * Float.BYTES);
+        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, Arrays.copyOf(instances, drawCount * RenderQueue.INSTANCE_FLOATS), GL15.GL_STATIC_DRAW);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+        for (MeshArena arena : arenas) {
+            arena.store(engineView, instanceBuffer);
+        }
+
+        sphereBuffer = createBuffer(dataWatcher, GL43.GL_SHADER_STORAGE_BUFFER, (long) drawCount * SPHERE_FLOATS * Float.BYTES);
+        GL15.glBufferData(GL43.GL_SHADER_STORAGE_BUFFER, Arrays.copyOf(spheres, drawCount * SPHERE_FLOATS), GL15.GL_STATIC_DRAW);
+        templateBuffer = createBuffer(dataWatcher, GL43.GL_SHADER_STORAGE_BUFFER, (long) drawCount * COMMAND_INTS * Integer.BYTES);
+        GL15.glBufferData(GL43.GL_SHADER_STORAGE_BUFFER, Arrays.copyOf(commands, drawCount * COMMAND_INTS), GL15.GL_STATIC_DRAW);
+        commandBuffer = createBuffer(dataWatcher, GL43.GL_SHADER_STORAGE_BUFFER, (long) drawCount * COMMAND_INTS * Integer.BYTES);
+        GL15.glBufferData(GL43.GL_SHADER_STORAGE_BUFFER, (long) drawCount * COMMAND_INTS * Integer.BYTES, GL15.GL_DYNAMIC_COPY);
+        GL15.glBindBuffer(GL43.GL_SHADER_STORAGE_BUFFER, 0);
+
+        cullingShader = new CullingShader(engineView);
+
+        // Only the commands are needed from now on
+        instances = new float[0];
+        spheres = new float[0];
+    }
+
+    private int createBuffer(DataWatcher dataWatcher, int target, long bytes) {
+        int buffer = GL15.glGenBuffers();
+        dataWatcher.glVbo(DataWatcher.DataScope.SCENE, buffer).owner("IndirectRenderer").bytes(bytes);
+        GL15.glBindBuffer(target, buffer);
+        return buffer;
+    }
+
+    /**
+     * Removes the MeshRendererComponents of all GameObjects drawn by this renderer
+     */
+    public void apply() {
+        for (GameObject source : sources) {
+            MeshRendererComponent renderer = source.getComponent(MeshRendererComponent.class);
+            if(renderer != null) source.removeComponent(renderer);
+        }
+    }
+
+    /**
+     * Culls all draws on the GPU and draws every group with one glMultiDrawElementsIndirect call
+     * @param cameraComponent Camera
+     */
+    public void render(CameraComponent cameraComponent) {
+        if(drawCount == 0 || cullingShader == null) return;
+
+        cameraComponent.getProjectionMatrix().mul(cameraComponent.getViewMatrix(), viewProjectionMatrix);
+        cullingShader.bind();
+        cullingShader.loadFrustum(viewProjectionMatrix);
+        cullingShader.loadDrawCount(drawCount);
+        GL30.glBindBufferBase(GL43.GL_SHADER_STORAGE_BUFFER, 0, sphereBuffer);
+        GL30.glBindBufferBase(GL43.GL_SHADER_STORAGE_BUFFER, 1, templateBuffer);
+        GL30.glBindBufferBase(GL43.GL_SHADER_STORAGE_BUFFER, 2, commandBuffer);
+        GL43.glDispatchCompute((drawCount + CullingShader.GROUP_SIZE - 1) / CullingShader.GROUP_SIZE, 1, 1);
+        GL42.glMemoryBarrier(GL42.GL_COMMAND_BARRIER_BIT);
+        cullingShader.unbind();
+
+        GL15.glBindBuffer(GL40.GL_DRAW_INDIRECT_BUFFER, commandBuffer);
+        AbstractShader boundShader = null;
+        IMaterial boundMaterial = null;
+        for (IndirectGroup group : groups) {
+            if(!cameraComponent.isResponsibleFor(group.getRenderLayer())) continue;
+            if(group.getShader() != boundShader) {
+                boundShader = group.getShader();
+                boundShader.bind();
+                boundShader.prepare(cameraComponent);
+                boundMaterial = null;
+            }
+            if(group.getMaterial() != boundMaterial) {
+                boundMaterial = group.getMaterial();
+                boundShader.prepareMaterial(boundMaterial);
+            }
+            if(group.getTexture() != 0) {
+                GL13.glActiveTexture(GL13.GL_TEXTURE0);
+                GL11.glBindTexture(GL11.GL_TEXTURE_2D, group.getTexture());
+            }
+            GL30.glBindVertexArray(group.getArena().getVao());
+            GL43.glMultiDrawElementsIndirect(GL11.GL_TRIANGLES, GL11.GL_UNSIGNED_INT, (long) group.getFirstCommand() * COMMAND_INTS * Integer.BYTES, group.getCommandCount(), 0);
+            multiDrawCalls++;
+        }
+        GL30.glBindVertexArray(0);
+        GL15.glBindBuffer(GL40.GL_DRAW_INDIRECT_BUFFER, 0);
+        if(boundShader != null) boundShader.unbind();
+    }
+
+    /**
+     * Deletes the culling shader. The buffers are deleted with the scene
+     */
+    public void dispose() {
+        if(cullingShader != null) cullingShader.dispose();
+        cullingShader = null;
+    }
+
+    private boolean canDraw(GameObject gameObject) {
+        if(!StaticBatcher.canBatch(gameObject)) return false;
+        for (Mesh mesh : gameObject.getComponent(MeshComponent.class).getMesh().collectMeshes()) {
+            if(mesh.getVertices() == null || mesh.getVertices().length == 0) continue;
+            // The draws read their transformation from the instance attributes
+            if(shaderOf(mesh.getMaterial()) == null) return false;
+        }
+        return true;
+    }
+
+    private AbstractShader shaderOf(IMaterial material) {
+        AbstractShader shader = material.getEngineView().getShader(material.getShaderId());
+        return shader != null ? shader.getInstancedShader() : null;
+    }
+
+    private int textureOf(IMaterial material) {
+        if(material instanceof Material standardMaterial && standardMaterial.getDiffuse() != null) {
+            return standardMaterial.getDiffuse().getDiffuseTextureId();
+        }
+        return 0;
+    }
+
+    /**
+     * Resets the statistics. Called at the start of every frame
+     */
+    public void resetStatistics() {
+        multiDrawCalls = 0;
+    }
+
+    /**
+     * @return glMultiDrawElementsIndirect calls since the last reset
+     */
+    public int getMultiDrawCalls() {
+        return multiDrawCalls;
+    }
+
+    /**
+     * @return Amount of draws
+     */
+    public int getDrawCount() {
+        return drawCount;
+    }
+
+    /**
+     * @param draw Index of the draw
+     * @param field Field of the command(0 = count, 1 = instanceCount, 2 = firstIndex, 3 = baseVertex, 4 = baseInstance)
+     * @return Value of the command before culling
+     */
+    public int getCommand(int draw, int field) {
+        return commands[draw * COMMAND_INTS + field];
+    }
+
+    /**
+     * @return Groups in the order they are drawn
+     */
+    public List<IndirectGroup> getGroups() {
+        return groups;
+    }
+
+    /**
+     * @return Arenas with the meshes
+     */
+    public List<MeshArena> getArenas() {
+        return arenas;
+    }
+
+    /**
+     * @return GameObjects drawn by this renderer
+     */
+    public List<GameObject> getSources() {
+        return sources;
+    }
+
+    @Override
+    public String toString() {
+        return "IndirectRenderer{" +
+                "objects=" + sources.size() +
+                ", draws=" + drawCount +
+                ", groups=" + groups.size() +
+                ", arenas=" + arenas.size() +
+                '}';
+    }
+
+    private record GroupKey(int renderLayer, IMaterial material) {}
+
+    private record DrawEntry(GameObject gameObject, Mesh mesh) {}
+
+}
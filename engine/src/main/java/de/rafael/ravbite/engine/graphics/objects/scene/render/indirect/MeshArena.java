@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.scene.render.indirect;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/20/2026 at 4:55 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.VertexLayout;
+import de.rafael.ravbite.engine.graphics.objects.scene.render.RenderQueue;
+import de.rafael.ravbite.engine.graphics.utils.WindowUtils;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+import org.lwjgl.opengl.GL15;
+
+import java.util.Arrays;
+
+public class MeshArena {
+
+    private final int vertexCapacity;
+    private final int indexCapacity;
+
+    // Filled while building and released after the upload
+    private float[] positions = new float[0];
+    private float[] textureCoords = new float[0];
+    private float[] normals = new float[0];
+    private int[] indices = new int[0];
+    private int vertexCount = 0;
+    private int indexCount = 0;
+
+    private int vao = -1;
+
+    /**
+     * Shared vertex and index buffers for many meshes. Every mesh is addressed by its base vertex and first index
+     * @param vertexCapacity Maximum vertices
+     * @param indexCapacity Maximum indices
+     */
+    public MeshArena(int vertexCapacity, int indexCapacity) {
+        this.vertexCapacity = vertexCapacity;
+        this.indexCapacity = indexCapacity;
+    }
+
+    /**
+     * @param mesh Mesh
+     * @return If the mesh fits into the remaining space
+     */
+    public boolean fits(Mesh mesh) {
+        return vertexCount + mesh.getVertices().length / 3 <= vertexCapacity && indexCount + mesh.getIndices().length <= indexCapacity;
+    }
+
+    /**
+     * Appends a mesh to the arena. The indices stay relative to the mesh and are offset by the base vertex when drawn
+     * @param mesh Mesh with vertices and indices
+     * @return First index of the mesh. The base vertex is the vertex count before the call
+     */
+    public int add(Mesh mesh) {
+        int meshVertices = mesh.getVertices().length / 3;
+        int meshIndices = mesh.getIndices().length;
+        ensureCapacity(vertexCount + meshVertices, indexCount + meshIndices);
+
+        System.arraycopy(mesh.getVertices(), 0, positions, vertexCount * 3, meshVertices * 3);
+        if(mesh.getTextureCoords() != null) {
+            System.arraycopy(mesh.getTextureCoords(), 0, textureCoords, vertexCount * 2, Math.min(mesh.getTextureCoords().length, meshVertices * 2));
+        }
+        if(mesh.getNormals() != null) {
+            System.arraycopy(mesh.getNormals(), 0, normals, vertexCount * 3, Math.min(mesh.getNormals().length, meshVertices * 3));
+        }
+        System.arraycopy(mesh.getIndices(), 0, indices, indexCount, meshIndices);
+
+        int firstIndex = indexCount;
+        vertexCount += meshVertices;
+        indexCount += meshIndices;
+        return firstIndex;
+    }
+
+    /**
+     * Uploads the arena into a VAO. The instance attributes read from the instance buffer
+     * @param engineView EngineView the buffers are registered in
+     * @param instanceBuffer Buffer with the world matrix and tint of every draw
+     */
+    public void store(EngineView engineView, int instanceBuffer) {
+        WindowUtils utils = engineView.getUtils();
+        vao = utils.glCreateVAO();
+        utils.rbBindIndicesBuffer(Arrays.copyOf(indices, indexCount));
+        utils.rbStoreDataInAttributeList(VertexLayout.POSITION_ATTRIBUTE, 3, Arrays.copyOf(positions, vertexCount * 3));
+        utils.rbStoreDataInAttributeList(VertexLayout.TEXTURE_COORDS_ATTRIBUTE, 2, Arrays.copyOf(textureCoords, vertexCount * 2));
+        utils.rbStoreDataInAttributeList(VertexLayout.NORMAL_ATTRIBUTE, 3, Arrays.copyOf(normals, vertexCount * 3));
+
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, instanceBuffer);
+        RenderQueue.bindInstanceAttributes();
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+        utils.glUnbindVAO();
+
+        positions = new float[0];
+        textureCoords = new float[0];
+        normals = new float[0];
+        indices = new int[0];
+    }
+
+    private void ensureCapacity(int vertices, int indices) {
+        if(vertices * 3 > positions.length) {
+            int capacity = Math.min(vertexCapacity, Math.max(vertices, positions.length / 3 * 2));
+            positions = Arrays.copyOf(positions, capacity * 3);
+            textureCoords = Arrays.copyOf(textureCoords, capacity * 2);
+            normals = Arrays.copyOf(normals, capacity * 3);
+        }
+        if(indices > this.indices.length) {
+            this.indices = Arrays.copyOf(this.indices, Math.min(indexCapacity, Math.max(indices, this.indices.length * 2)));
+        }
+    }
+
+    /**
+     * @return VAO of the arena or -1 if it is not stored yet
+     */
+    public int getVao() {
+        return vao;
+    }
+
+    /**
+     * @return Used vertices
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * @return Used indices
+     */
+    public int getIndexCount() {
+        return indexCount;
+    }
+
+}
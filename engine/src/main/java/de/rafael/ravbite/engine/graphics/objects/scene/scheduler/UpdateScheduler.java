@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.scene.scheduler;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 7:40 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+
+import java.io.Serial;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class UpdateScheduler {
+
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    private volatile boolean parallelPhase = false;
+
+    /**
+     * @param parallelism Amount of worker threads
+     * @param chunkSize Amount of GameObjects one task updates
+     */
+    public UpdateScheduler(int parallelism, int chunkSize) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public UpdateScheduler() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Updates all thread-safe components on the worker threads and all other components on the calling thread afterwards
+     * GameObjects that were removed from the scene during the update are skipped
+     * The world matrices are resolved before the worker threads start and transforms that are moved on a worker thread are marked dirty afterwards
+     * @param objects Array of GameObjects. Has to stay unchanged during the update
+     * @param size Amount of GameObjects in the array
+     */
+    public void update(GameObject[] objects, int size) {
+        if(size > chunkSize) {
+            for (int i = 0; i < size; i++) {
+                objects[i].getTransform().getWorldMatrix();
+            }
+            parallelPhase = true;
+            try {
+                pool.invoke(new UpdateTask(objects, 0, size));
+            } finally {
+                parallelPhase = false;
+            }
+            for (int i = 0; i < size; i++) {
+                objects[i].getTransform().applyDeferredDirty();
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                if(objects[i].isInScene()) objects[i].update(true);
+            }
+        }
+
+        // Not thread-safe components keep the order of the scene
+        for (int i = 0; i < size; i++) {
+            if(objects[i].isInScene()) objects[i].update(false);
+        }
+    }
+
+    /**
+     * While true transforms only read their cached world matrix and defer marking their children dirty
+     * @return If thread-safe components are updated on the worker threads right now
+     */
+    public boolean isParallelPhase() {
+        return parallelPhase;
+    }
+
+    /**
+     * Stops all worker threads
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * @return If the worker threads were stopped
+     */
+    public boolean isShutdown() {
+        return pool.isShutdown();
+    }
+
+    /**
+     * @return Amount of worker threads
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * @return Amount of GameObjects one task updates
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    private class UpdateTask extends RecursiveAction {
+
+        @Serial
+        private static final long serialVersionUID = -2831176445416515648L;
+
+        private final GameObject[] objects;
+        private final int start;
+        private final int end;
+
+        public UpdateTask(GameObject[] objects, int start, int end) {
+            this.objects = objects;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if(end - start <= chunkSize) {
+                for (int i = start; i < end; i++) {
+                    if(objects[i].isInScene()) objects[i].update(true);
+                }
+            } else {
+                int middle = (start + end) >>> 1;
+                invokeAll(new UpdateTask(objects, start, middle), new UpdateTask(objects, middle, end));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,1041 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.scene.spatial;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 10:30 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.components.classes.Component;
+import de.rafael.ravbite.engine.graphics.components.mesh.MeshComponent;
+import de.rafael.ravbite.engine.graphics.components.transform.Transform;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.objects.scene.callbacks.SceneCallback;
+import org.joml.FrustumIntersection;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Dynamic bounding volume hierarchy over the world space bounds of all GameObjects in a scene
+ * Leaves store bounds enlarged by a margin, so small movements do not change the tree
+ * Queries reuse internal buffers and are not thread-safe
+ */
+public class SpatialIndex extends SceneCallback {
+
+    public static final float DEFAULT_MARGIN = 0.2f;
+
+    private static final int NULL = -1;
+
+    private final float margin;
+
+    // How maintain() updates the tree every frame
+    public UpdatePolicy updatePolicy = UpdatePolicy.ADAPTIVE;
+    // Fraction of the leaves that left their enlarged bounds up to which they are reinserted one by one
+    public float reinsertFraction = 0.02f;
+    // Fraction of the leaves that left their enlarged bounds from which the whole tree is built again
+    public float rebuildFraction = 0.9f;
+    // Refits in a row after which the tree is built again because its quality got worse
+    public int maxRefits = 60;
+
+    private int refits = 0;
+    private UpdatePolicy lastUpdate = null;
+
+    // Nodes
+    private float[] nodeBounds = new float[0];
+    private int[] nodeParent = new int[0];
+    private int[] nodeLeft = new int[0];
+    private int[] nodeRight = new int[0];
+    private int[] nodeHeight = new int[0];
+    private int[] nodeProxy = new int[0];
+    private int nodeCapacity = 0;
+    private int freeList = NULL;
+    private int root = NULL;
+
+    // Proxies (one per GameObject)
+    private GameObject[] proxyObjects = new GameObject[64];
+    private float[] proxyBounds = new float[64 * 6];
+    private int[] proxyNodes = new int[64];
+    private int[] proxyVersions = new int[64];
+    private int proxyCount = 0;
+    private final IdentityHashMap<GameObject, Integer> proxies = new IdentityHashMap<>();
+
+    // Reused by queries
+    private int[] stack = new int[64];
+    private float[] nearestDistances = new float[8];
+    private int[] refitOrder = new int[0];
+    private int[] escapedProxies = new int[64];
+    private int[] buildItems = new int[0];
+
+    public SpatialIndex(float margin) {
+        this.margin = margin;
+        growNodes(64);
+    }
+
+    public SpatialIndex() {
+        this(DEFAULT_MARGIN);
+    }
+
+    public SpatialIndex updatePolicy(UpdatePolicy updatePolicy) {
+        this.updatePolicy = updatePolicy;
+        return this;
+    }
+
+    /**
+     * @param reinsertFraction Fraction of the moved leaves up to which they are reinserted one by one
+     * @param rebuildFraction Fraction of the moved leaves from which the whole tree is built again
+     * @return SpatialIndex
+     */
+    public SpatialIndex adaptiveThresholds(float reinsertFraction, float rebuildFraction) {
+        this.reinsertFraction = reinsertFraction;
+        this.rebuildFraction = rebuildFraction;
+        return this;
+    }
+
+    public SpatialIndex maxRefits(int maxRefits) {
+        this.maxRefits = maxRefits;
+        return this;
+    }
+
+    /**
+     * Updates the tree with the updatePolicy. Called by the scene every frame
+     */
+    public void maintain() {
+        switch (updatePolicy) {
+            case INCREMENTAL -> {
+                update();
+                lastUpdate = UpdatePolicy.INCREMENTAL;
+            }
+            case REFIT -> {
+                refit();
+                lastUpdate = UpdatePolicy.REFIT;
+            }
+            case REBUILD -> {
+                rebuild();
+                lastUpdate = UpdatePolicy.REBUILD;
+            }
+            default -> adapt();
+        }
+    }
+
+    /**
+     * Reinserts the leaves if only a few of them left their enlarged bounds, refits the tree if more of them moved and builds it again if most of them moved
+     * Reinserting is the slowest per leaf but keeps the tree balanced without touching the other leaves
+     */
+    private void adapt() {
+        int escaped = 0;
+        for (int proxy = 0; proxy < proxyCount; proxy++) {
+            if(proxyNodes[proxy] == NULL) {
+                insertProxy(proxy);
+                continue;
+            }
+            if(!refreshProxy(proxy) || containsProxy(proxyNodes[proxy], proxy)) continue;
+            if(escaped == escapedProxies.length) escapedProxies = Arrays.copyOf(escapedProxies, escaped * 2);
+            escapedProxies[escaped++] = proxy;
+        }
+        if(escaped == 0) {
+            lastUpdate = null;
+            return;
+        }
+
+        if(escaped <= proxyCount * reinsertFraction) {
+            for (int i = 0; i < escaped; i++) {
+                int proxy = escapedProxies[i];
+                int leaf = proxyNodes[proxy];
+                removeLeaf(leaf);
+                setFatBounds(leaf, proxy);
+                insertLeaf(leaf);
+            }
+            lastUpdate = UpdatePolicy.INCREMENTAL;
+        } else if(escaped >= proxyCount * rebuildFraction || refits >= maxRefits) {
+            rebuild();
+            lastUpdate = UpdatePolicy.REBUILD;
+        } else {
+            for (int i = 0; i < escaped; i++) {
+                setFatBounds(proxyNodes[escapedProxies[i]], escapedProxies[i]);
+            }
+            refitNodes();
+            refits++;
+            lastUpdate = UpdatePolicy.REFIT;
+        }
+    }
+
+    /**
+     * Moves all leaves of GameObjects whose transform changed since the last update
+     * Leaves are only reinserted if the new bounds are outside the enlarged bounds
+     */
+    public void update() {
+        for (int proxy = 0; proxy < proxyCount; proxy++) {
+            if(proxyNodes[proxy] == NULL) {
+                insertProxy(proxy);
+                continue;
+            }
+            if(!refreshProxy(proxy)) continue;
+            int leaf = proxyNodes[proxy];
+            if(containsProxy(leaf, proxy)) continue;
+            removeLeaf(leaf);
+            setFatBounds(leaf, proxy);
+            insertLeaf(leaf);
+        }
+    }
+
+    /**
+     * Updates the bounds of all changed GameObjects and refits every node without changing the structure
+     * Keeps the tree tight but the quality gets worse if objects move far
+     */
+    public void refit() {
+        boolean changed = false;
+        for (int proxy = 0; proxy < proxyCount; proxy++) {
+            if(proxyNodes[proxy] == NULL) {
+                insertProxy(proxy);
+            } else if(refreshProxy(proxy)) {
+                setFatBounds(proxyNodes[proxy], proxy);
+                changed = true;
+            }
+        }
+        if(!changed) return;
+        refitNodes();
+        refits++;
+    }
+
+    private void refitNodes() {
+        if(root == NULL) return;
+
+        // Collect nodes in pre order and fit them in reverse, so children are fitted before their parents
+        if(refitOrder.length < nodeCapacity) refitOrder = new int[nodeCapacity];
+        int[] order = refitOrder;
+        int count = 0;
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            order[count++] = node;
+            if(!isLeaf(node)) {
+                ensureStack(top + 2);
+                stack[top++] = nodeLeft[node];
+                stack[top++] = nodeRight[node];
+            }
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            int node = order[i];
+            if(!isLeaf(node)) union(nodeLeft[node], nodeRight[node], node);
+        }
+    }
+
+    /**
+     * Builds the whole tree again from the current bounds
+     */
+    public void rebuild() {
+        for (int proxy = 0; proxy < proxyCount; proxy++) {
+            if(proxyNodes[proxy] == NULL) {
+                calculateBounds(proxyObjects[proxy], proxy);
+            } else {
+                refreshProxy(proxy);
+            }
+        }
+        clearNodes();
+        refits = 0;
+        if(proxyCount == 0) return;
+
+        if(buildItems.length < proxyCount) buildItems = new int[proxyObjects.length];
+        int[] items = buildItems;
+        for (int i = 0; i < proxyCount; i++) {
+            items[i] = i;
+        }
+        root = build(items, 0, proxyCount);
+        nodeParent[root] = NULL;
+    }
+
+    // ---------- Queries ----------
+
+    /**
+     * Adds all GameObjects whose bounds intersect the box
+     * @param min Min corner
+     * @param max Max corner
+     * @param results List to add the results to
+     * @return Amount of added GameObjects
+     */
+    public int queryAabb(Vector3f min, Vector3f max, List<GameObject> results) {
+        if(root == NULL) return 0;
+        int found = 0;
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            if(!overlapsBox(nodeBounds, node * 6, min, max)) continue;
+            if(isLeaf(node)) {
+                int proxy = nodeProxy[node];
+                if(overlapsBox(proxyBounds, proxy * 6, min, max)) {
+                    results.add(proxyObjects[proxy]);
+                    found++;
+                }
+            } else {
+                ensureStack(top + 2);
+                stack[top++] = nodeLeft[node];
+                stack[top++] = nodeRight[node];
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Adds all GameObjects whose bounds intersect the sphere
+     * @param center Center of the sphere
+     * @param radius Radius of the sphere
+     * @param results List to add the results to
+     * @return Amount of added GameObjects
+     */
+    public int querySphere(Vector3f center, float radius, List<GameObject> results) {
+        if(root == NULL) return 0;
+        float radiusSquared = radius * radius;
+        int found = 0;
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            if(distanceSquared(nodeBounds, node * 6, center) > radiusSquared) continue;
+            if(isLeaf(node)) {
+                int proxy = nodeProxy[node];
+                if(distanceSquared(proxyBounds, proxy * 6, center) <= radiusSquared) {
+                    results.add(proxyObjects[proxy]);
+                    found++;
+                }
+            } else {
+                ensureStack(top + 2);
+                stack[top++] = nodeLeft[node];
+                stack[top++] = nodeRight[node];
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Adds all GameObjects whose bounds are inside or intersect the frustum
+     * @param frustum Frustum of the camera
+     * @param results List to add the results to
+     * @return Amount of added GameObjects
+     */
+    public int queryFrustum(FrustumIntersection frustum, List<GameObject> results) {
+        if(root == NULL) return 0;
+        int found = 0;
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int entry = stack[--top];
+            // Negative entries are nodes that are completely inside the frustum
+            boolean inside = entry < 0;
+            int node = inside ? -entry - 1 : entry;
+            if(!inside) {
+                int offset = node * 6;
+                int result = frustum.intersectAab(nodeBounds[offset], nodeBounds[offset + 1], nodeBounds[offset + 2], nodeBounds[offset + 3], nodeBounds[offset + 4], nodeBounds[offset + 5]);
+                if(result == FrustumIntersection.INSIDE) {
+                    inside = true;
+                } else if(result != FrustumIntersection.INTERSECT) {
+                    continue;
+                }
+            }
+            if(isLeaf(node)) {
+                int proxy = nodeProxy[node];
+                int offset = proxy * 6;
+                if(inside || frustum.testAab(proxyBounds[offset], proxyBounds[offset + 1], proxyBounds[offset + 2], proxyBounds[offset + 3], proxyBounds[offset + 4], proxyBounds[offset + 5])) {
+                    results.add(proxyObjects[proxy]);
+                    found++;
+                }
+            } else {
+                ensureStack(top + 2);
+                stack[top++] = inside ? -nodeLeft[node] - 1 : nodeLeft[node];
+                stack[top++] = inside ? -nodeRight[node] - 1 : nodeRight[node];
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds the GameObject whose bounds are hit first by the ray
+     * @param origin Origin of the ray
+     * @param direction Direction of the ray
+     * @param maxDistance Max distance in units of the direction
+     * @return GameObject or null
+     */
+    public GameObject raycast(Vector3f origin, Vector3f direction, float maxDistance) {
+        if(root == NULL) return null;
+        float invX = 1f / direction.x, invY = 1f / direction.y, invZ = 1f / direction.z;
+        GameObject closest = null;
+        float closestDistance = maxDistance;
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            if(intersectRay(nodeBounds, node * 6, origin, invX, invY, invZ, closestDistance) < 0) continue;
+            if(isLeaf(node)) {
+                int proxy = nodeProxy[node];
+                float distance = intersectRay(proxyBounds, proxy * 6, origin, invX, invY, invZ, closestDistance);
+                if(distance >= 0) {
+                    closest = proxyObjects[proxy];
+                    closestDistance = distance;
+                }
+            } else {
+                ensureStack(top + 2);
+                stack[top++] = nodeLeft[node];
+                stack[top++] = nodeRight[node];
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Adds all GameObjects whose bounds are hit by the ray
+     * @param origin Origin of the ray
+     * @param direction Direction of the ray
+     * @param maxDistance Max distance in units of the direction
+     * @param results List to add the results to
+     * @return Amount of added GameObjects
+     */
+    public int raycastAll(Vector3f origin, Vector3f direction, float maxDistance, List<GameObject> results) {
+        if(root == NULL) return 0;
+        float invX = 1f / direction.x, invY = 1f / direction.y, invZ = 1f / direction.z;
+        int found = 0;
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            if(intersectRay(nodeBounds, node * 6, origin, invX, invY, invZ, maxDistance) < 0) continue;
+            if(isLeaf(node)) {
+                int proxy = nodeProxy[node];
+                if(intersectRay(proxyBounds, proxy * 6, origin, invX, invY, invZ, maxDistance) >= 0) {
+                    results.add(proxyObjects[proxy]);
+                    found++;
+                }
+            } else {
+                ensureStack(top + 2);
+                stack[top++] = nodeLeft[node];
+                stack[top++] = nodeRight[node];
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds the nearest GameObjects to a point measured to the center of their bounds
+     * @param point Point
+     * @param type Component every result needs or null
+     * @param results Array to write the results to sorted by distance. The length is the max amount of results
+     * @return Amount of found GameObjects
+     */
+    public int nearest(Vector3f point, Class<? extends Component> type, GameObject[] results) {
+        int limit = results.length;
+        if(root == NULL || limit == 0) return 0;
+        if(nearestDistances.length < limit) nearestDistances = new float[limit];
+        float[] distances = nearestDistances;
+
+        int found = 0;
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            if(found == limit && distanceSquared(nodeBounds, node * 6, point) >= distances[found - 1]) continue;
+            if(isLeaf(node)) {
+                int proxy = nodeProxy[node];
+                GameObject gameObject = proxyObjects[proxy];
+                if(type != null && gameObject.getComponent(type) == null) continue;
+
+                int offset = proxy * 6;
+                float dx = (proxyBounds[offset] + proxyBounds[offset + 3]) * 0.5f - point.x;
+                float dy = (proxyBounds[offset + 1] + proxyBounds[offset + 4]) * 0.5f - point.y;
+                float dz = (proxyBounds[offset + 2] + proxyBounds[offset + 5]) * 0.5f - point.z;
+                float distance = dx * dx + dy * dy + dz * dz;
+                if(found == limit && distance >= distances[found - 1]) continue;
+
+                // Insertion sort, the amount of results is small
+                int index = found < limit ? found++ : found - 1;
+                while (index > 0 && distances[index - 1] > distance) {
+                    distances[index] = distances[index - 1];
+                    results[index] = results[index - 1];
+                    index--;
+                }
+                distances[index] = distance;
+                results[index] = gameObject;
+            } else {
+                int left = nodeLeft[node];
+                int right = nodeRight[node];
+                // Visit the closer child first
+                boolean leftFirst = distanceSquared(nodeBounds, left * 6, point) <= distanceSquared(nodeBounds, right * 6, point);
+                ensureStack(top + 2);
+                stack[top++] = leftFirst ? right : left;
+                stack[top++] = leftFirst ? left : right;
+            }
+        }
+        return found;
+    }
+
+    // ---------- Scene ----------
+
+    @Override
+    public void objectAdded(GameObject gameObject) {
+        if(proxies.containsKey(gameObject)) return;
+        if(proxyCount == proxyObjects.length) {
+            int capacity = proxyObjects.length * 2;
+            proxyObjects = Arrays.copyOf(proxyObjects, capacity);
+            proxyBounds = Arrays.copyOf(proxyBounds, capacity * 6);
+            proxyNodes = Arrays.copyOf(proxyNodes, capacity);
+            proxyVersions = Arrays.copyOf(proxyVersions, capacity);
+        }
+        int proxy = proxyCount++;
+        proxies.put(gameObject, proxy);
+        proxyObjects[proxy] = gameObject;
+        // Inserted at the next update, so building a scene does not calculate any world matrix
+        proxyNodes[proxy] = NULL;
+    }
+
+    @Override
+    public void objectRemoved(GameObject gameObject) {
+        Integer proxy = proxies.remove(gameObject);
+        if(proxy == null) return;
+        int leaf = proxyNodes[proxy];
+        if(leaf != NULL) {
+            removeLeaf(leaf);
+            freeNode(leaf);
+        }
+
+        // Swap with the last proxy to keep the arrays dense
+        int last = --proxyCount;
+        if(proxy != last) {
+            proxyObjects[proxy] = proxyObjects[last];
+            System.arraycopy(proxyBounds, last * 6, proxyBounds, proxy * 6, 6);
+            proxyNodes[proxy] = proxyNodes[last];
+            proxyVersions[proxy] = proxyVersions[last];
+            if(proxyNodes[proxy] != NULL) nodeProxy[proxyNodes[proxy]] = proxy;
+            proxies.put(proxyObjects[proxy], proxy);
+        }
+        proxyObjects[last] = null;
+    }
+
+    @Override
+    public void componentAdded(GameObject gameObject, Component component) {
+        if(component instanceof MeshComponent) invalidate(gameObject);
+    }
+
+    @Override
+    public void componentRemoved(GameObject gameObject, Component component) {
+        if(component instanceof MeshComponent) invalidate(gameObject);
+    }
+
+    /**
+     * Recalculates the bounds of a GameObject at the next update. Needed if the mesh changed
+     * @param gameObject GameObject
+     */
+    public void invalidate(GameObject gameObject) {
+        Integer proxy = proxies.get(gameObject);
+        if(proxy != null) proxyVersions[proxy] = gameObject.getTransform().getWorldVersion() - 1;
+    }
+
+    /**
+     * @return Amount of GameObjects in the index
+     */
+    public int size() {
+        return proxyCount;
+    }
+
+    /**
+     * @return Update that maintain() did in the last frame or null if no leaf left its enlarged bounds
+     */
+    public UpdatePolicy getLastUpdate() {
+        return lastUpdate;
+    }
+
+    /**
+     * @return Refits since the tree was built the last time
+     */
+    public int getRefits() {
+        return refits;
+    }
+
+    /**
+     * @return Height of the tree
+     */
+    public int getHeight() {
+        return root == NULL ? 0 : nodeHeight[root];
+    }
+
+    // ---------- Bounds ----------
+
+    /**
+     * Recalculates the bounds of the proxy if the transform changed
+     * @return If the bounds changed
+     */
+    private boolean refreshProxy(int proxy) {
+        GameObject gameObject = proxyObjects[proxy];
+        Transform transform = gameObject.getTransform();
+        transform.getWorldMatrix();
+        if(transform.getWorldVersion() == proxyVersions[proxy]) return false;
+        calculateBounds(gameObject, proxy);
+        return true;
+    }
+
+    private void insertProxy(int proxy) {
+        calculateBounds(proxyObjects[proxy], proxy);
+        int leaf = allocateNode();
+        nodeProxy[leaf] = proxy;
+        proxyNodes[proxy] = leaf;
+        setFatBounds(leaf, proxy);
+        insertLeaf(leaf);
+    }
+
+    private void calculateBounds(GameObject gameObject, int proxy) {
+        Transform transform = gameObject.getTransform();
+        Matrix4f matrix = transform.getWorldMatrix();
+        proxyVersions[proxy] = transform.getWorldVersion();
+
+        int offset = proxy * 6;
+        MeshComponent meshComponent = gameObject.getComponent(MeshComponent.class);
+        Mesh mesh = meshComponent != null ? meshComponent.getMesh() : null;
+        if(mesh != null && !mesh.getBounds().isEmpty()) {
+            mesh.getBounds().transform(matrix, proxyBounds, offset);
+        } else {
+            // GameObjects without a mesh are points
+            proxyBounds[offset] = proxyBounds[offset + 3] = matrix.m30();
+            proxyBounds[offset + 1] = proxyBounds[offset + 4] = matrix.m31();
+            proxyBounds[offset + 2] = proxyBounds[offset + 5] = matrix.m32();
+        }
+    }
+
+    private void setFatBounds(int leaf, int proxy) {
+        int node = leaf * 6;
+        int offset = proxy * 6;
+        for (int i = 0; i < 3; i++) {
+            nodeBounds[node + i] = proxyBounds[offset + i] - margin;
+            nodeBounds[node + i + 3] = proxyBounds[offset + i + 3] + margin;
+        }
+    }
+
+    private boolean containsProxy(int leaf, int proxy) {
+        int node = leaf * 6;
+        int offset = proxy * 6;
+        for (int i = 0; i < 3; i++) {
+            if(proxyBounds[offset + i] < nodeBounds[node + i] || proxyBounds[offset + i + 3] > nodeBounds[node + i + 3]) return false;
+        }
+        return true;
+    }
+
+    // ---------- Tree ----------
+
+    private boolean isLeaf(int node) {
+        return nodeLeft[node] == NULL;
+    }
+
+    private void insertLeaf(int leaf) {
+        if(root == NULL) {
+            root = leaf;
+            nodeParent[leaf] = NULL;
+            return;
+        }
+
+        // Find the best sibling with the surface area heuristic
+        int index = root;
+        while (!isLeaf(index)) {
+            int left = nodeLeft[index];
+            int right = nodeRight[index];
+
+            float area = surfaceArea(index);
+            float combinedArea = combinedSurfaceArea(index, leaf);
+            float cost = 2f * combinedArea;
+            float inheritanceCost = 2f * (combinedArea - area);
+
+            float leftCost = combinedSurfaceArea(left, leaf) + inheritanceCost;
+            if(!isLeaf(left)) leftCost -= surfaceArea(left);
+            float rightCost = combinedSurfaceArea(right, leaf) + inheritanceCost;
+            if(!isLeaf(right)) rightCost -= surfaceArea(right);
+
+            if(cost < leftCost && cost < rightCost) break;
+            index = leftCost < rightCost ? left : right;
+        }
+        int sibling = index;
+
+        int oldParent = nodeParent[sibling];
+        int newParent = allocateNode();
+        nodeParent[newParent] = oldParent;
+        nodeHeight[newParent] = nodeHeight[sibling] + 1;
+        nodeLeft[newParent] = sibling;
+        nodeRight[newParent] = leaf;
+        union(sibling, leaf, newParent);
+        nodeParent[sibling] = newParent;
+        nodeParent[leaf] = newParent;
+        if(oldParent != NULL) {
+            if(nodeLeft[oldParent] == sibling) {
+                nodeLeft[oldParent] = newParent;
+            } else {
+                nodeRight[oldParent] = newParent;
+            }
+        } else {
+            root = newParent;
+        }
+
+        fixUpwards(nodeParent[leaf]);
+    }
+
+    private void removeLeaf(int leaf) {
+        if(leaf == root) {
+            root = NULL;
+            return;
+        }
+
+        int parent = nodeParent[leaf];
+        int grandParent = nodeParent[parent];
+        int sibling = nodeLeft[parent] == leaf ? nodeRight[parent] : nodeLeft[parent];
+        if(grandParent != NULL) {
+            if(nodeLeft[grandParent] == parent) {
+                nodeLeft[grandParent] = sibling;
+            } else {
+                nodeRight[grandParent] = sibling;
+            }
+            nodeParent[sibling] = grandParent;
+            freeNode(parent);
+            fixUpwards(grandParent);
+        } else {
+            root = sibling;
+            nodeParent[sibling] = NULL;
+            freeNode(parent);
+        }
+    }
+
+    private void fixUpwards(int index) {
+        while (index != NULL) {
+            index = balance(index);
+            int left = nodeLeft[index];
+            int right = nodeRight[index];
+            nodeHeight[index] = 1 + Math.max(nodeHeight[left], nodeHeight[right]);
+            union(left, right, index);
+            index = nodeParent[index];
+        }
+    }
+
+    /**
+     * Rotates the tree if one child is more than one level higher
+     * @return New root of the subtree
+     */
+    private int balance(int a) {
+        if(isLeaf(a) || nodeHeight[a] < 2) return a;
+
+        int b = nodeLeft[a];
+        int c = nodeRight[a];
+        int balance = nodeHeight[c] - nodeHeight[b];
+
+        if(balance > 1) {
+            // Rotate c up
+            int f = nodeLeft[c];
+            int g = nodeRight[c];
+            nodeLeft[c] = a;
+            nodeParent[c] = nodeParent[a];
+            nodeParent[a] = c;
+            replaceChild(nodeParent[c], a, c);
+
+            if(nodeHeight[f] > nodeHeight[g]) {
+                nodeRight[c] = f;
+                nodeRight[a] = g;
+                nodeParent[g] = a;
+                union(b, g, a);
+                union(a, f, c);
+                nodeHeight[a] = 1 + Math.max(nodeHeight[b], nodeHeight[g]);
+                nodeHeight[c] = 1 + Math.max(nodeHeight[a], nodeHeight[f]);
+            } else {
+                nodeRight[c] = g;
+                nodeRight[a] = f;
+                nodeParent[f] = a;
+                union(b, f, a);
+                union(a, g, c);
+                nodeHeight[a] = 1 + Math.max(nodeHeight[b], nodeHeight[f]);
+                nodeHeight[c] = 1 + Math.max(nodeHeight[a], nodeHeight[g]);
+            }
+            return c;
+        }
+        if(balance < -1) {
+            // Rotate b up
+            int d = nodeLeft[b];
+            int e = nodeRight[b];
+            nodeLeft[b] = a;
+            nodeParent[b] = nodeParent[a];
+            nodeParent[a] = b;
+            replaceChild(nodeParent[b], a, b);
+
+            if(nodeHeight[d] > nodeHeight[e]) {
+                nodeRight[b] = d;
+                nodeLeft[a] = e;
+                nodeParent[e] = a;
+                union(c, e, a);
+                union(a, d, b);
+                nodeHeight[a] = 1 + Math.max(nodeHeight[c], nodeHeight[e]);
+                nodeHeight[b] = 1 + Math.max(nodeHeight[a], nodeHeight[d]);
+            } else {
+                nodeRight[b] = e;
+                nodeLeft[a] = d;
+                nodeParent[d] = a;
+                union(c, d, a);
+                union(a, e, b);
+                nodeHeight[a] = 1 + Math.max(nodeHeight[c], nodeHeight[d]);
+                nodeHeight[b] = 1 + Math.max(nodeHeight[a], nodeHeight[e]);
+            }
+            return b;
+        }
+        return a;
+    }
+
+    private void replaceChild(int parent, int oldChild, int newChild) {
+        if(parent == NULL) {
+            root = newChild;
+        } else if(nodeLeft[parent] == oldChild) {
+            nodeLeft[parent] = newChild;
+        } else {
+            nodeRight[parent] = newChild;
+        }
+    }
+
+    /**
+     * Builds a subtree by splitting the proxies at the median of the longest axis
+     * @return Root of the subtree
+     */
+    private int build(int[] items, int start, int end) {
+        if(end - start == 1) {
+            int proxy = items[start];
+            int leaf = allocateNode();
+            nodeProxy[leaf] = proxy;
+            proxyNodes[proxy] = leaf;
+            setFatBounds(leaf, proxy);
+            return leaf;
+        }
+
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+        for (int i = start; i < end; i++) {
+            int offset = items[i] * 6;
+            float x = proxyBounds[offset] + proxyBounds[offset + 3];
+            float y = proxyBounds[offset + 1] + proxyBounds[offset + 4];
+            float z = proxyBounds[offset + 2] + proxyBounds[offset + 5];
+            minX = Math.min(minX, x); maxX = Math.max(maxX, x);
+            minY = Math.min(minY, y); maxY = Math.max(maxY, y);
+            minZ = Math.min(minZ, z); maxZ = Math.max(maxZ, z);
+        }
+        float sizeX = maxX - minX, sizeY = maxY - minY, sizeZ = maxZ - minZ;
+        int axis = sizeX >= sizeY && sizeX >= sizeZ ? 0 : (sizeY >= sizeZ ? 1 : 2);
+
+        int middle = (start + end) >>> 1;
+        select(items, start, end - 1, middle, axis);
+
+        int node = allocateNode();
+        int left = build(items, start, middle);
+        int right = build(items, middle, end);
+        nodeLeft[node] = left;
+        nodeRight[node] = right;
+        nodeParent[left] = node;
+        nodeParent[right] = node;
+        nodeHeight[node] = 1 + Math.max(nodeHeight[left], nodeHeight[right]);
+        union(left, right, node);
+        return node;
+    }
+
+    /**
+     * Moves the k-th smallest proxy on the axis to index k(Quickselect)
+     */
+    private void select(int[] items, int left, int right, int k, int axis) {
+        while (left < right) {
+            float pivot = center(items[(left + right) >>> 1], axis);
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (center(items[i], axis) < pivot) i++;
+                while (center(items[j], axis) > pivot) j--;
+                if(i <= j) {
+                    int temp = items[i];
+                    items[i] = items[j];
+                    items[j] = temp;
+                    i++;
+                    j--;
+                }
+            }
+            if(k <= j) {
+                right = j;
+            } else if(k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private float center(int proxy, int axis) {
+        return proxyBounds[proxy * 6 + axis] + proxyBounds[proxy * 6 + axis + 3];
+    }
+
+    // ---------- Node memory ----------
+
+    private int allocateNode() {
+        if(freeList == NULL) growNodes(nodeCapacity * 2);
+        int node = freeList;
+        freeList = nodeParent[node];
+        nodeParent[node] = NULL;
+        nodeLeft[node] = NULL;
+        nodeRight[node] = NULL;
+        nodeHeight[node] = 0;
+        nodeProxy[node] = NULL;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        nodeParent[node] = freeList;
+        nodeHeight[node] = -1;
+        freeList = node;
+    }
+
+    private void growNodes(int capacity) {
+        int oldCapacity = nodeCapacity;
+        nodeBounds = Arrays.copyOf(nodeBounds, capacity * 6);
+        nodeParent = Arrays.copyOf(nodeParent, capacity);
+        nodeLeft = Arrays.copyOf(nodeLeft, capacity);
+        nodeRight = Arrays.copyOf(nodeRight, capacity);
+        nodeHeight = Arrays.copyOf(nodeHeight, capacity);
+        nodeProxy = Arrays.copyOf(nodeProxy, capacity);
+        nodeCapacity = capacity;
+
+        // Link the new nodes into the free list
+        for (int i = capacity - 1; i >= oldCapacity; i--) {
+            nodeParent[i] = freeList;
+            nodeHeight[i] = -1;
+            freeList = i;
+        }
+    }
+
+    private void clearNodes() {
+        root = NULL;
+        freeList = NULL;
+        for (int i = nodeCapacity - 1; i >= 0; i--) {
+            nodeParent[i] = freeList;
+            nodeHeight[i] = -1;
+            freeList = i;
+        }
+    }
+
+    private void ensureStack(int size) {
+        if(stack.length < size) stack = Arrays.copyOf(stack, stack.length * 2);
+    }
+
+    // ---------- Math ----------
+
+    private void union(int a, int b, int dest) {
+        int offsetA = a * 6, offsetB = b * 6, offset = dest * 6;
+        for (int i = 0; i < 3; i++) {
+            nodeBounds[offset + i] = Math.min(nodeBounds[offsetA + i], nodeBounds[offsetB + i]);
+            nodeBounds[offset + i + 3] = Math.max(nodeBounds[offsetA + i + 3], nodeBounds[offsetB + i + 3]);
+        }
+    }
+
+    private float surfaceArea(int node) {
+        int offset = node * 6;
+        float x = nodeBounds[offset + 3] - nodeBounds[offset];
+        float y = nodeBounds[offset + 4] - nodeBounds[offset + 1];
+        float z = nodeBounds[offset + 5] - nodeBounds[offset + 2];
+        return x * y + y * z + z * x;
+    }
+
+    private float combinedSurfaceArea(int a, int b) {
+        int offsetA = a * 6, offsetB = b * 6;
+        float x = Math.max(nodeBounds[offsetA + 3], nodeBounds[offsetB + 3]) - Math.min(nodeBounds[offsetA], nodeBounds[offsetB]);
+        float y = Math.max(nodeBounds[offsetA + 4], nodeBounds[offsetB + 4]) - Math.min(nodeBounds[offsetA + 1], nodeBounds[offsetB + 1]);
+        float z = Math.max(nodeBounds[offsetA + 5], nodeBounds[offsetB + 5]) - Math.min(nodeBounds[offsetA + 2], nodeBounds[offsetB + 2]);
+        return x * y + y * z + z * x;
+    }
+
+    private static boolean overlapsBox(float[] bounds, int offset, Vector3f min, Vector3f max) {
+        return bounds[offset] <= max.x && bounds[offset + 3] >= min.x
+                && bounds[offset + 1] <= max.y && bounds[offset + 4] >= min.y
+                && bounds[offset + 2] <= max.z && bounds[offset + 5] >= min.z;
+    }
+
+    private static float distanceSquared(float[] bounds, int offset, Vector3f point) {
+        float dx = Math.max(0, Math.max(bounds[offset] - point.x, point.x - bounds[offset + 3]));
+        float dy = Math.max(0, Math.max(bounds[offset + 1] - point.y, point.y - bounds[offset + 4]));
+        float dz = Math.max(0, Math.max(bounds[offset + 2] - point.z, point.z - bounds[offset + 5]));
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Slab test
+     * @return Distance to the box or -1 if the ray misses it
+     */
+    private static float intersectRay(float[] bounds, int offset, Vector3f origin, float invX, float invY, float invZ, float maxDistance) {
+        float near = Float.NEGATIVE_INFINITY;
+        float far = Float.POSITIVE_INFINITY;
+        // Rays parallel to an axis only hit if the origin is between the planes
+        if(Float.isInfinite(invX)) {
+            if(origin.x < bounds[offset] || origin.x > bounds[offset + 3]) return -1;
+        } else {
+            float t1 = (bounds[offset] - origin.x) * invX, t2 = (bounds[offset + 3] - origin.x) * invX;
+            near = Math.min(t1, t2);
+            far = Math.max(t1, t2);
+        }
+        if(Float.isInfinite(invY)) {
+            if(origin.y < bounds[offset + 1] || origin.y > bounds[offset + 4]) return -1;
+        } else {
+            float t1 = (bounds[offset + 1] - origin.y) * invY, t2 = (bounds[offset + 4] - origin.y) * invY;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        }
+        if(Float.isInfinite(invZ)) {
+            if(origin.z < bounds[offset + 2] || origin.z > bounds[offset + 5]) return -1;
+        } else {
+            float t1 = (bounds[offset + 2] - origin.z) * invZ, t2 = (bounds[offset + 5] - origin.z) * invZ;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        }
+
+        if(far < Math.max(near, 0) || near > maxDistance) return -1;
+        return Math.max(near, 0);
+    }
+
+    public static enum UpdatePolicy {
+
+        // Reinserts every leaf that left its enlarged bounds
+        INCREMENTAL,
+        // Updates the bounds of every node without changing the structure
+        REFIT,
+        // Builds the whole tree again
+        REBUILD,
+        // Picks one of the others from the amount of moved leaves
+        ADAPTIVE
+
+    }
+
+}
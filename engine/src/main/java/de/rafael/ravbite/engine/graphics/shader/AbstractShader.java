@@ -49,9 +49,11 @@ import org.joml.Vector3f;
 import org.joml.Vector4f;
 import org.lwjgl.BufferUtils;
 import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL43;
 
 import java.io.IOException;
 import java.nio.FloatBuffer;
+import java.util.Arrays;
 
 public abstract class AbstractShader {
 
@@ -62,6 +64,19 @@ public abstract class AbstractShader {
     private Integer programId;
     private Integer vertexShaderId;
     private Integer fragmentShaderId;
+    private Integer computeShaderId;
+
+    // Last uploaded value of every uniform location
+    private static final int SHADOW_STRIDE = 16;
+    private float[] shadowValues = new float[0];
+    private boolean[] shadowValid = new boolean[0];
+    private final float[] matrixValues = new float[16];
+    private final FloatBuffer matrixBuffer = BufferUtils.createFloatBuffer(16);
+    private int uniformUploads = 0;
+    private int skippedUploads = 0;
+
+    private long preparedFrame = -1;
+    private CameraComponent preparedCamera;
 
     /**
      * @param engineView EngineView
@@ -70,8 +85,59 @@ public abstract class AbstractShader {
         this.engineView = engineView;
     }
 
+    /**
+     * Called once per frame when the shader is bound for the first time
+     */
+    public void prepareFrame() {}
+
+    /**
+     * Called once per camera and frame. Uniforms shared by all objects of the camera are loaded here
+     * @param cameraComponent Camera
+     */
+    public void prepareCamera(CameraComponent cameraComponent) {}
+
+    /**
+     * Called every time the material changes
+     * @param material Material
+     */
+    public void prepareMaterial(IMaterial material) {}
+
+    /**
+     * Called for every drawn object. Only per object uniforms should be loaded here
+     */
     public abstract void prepareObject(GameObject gameObject, IMaterial material, CameraComponent cameraComponent, RenderComponent renderer);
 
+    /**
+     * Called after prepareObject with the LOD cross-fade of the drawn mesh. Shaders that can't dither ignore it
+     * @param fade 0 if the mesh is not fading, (0, 1] for the incoming level and [-1, 0) for the outgoing level
+     */
+    public void prepareLodFade(float fade) {}
+
+    /**
+     * Runs the frame and camera phase if they didn't run for the camera in this frame. The shader has to be bound
+     * @param cameraComponent Camera
+     */
+    public void prepare(CameraComponent cameraComponent) {
+        long frame = engineView.getFrameCount();
+        if(preparedFrame != frame) {
+            preparedFrame = frame;
+            preparedCamera = null;
+            prepareFrame();
+        }
+        if(preparedCamera != cameraComponent) {
+            preparedCamera = cameraComponent;
+            prepareCamera(cameraComponent);
+        }
+    }
+
+    /**
+     * The instanced variant reads the world matrix and tint of every object from the instance attributes of the RenderQueue
+     * @return Instanced variant of the shader or null if the shader can't be instanced
+     */
+    public AbstractShader getInstancedShader() {
+        return null;
+    }
+
     public abstract void bindAttributes();
     public abstract void updateUniformLocations();
 
@@ -98,7 +164,35 @@ public abstract class AbstractShader {
      * @param value Value to load into the uniform variable
      */
     public void load(int location, float value) {
+        if(location < 0) return;
+        int offset = shadowOffset(location);
+        if(shadowValid[location] && shadowValues[offset] == value) {
+            skippedUploads++;
+            return;
+        }
+        shadowValues[offset] = value;
+        shadowValid[location] = true;
         GL20.glUniform1f(location, value);
+        uniformUploads++;
+    }
+
+    /**
+     * Loads an int onto a uniform variable. Also used for samplers
+     * @param location Location of the uniform variable
+     * @param value Value to load into the uniform variable
+     */
+    public void loadInt(int location, int value) {
+        if(location < 0) return;
+        int offset = shadowOffset(location);
+        float bits = Float.intBitsToFloat(value);
+        if(shadowValid[location] && Float.floatToRawIntBits(shadowValues[offset]) == value) {
+            skippedUploads++;
+            return;
+        }
+        shadowValues[offset] = bits;
+        shadowValid[location] = true;
+        GL20.glUniform1i(location, value);
+        uniformUploads++;
     }
 
     /**
@@ -107,7 +201,7 @@ public abstract class AbstractShader {
      * @param value Value to load into the uniform variable
      */
     public void load(int location, boolean value) {
-        GL20.glUniform1f(location, value ? 1 : 0);
+        load(location, value ? 1f : 0f);
     }
 
     /**
@@ -116,7 +210,18 @@ public abstract class AbstractShader {
      * @param value Value to load into the uniform variable
      */
     public void load(int location, Vector3f value) {
+        if(location < 0) return;
+        int offset = shadowOffset(location);
+        if(shadowValid[location] && shadowValues[offset] == value.x && shadowValues[offset + 1] == value.y && shadowValues[offset + 2] == value.z) {
+            skippedUploads++;
+            return;
+        }
+        shadowValues[offset] = value.x;
+        shadowValues[offset + 1] = value.y;
+        shadowValues[offset + 2] = value.z;
+        shadowValid[location] = true;
         GL20.glUniform3f(location, value.x, value.y, value.z);
+        uniformUploads++;
     }
 
     /**
@@ -125,7 +230,27 @@ public abstract class AbstractShader {
      * @param value Value to load into the uniform variable
      */
     public void load(int location, Vector4f value) {
-        GL20.glUniform4f(location, value.x, value.y, value.z, value.w);
+        load(location, value.x, value.y, value.z, value.w);
+    }
+
+    /**
+     * Loads 4 values onto a uniform variable
+     * @param location Location of the uniform variable
+     */
+    public void load(int location, float x, float y, float z, float w) {
+        if(location < 0) return;
+        int offset = shadowOffset(location);
+        if(shadowValid[location] && shadowValues[offset] == x && shadowValues[offset + 1] == y && shadowValues[offset + 2] == z && shadowValues[offset + 3] == w) {
+            skippedUploads++;
+            return;
+        }
+        shadowValues[offset] = x;
+        shadowValues[offset + 1] = y;
+        shadowValues[offset + 2] = z;
+        shadowValues[offset + 3] = w;
+        shadowValid[location] = true;
+        GL20.glUniform4f(location, x, y, z, w);
+        uniformUploads++;
     }
 
     /**
@@ -134,9 +259,63 @@ public abstract class AbstractShader {
      * @param value Value to load into the uniform variable
      */
     public void load(int location, Matrix4f value) {
-        FloatBuffer floatBuffer = BufferUtils.createFloatBuffer(16);
-        value.get(floatBuffer);
-        GL20.glUniformMatrix4fv(location, false, floatBuffer);
+        if(location < 0) return;
+        int offset = shadowOffset(location);
+        value.get(matrixValues);
+        if(shadowValid[location] && Arrays.equals(shadowValues, offset, offset + 16, matrixValues, 0, 16)) {
+            skippedUploads++;
+            return;
+        }
+        System.arraycopy(matrixValues, 0, shadowValues, offset, 16);
+        shadowValid[location] = true;
+        value.get(matrixBuffer);
+        GL20.glUniformMatrix4fv(location, false, matrixBuffer);
+        uniformUploads++;
+    }
+
+    /**
+     * Grows the shadow copy if needed
+     * @param location Location of the uniform variable
+     * @return Offset of the location in the shadow copy
+     */
+    private int shadowOffset(int location) {
+        if(location >= shadowValid.length) {
+            int capacity = Math.max(location + 1, shadowValid.length * 2);
+            shadowValid = Arrays.copyOf(shadowValid, capacity);
+            shadowValues = Arrays.copyOf(shadowValues, capacity * SHADOW_STRIDE);
+        }
+        return location * SHADOW_STRIDE;
+    }
+
+    /**
+     * Forgets all uploaded values so the next load of every uniform reaches OpenGL
+     */
+    public void invalidateUniforms() {
+        Arrays.fill(shadowValid, false);
+        preparedFrame = -1;
+        preparedCamera = null;
+    }
+
+    /**
+     * Resets the upload counters
+     */
+    public void resetStatistics() {
+        uniformUploads = 0;
+        skippedUploads = 0;
+    }
+
+    /**
+     * @return glUniform calls since the last reset
+     */
+    public int getUniformUploads() {
+        return uniformUploads;
+    }
+
+    /**
+     * @return Loads that were skipped because the value didn't change since the last reset
+     */
+    public int getSkippedUploads() {
+        return skippedUploads;
     }
 
     /**
@@ -159,6 +338,16 @@ public abstract class AbstractShader {
         vertexShaderId = engineView.getUtils().rbLoadShader(assetLocation, GL20.GL_VERTEX_SHADER);
     }
 
+    /**
+     * Loads the computeShader and registers it in OpenGL. Requires OpenGL 4.3
+     * @param assetLocation Path to the shader file
+     * @throws IOException If the file doesn't exist
+     * @throws ShaderCompilationException If the shader is not programmed right
+     */
+    public void computeShader(AssetLocation assetLocation) throws IOException, ShaderCompilationException {
+        computeShaderId = engineView.getUtils().rbLoadShader(assetLocation, GL43.GL_COMPUTE_SHADER);
+    }
+
     /**
      * Creates the program in OpenGL
      */
@@ -166,9 +355,11 @@ public abstract class AbstractShader {
         programId = GL20.glCreateProgram();
         if(vertexShaderId != null) GL20.glAttachShader(programId, vertexShaderId);
         if(fragmentShaderId != null) GL20.glAttachShader(programId, fragmentShaderId);
+        if(computeShaderId != null) GL20.glAttachShader(programId, computeShaderId);
         this.bindAttributes();
         GL20.glLinkProgram(programId);
         GL20.glValidateProgram(programId);
+        this.invalidateUniforms();
         this.updateUniformLocations();
     }
 
@@ -191,10 +382,11 @@ public abstract class AbstractShader {
      */
     public void dispose() {
         unbind();
-        GL20.glDetachShader(programId, vertexShaderId);
-        GL20.glDetachShader(programId, fragmentShaderId);
-        GL20.glDeleteShader(vertexShaderId);
-        GL20.glDeleteShader(fragmentShaderId);
+        for (Integer shader : new Integer[] {vertexShaderId, fragmentShaderId, computeShaderId}) {
+            if(shader == null) continue;
+            GL20.glDetachShader(programId, shader);
+            GL20.glDeleteShader(shader);
+        }
         GL20.glDeleteProgram(programId);
     }
 
@@ -241,4 +433,11 @@ public abstract class AbstractShader {
         return fragmentShaderId;
     }
 
+    /**
+     * @return ComputeShaderId used by OpenGL or null if the program has none
+     */
+    public Integer getComputeShaderId() {
+        return computeShaderId;
+    }
+
 }
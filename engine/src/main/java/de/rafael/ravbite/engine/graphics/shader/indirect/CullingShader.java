@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.shader.indirect;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/20/2026 at 4:40 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.components.camera.CameraComponent;
+import de.rafael.ravbite.engine.graphics.components.classes.RenderComponent;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.game.material.IMaterial;
+import de.rafael.ravbite.engine.graphics.shader.AbstractShader;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+import de.rafael.ravbite.engine.utils.exception.ShaderCompilationException;
+import de.rafael.ravbite.utils.asset.AssetLocation;
+import org.joml.Matrix4f;
+import org.joml.Vector4f;
+
+import java.io.IOException;
+
+public class CullingShader extends AbstractShader {
+
+    // Work group size of the compute shader
+    public static final int GROUP_SIZE = 64;
+
+    private final int[] planes = new int[6];
+    private int drawCount;
+
+    private final Vector4f plane = new Vector4f();
+
+    /**
+     * Compute shader that writes the indirect draw commands of all draws inside the frustum
+     * @param engineView EngineView
+     */
+    public CullingShader(EngineView engineView) {
+        super(engineView);
+        try {
+            super.computeShader(AssetLocation.create("/shaders/indirect/cullingShader.glsl", AssetLocation.INTERNAL));
+            super.createProgram();
+        } catch (IOException | ShaderCompilationException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    @Override
+    public void prepareObject(GameObject gameObject, IMaterial material, CameraComponent cameraComponent, RenderComponent renderer) {
+
+    }
+
+    /**
+     * Method to load the frustum planes into the shader
+     * @param viewProjectionMatrix Projection matrix multiplied with the view matrix
+     */
+    public void loadFrustum(Matrix4f viewProjectionMatrix) {
+        for (int i = 0; i < planes.length; i++) {
+            viewProjectionMatrix.frustumPlane(i, plane);
+            super.load(planes[i], plane);
+        }
+    }
+
+    /**
+     * Method to load the amount of draws into the shader
+     * @param drawCount Amount of draws
+     */
+    public void loadDrawCount(int drawCount) {
+        super.loadInt(this.drawCount, drawCount);
+    }
+
+    @Override
+    public void bindAttributes() {
+
+    }
+
+    @Override
+    public void updateUniformLocations() {
+        for (int i = 0; i < planes.length; i++) {
+            planes[i] = super.getUniformLocation("planes[" + i + "]");
+        }
+        drawCount = super.getUniformLocation("drawCount");
+    }
+
+}
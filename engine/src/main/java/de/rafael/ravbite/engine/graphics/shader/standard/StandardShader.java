@@ -39,19 +39,19 @@ package de.rafael.ravbite.engine.graphics.shader.standard;
 
 import de.rafael.ravbite.engine.graphics.components.camera.CameraComponent;
 import de.rafael.ravbite.engine.graphics.components.classes.RenderComponent;
-import de.rafael.ravbite.engine.graphics.components.light.LightComponent;
-import de.rafael.ravbite.engine.graphics.components.transform.Transform;
+import de.rafael.ravbite.engine.graphics.components.light.cluster.LightClusters;
 import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
 import de.rafael.ravbite.engine.graphics.objects.game.material.IMaterial;
 import de.rafael.ravbite.engine.graphics.objects.game.material.standard.Material;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.VertexLayout;
+import de.rafael.ravbite.engine.graphics.objects.scene.render.RenderQueue;
 import de.rafael.ravbite.engine.graphics.shader.AbstractShader;
 import de.rafael.ravbite.engine.graphics.view.EngineView;
 import de.rafael.ravbite.engine.utils.exception.ShaderCompilationException;
-import de.rafael.ravbite.engine.utils.math.Maths;
 import de.rafael.ravbite.utils.asset.AssetLocation;
 import org.joml.Matrix4f;
-import org.joml.Vector4f;
 
+import java.awt.*;
 import java.io.IOException;
 
 public class StandardShader extends AbstractShader {
@@ -61,16 +61,37 @@ public class StandardShader extends AbstractShader {
     private int viewMatrix;
 
     private int diffuseColor;
+    private int tintColor;
+    private int lodFade;
 
-    private int lightPosition;
-    private int lightColor;
+    private int diffuseTexture;
     private int shineDamper;
     private int reflectivity;
 
+    private int lightData;
+    private int lightGrid;
+    private int lightIndices;
+    private int directionalLights;
+    private int clusterScale;
+    private int clusterBias;
+
+    private final boolean instanced;
+    private final StandardShader instancedShader;
+
     public StandardShader(EngineView engineView) {
+        this(engineView, false);
+    }
+
+    /**
+     * @param engineView EngineView
+     * @param instanced If the transformation and tint are read from the instance attributes
+     */
+    private StandardShader(EngineView engineView, boolean instanced) {
         super(engineView);
+        this.instanced = instanced;
+        this.instancedShader = instanced ? null : new StandardShader(engineView, true);
         try {
-            super.vertexShader(AssetLocation.create("/shaders/standard/vertexShader.glsl", AssetLocation.INTERNAL));
+            super.vertexShader(AssetLocation.create(instanced ? "/shaders/standard/instancedVertexShader.glsl" : "/shaders/standard/vertexShader.glsl", AssetLocation.INTERNAL));
             super.fragmentShader(AssetLocation.create("/shaders/standard/fragmentShader.glsl", AssetLocation.INTERNAL));
             super.createProgram();
         } catch (IOException | ShaderCompilationException exception) {
@@ -79,21 +100,43 @@ public class StandardShader extends AbstractShader {
     }
 
     @Override
-    public void prepareObject(GameObject gameObject, IMaterial universalMaterial, CameraComponent cameraComponent, RenderComponent renderer) {
-        Material material = (Material) universalMaterial;
+    public void prepareCamera(CameraComponent cameraComponent) {
+        loadProjectionMatrix(cameraComponent.getProjectionMatrix());
+        loadViewMatrix(cameraComponent.getViewMatrix());
 
-        Transform cameraTransform = cameraComponent.getGameObject().getSpecialTransform(Transform.WORLD_SPACE);
+        loadLightClusters(cameraComponent.getGameObject().getScene().getLightClusters());
+    }
 
-        loadProjectionMatrix(cameraComponent.getProjectionMatrix());
-        loadViewMatrix(cameraTransform.viewMatrix());
-        loadTransformationMatrix(Maths.createTransformationMatrix(gameObject.getSpecialTransform(Transform.WORLD_SPACE)));
+    @Override
+    public void prepareMaterial(IMaterial universalMaterial) {
+        Material material = (Material) universalMaterial;
 
-        loadDiffuseColor(material.getDiffuse().getColorAsVector());
+        loadDiffuseColor(material.getDiffuse().getColor());
 
         loadSpecular(material.getShineDamper(), material.getReflectivity());
+    }
+
+    @Override
+    public void prepareObject(GameObject gameObject, IMaterial universalMaterial, CameraComponent cameraComponent, RenderComponent renderer) {
+        loadTransformationMatrix(gameObject.getTransform().getRenderMatrix(getEngineView().getInterpolationAlpha()));
+        loadTintColor(renderer.getTint());
+    }
+
+    @Override
+    public void prepareLodFade(float fade) {
+        super.load(lodFade, fade);
+    }
+
+    @Override
+    public AbstractShader getInstancedShader() {
+        return instancedShader;
+    }
 
-        LightComponent[] lights = gameObject.getScene().getLights(15, cameraTransform.position);
-        if(lights.length > 0) loadLightsComponent(lights);
+    /**
+     * @return If this is the instanced variant
+     */
+    public boolean isInstanced() {
+        return instanced;
     }
 
     /**
@@ -107,21 +150,33 @@ public class StandardShader extends AbstractShader {
     }
 
     /**
-     * Method to load the lights into the shader
-     * @param lightComponents Lights
+     * Method to load the clustered lights into the shader. The buffers are bound by the scene
+     * @param lightClusters Lights assigned to the clusters of the camera
      */
-    // TODO: Support multiple lights
-    private void loadLightsComponent(LightComponent[] lightComponents) {
-        super.load(lightPosition, lightComponents[0].getGameObject().getSpecialTransform(Transform.WORLD_SPACE).position);
-        super.load(lightColor, lightComponents[0].getColorAsVector());
+    private void loadLightClusters(LightClusters lightClusters) {
+        super.loadInt(diffuseTexture, 0);
+        super.loadInt(lightData, LightClusters.LIGHT_DATA_UNIT);
+        super.loadInt(lightGrid, LightClusters.CLUSTER_DATA_UNIT);
+        super.loadInt(lightIndices, LightClusters.LIGHT_INDEX_UNIT);
+        super.loadInt(directionalLights, lightClusters.getDirectionalCount());
+        super.load(clusterScale, lightClusters.getClusterScale());
+        super.load(clusterBias, lightClusters.getClusterBias());
     }
 
     /**
      * Method to load the diffuseColor into the shader
      * @param diffuseColor DiffuseColor
      */
-    private void loadDiffuseColor(Vector4f diffuseColor) {
-        super.load(this.diffuseColor, diffuseColor);
+    private void loadDiffuseColor(Color diffuseColor) {
+        super.load(this.diffuseColor, diffuseColor.getRed() / 255f, diffuseColor.getGreen() / 255f, diffuseColor.getBlue() / 255f, diffuseColor.getAlpha() / 255f);
+    }
+
+    /**
+     * Method to load the tint of the object into the shader
+     * @param tintColor TintColor
+     */
+    private void loadTintColor(Color tintColor) {
+        super.load(this.tintColor, tintColor.getRed() / 255f, tintColor.getGreen() / 255f, tintColor.getBlue() / 255f, tintColor.getAlpha() / 255f);
     }
 
     /**
@@ -150,9 +205,13 @@ public class StandardShader extends AbstractShader {
 
     @Override
     public void bindAttributes() {
-        super.bindAttribute(0, "position");
-        super.bindAttribute(1, "textureCoords");
-        super.bindAttribute(2, "normal");
+        super.bindAttribute(VertexLayout.POSITION_ATTRIBUTE, "position");
+        super.bindAttribute(VertexLayout.TEXTURE_COORDS_ATTRIBUTE, "textureCoords");
+        super.bindAttribute(VertexLayout.NORMAL_ATTRIBUTE, "normal");
+        if(instanced) {
+            super.bindAttribute(RenderQueue.INSTANCE_MATRIX_ATTRIBUTE, "instanceMatrix");
+            super.bindAttribute(RenderQueue.INSTANCE_COLOR_ATTRIBUTE, "instanceColor");
+        }
     }
 
     @Override
@@ -162,11 +221,19 @@ public class StandardShader extends AbstractShader {
         viewMatrix = super.getUniformLocation("viewMatrix");
 
         diffuseColor = super.getUniformLocation("diffuseColor");
+        tintColor = super.getUniformLocation("tintColor");
+        lodFade = super.getUniformLocation("lodFade");
 
-        lightPosition = super.getUniformLocation("lightPosition");
-        lightColor = super.getUniformLocation("lightColor");
+        diffuseTexture = super.getUniformLocation("diffuse_texture");
         shineDamper = super.getUniformLocation("shineDamper");
         reflectivity = super.getUniformLocation("reflectivity");
+
+        lightData = super.getUniformLocation("lightData");
+        lightGrid = super.getUniformLocation("lightGrid");
+        lightIndices = super.getUniformLocation("lightIndices");
+        directionalLights = super.getUniformLocation("directionalLights");
+        clusterScale = super.getUniformLocation("clusterScale");
+        clusterBias = super.getUniformLocation("clusterBias");
     }
 
     /**
@@ -37,95 +37,402 @@ package de.rafael.ravbite.engine.graphics.utils;
 //
 //------------------------------
 
+
+import de.rafael.ravbite.engine.graphics.view.EngineView;
 import org.lwjgl.openal.AL10;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
 import org.lwjgl.opengl.GL30;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.*;
 
 public class DataWatcher {
 
-    private final HashMap<DataScope, List<Integer>> vaoList = new HashMap<>();
-    private final HashMap<DataScope, List<Integer>> vboList = new HashMap<>();
-    private final HashMap<DataScope, List<Integer>> textureList = new HashMap<>();
-    
-    private final HashMap<DataScope, List<Integer>> soundBuffersList = new HashMap<>();
+    private final EnumMap<DataType, HashMap<Integer, TrackedResource>> resources = new EnumMap<>(DataType.class);
+    private final int[] liveCounts = new int[DataType.values().length];
+    private final long[] liveBytes = new long[DataType.values().length];
 
-    public DataWatcher() {
-        vaoList.put(DataScope.SCENE, new ArrayList<>());
-        vaoList.put(DataScope.VIEW, new ArrayList<>());
+    // Incremented every time a scope is cleaned up
+    private final int[] generations = new int[DataScope.values().length];
 
-        vboList.put(DataScope.SCENE, new ArrayList<>());
-        vboList.put(DataScope.VIEW, new ArrayList<>());
+    // A warning is printed once if the estimated memory of all resources is larger. 0 disables the budget
+    public long memoryBudget = 0;
+    private boolean budgetWarned = false;
 
-        textureList.put(DataScope.SCENE, new ArrayList<>());
-        textureList.put(DataScope.VIEW, new ArrayList<>());
+    public DataWatcher() {
+        for (DataType dataType : DataType.values()) {
+            resources.put(dataType, new HashMap<>());
+        }
+    }
 
-        soundBuffersList.put(DataScope.SCENE, new ArrayList<>());
-        soundBuffersList.put(DataScope.VIEW, new ArrayList<>());
+    /**
+     * Sets the memory budget of all tracked resources
+     * @param memoryBudget Bytes or 0 to disable it
+     * @return DataWatcher
+     */
+    public DataWatcher memoryBudget(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+        this.budgetWarned = false;
+        return this;
     }
 
     /**
-     * Delete all VAOs and VBOs stored in this dataWatcher
+     * Delete all resources of a scope stored in this dataWatcher
      */
     public void rbCleanUp(DataScope dataScope) {
-        for (Integer vao : vaoList.get(dataScope)) {
-            GL30.glDeleteVertexArrays(vao);
+        generations[dataScope.ordinal()]++;
+        for (DataType dataType : DataType.values()) {
+            Iterator<TrackedResource> iterator = resources.get(dataType).values().iterator();
+            while (iterator.hasNext()) {
+                TrackedResource resource = iterator.next();
+                if(resource.scope != dataScope) continue;
+                iterator.remove();
+                untracked(resource);
+                delete(dataType, resource.id);
+            }
         }
-        vaoList.get(dataScope).clear();
-        for (Integer vbo : vboList.get(dataScope)) {
-            GL15.glDeleteBuffers(vbo);
-        }
-        vboList.get(dataScope).clear();
-        for (Integer texture : textureList.get(dataScope)) {
-            GL11.glDeleteTextures(texture);
+    }
+
+    /**
+     * Starts tracking an OpenGL or OpenAL object
+     * In debug mode the stack of the caller is kept to find the creation site of leaked resources
+     * @param dataType Type of the object
+     * @param dataScope Scope the object is deleted with
+     * @param id OpenGL or OpenAL id
+     * @return TrackedResource to set the owner and size
+     */
+    public TrackedResource track(DataType dataType, DataScope dataScope, int id) {
+        TrackedResource resource = new TrackedResource(this, dataType, dataScope, id, EngineView.DEBUG_MODE ? new Throwable().getStackTrace() : null);
+        // The id was deleted without the DataWatcher and reused by the driver
+        TrackedResource old = resources.get(dataType).put(id, resource);
+        if(old != null) untracked(old);
+        liveCounts[dataType.ordinal()]++;
+        return resource;
+    }
+
+    /**
+     * Deletes a tracked resource before its scope is cleaned up
+     * @param dataType Type of the object
+     * @param id OpenGL or OpenAL id
+     * @return False if the resource isn't tracked
+     */
+    public boolean release(DataType dataType, int id) {
+        TrackedResource resource = resources.get(dataType).remove(id);
+        if(resource == null) return false;
+        untracked(resource);
+        delete(dataType, id);
+        return true;
+    }
+
+    private boolean release(DataType dataType, DataScope dataScope, int id) {
+        TrackedResource resource = resources.get(dataType).get(id);
+        return resource != null && resource.scope == dataScope && release(dataType, id);
+    }
+
+    private void untracked(TrackedResource resource) {
+        liveCounts[resource.type.ordinal()]--;
+        liveBytes[resource.type.ordinal()] -= resource.bytes;
+    }
+
+    void resized(TrackedResource resource, long oldBytes) {
+        if(resources.get(resource.type).get(resource.id) != resource) return;
+        liveBytes[resource.type.ordinal()] += resource.bytes - oldBytes;
+        if(memoryBudget > 0 && !budgetWarned && getTotalBytes() > memoryBudget) {
+            budgetWarned = true;
+            System.out.println("Tracked resources use " + getTotalBytes() + " bytes and exceed the memory budget of " + memoryBudget + " bytes");
         }
-        textureList.get(dataScope).clear();
-        for (Integer buffer : soundBuffersList.get(dataScope)) {
-            AL10.alDeleteBuffers(buffer);
+    }
+
+    /**
+     * Deletes the object in OpenGL or OpenAL
+     * @param dataType Type of the object
+     * @param id OpenGL or OpenAL id
+     */
+    protected void delete(DataType dataType, int id) {
+        switch (dataType) {
+            case VAO -> GL30.glDeleteVertexArrays(id);
+            case BUFFER -> GL15.glDeleteBuffers(id);
+            case TEXTURE -> GL11.glDeleteTextures(id);
+            case FRAMEBUFFER -> GL30.glDeleteFramebuffers(id);
+            case RENDERBUFFER -> GL30.glDeleteRenderbuffers(id);
+            case SHADER -> GL20.glDeleteShader(id);
+            case PROGRAM -> GL20.glDeleteProgram(id);
+            case SOUND_BUFFER -> AL10.alDeleteBuffers(id);
         }
-        soundBuffersList.get(dataScope).clear();
+    }
+
+    /**
+     * Deletes a single vao before its scope is cleaned up
+     * @param vao Vao to delete
+     */
+    public void rbDeleteVao(DataScope dataScope, int vao) {
+        release(DataType.VAO, dataScope, vao);
+    }
+
+    /**
+     * Deletes a single vbo before its scope is cleaned up
+     * @param vbo Vbo to delete
+     */
+    public void rbDeleteVbo(DataScope dataScope, int vbo) {
+        release(DataType.BUFFER, dataScope, vbo);
+    }
+
+    /**
+     * Deletes a single texture before its scope is cleaned up
+     * @param texture Texture to delete
+     */
+    public void rbDeleteTexture(DataScope dataScope, int texture) {
+        release(DataType.TEXTURE, dataScope, texture);
+    }
+
+    /**
+     * Deletes a single sound buffer before its scope is cleaned up
+     * @param buffer Buffer to delete
+     */
+    public void alDeleteBuffer(DataScope dataScope, int buffer) {
+        release(DataType.SOUND_BUFFER, dataScope, buffer);
+    }
+
+    /**
+     * Objects created in an older generation of a scope were deleted by rbCleanUp()
+     * @param dataScope Scope
+     * @return Current generation of the scope
+     */
+    public int getGeneration(DataScope dataScope) {
+        return generations[dataScope.ordinal()];
     }
 
     /**
      * Store vao for later cleanUp
      * @param vao Vao to store
+     * @return TrackedResource
      */
-    public void glVao(DataScope dataScope, int vao) {
-        vaoList.get(dataScope).add(vao);
+    public TrackedResource glVao(DataScope dataScope, int vao) {
+        return track(DataType.VAO, dataScope, vao);
     }
 
     /**
      * Store vbo for later cleanUp
      * @param vbo Vbo to store
+     * @return TrackedResource
      */
-    public void glVbo(DataScope dataScope, int vbo) {
-        vboList.get(dataScope).add(vbo);
+    public TrackedResource glVbo(DataScope dataScope, int vbo) {
+        return track(DataType.BUFFER, dataScope, vbo);
     }
 
     /**
      * Store texture for later cleanUp
      * @param texture Texture to store
+     * @return TrackedResource
      */
-    public void glTexture(DataScope dataScope, int texture) {
-        textureList.get(dataScope).add(texture);
+    public TrackedResource glTexture(DataScope dataScope, int texture) {
+        return track(DataType.TEXTURE, dataScope, texture);
     }
 
     /**
      * Store buffers for later cleanUp
      * @param buffer Buffer to store
+     * @return TrackedResource
      */
-    public void alBuffer(DataScope dataScope, int buffer) {
-        soundBuffersList.get(dataScope).add(buffer);
+    public TrackedResource alBuffer(DataScope dataScope, int buffer) {
+        return track(DataType.SOUND_BUFFER, dataScope, buffer);
+    }
+
+    /**
+     * @param dataType Type of the object
+     * @param id OpenGL or OpenAL id
+     * @return TrackedResource or null if the object isn't tracked
+     */
+    public TrackedResource getResource(DataType dataType, int id) {
+        return resources.get(dataType).get(id);
+    }
+
+    /**
+     * @param dataType Type of the objects
+     * @return All tracked objects of the type
+     */
+    public Collection<TrackedResource> getResources(DataType dataType) {
+        return Collections.unmodifiableCollection(resources.get(dataType).values());
+    }
+
+    /**
+     * @param dataScope Scope of the objects
+     * @return All tracked objects of the scope
+     */
+    public List<TrackedResource> getResources(DataScope dataScope) {
+        List<TrackedResource> result = new ArrayList<>();
+        for (HashMap<Integer, TrackedResource> map : resources.values()) {
+            for (TrackedResource resource : map.values()) {
+                if(resource.scope == dataScope) result.add(resource);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param dataType Type of the objects
+     * @return Amount of live objects of the type
+     */
+    public int getLiveCount(DataType dataType) {
+        return liveCounts[dataType.ordinal()];
+    }
+
+    /**
+     * @param dataType Type of the objects
+     * @return Estimated memory of all live objects of the type in bytes
+     */
+    public long getBytes(DataType dataType) {
+        return liveBytes[dataType.ordinal()];
+    }
+
+    /**
+     * @return Estimated memory of all live objects in bytes
+     */
+    public long getTotalBytes() {
+        long total = 0;
+        for (long bytes : liveBytes) {
+            total += bytes;
+        }
+        return total;
+    }
+
+    /**
+     * @return If the estimated memory is larger than the memory budget
+     */
+    public boolean isOverBudget() {
+        return memoryBudget > 0 && getTotalBytes() > memoryBudget;
+    }
+
+    /**
+     * @return Live objects and estimated memory of every type
+     */
+    public String getReport() {
+        StringBuilder builder = new StringBuilder();
+        for (DataType dataType : DataType.values()) {
+            builder.append(String.format("%-13s %6d live %10.2f MB%n", dataType.name().toLowerCase(), getLiveCount(dataType), getBytes(dataType) / 1048576.0));
+        }
+        builder.append(String.format("%-13s %6s      %10.2f MB", "total", "", getTotalBytes() / 1048576.0));
+        return builder.toString();
     }
 
     public static enum DataScope {
 
         SCENE,
-        VIEW
+        VIEW,
+        // Owned by the ResourceCache. Survives scene changes
+        CACHE
+
+    }
+
+    public static enum DataType {
+
+        VAO,
+        BUFFER,
+        TEXTURE,
+        FRAMEBUFFER,
+        RENDERBUFFER,
+        SHADER,
+        PROGRAM,
+        SOUND_BUFFER
+
+    }
+
+    public static class TrackedResource {
+
+        private final DataWatcher dataWatcher;
+        private final DataType type;
+        private final DataScope scope;
+        private final int id;
+        private final StackTraceElement[] creationSite;
+        private String owner;
+        private long bytes = 0;
+
+        private TrackedResource(DataWatcher dataWatcher, DataType type, DataScope scope, int id, StackTraceElement[] creationSite) {
+            this.dataWatcher = dataWatcher;
+            this.type = type;
+            this.scope = scope;
+            this.id = id;
+            this.creationSite = creationSite;
+        }
+
+        /**
+         * Sets the object that is responsible for the resource
+         * @param owner Description of the owner
+         * @return TrackedResource
+         */
+        public TrackedResource owner(String owner) {
+            this.owner = owner;
+            return this;
+        }
+
+        /**
+         * Sets the estimated memory of the resource
+         * @param bytes Bytes
+         * @return TrackedResource
+         */
+        public TrackedResource bytes(long bytes) {
+            long oldBytes = this.bytes;
+            this.bytes = bytes;
+            dataWatcher.resized(this, oldBytes);
+            return this;
+        }
+
+        /**
+         * @return Type of the object
+         */
+        public DataType getType() {
+            return type;
+        }
+
+        /**
+         * @return Scope the object is deleted with
+         */
+        public DataScope getScope() {
+            return scope;
+        }
+
+        /**
+         * @return OpenGL or OpenAL id
+         */
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * @return Owner or null
+         */
+        public String getOwner() {
+            return owner;
+        }
+
+        /**
+         * @return Estimated memory in bytes
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return Stack of the caller that created the resource or null if the debug mode was disabled
+         */
+        public StackTraceElement[] getCreationSite() {
+            return creationSite;
+        }
+
+        @Override
+        public String toString() {
+            String site = "";
+            if(creationSite != null) {
+                for (StackTraceElement element : creationSite) {
+                    if(!element.getClassName().equals(DataWatcher.class.getName())) {
+                        site = " at " + element;
+                        break;
+                    }
+                }
+            }
+            return type.name().toLowerCase() + "#" + id + "[" + scope + ", " + bytes + " bytes, " + (owner != null ? owner : "unknown") + "]" + site;
+        }
 
     }
 
@@ -49,6 +49,7 @@ import java.nio.FloatBuffer;
 public class TextureRenderer {
 
     private final RavbiteUtils utils;
+    private final DataWatcher dataWatcher;
 
     private int quadVao;
     private int quadVbo;
@@ -60,6 +61,7 @@ public class TextureRenderer {
 
     public TextureRenderer(EngineView engineView) {
         this.utils = engineView.getUtils();
+        this.dataWatcher = engineView.getDataWatcher();
 
         createQuad();
         loadShaders();
@@ -119,6 +121,10 @@ public class TextureRenderer {
         GL20.glBindAttribLocation(program, 0, "position");
         GL20.glLinkProgram(program);
         GL20.glValidateProgram(program);
+
+        dataWatcher.track(DataWatcher.DataType.SHADER, DataWatcher.DataScope.VIEW, vertexShader).owner("TextureRenderer");
+        dataWatcher.track(DataWatcher.DataType.SHADER, DataWatcher.DataScope.VIEW, fragmentShader).owner("TextureRenderer");
+        dataWatcher.track(DataWatcher.DataType.PROGRAM, DataWatcher.DataScope.VIEW, program).owner("TextureRenderer");
     }
 
     private void createQuad() {
@@ -131,17 +137,20 @@ public class TextureRenderer {
         GL20.glVertexAttribPointer(0, 2, GL11.GL_FLOAT, false, 0, 0);
         GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
         utils.glUnbindVAO();
+
+        dataWatcher.glVao(DataWatcher.DataScope.VIEW, quadVao).owner("TextureRenderer");
+        dataWatcher.glVbo(DataWatcher.DataScope.VIEW, quadVbo).owner("TextureRenderer").bytes(8 * Float.BYTES);
     }
 
     public void destroy() {
         GL20.glDetachShader(program, vertexShader);
         GL20.glDetachShader(program, fragmentShader);
-        GL20.glDeleteShader(vertexShader);
-        GL20.glDeleteShader(fragmentShader);
-        GL20.glDeleteProgram(program);
+        dataWatcher.release(DataWatcher.DataType.SHADER, vertexShader);
+        dataWatcher.release(DataWatcher.DataType.SHADER, fragmentShader);
+        dataWatcher.release(DataWatcher.DataType.PROGRAM, program);
 
-        GL30.glDeleteBuffers(quadVbo);
-        GL30.glDeleteVertexArrays(quadVao);
+        dataWatcher.release(DataWatcher.DataType.BUFFER, quadVbo);
+        dataWatcher.release(DataWatcher.DataType.VAO, quadVao);
     }
 
 }
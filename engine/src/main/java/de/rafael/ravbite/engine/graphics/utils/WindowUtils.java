@@ -39,12 +39,15 @@ package de.rafael.ravbite.engine.graphics.utils;
 
 import de.matthiasmann.twl.utils.PNGDecoder;
 import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.PackedMesh;
 import de.rafael.ravbite.engine.graphics.objects.game.mesh.StoredMesh;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.VertexLayout;
 import de.rafael.ravbite.engine.graphics.view.EngineView;
 import de.rafael.ravbite.engine.utils.exception.ShaderCompilationException;
 import de.rafael.ravbite.utils.asset.AssetLocation;
 import org.lwjgl.BufferUtils;
 import org.lwjgl.opengl.*;
+import org.lwjgl.system.MemoryUtil;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -65,10 +68,12 @@ public abstract class WindowUtils {
     /**
      * Loads the texture from a InputStream and stores it in OpenGL. Till the program is stopped.
      * @param inputStream Image data as InputStream
+     * @param dataScope Scope the texture is deleted with
+     * @param owner Description of the owner or null
      * @return TextureId generated by OpenGL
      * @throws IOException If the file doesn't exist
      */
-    private int texture(InputStream inputStream) throws IOException {
+    private int texture(InputStream inputStream, DataWatcher.DataScope dataScope, String owner) throws IOException {
         PNGDecoder decoder = new PNGDecoder(inputStream);
         ByteBuffer buffer = ByteBuffer.allocateDirect(4 * decoder.getWidth() * decoder.getHeight());
         decoder.decode(buffer, decoder.getWidth() * 4, PNGDecoder.Format.RGBA);
@@ -79,12 +84,21 @@ public abstract class WindowUtils {
         GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
         GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
         GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA, decoder.getWidth(), decoder.getHeight(), 0, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, buffer);
+        rbGenerateMipmaps();
+        // RGBA with mipmaps
+        engineView.getDataWatcher().glTexture(dataScope, textureId).owner(owner).bytes(4L * decoder.getWidth() * decoder.getHeight() * 4 / 3);
+
+        return textureId;
+    }
+
+    /**
+     * Generates the mipmaps of the bound texture and sets the filters all engine textures use
+     */
+    public void rbGenerateMipmaps() {
         GL30.glGenerateMipmap(GL11.GL_TEXTURE_2D);
         GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR_MIPMAP_LINEAR);
         GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR_MIPMAP_LINEAR);
         GL11.glTexParameterf(GL11.GL_TEXTURE_2D, GL14.GL_TEXTURE_LOD_BIAS, -1);
-
-        return textureId;
     }
 
     /**
@@ -94,9 +108,7 @@ public abstract class WindowUtils {
      * @throws IOException If the file doesn't exist
      */
     public int rbLoadViewTexture(InputStream inputStream) throws IOException {
-        int textureId = texture(inputStream);
-        engineView.getDataWatcher().glTexture(DataWatcher.DataScope.VIEW, textureId);
-        return textureId;
+        return texture(inputStream, DataWatcher.DataScope.VIEW, null);
     }
 
     /**
@@ -106,7 +118,7 @@ public abstract class WindowUtils {
      * @throws IOException If the file doesn't exist
      */
     public int rbLoadViewTexture(AssetLocation assetLocation) throws IOException {
-        return rbLoadViewTexture(assetLocation.inputStream());
+        return texture(assetLocation.inputStream(), DataWatcher.DataScope.VIEW, assetLocation.toString());
     }
 
     /**
@@ -116,9 +128,18 @@ public abstract class WindowUtils {
      * @throws IOException If the file doesn't exist
      */
     public int rbLoadTexture(InputStream inputStream) throws IOException {
-        int textureId = texture(inputStream);
-        engineView.getDataWatcher().glTexture(DataWatcher.DataScope.SCENE, textureId);
-        return textureId;
+        return rbLoadTexture(inputStream, DataWatcher.DataScope.SCENE);
+    }
+
+    /**
+     * Loads the texture from a InputStream and stores it in OpenGL
+     * @param inputStream Image data as InputStream
+     * @param dataScope Scope the texture is deleted with
+     * @return TextureId generated by OpenGL
+     * @throws IOException If the file doesn't exist
+     */
+    public int rbLoadTexture(InputStream inputStream, DataWatcher.DataScope dataScope) throws IOException {
+        return texture(inputStream, dataScope, null);
     }
 
     /**
@@ -128,7 +149,18 @@ public abstract class WindowUtils {
      * @throws IOException If the file doesn't exist
      */
     public int rbLoadTexture(AssetLocation assetLocation) throws IOException {
-        return rbLoadTexture(assetLocation.inputStream());
+        return rbLoadTexture(assetLocation, DataWatcher.DataScope.SCENE);
+    }
+
+    /**
+     * Loads the texture from a file and stores it in OpenGL
+     * @param assetLocation Location were the texture is stored
+     * @param dataScope Scope the texture is deleted with
+     * @return TextureId generated by OpenGL
+     * @throws IOException If the file doesn't exist
+     */
+    public int rbLoadTexture(AssetLocation assetLocation, DataWatcher.DataScope dataScope) throws IOException {
+        return texture(assetLocation.inputStream(), dataScope, assetLocation.toString());
     }
 
     /**
@@ -164,18 +196,101 @@ public abstract class WindowUtils {
 
     /**
      * Convert Mesh to StoredMesh
+     * The vertices are interleaved into a single buffer in the vertex layout of the mesh
+     * Vertices and indices are copied into one off-heap allocation that is freed after the upload
+     * Meshes with a PackedMesh are uploaded from it directly
      *
      * @param mesh Mesh
      * @return StoredMesh
      */
     public StoredMesh rbLoadToVAO(Mesh mesh) {
-        int vao = glCreateVAO();
-        rbBindIndicesBuffer(mesh.getIndices());
-        rbStoreDataInAttributeList(0, 3, mesh.getVertices());
-        rbStoreDataInAttributeList(1, 2, mesh.getTextureCoords());
-        rbStoreDataInAttributeList(2, 3, mesh.getNormals());
+        return rbLoadToVAO(mesh, DataWatcher.DataScope.SCENE);
+    }
+
+    /**
+     * Convert Mesh to StoredMesh
+     * @param mesh Mesh
+     * @param dataScope Scope the VAO and buffers are deleted with
+     * @return StoredMesh
+     */
+    public StoredMesh rbLoadToVAO(Mesh mesh, DataWatcher.DataScope dataScope) {
+        VertexLayout layout = mesh.getVertexLayout();
+        if(mesh.getPackedMesh() != null) return rbLoadToVAO(mesh.getPackedMesh(), layout, dataScope);
+
+        int vertexCount = mesh.getVertices().length / 3;
+        int vertexBytes = layout.getVertexBytes(mesh);
+        int indexBytes = layout.getIndexBytes(mesh);
+
+        ByteBuffer data = MemoryUtil.memAlloc(vertexBytes + indexBytes);
+        try {
+            layout.writeVertices(mesh, data);
+            layout.writeIndices(mesh, data);
+
+            DataWatcher dataWatcher = engineView.getDataWatcher();
+            String owner = "Mesh[" + mesh.getName() + "]";
+            int vao = glCreateVAO(dataScope);
+            dataWatcher.getResource(DataWatcher.DataType.VAO, vao).owner(owner);
+            int indexBuffer = GL15.glGenBuffers();
+            dataWatcher.glVbo(dataScope, indexBuffer).owner(owner).bytes(indexBytes);
+            GL15.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, indexBuffer);
+            GL15.nglBufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, indexBytes, MemoryUtil.memAddress(data) + vertexBytes, GL15.GL_STATIC_DRAW);
+
+            int vertexBuffer = GL15.glGenBuffers();
+            dataWatcher.glVbo(dataScope, vertexBuffer).owner(owner).bytes(vertexBytes);
+            GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vertexBuffer);
+            GL15.nglBufferData(GL15.GL_ARRAY_BUFFER, vertexBytes, MemoryUtil.memAddress(data), GL15.GL_STATIC_DRAW);
+            layout.bindAttributes(layout.hasTangents(mesh));
+            GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+            glUnbindVAO();
+
+            int savedBytes = VertexLayout.FULL.getVertexBytes(mesh) + VertexLayout.FULL.getIndexBytes(mesh) - vertexBytes - indexBytes;
+            return new StoredMesh(vao, mesh.getIndices().length, layout.getIndexType(vertexCount), vertexBytes + indexBytes, savedBytes)
+                    .buffers(vertexBuffer, indexBuffer)
+                    .scope(dataScope, engineView.getDataWatcher().getGeneration(dataScope));
+        } finally {
+            MemoryUtil.memFree(data);
+        }
+    }
+
+    /**
+     * Uploads data that is already in the layout without converting or copying it
+     * @param packedMesh Packed vertices and indices
+     * @param layout Layout of the packed vertices
+     * @return StoredMesh
+     */
+    public StoredMesh rbLoadToVAO(PackedMesh packedMesh, VertexLayout layout) {
+        return rbLoadToVAO(packedMesh, layout, DataWatcher.DataScope.SCENE);
+    }
+
+    /**
+     * Uploads data that is already in the layout without converting or copying it
+     * @param packedMesh Packed vertices and indices
+     * @param layout Layout of the packed vertices
+     * @param dataScope Scope the VAO and buffers are deleted with
+     * @return StoredMesh
+     */
+    public StoredMesh rbLoadToVAO(PackedMesh packedMesh, VertexLayout layout, DataWatcher.DataScope dataScope) {
+        DataWatcher dataWatcher = engineView.getDataWatcher();
+        int vao = glCreateVAO(dataScope);
+        dataWatcher.getResource(DataWatcher.DataType.VAO, vao).owner("PackedMesh");
+        int indexBuffer = GL15.glGenBuffers();
+        dataWatcher.glVbo(dataScope, indexBuffer).owner("PackedMesh").bytes(packedMesh.getIndexData().remaining());
+        GL15.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, indexBuffer);
+        GL15.glBufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, packedMesh.getIndexData(), GL15.GL_STATIC_DRAW);
+
+        int vertexBuffer = GL15.glGenBuffers();
+        dataWatcher.glVbo(dataScope, vertexBuffer).owner("PackedMesh").bytes(packedMesh.getVertexData().remaining());
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vertexBuffer);
+        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, packedMesh.getVertexData(), GL15.GL_STATIC_DRAW);
+        layout.bindAttributes(packedMesh.hasTangents());
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
         glUnbindVAO();
-        return new StoredMesh(vao, mesh.getIndices().length);
+
+        int gpuBytes = packedMesh.getVertexData().remaining() + packedMesh.getIndexData().remaining();
+        int fullBytes = VertexLayout.FULL.getStride(packedMesh.hasTangents()) * packedMesh.getVertexCount() + packedMesh.getIndexCount() * Integer.BYTES;
+        return new StoredMesh(vao, packedMesh.getIndexCount(), packedMesh.getIndexType(), gpuBytes, fullBytes - gpuBytes)
+                .buffers(vertexBuffer, indexBuffer)
+                .scope(dataScope, engineView.getDataWatcher().getGeneration(dataScope));
     }
 
     /**
@@ -187,11 +302,16 @@ public abstract class WindowUtils {
      */
     public void rbStoreDataInAttributeList(int number, int size, float[] data) {
         int vbo = GL15.glGenBuffers();
-        engineView.getDataWatcher().glVbo(DataWatcher.DataScope.SCENE, vbo);
+        engineView.getDataWatcher().glVbo(DataWatcher.DataScope.SCENE, vbo).bytes((long) data.length * Float.BYTES);
         GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vbo);
-        FloatBuffer floatBuffer = rbStoreDataInBuffer(data);
-        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, floatBuffer, GL15.GL_STATIC_DRAW);
+        FloatBuffer floatBuffer = MemoryUtil.memAllocFloat(data.length);
+        try {
+            GL15.glBufferData(GL15.GL_ARRAY_BUFFER, floatBuffer.put(data).flip(), GL15.GL_STATIC_DRAW);
+        } finally {
+            MemoryUtil.memFree(floatBuffer);
+        }
         GL20.glVertexAttribPointer(number, size, GL11.GL_FLOAT, false, 0, 0);
+        GL20.glEnableVertexAttribArray(number);
         GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
     }
 
@@ -202,10 +322,14 @@ public abstract class WindowUtils {
      */
     public void rbBindIndicesBuffer(int[] indices) {
         int vbo = GL15.glGenBuffers();
-        engineView.getDataWatcher().glVbo(DataWatcher.DataScope.SCENE, vbo);
+        engineView.getDataWatcher().glVbo(DataWatcher.DataScope.SCENE, vbo).bytes((long) indices.length * Integer.BYTES);
         GL15.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, vbo);
-        IntBuffer intBuffer = rbStoreDataInBuffer(indices);
-        GL15.glBufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, intBuffer, GL15.GL_STATIC_DRAW);
+        IntBuffer intBuffer = MemoryUtil.memAllocInt(indices.length);
+        try {
+            GL15.glBufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, intBuffer.put(indices).flip(), GL15.GL_STATIC_DRAW);
+        } finally {
+            MemoryUtil.memFree(intBuffer);
+        }
     }
 
     /**
@@ -242,8 +366,18 @@ public abstract class WindowUtils {
      * @return ID of the new VAO
      */
     public int glCreateVAO() {
+        return glCreateVAO(DataWatcher.DataScope.SCENE);
+    }
+
+    /**
+     * GL: Create new VAO with OpenGL
+     *
+     * @param dataScope Scope the VAO is deleted with
+     * @return ID of the new VAO
+     */
+    public int glCreateVAO(DataWatcher.DataScope dataScope) {
         int vao = GL30.glGenVertexArrays();
-        engineView.getDataWatcher().glVao(DataWatcher.DataScope.SCENE, vao);
+        engineView.getDataWatcher().glVao(dataScope, vao);
         GL30.glBindVertexArray(vao);
         return vao;
     }
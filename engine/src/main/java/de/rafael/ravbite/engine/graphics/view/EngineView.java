@@ -38,12 +38,17 @@ package de.rafael.ravbite.engine.graphics.view;
 //
 //------------------------------
 
+import de.rafael.ravbite.engine.assets.AssetStreamer;
+import de.rafael.ravbite.engine.assets.ResourceCache;
 import de.rafael.ravbite.engine.graphics.components.camera.CameraComponent;
+import de.rafael.ravbite.engine.graphics.models.MeshCache;
+import de.rafael.ravbite.engine.graphics.objects.game.material.standard.Material;
 import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
 import de.rafael.ravbite.engine.graphics.shader.AbstractShader;
 import de.rafael.ravbite.engine.graphics.shader.standard.StandardShader;
 import de.rafael.ravbite.engine.graphics.utils.DataWatcher;
 import de.rafael.ravbite.engine.graphics.utils.TextureRenderer;
+import de.rafael.ravbite.engine.graphics.view.clock.FixedTimestep;
 import de.rafael.ravbite.engine.graphics.view.executor.ThreadExecutor;
 import de.rafael.ravbite.engine.input.InputSystem;
 import de.rafael.ravbite.engine.sound.SoundSystem;
@@ -54,6 +59,7 @@ import de.rafael.ravbite.utils.performance.EngineWatcher;
 import de.rafael.ravbite.utils.performance.TasksType;
 import org.lwjgl.opengl.GL11;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
 
@@ -77,14 +83,35 @@ public abstract class EngineView {
     private DebugWindow debugWindow;
     private long startTime = 0;
 
+    private long frameCount = 0;
     private long frameTime = 0;
+    private long frameTimeNanos = 0;
     private float deltaTime = 0;
 
+    private final FixedTimestep fixedTimestep = new FixedTimestep();
+    private long lastFrameStart = 0;
+    private int fixedUpdateSteps = 0;
+
+    private int uniformUploads = 0;
+    private int skippedUploads = 0;
+
     private int defaultTexture = 0;
+    private Material defaultMaterial;
 
     private final DataWatcher dataWatcher = new DataWatcher();
 
+    // Relative to the working directory
+    private MeshCache meshCache = new MeshCache(new File("cache", "meshes"));
+
     private final EngineWatcher engineWatcher = new EngineWatcher();
+    private final AssetStreamer assetStreamer = new AssetStreamer(this);
+    private final ResourceCache resourceCache = new ResourceCache(this);
+
+    // Created once so the frame loop doesn't allocate a new method reference every frame
+    private final Runnable fixedUpdateTask = this::runFixedUpdates;
+    private final Runnable renderTask = this::render;
+    private final Runnable stackTasksTask;
+    private final Runnable uploadTask = assetStreamer::processUploads;
     private final RavbiteUtils ravbiteUtils;
     private final ThreadExecutor threadExecutor;
 
@@ -99,6 +126,7 @@ public abstract class EngineView {
 
         this.ravbiteUtils = RavbiteUtils.use(this);
         this.threadExecutor = new ThreadExecutor();
+        this.stackTasksTask = threadExecutor::executeAllTasksInStack;
     }
 
     /**
@@ -109,6 +137,14 @@ public abstract class EngineView {
         this.inputSystem = inputSystem;
     }
 
+    /**
+     * Sets the cache imported models are stored in
+     * @param meshCache MeshCache or null to always import models with Assimp
+     */
+    public void meshCache(MeshCache meshCache) {
+        this.meshCache = meshCache;
+    }
+
     /**
      * Initializes the engine
      */
@@ -145,14 +181,28 @@ public abstract class EngineView {
      * Starts the frameRender process
      */
     public void startFrame() {
-        frameStart = System.currentTimeMillis();
+        frameStart = System.nanoTime();
+        if(lastFrameStart != 0) {
+            fixedUpdateSteps = fixedTimestep.advance(frameStart - lastFrameStart);
+        }
+        lastFrameStart = frameStart;
+        frameCount++;
+
+        uniformUploads = 0;
+        skippedUploads = 0;
+        for (AbstractShader abstractShader : abstractShaders) {
+            uniformUploads += abstractShader.getUniformUploads();
+            skippedUploads += abstractShader.getSkippedUploads();
+            abstractShader.resetStatistics();
+        }
     }
 
     /**
      * Renders the frame
      */
     public void renderFrame() {
-        engineWatcher.update(TasksType.LOOP_SCENE_RENDER_ALL, this::render);
+        engineWatcher.update(TasksType.LOOP_FIXED_UPDATE, fixedUpdateTask);
+        engineWatcher.update(TasksType.LOOP_SCENE_RENDER_ALL, renderTask);
 
         // Postprocessing
     }
@@ -162,11 +212,14 @@ public abstract class EngineView {
      */
     public void endFrame() {
         // Execute all tasks stored in the stack
-        engineWatcher.update(TasksType.LOOP_STACK_TASKS, threadExecutor::executeAllTasksInStack);
+        engineWatcher.update(TasksType.LOOP_STACK_TASKS, stackTasksTask);
+        // Upload streamed assets within the budget of the AssetStreamer
+        engineWatcher.update(TasksType.LOOP_ASSET_UPLOADS, uploadTask);
 
-        long frameEnd = System.currentTimeMillis();
-        frameTime = frameEnd - frameStart;
-        deltaTime = frameTime / 1000f;
+        long frameEnd = System.nanoTime();
+        frameTimeNanos = frameEnd - frameStart;
+        frameTime = frameTimeNanos / 1_000_000L;
+        deltaTime = frameTimeNanos / 1e9f;
     }
 
     /**
@@ -176,15 +229,24 @@ public abstract class EngineView {
         // TODO: Dispose everything used in this view
         // TODO: Dispose also static loaded textures
 
+        assetStreamer.shutdown();
+        // The renderer detaches its shaders before the VIEW scope deletes them
+        this.textureRenderer.destroy();
         dataWatcher.rbCleanUp(DataWatcher.DataScope.SCENE);
         dataWatcher.rbCleanUp(DataWatcher.DataScope.VIEW);
+        dataWatcher.rbCleanUp(DataWatcher.DataScope.CACHE);
 
         for (AbstractShader abstractShader : abstractShaders) {
             abstractShader.dispose();
         }
 
+        for (Scene scene : scenes) {
+            if(scene.getTransformStorage() != null) scene.getTransformStorage().free();
+            scene.disableParallelUpdates();
+            scene.disablePhysics();
+        }
+
         this.soundSystem.destroy();
-        this.textureRenderer.destroy();
     }
 
     /**
@@ -196,7 +258,9 @@ public abstract class EngineView {
      * Initializes all Shaders
      */
     public void prepareShaders() {
-        addShader(new StandardShader(this));
+        StandardShader standardShader = new StandardShader(this);
+        addShader(standardShader);
+        addShader(standardShader.getInstancedShader());
     }
 
     /**
@@ -222,11 +286,21 @@ public abstract class EngineView {
         scenes[currentScene].update();
     }
 
+    /**
+     * Runs the fixed updates that are due this frame
+     */
+    private void runFixedUpdates() {
+        for (int i = 0; i < fixedUpdateSteps; i++) {
+            fixedUpdate();
+        }
+        fixedUpdateSteps = 0;
+    }
+
     /**
      * Called every fixed update(Physics)
      */
     public void fixedUpdate() {
-        // TODO: Implement
+        scenes[currentScene].fixedUpdate();
     }
 
     /**
@@ -296,11 +370,18 @@ public abstract class EngineView {
 
         // Cleanup old scene
         scenes[currentScene].dispose();
+        // Cached resources that the next scene uses again are not reloaded
+        resourceCache.releaseSceneHandles();
         dataWatcher.rbCleanUp(DataWatcher.DataScope.SCENE);
 
         // Prepare a new scene
         currentScene = index;
         scenes[currentScene].prepare();
+        scenes[currentScene].batchStaticGeometry();
+
+        // Loading the scene should not be simulated afterwards
+        fixedTimestep.reset();
+        lastFrameStart = 0;
         return old;
     }
 
@@ -393,6 +474,27 @@ public abstract class EngineView {
         return startTime;
     }
 
+    /**
+     * @return Number of started frames
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return glUniform calls of all shaders in the last frame
+     */
+    public int getUniformUploads() {
+        return uniformUploads;
+    }
+
+    /**
+     * @return Uniform loads of all shaders that were skipped in the last frame because the value didn't change
+     */
+    public int getSkippedUploads() {
+        return skippedUploads;
+    }
+
     /**
      * @return Last renderTime
      */
@@ -400,6 +502,13 @@ public abstract class EngineView {
         return frameTime;
     }
 
+    /**
+     * @return Last renderTime in nanoseconds
+     */
+    public long getFrameTimeNanos() {
+        return frameTimeNanos;
+    }
+
     /**
      * @return Last renderTime in seconds
      */
@@ -407,6 +516,27 @@ public abstract class EngineView {
         return deltaTime;
     }
 
+    /**
+     * @return Time between two fixed updates in seconds
+     */
+    public float getFixedDeltaTime() {
+        return fixedTimestep.getFixedDeltaTime();
+    }
+
+    /**
+     * @return How far the current frame is between the last two fixed updates(0 - 1)
+     */
+    public float getInterpolationAlpha() {
+        return fixedTimestep.getAlpha();
+    }
+
+    /**
+     * @return Clock that drives the fixed updates
+     */
+    public FixedTimestep getFixedTimestep() {
+        return fixedTimestep;
+    }
+
     /**
      * @return ID of defaultTexture
      */
@@ -414,6 +544,17 @@ public abstract class EngineView {
         return defaultTexture;
     }
 
+    /**
+     * Used for meshes without a material. Created when it is needed the first time
+     * @return Material with the StandardShader or null if no StandardShader is registered
+     */
+    public Material getDefaultMaterial() {
+        if(defaultMaterial == null && getIdOfShader(StandardShader.class) != null) {
+            defaultMaterial = new Material(this).create();
+        }
+        return defaultMaterial;
+    }
+
     /**
      * @return DataWatcher
      */
@@ -421,6 +562,27 @@ public abstract class EngineView {
         return dataWatcher;
     }
 
+    /**
+     * @return Cache of the imported models or null if it is disabled
+     */
+    public MeshCache getMeshCache() {
+        return meshCache;
+    }
+
+    /**
+     * @return Loads textures, sounds and models on background threads and uploads them within a budget per frame
+     */
+    public AssetStreamer getAssetStreamer() {
+        return assetStreamer;
+    }
+
+    /**
+     * @return Shared textures, sounds and models that are kept across scene changes while they are referenced
+     */
+    public ResourceCache getResourceCache() {
+        return resourceCache;
+    }
+
     /**
      * @return Utils instance
      */
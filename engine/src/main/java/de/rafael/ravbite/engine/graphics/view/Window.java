@@ -182,52 +182,61 @@ public abstract class Window extends EngineView {
 
     /**
      * Starts the gameLoop
+     * In the steady state the loop doesn't allocate on the render thread as long as parallel updates, physics and debug windows are disabled
      */
     public void loop() {
         // Run the rendering loop until the user has attempted to close
         // the window or has pressed the ESCAPE key.
         final long[] nextDebugUpdate = {0, 0};
+
+        // The tasks are created once because capturing lambdas allocate every time they are evaluated
+        Runnable clearTask = () -> glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
+        Runnable inputTask = () -> super.getInputSystem().getMouse().update();
+        Runnable swapTask = () -> glfwSwapBuffers(getWindow());
+        Runnable pollTask = org.lwjgl.glfw.GLFW::glfwPollEvents;
+        Runnable debugTask = () -> {
+            if(super.getDebugWindow() != null) {
+                super.getDebugWindow().updateGameObjects();
+                super.getDebugWindow().updatePerformanceTable();
+            }
+            if(nextDebugUpdate[0] < System.currentTimeMillis()) {
+                nextDebugUpdate[0] = System.currentTimeMillis() + 500;
+                if(DEBUG_MODE) {
+                    try {
+                        glfwSetWindowTitle(getWindow(), "Ravbite Engine[" + super.getWidth() + "x" + super.getHeight() + "] | " + (int) (1000 / super.getFrameTime()) + " fps / " + super.getFrameTime() + " ms / delta: " + super.getDeltaTime() + " sec / running: " + (System.currentTimeMillis() - super.getStartTime()) + " ms");
+                    } catch (ArithmeticException ignored) {
+
+                    }
+                }
+            }
+            if(nextDebugUpdate[1] < System.currentTimeMillis()) {
+                nextDebugUpdate[1] = System.currentTimeMillis() + 1000 * 10;
+                if(DEBUG_MODE) {
+                    super.getEngineWatcher().clearMax();
+                }
+            }
+        };
+
         while(!glfwWindowShouldClose(getWindow())) {
             super.startFrame();
 
-            super.getEngineWatcher().update(TasksType.LOOP_CLEAR_BUFFERS, () -> glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT)); // clear the framebuffer
-            if(super.getInputSystem() != null) super.getEngineWatcher().update(TasksType.LOOP_INPUT_UPDATE, () -> super.getInputSystem().getMouse().update());
+            super.getEngineWatcher().update(TasksType.LOOP_CLEAR_BUFFERS, clearTask); // clear the framebuffer
+            if(super.getInputSystem() != null) super.getEngineWatcher().update(TasksType.LOOP_INPUT_UPDATE, inputTask);
 
             super.renderFrame();
 
             // TODO: Render result to screen
 
-            super.getEngineWatcher().update(TasksType.LOOP_SWAP_BUFFERS, () -> glfwSwapBuffers(getWindow())); // swap the color buffers
+            super.getEngineWatcher().update(TasksType.LOOP_SWAP_BUFFERS, swapTask); // swap the color buffers
 
             // Poll for window events.
             // The key callback above will only be
             // invoked during this call.
-            super.getEngineWatcher().update(TasksType.LOOP_POLL_EVENTS, org.lwjgl.glfw.GLFW::glfwPollEvents);
+            super.getEngineWatcher().update(TasksType.LOOP_POLL_EVENTS, pollTask);
 
             super.endFrame();
 
-            super.getEngineWatcher().update(TasksType.LOOP_DEBUG_WINDOWS, () -> {
-                if(super.getDebugWindow() != null) {
-                    super.getDebugWindow().updateGameObjects();
-                    super.getDebugWindow().updatePerformanceTable();
-                }
-                if(nextDebugUpdate[0] < System.currentTimeMillis()) {
-                    nextDebugUpdate[0] = System.currentTimeMillis() + 500;
-                    if(DEBUG_MODE) {
-                        try {
-                            glfwSetWindowTitle(getWindow(), "Ravbite Engine[" + super.getWidth() + "x" + super.getHeight() + "] | " + (int) (1000 / super.getFrameTime()) + " fps / " + super.getFrameTime() + " ms / delta: " + super.getDeltaTime() + " sec / running: " + (System.currentTimeMillis() - super.getStartTime()) + " ms");
-                        } catch (ArithmeticException ignored) {
-
-                        }
-                    }
-                }
-                if(nextDebugUpdate[1] < System.currentTimeMillis()) {
-                    nextDebugUpdate[1] = System.currentTimeMillis() + 1000 * 10;
-                    if(DEBUG_MODE) {
-                        super.getEngineWatcher().clearMax();
-                    }
-                }
-            });
+            super.getEngineWatcher().update(TasksType.LOOP_DEBUG_WINDOWS, debugTask);
         }
     }
 
@@ -305,14 +314,22 @@ public abstract class Window extends EngineView {
      * @return Width of the window
      */
     public int getWindowWidth() {
-        return getWindowSize()[0].get();
+        try(MemoryStack stack = stackPush()) {
+            IntBuffer width = stack.mallocInt(1);
+            glfwGetWindowSize(window, width, null);
+            return width.get(0);
+        }
     }
 
     /**
      * @return Height of the window
      */
     public int getWindowHeight() {
-        return getWindowSize()[1].get();
+        try(MemoryStack stack = stackPush()) {
+            IntBuffer height = stack.mallocInt(1);
+            glfwGetWindowSize(window, null, height);
+            return height.get(0);
+        }
     }
 
     /**
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.view.clock;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 8:20 PM
+// In the project Ravbite
+//
+//------------------------------
+
+public class FixedTimestep {
+
+    public static final int DEFAULT_RATE = 60;
+    public static final int DEFAULT_MAX_STEPS = 5;
+
+    private long stepNanos;
+    private int maxSteps;
+
+    private long accumulator = 0;
+    private long droppedNanos = 0;
+
+    /**
+     * @param rate Fixed updates per second
+     * @param maxSteps Max amount of fixed updates per frame. Time above that is dropped to prevent a spiral of death
+     */
+    public FixedTimestep(int rate, int maxSteps) {
+        setRate(rate);
+        setMaxSteps(maxSteps);
+    }
+
+    public FixedTimestep() {
+        this(DEFAULT_RATE, DEFAULT_MAX_STEPS);
+    }
+
+    /**
+     * Adds the elapsed time of the last frame and consumes it in fixed steps
+     * @param elapsedNanos Elapsed time in nanoseconds
+     * @return Amount of fixed updates to run this frame
+     */
+    public int advance(long elapsedNanos) {
+        accumulator += Math.max(0, elapsedNanos);
+        long steps = accumulator / stepNanos;
+        if(steps > maxSteps) {
+            // Drop the time we cannot catch up with
+            long dropped = (steps - maxSteps) * stepNanos;
+            droppedNanos += dropped;
+            accumulator -= dropped;
+            steps = maxSteps;
+        }
+        accumulator -= steps * stepNanos;
+        return (int) steps;
+    }
+
+    /**
+     * Clears the accumulated time
+     */
+    public void reset() {
+        accumulator = 0;
+    }
+
+    /**
+     * @return How far the current frame is between the last two fixed updates(0 - 1)
+     */
+    public float getAlpha() {
+        return (float) ((double) accumulator / stepNanos);
+    }
+
+    /**
+     * @return Time of one fixed update in seconds
+     */
+    public float getFixedDeltaTime() {
+        return stepNanos / 1e9f;
+    }
+
+    /**
+     * @return Time of one fixed update in nanoseconds
+     */
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    /**
+     * @return Total time dropped by the spiral of death clamp in nanoseconds
+     */
+    public long getDroppedNanos() {
+        return droppedNanos;
+    }
+
+    /**
+     * @param rate Fixed updates per second
+     */
+    public void setRate(int rate) {
+        if(rate <= 0) throw new IllegalArgumentException("Rate has to be positive");
+        this.stepNanos = 1_000_000_000L / rate;
+    }
+
+    /**
+     * @return Fixed updates per second
+     */
+    public int getRate() {
+        return (int) (1_000_000_000L / stepNanos);
+    }
+
+    /**
+     * @param maxSteps Max amount of fixed updates per frame
+     */
+    public void setMaxSteps(int maxSteps) {
+        this.maxSteps = Math.max(1, maxSteps);
+    }
+
+    /**
+     * @return Max amount of fixed updates per frame
+     */
+    public int getMaxSteps() {
+        return maxSteps;
+    }
+
+}
@@ -40,10 +40,11 @@ package de.rafael.ravbite.engine.input.mouse;
 import de.rafael.ravbite.engine.input.InputSystem;
 import de.rafael.ravbite.engine.input.callbacks.KeyCallback;
 import de.rafael.ravbite.engine.input.mouse.state.MouseState;
-import org.lwjgl.BufferUtils;
 import org.lwjgl.glfw.GLFW;
+import org.lwjgl.system.MemoryStack;
 
 import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -84,24 +85,26 @@ public class Mouse {
      * Called every frame
      */
     public void update() {
-        double windowWidth = getInputSystem().getWindow().getWindowWidth();
-        double windowHeight = getInputSystem().getWindow().getWindowHeight();
-
-        DoubleBuffer x = BufferUtils.createDoubleBuffer(1);
-        DoubleBuffer y = BufferUtils.createDoubleBuffer(1);
-
-        GLFW.glfwGetCursorPos(this.inputSystem.getWindow().getWindow(), x, y);
-        x.rewind();
-        y.rewind();
-
-        this.mouseX = x.get();
-        this.mouseY = y.get();
-
-        if (mouseState[0] == MouseState.LOCKED || mouseState[0] == MouseState.LOCKED_HIDDEN) {
-            // Calculate delta
-            this.deltaX = this.mouseX - (windowWidth / 2);
-            this.deltaY = this.mouseY - (windowHeight / 2);
-            GLFW.glfwSetCursorPos(this.inputSystem.getWindow().getWindow(), windowWidth / 2, windowHeight / 2);
+        long window = this.inputSystem.getWindow().getWindow();
+        try(MemoryStack stack = MemoryStack.stackPush()) {
+            DoubleBuffer x = stack.mallocDouble(1);
+            DoubleBuffer y = stack.mallocDouble(1);
+            GLFW.glfwGetCursorPos(window, x, y);
+            this.mouseX = x.get(0);
+            this.mouseY = y.get(0);
+
+            if (mouseState[0] == MouseState.LOCKED || mouseState[0] == MouseState.LOCKED_HIDDEN) {
+                IntBuffer width = stack.mallocInt(1);
+                IntBuffer height = stack.mallocInt(1);
+                GLFW.glfwGetWindowSize(window, width, height);
+                double windowWidth = width.get(0);
+                double windowHeight = height.get(0);
+
+                // Calculate delta
+                this.deltaX = this.mouseX - (windowWidth / 2);
+                this.deltaY = this.mouseY - (windowHeight / 2);
+                GLFW.glfwSetCursorPos(window, windowWidth / 2, windowHeight / 2);
+            }
         }
     }
 
@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.physics;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 9:35 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import com.bulletphysics.collision.broadphase.DbvtBroadphase;
+import com.bulletphysics.collision.dispatch.CollisionDispatcher;
+import com.bulletphysics.collision.dispatch.CollisionFlags;
+import com.bulletphysics.collision.dispatch.CollisionObject;
+import com.bulletphysics.collision.dispatch.DefaultCollisionConfiguration;
+import com.bulletphysics.collision.shapes.CollisionShape;
+import com.bulletphysics.dynamics.DiscreteDynamicsWorld;
+import com.bulletphysics.dynamics.RigidBody;
+import com.bulletphysics.dynamics.RigidBodyConstructionInfo;
+import com.bulletphysics.dynamics.constraintsolver.SequentialImpulseConstraintSolver;
+import com.bulletphysics.linearmath.DefaultMotionState;
+import com.bulletphysics.linearmath.Transform;
+import de.rafael.ravbite.engine.graphics.components.classes.Component;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.scene.callbacks.SceneCallback;
+import de.rafael.ravbite.engine.physics.components.RigidbodyComponent;
+import de.rafael.ravbite.engine.physics.components.collider.ColliderComponent;
+import de.rafael.ravbite.utils.performance.EngineWatcher;
+import de.rafael.ravbite.utils.performance.TasksType;
+import org.joml.Matrix4f;
+import org.joml.Quaternionf;
+
+import javax.vecmath.Quat4f;
+import javax.vecmath.Vector3f;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class PhysicsWorld extends SceneCallback {
+
+    // Position(3), rotation(4) and velocity(3)
+    private static final int RESULT_SIZE = 10;
+
+    private final EngineWatcher engineWatcher;
+    private final DiscreteDynamicsWorld dynamicsWorld;
+    private final ExecutorService executor;
+    private Future<?> step;
+
+    private final IdentityHashMap<GameObject, RigidBody> bodies = new IdentityHashMap<>();
+    private final IdentityHashMap<GameObject, RigidbodyComponent> syncedBodies = new IdentityHashMap<>();
+    private RigidbodyComponent[] rigidbodies = new RigidbodyComponent[64];
+    private float[] results = new float[64 * RESULT_SIZE];
+    private boolean[] moved = new boolean[64];
+    private int size = 0;
+
+    private final Set<GameObject> pendingObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    // Only used by the physics thread
+    private final Transform stepTransform = new Transform();
+    // Written by the physics thread and read after the step was joined
+    private long stepTime = 0;
+    private final Quat4f stepRotation = new Quat4f();
+    private final Vector3f stepVelocity = new Vector3f();
+
+    private final Matrix4f tempMatrix = new Matrix4f();
+    private final Quaternionf tempRotation = new Quaternionf();
+
+    public PhysicsWorld(EngineWatcher engineWatcher) {
+        this.engineWatcher = engineWatcher;
+
+        DefaultCollisionConfiguration collisionConfiguration = new DefaultCollisionConfiguration();
+        // The dynamic AABB tree handles thousands of moving bodies
+        this.dynamicsWorld = new DiscreteDynamicsWorld(new CollisionDispatcher(collisionConfiguration), new DbvtBroadphase(), new SequentialImpulseConstraintSolver(), collisionConfiguration);
+        this.dynamicsWorld.setGravity(new Vector3f(0, -9.81f, 0));
+
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Ravbite-Physics");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Finishes the last step, applies all changes and starts the next step on the physics thread
+     * The step runs while the frame is rendered and the result is written into the transforms at the next fixed update
+     * @param fixedDeltaTime Time of one step in seconds
+     */
+    public void fixedUpdate(float fixedDeltaTime) {
+        finishStep();
+        applyPendingObjects();
+        synchronized (tasks) {
+            for (Runnable task : tasks) {
+                task.run();
+            }
+            tasks.clear();
+        }
+        pushKinematicBodies();
+
+        step = executor.submit(() -> {
+            long start = System.nanoTime();
+            dynamicsWorld.stepSimulation(fixedDeltaTime, 0, fixedDeltaTime);
+            collectResults();
+            stepTime = System.nanoTime() - start;
+        });
+    }
+
+    /**
+     * Waits for the running step and writes the results into the transforms
+     */
+    public void finishStep() {
+        if(step == null) return;
+        try {
+            step.get();
+            // The EngineWatcher is not thread-safe, so the time is published on this thread
+            engineWatcher.record(TasksType.PHYSICS_STEP, stepTime);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("Physics step failed", exception.getCause());
+        } finally {
+            step = null;
+        }
+
+        // Write all results in one pass
+        for (int i = 0; i < size; i++) {
+            if(moved[i]) {
+                rigidbodies[i].applyResult(results, i * RESULT_SIZE, tempMatrix, tempRotation);
+            }
+        }
+    }
+
+    /**
+     * Runs a task on the render thread before the next step. Used to change bodies safely
+     * Can be called from any thread
+     * @param task Task
+     */
+    public void schedule(Runnable task) {
+        synchronized (tasks) {
+            tasks.add(task);
+        }
+    }
+
+    /**
+     * Sets the gravity of the world
+     * @param gravity Gravity
+     */
+    public void setGravity(org.joml.Vector3f gravity) {
+        Vector3f value = new Vector3f(gravity.x, gravity.y, gravity.z);
+        schedule(() -> dynamicsWorld.setGravity(value));
+    }
+
+    /**
+     * Runs on the physics thread after a step
+     */
+    private void collectResults() {
+        for (int i = 0; i < size; i++) {
+            RigidBody body = rigidbodies[i].getBody();
+            // Sleeping bodies did not move
+            moved[i] = !rigidbodies[i].kinematic && body.isActive();
+            if(!moved[i]) continue;
+
+            // The motion state is extrapolated by another step if the step has no substeps, the body holds the simulated transform
+            body.getWorldTransform(stepTransform);
+            stepTransform.getRotation(stepRotation);
+            body.getLinearVelocity(stepVelocity);
+            int offset = i * RESULT_SIZE;
+            results[offset] = stepTransform.origin.x;
+            results[offset + 1] = stepTransform.origin.y;
+            results[offset + 2] = stepTransform.origin.z;
+            results[offset + 3] = stepRotation.x;
+            results[offset + 4] = stepRotation.y;
+            results[offset + 5] = stepRotation.z;
+            results[offset + 6] = stepRotation.w;
+            results[offset + 7] = stepVelocity.x;
+            results[offset + 8] = stepVelocity.y;
+            results[offset + 9] = stepVelocity.z;
+        }
+    }
+
+    /**
+     * Moves kinematic bodies to their transforms
+     */
+    private void pushKinematicBodies() {
+        for (int i = 0; i < size; i++) {
+            RigidbodyComponent rigidbody = rigidbodies[i];
+            if(rigidbody.kinematic) {
+                rigidbody.getBody().getMotionState().setWorldTransform(toBulletTransform(rigidbody.getGameObject()));
+            }
+        }
+    }
+
+    /**
+     * Adds, removes or rebuilds all bodies of changed GameObjects
+     */
+    private void applyPendingObjects() {
+        if(pendingObjects.isEmpty()) return;
+        for (GameObject gameObject : pendingObjects) {
+            removeBody(gameObject);
+            if(gameObject.isInScene()) addBody(gameObject);
+        }
+        pendingObjects.clear();
+    }
+
+    private void addBody(GameObject gameObject) {
+        ColliderComponent collider = gameObject.getComponent(ColliderComponent.class);
+        if(collider == null) return;
+        RigidbodyComponent rigidbody = gameObject.getComponent(RigidbodyComponent.class);
+        if(rigidbody != null && !rigidbody.isEnabled()) rigidbody = null;
+
+        CollisionShape shape = collider.createShape();
+        org.joml.Vector3f scale = gameObject.getTransform().getWorldTransform().scale;
+        shape.setLocalScaling(new Vector3f(scale.x, scale.y, scale.z));
+
+        boolean dynamic = rigidbody != null && !rigidbody.kinematic && rigidbody.mass > 0;
+        if(dynamic && !collider.isDynamicShape()) {
+            throw new IllegalStateException("GameObject " + gameObject.getName() + " uses a static only collider on a dynamic rigidbody");
+        }
+
+        float mass = dynamic ? rigidbody.mass : 0f;
+        Vector3f inertia = new Vector3f(0, 0, 0);
+        if(dynamic) shape.calculateLocalInertia(mass, inertia);
+
+        RigidBodyConstructionInfo info = new RigidBodyConstructionInfo(mass, new DefaultMotionState(toBulletTransform(gameObject)), shape, inertia);
+        info.friction = collider.friction;
+        info.restitution = collider.restitution;
+        if(rigidbody != null) {
+            info.linearDamping = rigidbody.linearDamping;
+            info.angularDamping = rigidbody.angularDamping;
+        }
+        RigidBody body = new RigidBody(info);
+        body.setUserPointer(gameObject);
+        if(rigidbody != null && rigidbody.kinematic) {
+            body.setCollisionFlags(body.getCollisionFlags() | CollisionFlags.KINEMATIC_OBJECT);
+            body.setActivationState(CollisionObject.DISABLE_DEACTIVATION);
+        }
+
+        dynamicsWorld.addRigidBody(body);
+        bodies.put(gameObject, body);
+        if(rigidbody != null) {
+            if(size == rigidbodies.length) grow();
+            rigidbodies[size] = rigidbody;
+            rigidbody.bindBody(body, size);
+            syncedBodies.put(gameObject, rigidbody);
+            size++;
+        }
+    }
+
+    private void removeBody(GameObject gameObject) {
+        RigidBody body = bodies.remove(gameObject);
+        if(body == null) return;
+        dynamicsWorld.removeRigidBody(body);
+
+        RigidbodyComponent rigidbody = syncedBodies.remove(gameObject);
+        if(rigidbody == null) return;
+        int slot = rigidbody.getSlot();
+        rigidbody.bindBody(null, -1);
+        // Swap with the last rigidbody to keep the array dense
+        size--;
+        if(slot != size) {
+            rigidbodies[slot] = rigidbodies[size];
+            rigidbodies[slot].bindBody(rigidbodies[slot].getBody(), slot);
+        }
+        rigidbodies[size] = null;
+    }
+
+    private void grow() {
+        int capacity = rigidbodies.length * 2;
+        rigidbodies = Arrays.copyOf(rigidbodies, capacity);
+        results = new float[capacity * RESULT_SIZE];
+        moved = new boolean[capacity];
+    }
+
+    /**
+     * @param gameObject GameObject
+     * @return Transform of the GameObject in world space without scale
+     */
+    public Transform toBulletTransform(GameObject gameObject) {
+        de.rafael.ravbite.engine.graphics.components.transform.Transform worldTransform = gameObject.getTransform().getWorldTransform();
+        Quaternionf rotation = worldTransform.rotation;
+
+        Transform transform = new Transform();
+        transform.setIdentity();
+        transform.origin.set(worldTransform.position.x, worldTransform.position.y, worldTransform.position.z);
+        transform.setRotation(new Quat4f(rotation.x, rotation.y, rotation.z, rotation.w));
+        return transform;
+    }
+
+    /**
+     * Waits for the running step and removes all bodies
+     */
+    public void dispose() {
+        finishStep();
+        for (GameObject gameObject : new ArrayList<>(bodies.keySet())) {
+            removeBody(gameObject);
+        }
+        executor.shutdown();
+    }
+
+    @Override
+    public void objectAdded(GameObject gameObject) {
+        pendingObjects.add(gameObject);
+    }
+
+    @Override
+    public void objectRemoved(GameObject gameObject) {
+        pendingObjects.add(gameObject);
+    }
+
+    @Override
+    public void componentAdded(GameObject gameObject, Component component) {
+        if(component instanceof ColliderComponent || component instanceof RigidbodyComponent) {
+            pendingObjects.add(gameObject);
+        }
+    }
+
+    @Override
+    public void componentRemoved(GameObject gameObject, Component component) {
+        if(component instanceof ColliderComponent || component instanceof RigidbodyComponent) {
+            pendingObjects.add(gameObject);
+        }
+    }
+
+    /**
+     * @return Amount of bodies in the simulation
+     */
+    public int getBodyCount() {
+        return bodies.size();
+    }
+
+    /**
+     * @return Amount of rigidbodies whose results are synced into transforms
+     */
+    public int getRigidbodyCount() {
+        return size;
+    }
+
+    /**
+     * Only safe to use while no step is running
+     * @return Bullet world
+     */
+    public DiscreteDynamicsWorld getDynamicsWorld() {
+        return dynamicsWorld;
+    }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.physics.components;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 9:20 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import com.bulletphysics.dynamics.RigidBody;
+import de.rafael.ravbite.engine.graphics.components.classes.Component;
+import de.rafael.ravbite.engine.graphics.components.transform.Transform;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.physics.PhysicsWorld;
+import org.joml.Matrix4f;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+import java.util.function.Consumer;
+
+public class RigidbodyComponent extends Component {
+
+    public float mass = 1f;
+    public boolean kinematic = false;
+    public float linearDamping = 0f;
+    public float angularDamping = 0.05f;
+
+    private RigidBody body;
+    private int slot = -1;
+
+    public RigidbodyComponent() {
+
+    }
+
+    public RigidbodyComponent(float mass) {
+        this.mass = mass;
+    }
+
+    /**
+     * Sets the mass of the rigidbody. A mass of 0 makes the body static
+     * @param mass Mass
+     * @return RigidbodyComponent
+     */
+    public RigidbodyComponent mass(float mass) {
+        this.mass = mass;
+        return this;
+    }
+
+    /**
+     * Kinematic rigidbodies are moved by the transform and not by the simulation
+     * @return RigidbodyComponent
+     */
+    public RigidbodyComponent kinematic() {
+        this.kinematic = true;
+        return this;
+    }
+
+    /**
+     * Sets the damping of the rigidbody
+     * @param linearDamping Linear damping
+     * @param angularDamping Angular damping
+     * @return RigidbodyComponent
+     */
+    public RigidbodyComponent damping(float linearDamping, float angularDamping) {
+        this.linearDamping = linearDamping;
+        this.angularDamping = angularDamping;
+        return this;
+    }
+
+    /**
+     * Applies an impulse before the next simulation step
+     * @param impulse Impulse
+     */
+    public void applyImpulse(Vector3f impulse) {
+        javax.vecmath.Vector3f value = new javax.vecmath.Vector3f(impulse.x, impulse.y, impulse.z);
+        schedule(body -> {
+            body.activate();
+            body.applyCentralImpulse(value);
+        });
+    }
+
+    /**
+     * Sets the velocity before the next simulation step
+     * @param velocity New velocity
+     */
+    public void setVelocity(Vector3f velocity) {
+        javax.vecmath.Vector3f value = new javax.vecmath.Vector3f(velocity.x, velocity.y, velocity.z);
+        schedule(body -> {
+            body.activate();
+            body.setLinearVelocity(value);
+        });
+    }
+
+    /**
+     * Moves the rigidbody to the current transform before the next simulation step
+     * Needed if a non-kinematic rigidbody is moved by changing the transform
+     */
+    public void teleport() {
+        schedule(body -> {
+            body.setCenterOfMassTransform(getPhysicsWorld().toBulletTransform(getGameObject()));
+            body.activate();
+        });
+    }
+
+    private void schedule(Consumer<RigidBody> task) {
+        PhysicsWorld physicsWorld = getPhysicsWorld();
+        if(physicsWorld == null) return;
+        physicsWorld.schedule(() -> {
+            if(body != null) task.accept(body);
+        });
+    }
+
+    /**
+     * Writes the result of a simulation step into the transform
+     * Only used by the PhysicsWorld
+     * @param results Packed position(3), rotation(4) and velocity(3) of all rigidbodies
+     * @param offset Offset of this rigidbody
+     * @param temp Temporary matrix
+     * @param tempRotation Temporary rotation
+     */
+    public void applyResult(float[] results, int offset, Matrix4f temp, Quaternionf tempRotation) {
+        GameObject gameObject = getGameObject();
+        Transform transform = gameObject.getTransform();
+        GameObject parentObject = gameObject.getParentObject();
+        if(parentObject == null || parentObject == gameObject.getScene().getSceneObject()) {
+            transform.position.set(results[offset], results[offset + 1], results[offset + 2]);
+            transform.rotation.set(results[offset + 3], results[offset + 4], results[offset + 5], results[offset + 6]);
+        } else {
+            // The simulation works in world space
+            tempRotation.set(results[offset + 3], results[offset + 4], results[offset + 5], results[offset + 6]);
+            parentObject.getTransform().getWorldMatrix().invertAffine(temp)
+                    .translate(results[offset], results[offset + 1], results[offset + 2])
+                    .rotate(tempRotation);
+            temp.getTranslation(transform.position);
+            temp.getNormalizedRotation(transform.rotation);
+        }
+        transform.velocity.set(results[offset + 7], results[offset + 8], results[offset + 9]);
+        transform.markDirty();
+    }
+
+    /**
+     * Only used by the PhysicsWorld
+     * @param body Body in the simulation or null
+     * @param slot Slot in the PhysicsWorld
+     */
+    public void bindBody(RigidBody body, int slot) {
+        this.body = body;
+        this.slot = slot;
+    }
+
+    /**
+     * Only safe to use in the PhysicsWorld or in a scheduled task
+     * @return Body in the simulation or null
+     */
+    public RigidBody getBody() {
+        return body;
+    }
+
+    /**
+     * @return Slot in the PhysicsWorld or -1
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    private PhysicsWorld getPhysicsWorld() {
+        GameObject gameObject = getGameObject();
+        return gameObject != null ? gameObject.getScene().getPhysicsWorld() : null;
+    }
+
+}
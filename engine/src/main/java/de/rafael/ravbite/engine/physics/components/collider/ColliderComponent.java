@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.physics.components.collider;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 9:05 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import com.bulletphysics.collision.shapes.CollisionShape;
+import de.rafael.ravbite.engine.graphics.components.classes.Component;
+
+public abstract class ColliderComponent extends Component {
+
+    public float friction = 0.5f;
+    public float restitution = 0f;
+
+    /**
+     * Creates the collision shape without the scale of the GameObject
+     * Called by the PhysicsWorld when the GameObject is added to the simulation
+     * @return New collision shape
+     */
+    public abstract CollisionShape createShape();
+
+    /**
+     * Sets the friction of the collider
+     * @param friction Friction
+     * @return ColliderComponent
+     */
+    public ColliderComponent friction(float friction) {
+        this.friction = friction;
+        return this;
+    }
+
+    /**
+     * Sets the bounciness of the collider
+     * @param restitution Restitution
+     * @return ColliderComponent
+     */
+    public ColliderComponent restitution(float restitution) {
+        this.restitution = restitution;
+        return this;
+    }
+
+    /**
+     * @return If the shape can be used by moving rigidbodies
+     */
+    public boolean isDynamicShape() {
+        return true;
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.physics.components.collider;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 9:10 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import com.bulletphysics.collision.shapes.BvhTriangleMeshShape;
+import com.bulletphysics.collision.shapes.CollisionShape;
+import com.bulletphysics.collision.shapes.ConvexHullShape;
+import com.bulletphysics.collision.shapes.TriangleIndexVertexArray;
+import com.bulletphysics.util.ObjectArrayList;
+import de.rafael.ravbite.engine.graphics.components.mesh.MeshComponent;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class MeshColliderComponent extends ColliderComponent {
+
+    private Mesh mesh;
+    private final boolean convex;
+
+    /**
+     * Uses the mesh of the MeshComponent
+     * @param convex If true a convex hull is used, otherwise the triangles of the mesh. Triangle meshes can only be static
+     */
+    public MeshColliderComponent(boolean convex) {
+        this(null, convex);
+    }
+
+    /**
+     * @param mesh Mesh to build the shape from including all subMeshes
+     * @param convex If true a convex hull is used, otherwise the triangles of the mesh. Triangle meshes can only be static
+     */
+    public MeshColliderComponent(Mesh mesh, boolean convex) {
+        this.mesh = mesh;
+        this.convex = convex;
+    }
+
+    @Override
+    public CollisionShape createShape() {
+        if(mesh == null) {
+            MeshComponent meshComponent = getGameObject().getComponent(MeshComponent.class);
+            if(meshComponent == null) throw new IllegalStateException("MeshColliderComponent on " + getGameObject().getName() + " has no mesh");
+            mesh = meshComponent.getMesh();
+        }
+        return convex ? createConvexShape() : createTriangleShape();
+    }
+
+    private CollisionShape createConvexShape() {
+        ObjectArrayList<javax.vecmath.Vector3f> points = new ObjectArrayList<>();
+        for (Mesh part : mesh.collectMeshes()) {
+            float[] vertices = part.getVertices();
+            if(vertices == null) continue;
+            for (int i = 0; i + 2 < vertices.length; i += 3) {
+                points.add(new javax.vecmath.Vector3f(vertices[i], vertices[i + 1], vertices[i + 2]));
+            }
+        }
+        return new ConvexHullShape(points);
+    }
+
+    private CollisionShape createTriangleShape() {
+        Mesh[] parts = mesh.collectMeshes();
+        int vertexCount = 0;
+        int indexCount = 0;
+        for (Mesh part : parts) {
+            if(part.getVertices() == null || part.getIndices() == null) continue;
+            vertexCount += part.getVertices().length / 3;
+            indexCount += part.getIndices().length;
+        }
+
+        ByteBuffer vertexBuffer = ByteBuffer.allocateDirect(vertexCount * 3 * Float.BYTES).order(ByteOrder.nativeOrder());
+        ByteBuffer indexBuffer = ByteBuffer.allocateDirect(indexCount * Integer.BYTES).order(ByteOrder.nativeOrder());
+        int vertexOffset = 0;
+        for (Mesh part : parts) {
+            if(part.getVertices() == null || part.getIndices() == null) continue;
+            for (float vertex : part.getVertices()) {
+                vertexBuffer.putFloat(vertex);
+            }
+            // Indices of subMeshes point into their own vertex array
+            for (int index : part.getIndices()) {
+                indexBuffer.putInt(vertexOffset + index);
+            }
+            vertexOffset += part.getVertices().length / 3;
+        }
+        vertexBuffer.flip();
+        indexBuffer.flip();
+
+        TriangleIndexVertexArray triangles = new TriangleIndexVertexArray(indexCount / 3, indexBuffer, 3 * Integer.BYTES, vertexCount, vertexBuffer, 3 * Float.BYTES);
+        return new BvhTriangleMeshShape(triangles, true);
+    }
+
+    @Override
+    public boolean isDynamicShape() {
+        return convex;
+    }
+
+    /**
+     * @return Mesh used by the collider or null if the mesh of the MeshComponent is used and the shape was not created yet
+     */
+    public Mesh getMesh() {
+        return mesh;
+    }
+
+    /**
+     * @return If the collider is a convex hull
+     */
+    public boolean isConvex() {
+        return convex;
+    }
+
+}
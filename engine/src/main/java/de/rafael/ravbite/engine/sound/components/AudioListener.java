@@ -49,6 +49,9 @@ import java.nio.FloatBuffer;
 
 public class AudioListener extends Component {
 
+    private final Matrix4f viewMatrix = new Matrix4f();
+    private final FloatBuffer listenerOrientation = BufferUtils.createFloatBuffer(6);
+
     @Override
     public void initialize() {
         updateListener();
@@ -72,8 +75,7 @@ public class AudioListener extends Component {
         Vector3f position = transform.position;
         Vector3f velocity = transform.velocity;
 
-        Matrix4f viewMatrix = transform.viewMatrix();
-        FloatBuffer listenerOrientation = BufferUtils.createFloatBuffer(6 * 4);
+        transform.viewMatrix(viewMatrix);
         listenerOrientation.put(0, viewMatrix.m01());
         listenerOrientation.put(1, viewMatrix.m02());
         listenerOrientation.put(2, viewMatrix.m03());
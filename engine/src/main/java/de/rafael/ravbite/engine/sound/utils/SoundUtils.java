@@ -117,19 +117,42 @@ public abstract class SoundUtils extends ImageUtils {
      * @return Loaded sound
      */
     public Sound alLoadSound(AssetLocation location) {
+        return alLoadSound(location, DataWatcher.DataScope.SCENE);
+    }
+
+    /**
+     * Loads a sound from a file into memory
+     * @param location Location of the file
+     * @param dataScope Scope the buffer is deleted with
+     * @return Loaded sound
+     */
+    public Sound alLoadSound(AssetLocation location, DataWatcher.DataScope dataScope) {
         int buffer = AL10.alGenBuffers();
         try (STBVorbisInfo info = STBVorbisInfo.malloc()) {
-            ShortBuffer pcm = readVorbis(location.getPath(true), 64 * 1024, info);
+            ShortBuffer pcm = alDecodeSound(location, info);
 
             // Copy to buffer
             AL10.alBufferData(buffer, info.channels() == 1 ? AL10.AL_FORMAT_MONO16 : AL10.AL_FORMAT_STEREO16, pcm, info.sample_rate());
+            getEngineView().getDataWatcher().alBuffer(dataScope, buffer).owner(location.toString()).bytes(pcm.remaining() * 2L);
+            MemoryUtil.memFree(pcm);
         } catch (Exception exception) {
+            AL10.alDeleteBuffers(buffer);
             throw new RuntimeException(exception);
         }
-        getEngineView().getDataWatcher().alBuffer(DataWatcher.DataScope.SCENE, buffer);
         return new Sound(buffer, location);
     }
 
+    /**
+     * Decodes a Ogg Vorbis file without touching OpenAL. Can be called on any thread
+     * @param location Location of the file
+     * @param info Receives the channels and the sample rate
+     * @return Raw audio data that has to be freed with MemoryUtil.memFree()
+     * @throws Exception If the file can't be read or decoded
+     */
+    public ShortBuffer alDecodeSound(AssetLocation location, STBVorbisInfo info) throws Exception {
+        return readVorbis(location.getPath(true), 64 * 1024, info);
+    }
+
     /**
      * Reads the file
      * @param resource Path to the file
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.utils.math;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 10:05 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+public class BoundingBox {
+
+    public final Vector3f min;
+    public final Vector3f max;
+
+    public BoundingBox() {
+        this.min = new Vector3f(Float.POSITIVE_INFINITY);
+        this.max = new Vector3f(Float.NEGATIVE_INFINITY);
+    }
+
+    public BoundingBox(Vector3f min, Vector3f max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Grows the box to contain all given positions
+     * @param positions Positions packed as x, y, z
+     * @return BoundingBox
+     */
+    public BoundingBox include(float[] positions) {
+        for (int i = 0; i + 2 < positions.length; i += 3) {
+            min.set(Math.min(min.x, positions[i]), Math.min(min.y, positions[i + 1]), Math.min(min.z, positions[i + 2]));
+            max.set(Math.max(max.x, positions[i]), Math.max(max.y, positions[i + 1]), Math.max(max.z, positions[i + 2]));
+        }
+        return this;
+    }
+
+    /**
+     * Grows the box to contain another box
+     * @param box Box to include
+     * @return BoundingBox
+     */
+    public BoundingBox include(BoundingBox box) {
+        min.min(box.min);
+        max.max(box.max);
+        return this;
+    }
+
+    /**
+     * Writes the box transformed by a matrix into an array
+     * @param matrix Affine matrix
+     * @param dest Array to write minX, minY, minZ, maxX, maxY, maxZ to
+     * @param offset Offset in the array
+     */
+    public void transform(Matrix4f matrix, float[] dest, int offset) {
+        // Arvo's method: every matrix column contributes its min and max
+        float minX = matrix.m30(), minY = matrix.m31(), minZ = matrix.m32();
+        float maxX = minX, maxY = minY, maxZ = minZ;
+
+        float a = matrix.m00() * min.x, b = matrix.m00() * max.x;
+        minX += Math.min(a, b); maxX += Math.max(a, b);
+        a = matrix.m10() * min.y; b = matrix.m10() * max.y;
+        minX += Math.min(a, b); maxX += Math.max(a, b);
+        a = matrix.m20() * min.z; b = matrix.m20() * max.z;
+        minX += Math.min(a, b); maxX += Math.max(a, b);
+
+        a = matrix.m01() * min.x; b = matrix.m01() * max.x;
+        minY += Math.min(a, b); maxY += Math.max(a, b);
+        a = matrix.m11() * min.y; b = matrix.m11() * max.y;
+        minY += Math.min(a, b); maxY += Math.max(a, b);
+        a = matrix.m21() * min.z; b = matrix.m21() * max.z;
+        minY += Math.min(a, b); maxY += Math.max(a, b);
+
+        a = matrix.m02() * min.x; b = matrix.m02() * max.x;
+        minZ += Math.min(a, b); maxZ += Math.max(a, b);
+        a = matrix.m12() * min.y; b = matrix.m12() * max.y;
+        minZ += Math.min(a, b); maxZ += Math.max(a, b);
+        a = matrix.m22() * min.z; b = matrix.m22() * max.z;
+        minZ += Math.min(a, b); maxZ += Math.max(a, b);
+
+        dest[offset] = minX;
+        dest[offset + 1] = minY;
+        dest[offset + 2] = minZ;
+        dest[offset + 3] = maxX;
+        dest[offset + 4] = maxY;
+        dest[offset + 5] = maxZ;
+    }
+
+    /**
+     * @return If the box contains no point
+     */
+    public boolean isEmpty() {
+        return min.x > max.x || min.y > max.y || min.z > max.z;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundingBox{" +
+                "min=" + min +
+                ", max=" + max +
+                '}';
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.utils.math;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/19/2026 at 9:10 AM
+// In the project Ravbite
+//
+//------------------------------
+
+import org.joml.Vector3f;
+
+public class BoundingSphere {
+
+    public final Vector3f center;
+    public float radius;
+
+    public BoundingSphere(Vector3f center, float radius) {
+        this.center = center;
+        this.radius = radius;
+    }
+
+    /**
+     * Creates a sphere around the center of a box that contains all positions
+     * @param box Box around the positions
+     * @param positions Positions packed as x, y, z
+     * @return BoundingSphere
+     */
+    public static BoundingSphere create(BoundingBox box, float[] positions) {
+        Vector3f center = new Vector3f(box.min).add(box.max).mul(0.5f);
+        float radiusSquared = 0;
+        for (int i = 0; i + 2 < positions.length; i += 3) {
+            float dx = positions[i] - center.x;
+            float dy = positions[i + 1] - center.y;
+            float dz = positions[i + 2] - center.z;
+            radiusSquared = Math.max(radiusSquared, dx * dx + dy * dy + dz * dz);
+        }
+        return new BoundingSphere(center, (float) Math.sqrt(radiusSquared));
+    }
+
+    /**
+     * Grows the sphere to contain another sphere
+     * @param sphere Sphere to include
+     * @return BoundingSphere
+     */
+    public BoundingSphere include(BoundingSphere sphere) {
+        float distance = center.distance(sphere.center);
+        if(distance + sphere.radius <= radius) return this;
+        if(distance + radius <= sphere.radius) {
+            center.set(sphere.center);
+            radius = sphere.radius;
+            return this;
+        }
+        float newRadius = (radius + distance + sphere.radius) / 2f;
+        // Move the center towards the other sphere
+        center.lerp(sphere.center, (newRadius - radius) / distance);
+        radius = newRadius;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundingSphere{" +
+                "center=" + center +
+                ", radius=" + radius +
+                '}';
+    }
+
+}
@@ -50,12 +50,17 @@ public class Maths {
      * @return transformationMatrix
      */
     public static Matrix4f createTransformationMatrix(Transform transform) {
-        Matrix4f matrix = new Matrix4f();
-        matrix.identity();
-        matrix.translate(transform.position);
-        matrix.scale(transform.scale);
-        matrix.rotate(transform.rotation);
-        return matrix;
+        return createTransformationMatrix(transform, new Matrix4f());
+    }
+
+    /**
+     * Creates transformationMatrix without allocating
+     * @param transform Transform of the GameObject
+     * @param dest Matrix to write to
+     * @return dest
+     */
+    public static Matrix4f createTransformationMatrix(Transform transform, Matrix4f dest) {
+        return dest.translationRotateScale(transform.position, transform.rotation, transform.scale);
     }
 
     /**
@@ -64,12 +69,18 @@ public class Maths {
      * @return ViewMatrix
      */
     public static Matrix4f createViewMatrix(Transform transform) {
-        Matrix4f viewMatrix = new Matrix4f();
-        viewMatrix.identity();
-        viewMatrix.rotate(transform.rotation);
+        return createViewMatrix(transform, new Matrix4f());
+    }
+
+    /**
+     * Creates viewMatrix without allocating
+     * @param transform Transform
+     * @param dest Matrix to write to
+     * @return dest
+     */
+    public static Matrix4f createViewMatrix(Transform transform, Matrix4f dest) {
         Vector3f position = transform.position;
-        viewMatrix.translate(new Vector3f(-position.x, -position.y, -position.z));
-        return viewMatrix;
+        return dest.rotation(transform.rotation).translate(-position.x, -position.y, -position.z);
     }
 
     /**
@@ -80,18 +91,30 @@ public class Maths {
      * @return Quaternion
      */
     public static Quaternionf eulerToQuaternion(float x, float y, float z) {
+        return eulerToQuaternion(x, y, z, new Quaternionf());
+    }
+
+    /**
+     * Euler rotation to quaternion without allocating
+     * @param x X value
+     * @param y Y value
+     * @param z Z value
+     * @param dest Quaternion to write to
+     * @return dest
+     */
+    public static Quaternionf eulerToQuaternion(float x, float y, float z, Quaternionf dest) {
         //Use modulus to fix values to below 360 then convert values to radians
         float newX = (float) Math.toRadians(x % 360);
         float newY = (float) Math.toRadians(y % 360);
         float newZ = (float) Math.toRadians(z % 360);
 
         //Create a quaternion with the delta rotation values
-        Quaternionf rotationDelta = new Quaternionf();
-        rotationDelta.rotateX(newX);
-        rotationDelta.rotateY(newY);
-        rotationDelta.rotateZ(newZ);
+        dest.identity();
+        dest.rotateX(newX);
+        dest.rotateY(newY);
+        dest.rotateZ(newZ);
 
-        return rotationDelta;
+        return dest;
     }
 
 }
@@ -0,0 +1,44 @@
+#version 430 core
+
+layout(local_size_x = 64) in;
+
+// Matches DrawElementsIndirectCommand
+struct Command {
+    uint count;
+    uint instanceCount;
+    uint firstIndex;
+    int baseVertex;
+    uint baseInstance;
+};
+
+// World space bounding sphere of every draw
+layout(std430, binding = 0) readonly buffer Spheres {
+    vec4 spheres[];
+};
+layout(std430, binding = 1) readonly buffer Templates {
+    Command templates[];
+};
+layout(std430, binding = 2) writeonly buffer Commands {
+    Command commands[];
+};
+
+// Normalized frustum planes(xyz = normal, w = distance)
+uniform vec4 planes[6];
+uniform int drawCount;
+
+void main(void) {
+
+    uint draw = gl_GlobalInvocationID.x;
+    if(draw >= uint(drawCount)) return;
+
+    vec4 sphere = spheres[draw];
+    bool visible = true;
+    for(int i = 0; i < 6; i++) {
+        if(dot(planes[i].xyz, sphere.xyz) + planes[i].w < -sphere.w) visible = false;
+    }
+
+    Command command = templates[draw];
+    command.instanceCount = visible ? 1u : 0u;
+    commands[draw] = command;
+
+}
@@ -1,11 +1,25 @@
 #version 400 core
 
-in vec3 color;
+// Has to match LightClusters
+#define CLUSTERS_X 16
+#define CLUSTERS_Y 9
+#define CLUSTERS_Z 24
+
+// Has to match LightType
+#define LIGHT_POINT 0
+#define LIGHT_SPOT 1
+#define LIGHT_DIRECTIONAL 2
+
+#define AMBIENT 0.2
+
 in vec2 pass_textureCoords;
+in vec4 pass_tintColor;
 
 in vec3 surfaceNormal;
-in vec3 toLightVector;
+in vec3 worldPosition;
 in vec3 toCameraVector;
+in vec4 clipPosition;
+in float viewDepth;
 
 out vec4 out_Color;
 
@@ -13,29 +27,83 @@ uniform sampler2D diffuse_texture;
 
 uniform vec4 diffuseColor;
 
-uniform vec3 lightColor;
 uniform float shineDamper;
 uniform float reflectivity;
 
-void main(void) {
+// 4 texels per light: position + range, color + type, direction + cos(outer), cos(inner)
+uniform samplerBuffer lightData;
+// Offset and count of every cluster
+uniform usamplerBuffer lightGrid;
+uniform usamplerBuffer lightIndices;
+uniform int directionalLights;
+uniform float clusterScale;
+uniform float clusterBias;
 
-    vec3 unitNormal = normalize(surfaceNormal);
-    vec3 unitLightVector = normalize(toLightVector);
-    vec3 unitCameraVector = normalize(toCameraVector);
+// 0 = No LOD cross-fade, (0, 1] = incoming level, [-1, 0) = outgoing level
+uniform float lodFade;
 
-    float nDot1 = dot(unitNormal, unitLightVector);
-    float brightness = max(nDot1, 0.2);
-    vec3 diffuse = brightness * lightColor;
+void shade(int light, vec3 unitNormal, vec3 unitCameraVector, inout vec3 diffuse, inout vec3 specular) {
+    vec4 positionRange = texelFetch(lightData, light * 4);
+    vec4 colorType = texelFetch(lightData, light * 4 + 1);
+    vec4 directionOuter = texelFetch(lightData, light * 4 + 2);
 
-    vec3 lightDirection = -unitLightVector;
-    vec3 reflectedLightDirection = reflect(lightDirection, unitNormal);
+    int type = int(colorType.w);
+    vec3 unitLightVector;
+    float attenuation = 1.0;
+    if(type == LIGHT_DIRECTIONAL) {
+        unitLightVector = -directionOuter.xyz;
+    } else {
+        vec3 toLightVector = positionRange.xyz - worldPosition;
+        float distance = length(toLightVector);
+        unitLightVector = toLightVector / max(distance, 0.0001);
+        float falloff = clamp(1.0 - distance / positionRange.w, 0.0, 1.0);
+        attenuation = falloff * falloff;
+        if(type == LIGHT_SPOT) {
+            float cosInner = texelFetch(lightData, light * 4 + 3).x;
+            attenuation *= smoothstep(directionOuter.w, cosInner, dot(-unitLightVector, directionOuter.xyz));
+        }
+    }
+
+    float nDot1 = dot(unitNormal, unitLightVector);
+    diffuse += max(nDot1, 0.0) * colorType.rgb * attenuation;
 
+    vec3 reflectedLightDirection = reflect(-unitLightVector, unitNormal);
     float specularFactor = max(dot(reflectedLightDirection, unitCameraVector), 0.0);
     float dampedFactor = pow(specularFactor, shineDamper);
+    specular += dampedFactor * reflectivity * colorType.rgb * attenuation;
+}
+
+void main(void) {
+
+    // Screen-door cross-fade. The incoming and outgoing level draw complementary pixels
+    if(lodFade != 0.0) {
+        float dither = fract(52.9829189 * fract(dot(gl_FragCoord.xy, vec2(0.06711056, 0.00583715))));
+        if(lodFade > 0.0 ? dither >= lodFade : dither < lodFade + 1.0) discard;
+    }
+
+    vec3 unitNormal = normalize(surfaceNormal);
+    vec3 unitCameraVector = normalize(toCameraVector);
+
+    vec3 diffuse = vec3(0.0);
+    vec3 specular = vec3(0.0);
+
+    // Directional lights affect every pixel
+    for(int i = 0; i < directionalLights; i++) {
+        shade(i, unitNormal, unitCameraVector, diffuse, specular);
+    }
 
-    vec3 finalSpecular = dampedFactor * reflectivity * lightColor;
+    // Point and spot lights are only read from the cluster of the fragment
+    vec2 tile = clamp((clipPosition.xy / clipPosition.w) * 0.5 + 0.5, 0.0, 0.9999) * vec2(CLUSTERS_X, CLUSTERS_Y);
+    int slice = clamp(int(floor(log(viewDepth) * clusterScale + clusterBias)), 0, CLUSTERS_Z - 1);
+    int cluster = (slice * CLUSTERS_Y + int(tile.y)) * CLUSTERS_X + int(tile.x);
+    uvec2 offsetCount = texelFetch(lightGrid, cluster).xy;
+    for(uint i = 0u; i < offsetCount.y; i++) {
+        int light = int(texelFetch(lightIndices, int(offsetCount.x + i)).x);
+        shade(light, unitNormal, unitCameraVector, diffuse, specular);
+    }
 
+    diffuse = max(diffuse, vec3(AMBIENT));
 
-    out_Color = (vec4(diffuse, 1.0) * diffuseColor) * texture(diffuse_texture, pass_textureCoords) + vec4(finalSpecular, 1.0);
+    out_Color = (vec4(diffuse, 1.0) * diffuseColor * pass_tintColor) * texture(diffuse_texture, pass_textureCoords) + vec4(specular, 1.0);
 
-}
\ No newline at end of file
+}
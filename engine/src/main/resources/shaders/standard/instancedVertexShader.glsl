@@ -0,0 +1,41 @@
+#version 400 core
+
+in vec3 position;
+in vec2 textureCoords;
+in vec3 normal;
+
+// Streamed by the RenderQueue, advances once per instance
+in mat4 instanceMatrix;
+in vec4 instanceColor;
+
+out vec2 pass_textureCoords;
+out vec4 pass_tintColor;
+
+out vec3 surfaceNormal;
+out vec3 worldPosition;
+out vec3 toCameraVector;
+out vec4 clipPosition;
+out float viewDepth;
+
+uniform mat4 projectionMatrix;
+uniform mat4 viewMatrix;
+
+void main(void) {
+
+    vec4 world = instanceMatrix * vec4(position, 1.0);
+    vec4 viewPosition = viewMatrix * world;
+
+    gl_Position = projectionMatrix * viewPosition;
+    pass_textureCoords = textureCoords;
+    pass_tintColor = instanceColor;
+
+    surfaceNormal = (instanceMatrix * vec4(normal, 0.0)).xyz;
+    worldPosition = world.xyz;
+
+    toCameraVector = (inverse(viewMatrix) * vec4(0.0, 0.0, 0.0, 1.0)).xyz - world.xyz;
+
+    // Used to find the light cluster of the fragment
+    clipPosition = gl_Position;
+    viewDepth = -viewPosition.z;
+
+}
@@ -5,27 +5,36 @@ in vec2 textureCoords;
 in vec3 normal;
 
 out vec2 pass_textureCoords;
+out vec4 pass_tintColor;
 
 out vec3 surfaceNormal;
-out vec3 toLightVector;
+out vec3 worldPosition;
 out vec3 toCameraVector;
+out vec4 clipPosition;
+out float viewDepth;
 
 uniform mat4 transformationMatrix;
 uniform mat4 projectionMatrix;
 uniform mat4 viewMatrix;
 
-uniform vec3 lightPosition;
+uniform vec4 tintColor;
 
 void main(void) {
 
-    vec4 worldPosition = transformationMatrix * vec4(position, 1.0);
+    vec4 world = transformationMatrix * vec4(position, 1.0);
+    vec4 viewPosition = viewMatrix * world;
 
-    gl_Position = projectionMatrix * viewMatrix * worldPosition;
+    gl_Position = projectionMatrix * viewPosition;
     pass_textureCoords = textureCoords;
+    pass_tintColor = tintColor;
 
     surfaceNormal = (transformationMatrix * vec4(normal, 0.0)).xyz;
-    toLightVector = lightPosition - worldPosition.xyz;
+    worldPosition = world.xyz;
 
-    toCameraVector = (inverse(viewMatrix) * vec4(0.0, 0.0, 0.0, 1.0)).xyz - worldPosition.xyz;
+    toCameraVector = (inverse(viewMatrix) * vec4(0.0, 0.0, 0.0, 1.0)).xyz - world.xyz;
 
-}
\ No newline at end of file
+    // Used to find the light cluster of the fragment
+    clipPosition = gl_Position;
+    viewDepth = -viewPosition.z;
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.assets;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/23/2026 at 4:20 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.utils.asset.AssetLocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AssetStreamerTest {
+
+    @Test
+    public void uploadsStayWithinTheByteBudget() throws Exception {
+        AssetStreamer streamer = new AssetStreamer(new HeadlessScene().getEngineView()).byteBudget(1000).timeBudget(TimeUnit.SECONDS.toNanos(10));
+        try {
+            List<AssetHandle<String>> handles = new ArrayList<>();
+            List<String> readyOrder = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                String name = "Asset" + i;
+                AssetHandle<String> handle = streamer.load(location(name), "Placeholder", () -> new FakeUpload(name, 10, 100, 0));
+                handle.whenReady(readyOrder::add);
+                handles.add(handle);
+            }
+            awaitDecoded(streamer);
+            assertEquals("Placeholder", handles.get(0).get());
+
+            int frames = 0;
+            while (streamer.isBusy()) {
+                streamer.processUploads();
+                assertTrue(streamer.getLastUploadBytes() <= 1000);
+                frames++;
+            }
+            // 5 assets with 1000 bytes each
+            assertEquals(5, frames);
+            for (AssetHandle<String> handle : handles) {
+                assertTrue(handle.isReady());
+                assertEquals(handle.getLocation().getPath(false), handle.get());
+            }
+            assertEquals(5, readyOrder.size());
+        } finally {
+            streamer.shutdown();
+        }
+    }
+
+    @Test
+    public void uploadsStopAtTheTimeBudget() throws Exception {
+        AssetStreamer streamer = new AssetStreamer(new HeadlessScene().getEngineView()).timeBudget(TimeUnit.MILLISECONDS.toNanos(5));
+        try {
+            FakeUpload upload = new FakeUpload("Slow", 20, 1, 2);
+            AssetHandle<String> handle = streamer.load(location("Slow"), null, () -> upload);
+            awaitDecoded(streamer);
+
+            int frames = 0;
+            while (!handle.isReady()) {
+                int uploaded = upload.uploaded;
+                streamer.processUploads();
+                // Parts start at 0, 2 and 4 ms. A slower machine only fits fewer parts into the budget, so the count doesn't depend on timing
+                int parts = upload.uploaded - uploaded;
+                assertTrue(parts >= 1 && parts <= 3, "Upload stage uploaded " + parts + " parts in " + streamer.getLastUploadTime() + " ns");
+                frames++;
+            }
+            assertTrue(frames >= 6, "20 parts of 2 ms need at least 6 frames with 5 ms, took " + frames);
+        } finally {
+            streamer.shutdown();
+        }
+    }
+
+    @Test
+    public void failedAssetsKeepThePlaceholder() throws Exception {
+        AssetStreamer streamer = new AssetStreamer(new HeadlessScene().getEngineView());
+        try {
+            AssetHandle<String> failed = streamer.load(location("Missing"), "Placeholder", () -> {
+                throw new IllegalStateException("Expected by the test");
+            });
+            awaitDecoded(streamer);
+            streamer.processUploads();
+            assertTrue(failed.isFailed());
+            assertFalse(failed.isReady());
+            assertEquals("Placeholder", failed.get());
+            assertFalse(streamer.isBusy());
+        } finally {
+            streamer.shutdown();
+        }
+    }
+
+    private AssetLocation location(String name) {
+        return AssetLocation.create(name, AssetLocation.EXTERNAL);
+    }
+
+    private void awaitDecoded(AssetStreamer streamer) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 10_000;
+        while (streamer.getLoadingCount() > 0) {
+            assertTrue(System.currentTimeMillis() < timeout);
+            Thread.sleep(1);
+        }
+    }
+
+    private static class FakeUpload implements AssetUpload<String> {
+
+        private final String result;
+        private final int parts;
+        private final long partBytes;
+        private final long partMillis;
+        private int uploaded = 0;
+
+        public FakeUpload(String result, int parts, long partBytes, long partMillis) {
+            this.result = result;
+            this.parts = parts;
+            this.partBytes = partBytes;
+            this.partMillis = partMillis;
+        }
+
+        @Override
+        public long uploadNext() {
+            if(partMillis > 0) {
+                long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(partMillis);
+                while (System.nanoTime() < end) {
+                    Thread.onSpinWait();
+                }
+            }
+            uploaded++;
+            return partBytes;
+        }
+
+        @Override
+        public boolean isDone() {
+            return uploaded >= parts;
+        }
+
+        @Override
+        public String getResult() {
+            return result;
+        }
+
+    }
+
+}
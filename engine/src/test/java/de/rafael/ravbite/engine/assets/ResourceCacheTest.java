@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.assets;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/24/2026 at 11:30 AM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.utils.asset.AssetLocation;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResourceCacheTest {
+
+    @Test
+    public void sharesResourcesByCanonicalLocation() throws IOException {
+        ResourceCache cache = new ResourceCache(new HeadlessScene().getEngineView());
+        FakeType type = new FakeType(100);
+
+        AssetLocation first = AssetLocation.create("/textures/../textures/./stone.png", AssetLocation.INTERNAL);
+        AssetLocation second = AssetLocation.create("textures/stone.png", AssetLocation.INTERNAL);
+        assertEquals(first.getCanonicalKey(), second.getCanonicalKey());
+
+        ResourceHandle<String> a = cache.acquire("fake#" + first.getCanonicalKey(), first, type);
+        ResourceHandle<String> b = cache.acquire("fake#" + second.getCanonicalKey(), second, type);
+        assertSame(a.get(), b.get());
+        assertEquals(1, type.loaded.size());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(100, cache.getMemoryUsage());
+
+        // Unreferenced resources stay cached below the memoryCap
+        a.release();
+        a.release();
+        b.release();
+        assertThrows(IllegalStateException.class, a::get);
+        assertEquals(1, cache.getSize());
+        assertTrue(type.released.isEmpty());
+
+        ResourceHandle<String> c = cache.acquire("fake#" + first.getCanonicalKey(), first, type);
+        assertEquals(1, type.loaded.size());
+        assertEquals(2, cache.getHits());
+        c.release();
+
+        cache.clear();
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getMemoryUsage());
+        assertEquals(1, type.released.size());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedUnreferencedResources() throws IOException {
+        ResourceCache cache = new ResourceCache(new HeadlessScene().getEngineView()).memoryCap(300);
+        FakeType type = new FakeType(100);
+
+        ResourceHandle<String> kept = cache.acquire("A", location("A"), type);
+        cache.acquire("B", location("B"), type).release();
+        cache.acquire("C", location("C"), type).release();
+        // Touch B so C is the least recently used unreferenced resource
+        cache.acquire("B", location("B"), type).release();
+
+        cache.acquire("D", location("D"), type).release();
+        assertEquals(List.of("C"), type.released);
+        assertEquals(300, cache.getMemoryUsage());
+        assertEquals(1, cache.getEvictions());
+
+        // Referenced resources are never evicted
+        cache.memoryCap(0);
+        assertTrue(cache.contains("A"));
+        assertEquals("A", kept.get());
+        assertEquals(100, cache.getMemoryUsage());
+        kept.release();
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void boundHandlesAreReleasedWithTheirOwner() throws IOException {
+        ResourceCache cache = new ResourceCache(new HeadlessScene().getEngineView());
+        FakeType textures = new FakeType(10);
+        ResourceType<String> models = new ResourceType<>() {
+            @Override
+            public String load(AssetLocation location) throws IOException {
+                // Like ModelUtils.rbCreateMaterial() while a model is loaded
+                cache.bind(cache.acquire("Texture", location("Texture"), textures));
+                return "Model";
+            }
+
+            @Override
+            public long getBytes(String resource) {
+                return 50;
+            }
+
+            @Override
+            public void release(String resource) {}
+        };
+
+        ResourceHandle<String> model = cache.acquire("Model", location("Model"), models);
+        ResourceHandle<String> sceneTexture = cache.bind(cache.acquire("Texture", location("Texture"), textures));
+        assertEquals(1, textures.loaded.size());
+
+        cache.releaseSceneHandles();
+        assertTrue(sceneTexture.isReleased());
+        model.release();
+        cache.clear();
+        assertEquals(0, cache.getSize());
+        assertEquals(List.of("Texture"), textures.released);
+    }
+
+    private AssetLocation location(String name) {
+        return AssetLocation.create(name, AssetLocation.EXTERNAL);
+    }
+
+    private static class FakeType implements ResourceType<String> {
+
+        private final long bytes;
+        private final List<String> loaded = new ArrayList<>();
+        private final List<String> released = new ArrayList<>();
+
+        public FakeType(long bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public String load(AssetLocation location) {
+            String resource = location.getPath(true);
+            loaded.add(resource);
+            return resource;
+        }
+
+        @Override
+        public long getBytes(String resource) {
+            return bytes;
+        }
+
+        @Override
+        public void release(String resource) {
+            released.add(resource);
+        }
+
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.benchmark;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/23/2026 at 9:50 AM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.models.ModelUtils;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.assimp.AIFace;
+import org.lwjgl.assimp.AIMesh;
+import org.lwjgl.assimp.AIVector3D;
+import org.lwjgl.system.MemoryUtil;
+
+import java.lang.management.ManagementFactory;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImportBenchmark {
+
+    private static final int VERTICES = 1_000_000;
+    private static final int TRIANGLES = 1_000_000;
+    private static final int RUNS = 3;
+
+    @Test
+    @Tag("benchmark")
+    public void benchmarkBoxedAgainstPrimitiveImport() {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        AIMesh aiMesh = AIMesh.calloc();
+        AIVector3D.Buffer vertices = createVectors(new Random(1));
+        AIVector3D.Buffer normals = createVectors(new Random(2));
+        AIVector3D.Buffer tangents = createVectors(new Random(3));
+        AIVector3D.Buffer textureCoords = createVectors(new Random(4));
+        AIFace.Buffer faces = AIFace.calloc(TRIANGLES);
+        IntBuffer indices = MemoryUtil.memAllocInt(TRIANGLES * 3);
+        try {
+            Random random = new Random(5);
+            for (int i = 0; i < TRIANGLES * 3; i++) {
+                indices.put(i, random.nextInt(VERTICES));
+            }
+            for (int i = 0; i < TRIANGLES; i++) {
+                long face = faces.address() + (long) i * AIFace.SIZEOF;
+                AIFace.nmNumIndices(face, 3);
+                MemoryUtil.memPutAddress(face + AIFace.MINDICES, MemoryUtil.memAddress(indices) + i * 12L);
+            }
+            aiMesh.mNumVertices(VERTICES).mVertices(vertices).mNormals(normals).mTangents(tangents).mTextureCoords(0, textureCoords);
+            aiMesh.mFaces(faces);
+
+            // Both paths read the same data
+            Mesh expected = processBoxed(aiMesh);
+            Mesh mesh = ModelUtils.rbProcessGeometry(aiMesh);
+            assertArrayEquals(expected.getVertices(), mesh.getVertices());
+            assertArrayEquals(expected.getNormals(), mesh.getNormals());
+            assertArrayEquals(expected.getTangents(), mesh.getTangents());
+            assertArrayEquals(expected.getTextureCoords(), mesh.getTextureCoords());
+            assertArrayEquals(expected.getIndices(), mesh.getIndices());
+
+            for (boolean boxed : new boolean[] {true, false}) {
+                long time = 0;
+                long allocated = 0;
+                for (int run = 0; run < RUNS; run++) {
+                    long before = threadBean.getCurrentThreadAllocatedBytes();
+                    long start = System.nanoTime();
+                    Mesh result = boxed ? processBoxed(aiMesh) : ModelUtils.rbProcessGeometry(aiMesh);
+                    time += System.nanoTime() - start;
+                    allocated += threadBean.getCurrentThreadAllocatedBytes() - before;
+                    assertEquals(VERTICES * 3, result.getVertices().length);
+                }
+                System.out.printf("%d vertices, %d triangles | %s: %.3f ms | %.1f MB allocated | %.1f M vertices/s%n", VERTICES, TRIANGLES, boxed ? "boxed lists" : "primitive arrays",
+                        time / 1e6 / RUNS, allocated / 1048576.0 / RUNS, VERTICES / (time / 1e9 / RUNS) / 1e6);
+            }
+        } finally {
+            aiMesh.free();
+            vertices.free();
+            normals.free();
+            tangents.free();
+            textureCoords.free();
+            faces.free();
+            MemoryUtil.memFree(indices);
+        }
+    }
+
+    private AIVector3D.Buffer createVectors(Random random) {
+        AIVector3D.Buffer vectors = AIVector3D.calloc(VERTICES);
+        FloatBuffer floats = MemoryUtil.memFloatBuffer(vectors.address(), VERTICES * 3);
+        for (int i = 0; i < VERTICES * 3; i++) {
+            floats.put(i, random.nextFloat());
+        }
+        return vectors;
+    }
+
+    /**
+     * The conversion rbProcessMesh used before the primitive import
+     */
+    private Mesh processBoxed(AIMesh aiMesh) {
+        List<Float> verticesList = new ArrayList<>();
+        List<Float> normalsList = new ArrayList<>();
+        List<Float> tangentsList = new ArrayList<>();
+        List<Float> textureCoordsList = new ArrayList<>();
+        List<Integer> indicesList = new ArrayList<>();
+
+        AIVector3D.Buffer verticesData = aiMesh.mVertices();
+        for (int i = 0; i < verticesData.limit(); i++) {
+            AIVector3D vertex = verticesData.get(i);
+            verticesList.add(vertex.x());
+            verticesList.add(vertex.y());
+            verticesList.add(vertex.z());
+        }
+        AIVector3D.Buffer normalsData = aiMesh.mNormals();
+        for (int i = 0; i < normalsData.limit(); i++) {
+            AIVector3D normal = normalsData.get(i);
+            normalsList.add(normal.x());
+            normalsList.add(normal.y());
+            normalsList.add(normal.z());
+        }
+        AIVector3D.Buffer tangentsData = aiMesh.mTangents();
+        for (int i = 0; i < tangentsData.limit(); i++) {
+            AIVector3D tangent = tangentsData.get(i);
+            tangentsList.add(tangent.x());
+            tangentsList.add(tangent.y());
+            tangentsList.add(tangent.z());
+        }
+        AIVector3D.Buffer textureCoordsData = aiMesh.mTextureCoords(0);
+        for (int i = 0; i < textureCoordsData.limit(); i++) {
+            AIVector3D textureCord = textureCoordsData.get(i);
+            textureCoordsList.add(textureCord.x());
+            textureCoordsList.add(textureCord.y());
+        }
+        AIFace.Buffer facesData = aiMesh.mFaces();
+        for (int i = 0; i < facesData.limit(); i++) {
+            IntBuffer indicesData = facesData.get(i).mIndices();
+            for (int idi = 0; idi < indicesData.limit(); idi++) {
+                indicesList.add(indicesData.get(idi));
+            }
+        }
+
+        float[] vertices = new float[verticesList.size()]; for (int i = 0; i < verticesList.size(); i++) {vertices[i] = verticesList.get(i);}
+        float[] normals = new float[normalsList.size()]; for (int i = 0; i < normalsList.size(); i++) {normals[i] = normalsList.get(i);}
+        float[] tangents = new float[tangentsList.size()]; for (int i = 0; i < tangentsList.size(); i++) {tangents[i] = tangentsList.get(i);}
+        float[] textureCoords = new float[textureCoordsList.size()]; for (int i = 0; i < textureCoordsList.size(); i++) {textureCoords[i] = textureCoordsList.get(i);}
+        int[] indices = new int[indicesList.size()]; for (int i = 0; i < indicesList.size(); i++) {indices[i] = indicesList.get(i);}
+        return new Mesh(null, null, vertices, normals, tangents, textureCoords, indices);
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.benchmark;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/20/2026 at 2:05 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessObjects;
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessShader;
+import de.rafael.ravbite.engine.graphics.components.camera.CameraComponent;
+import de.rafael.ravbite.engine.graphics.components.rendering.mesh.MeshRendererComponent;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.game.material.standard.DiffuseProperty;
+import de.rafael.ravbite.engine.graphics.objects.game.material.standard.Material;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.StoredMesh;
+import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
+import de.rafael.ravbite.engine.graphics.objects.scene.render.RenderQueue;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class InstancingBenchmark {
+
+    private static final int OBJECTS = 50_000;
+    private static final int FRAMES = 20;
+
+    @Test
+    @Tag("benchmark")
+    public void benchmarkInstancing() {
+        Scene scene = new HeadlessScene();
+        CameraComponent camera = createScene(scene);
+        RenderQueue renderQueue = scene.getRenderQueue();
+
+        for (boolean instancing : new boolean[] {false, true}) {
+            renderQueue.instancing = instancing;
+            int drawCalls = 0;
+            long time = 0;
+            for (int frame = 0; frame < FRAMES * 2; frame++) {
+                long start = System.nanoTime();
+                drawCalls = frame(scene, camera);
+                // First half is warmup
+                if(frame >= FRAMES) time += System.nanoTime() - start;
+            }
+
+            int visible = camera.getVisibleCount();
+            assertEquals(OBJECTS, visible);
+            assertEquals(instancing ? (visible + RenderQueue.MAX_INSTANCES - 1) / RenderQueue.MAX_INSTANCES : visible, drawCalls);
+            System.out.printf("%d identical meshes | %s: %d draw calls | %.3f ms/frame%n", visible, instancing ? "instanced" : "per object", drawCalls, time / 1e6 / FRAMES);
+        }
+    }
+
+    /**
+     * Runs RenderQueue.execute on the HeadlessRenderQueue of the scene. A single draw prepares its object, a batch fills the instance data
+     * @return Draw calls of the frame
+     */
+    private int frame(Scene scene, CameraComponent camera) {
+        RenderQueue renderQueue = scene.getRenderQueue();
+        scene.collectDrawItems(camera);
+        renderQueue.resetStatistics();
+        renderQueue.execute(scene.getEngineView());
+        return renderQueue.getDrawCalls();
+    }
+
+    private CameraComponent createScene(Scene scene) {
+        EngineView engineView = scene.getEngineView();
+        int shaderId = engineView.addShader(HeadlessShader.instanced(engineView));
+        Material material = new Material(engineView).shader(shaderId);
+        material.diffuse(new DiffuseProperty(material, Color.WHITE).texture(1)).create();
+
+        Mesh mesh = HeadlessObjects.quad(material, 0.4f);
+        mesh.setStoredMesh(new StoredMesh(1, 6));
+        mesh.calculateBounds();
+
+        for (int i = 0; i < OBJECTS; i++) {
+            GameObject gameObject = HeadlessObjects.createObject(scene, mesh, (i % 250) - 125, (i / 250) - 100, -150, false);
+            gameObject.getComponent(MeshRendererComponent.class).tint(new Color(i % 256, 128, 255 - i % 256));
+        }
+
+        GameObject cameraObject = new GameObject(scene, "Camera");
+        CameraComponent camera = new CameraComponent() {
+            @Override
+            public void initialize() {
+                updateProjectionMatrix();
+            }
+        };
+        cameraObject.appendComponent(camera);
+        scene.getSceneObject().appendChild(cameraObject);
+        return camera;
+    }
+
+}
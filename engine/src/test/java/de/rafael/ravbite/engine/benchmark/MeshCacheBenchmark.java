@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.benchmark;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/22/2026 at 4:25 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.graphics.models.MeshCache;
+import de.rafael.ravbite.engine.graphics.models.ModelUtils;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.PackedMesh;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+import de.rafael.ravbite.utils.asset.AssetLocation;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lwjgl.assimp.Assimp;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class MeshCacheBenchmark {
+
+    private static final int RUNS = 5;
+
+    @TempDir
+    File directory;
+
+    @Test
+    @Tag("benchmark")
+    public void benchmarkColdAgainstWarmModelLoad() {
+        assumeTrue(isAssimpAvailable(), "Assimp natives are not available");
+        EngineView engineView = new HeadlessScene().getEngineView();
+        engineView.meshCache(new MeshCache(directory));
+        AssetLocation model = AssetLocation.create("/models/world.obj", AssetLocation.INTERNAL);
+
+        long start = System.nanoTime();
+        Mesh imported = ModelUtils.rbLoadModel(model, engineView);
+        long cold = System.nanoTime() - start;
+        assertNotNull(imported);
+
+        long warm = 0;
+        for (int run = 0; run < RUNS; run++) {
+            start = System.nanoTime();
+            Mesh cached = ModelUtils.rbLoadModel(model, engineView);
+            warm += System.nanoTime() - start;
+            assertNotNull(cached.getPackedMesh());
+            assertEquals(imported.collectMeshes().length, cached.collectMeshes().length);
+        }
+        System.out.printf("world.obj | cold(Assimp + cache write): %.3f ms | warm(.rbmesh): %.3f ms%n", cold / 1e6, warm / 1e6 / RUNS);
+    }
+
+    @Test
+    @Tag("benchmark")
+    public void benchmarkLargeMesh() throws IOException {
+        EngineView engineView = new HeadlessScene().getEngineView();
+        MeshCache meshCache = new MeshCache(directory);
+        // ~20 MB of float arrays
+        Mesh mesh = createMesh(400_000, new Random(1));
+        String key = meshCache.createKey(ByteBuffer.wrap(new byte[] {1}), ModelUtils.IMPORT_FLAGS);
+
+        long start = System.nanoTime();
+        meshCache.store(key, mesh);
+        long store = System.nanoTime() - start;
+
+        long load = 0;
+        long checksum = 0;
+        for (int run = 0; run < RUNS; run++) {
+            start = System.nanoTime();
+            Mesh cached = meshCache.load(key, engineView);
+            // Read every page like glBufferData would
+            PackedMesh packedMesh = cached.getPackedMesh();
+            checksum += sum(packedMesh.getVertexData()) + sum(packedMesh.getIndexData());
+            load += System.nanoTime() - start;
+        }
+        assertNotEquals(0, checksum);
+        System.out.printf("400000 vertices | cache write: %.3f ms | mapped load: %.3f ms | file: %.2f MB%n",
+                store / 1e6, load / 1e6 / RUNS, meshCache.getFile(key).length() / 1048576.0);
+    }
+
+    private long sum(ByteBuffer buffer) {
+        ByteBuffer data = buffer.duplicate();
+        long sum = 0;
+        while(data.remaining() >= 8) sum += data.getLong();
+        while(data.hasRemaining()) sum += data.get();
+        return sum;
+    }
+
+    private Mesh createMesh(int vertexCount, Random random) {
+        float[] vertices = new float[vertexCount * 3];
+        float[] normals = new float[vertexCount * 3];
+        float[] tangents = new float[vertexCount * 3];
+        float[] textureCoords = new float[vertexCount * 2];
+        for (int v = 0; v < vertexCount; v++) {
+            vertices[v * 3] = random.nextFloat() * 100;
+            vertices[v * 3 + 1] = random.nextFloat() * 100;
+            vertices[v * 3 + 2] = random.nextFloat() * 100;
+            normals[v * 3 + 1] = 1;
+            tangents[v * 3] = 1;
+            textureCoords[v * 2] = random.nextFloat();
+            textureCoords[v * 2 + 1] = random.nextFloat();
+        }
+        int[] indices = new int[vertexCount * 2];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = random.nextInt(vertexCount);
+        }
+        return new Mesh("Large", null, vertices, normals, tangents, textureCoords, indices);
+    }
+
+    private boolean isAssimpAvailable() {
+        try {
+            Assimp.aiGetVersionMajor();
+            return true;
+        } catch (LinkageError error) {
+            return false;
+        }
+    }
+
+}
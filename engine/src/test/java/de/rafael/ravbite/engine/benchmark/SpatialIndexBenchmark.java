@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.benchmark;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 11:10 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.graphics.components.light.LightComponent;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
+import de.rafael.ravbite.engine.graphics.objects.scene.spatial.SpatialIndex;
+import org.joml.FrustumIntersection;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpatialIndexBenchmark {
+
+    private static final int FRAMES = 10;
+
+    @Test
+    public void queriesMatchBruteForce() {
+        Scene scene = new HeadlessScene();
+        List<GameObject> objects = createObjects(scene, 2000, new Random(1));
+        SpatialIndex index = scene.getSpatialIndex();
+
+        Random random = new Random(2);
+        for (int round = 0; round < 3; round++) {
+            moveObjects(objects, random, 5f);
+            if(round == 0) index.update();
+            if(round == 1) index.refit();
+            if(round == 2) index.rebuild();
+            assertEquals(objects.size(), index.size());
+
+            Vector3f min = new Vector3f(-20, -20, -20);
+            Vector3f max = new Vector3f(30, 10, 25);
+            List<GameObject> results = new ArrayList<>();
+            index.queryAabb(min, max, results);
+            assertEquals(filter(objects, position -> position.x >= min.x && position.x <= max.x && position.y >= min.y && position.y <= max.y && position.z >= min.z && position.z <= max.z), new HashSet<>(results));
+
+            Vector3f center = new Vector3f(10, 0, -5);
+            results.clear();
+            index.querySphere(center, 30, results);
+            assertEquals(filter(objects, position -> position.distance(center) <= 30), new HashSet<>(results));
+
+            Matrix4f projection = new Matrix4f().perspective((float) Math.toRadians(60), 16f / 9f, 0.1f, 80f).lookAt(0, 0, 0, 1, 0, 1, 0, 1, 0);
+            FrustumIntersection frustum = new FrustumIntersection(projection);
+            results.clear();
+            index.queryFrustum(frustum, results);
+            assertEquals(filter(objects, position -> frustum.testPoint(position)), new HashSet<>(results));
+
+            GameObject[] nearest = new GameObject[8];
+            int found = index.nearest(center, null, nearest);
+            List<GameObject> sorted = new ArrayList<>(objects);
+            sorted.sort(Comparator.comparingDouble(o -> o.getTransform().getWorldTransform().position.distanceSquared(center)));
+            assertEquals(8, found);
+            assertEquals(sorted.subList(0, 8), List.of(nearest));
+
+            GameObject target = objects.get(round * 100);
+            Vector3f origin = new Vector3f(target.getTransform().getWorldTransform().position).add(0, 0, -200);
+            assertNotNull(index.raycast(origin, new Vector3f(0, 0, 1), 400));
+        }
+
+        // Removed GameObjects are not found anymore
+        GameObject removed = objects.get(0);
+        scene.getSceneObject().removeChild(removed);
+        List<GameObject> results = new ArrayList<>();
+        index.querySphere(removed.getTransform().getWorldTransform().position, 0.01f, results);
+        assertFalse(results.contains(removed));
+    }
+
+    @Test
+    public void lightsAreSortedByDistance() {
+        Scene scene = new HeadlessScene();
+        for (int i = 0; i < 10; i++) {
+            GameObject light = new GameObject(scene, "Light");
+            light.getTransform().position(i * 10, 0, 0);
+            light.appendComponent(new LightComponent(Color.WHITE));
+            scene.getSceneObject().appendChild(light);
+        }
+        createObjects(scene, 500, new Random(3));
+        scene.getSpatialIndex().update();
+
+        LightComponent[] lights = scene.getLights(3, new Vector3f(42, 0, 0));
+        assertEquals(3, lights.length);
+        assertEquals(40, lights[0].getGameObject().getTransform().position.x);
+        assertEquals(50, lights[1].getGameObject().getTransform().position.x);
+        assertEquals(30, lights[2].getGameObject().getTransform().position.x);
+    }
+
+    @Test
+    @Tag("benchmark")
+    public void benchmarkRebuildAgainstRefit() {
+        Scene scene = new HeadlessScene();
+        List<GameObject> objects = createObjects(scene, 100_000, new Random(4));
+        SpatialIndex index = scene.getSpatialIndex();
+        Random random = new Random(5);
+        List<GameObject> results = new ArrayList<>();
+        Vector3f center = new Vector3f();
+
+        for (String mode : List.of("incremental", "refit", "rebuild", "adaptive")) {
+            index.rebuild();
+            long updateTime = 0;
+            long queryTime = 0;
+            for (int frame = 0; frame < FRAMES * 2; frame++) {
+                moveObjects(objects, random, 0.5f);
+                // Calculate the world matrices before timing the index
+                for (GameObject object : objects) {
+                    object.getTransform().getWorldMatrix();
+                }
+
+                long start = System.nanoTime();
+                switch (mode) {
+                    case "incremental" -> index.update();
+                    case "refit" -> index.refit();
+                    case "rebuild" -> index.rebuild();
+                    default -> index.maintain();
+                }
+                long updated = System.nanoTime();
+                results.clear();
+                for (int i = 0; i < 100; i++) {
+                    index.querySphere(center.set(random.nextFloat() * 1000 - 500, 0, random.nextFloat() * 1000 - 500), 25, results);
+                }
+                long queried = System.nanoTime();
+
+                // First half is warmup
+                if(frame >= FRAMES) {
+                    updateTime += updated - start;
+                    queryTime += queried - updated;
+                }
+            }
+            System.out.printf("100000 moving objects | %s: %.3f ms/frame | 100 sphere queries: %.3f ms | height: %d%n", mode, updateTime / 1e6 / FRAMES, queryTime / 1e6 / FRAMES, index.getHeight());
+        }
+    }
+
+    private List<GameObject> createObjects(Scene scene, int count, Random random) {
+        List<GameObject> objects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            GameObject gameObject = new GameObject(scene, "Object");
+            gameObject.getTransform().position(random.nextFloat() * 1000 - 500, random.nextFloat() * 100 - 50, random.nextFloat() * 1000 - 500);
+            scene.getSceneObject().appendChild(gameObject);
+            objects.add(gameObject);
+        }
+        return objects;
+    }
+
+    private void moveObjects(List<GameObject> objects, Random random, float distance) {
+        for (GameObject object : objects) {
+            object.getTransform().move((random.nextFloat() - 0.5f) * distance, (random.nextFloat() - 0.5f) * distance, (random.nextFloat() - 0.5f) * distance);
+        }
+    }
+
+    private Set<GameObject> filter(List<GameObject> objects, java.util.function.Predicate<Vector3f> predicate) {
+        Set<GameObject> result = new HashSet<>();
+        for (GameObject object : objects) {
+            if(predicate.test(object.getTransform().getWorldTransform().position)) result.add(object);
+        }
+        return result;
+    }
+
+}
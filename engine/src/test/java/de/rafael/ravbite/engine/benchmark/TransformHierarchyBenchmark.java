@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.benchmark;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 2:10 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.graphics.components.transform.Transform;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TransformHierarchyBenchmark {
+
+    private static final int NODES = 10_000;
+    private static final int FRAMES = 50;
+
+    @Test
+    public void worldMatricesMatchHierarchy() {
+        Scene scene = new HeadlessScene();
+        GameObject root = new GameObject(scene, "Root");
+        GameObject child = new GameObject(scene, "Child");
+        GameObject grandChild = new GameObject(scene, "GrandChild");
+        scene.getSceneObject().appendChild(root);
+        root.appendChild(child);
+        child.appendChild(grandChild);
+
+        root.getTransform().position(1, 2, 3).scale(2f).rotate(0, 90, 0);
+        child.getTransform().position(0, 1, 0).scale(0.5f, 1f, 2f);
+        grandChild.getTransform().position(4, 0, 0).rotate(45, 0, 0);
+
+        assertWorldMatrix(grandChild);
+
+        // Changing the root has to invalidate the whole subtree
+        root.getTransform().move(5, 0, 0);
+        assertTrue(grandChild.getTransform().isDirty());
+        assertWorldMatrix(grandChild);
+
+        Transform world = grandChild.getSpecialTransform(Transform.WORLD_SPACE);
+        Vector3f expected = grandChild.getTransform().getWorldMatrix().getTranslation(new Vector3f());
+        assertTrue(world.position.distance(expected) < 0.0001f);
+    }
+
+    @Test
+    @Tag("benchmark")
+    public void benchmarkHierarchyDepth() {
+        for (int depth : new int[] {1, 4, 8}) {
+            List<GameObject> objects = buildHierarchy(new HeadlessScene(), depth);
+            List<GameObject> roots = new ArrayList<>();
+            for (GameObject object : objects) {
+                if(object.getParentObject() == object.getScene().getSceneObject()) roots.add(object);
+            }
+
+            // Warmup
+            for (int i = 0; i < FRAMES; i++) {
+                runCachedFrame(objects, roots, 1f);
+                runLegacyFrame(objects);
+            }
+
+            long legacy = time(() -> runLegacyFrame(objects));
+            long cachedStatic = time(() -> runCachedFrame(objects, roots, 0f));
+            long cachedMoving = time(() -> runCachedFrame(objects, roots, 1f));
+
+            System.out.printf("depth %d, %d nodes | legacy: %.3f ms/frame | cached (static): %.3f ms/frame | cached (all moving): %.3f ms/frame%n",
+                    depth, objects.size(), legacy / 1e6, cachedStatic / 1e6, cachedMoving / 1e6);
+        }
+    }
+
+    /**
+     * Builds chains of the given depth until NODES objects exist
+     */
+    private List<GameObject> buildHierarchy(Scene scene, int depth) {
+        List<GameObject> objects = new ArrayList<>(NODES);
+        while (objects.size() < NODES) {
+            GameObject parent = scene.getSceneObject();
+            for (int level = 0; level < depth && objects.size() < NODES; level++) {
+                GameObject gameObject = new GameObject(scene, "Node");
+                gameObject.getTransform().position(level, 0.5f, -level).scale(1.01f).rotate(0, 10, 0);
+                parent.appendChild(gameObject);
+                objects.add(gameObject);
+                parent = gameObject;
+            }
+        }
+        return objects;
+    }
+
+    private float sink;
+
+    private void runCachedFrame(List<GameObject> objects, List<GameObject> roots, float movement) {
+        if(movement != 0) {
+            for (GameObject root : roots) {
+                root.getTransform().move(movement, 0, 0);
+            }
+        }
+        for (GameObject object : objects) {
+            sink += object.getTransform().getWorldMatrix().m30();
+        }
+    }
+
+    /**
+     * Old implementation: clones the transform and walks up the whole parent chain
+     */
+    private void runLegacyFrame(List<GameObject> objects) {
+        for (GameObject object : objects) {
+            sink += legacyWorldTransform(object).position.x;
+        }
+    }
+
+    private Transform legacyWorldTransform(GameObject gameObject) {
+        Transform transform = gameObject.getTransform().clone();
+        if(gameObject.getParentObject() != null) transform.add(legacyWorldTransform(gameObject.getParentObject()));
+        return transform;
+    }
+
+    private long time(Runnable frame) {
+        long start = System.nanoTime();
+        for (int i = 0; i < FRAMES; i++) {
+            frame.run();
+        }
+        return (System.nanoTime() - start) / FRAMES;
+    }
+
+    private void assertWorldMatrix(GameObject gameObject) {
+        Matrix4f expected = new Matrix4f();
+        GameObject current = gameObject;
+        while (current != null) {
+            Transform transform = current.getTransform();
+            new Matrix4f().translationRotateScale(transform.position, transform.rotation, transform.scale).mul(expected, expected);
+            current = current.getParentObject();
+        }
+        assertTrue(expected.equals(gameObject.getTransform().getWorldMatrix(), 0.0001f), () -> "Expected " + expected + " but was " + gameObject.getTransform().getWorldMatrix());
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.benchmark;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 6:55 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.graphics.components.transform.storage.TransformStorage;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
+import org.joml.Matrix4f;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TransformStorageBenchmark {
+
+    private static final int DEPTH = 4;
+    private static final int FRAMES = 20;
+
+    @Test
+    public void storageMatchesObjectGraph() {
+        Scene objectScene = new HeadlessScene();
+        Scene storageScene = new HeadlessScene();
+        TransformStorage storage = storageScene.enableTransformStorage(false);
+
+        List<GameObject> objects = buildHierarchy(objectScene, 1000);
+        List<GameObject> stored = buildHierarchy(storageScene, 1000);
+        for (int frame = 0; frame < 3; frame++) {
+            moveRoots(objects);
+            moveRoots(stored);
+        }
+        // Reparent a subtree to test the order rebuild
+        stored.get(10).appendChild(stored.get(DEPTH * 3));
+        objects.get(10).appendChild(objects.get(DEPTH * 3));
+
+        storage.update();
+        for (int i = 0; i < objects.size(); i++) {
+            Matrix4f expected = objects.get(i).getTransform().getWorldMatrix();
+            Matrix4f actual = stored.get(i).getTransform().getWorldMatrix();
+            assertTrue(expected.equals(actual, 0.001f), "Mismatch at " + i + ": " + expected + " != " + actual);
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    public void benchmarkStorage() {
+        List<Integer> sizes = new ArrayList<>(List.of(10_000, 100_000));
+        // 1M entities take long and need a lot of memory, run with ./gradlew benchmark -Dravbite.benchmark.large=true
+        if(Boolean.getBoolean("ravbite.benchmark.large")) sizes.add(1_000_000);
+
+        for (int size : sizes) {
+            List<GameObject> objects = buildHierarchy(new HeadlessScene(), size);
+            long objectGraph = time(() -> {
+                moveRoots(objects);
+                for (GameObject object : objects) {
+                    sink += object.getTransform().getWorldMatrix().m30();
+                }
+            });
+
+            Scene storageScene = new HeadlessScene();
+            TransformStorage storage = storageScene.enableTransformStorage(true);
+            List<GameObject> stored = buildHierarchy(storageScene, size);
+            long storageTime = time(() -> {
+                moveRoots(stored);
+                storage.update();
+                FloatBuffer matrices = storage.getWorldBuffer();
+                for (int i = 0; i < storage.size(); i++) {
+                    sink += matrices.get(i * 16 + 12);
+                }
+            });
+            storage.free();
+
+            System.out.printf("%d entities | object graph: %.3f ms/frame | packed storage: %.3f ms/frame%n", size, objectGraph / 1e6, storageTime / 1e6);
+        }
+    }
+
+    private float sink;
+
+    private List<GameObject> buildHierarchy(Scene scene, int count) {
+        List<GameObject> objects = new ArrayList<>(count);
+        while (objects.size() < count) {
+            GameObject parent = scene.getSceneObject();
+            for (int level = 0; level < DEPTH && objects.size() < count; level++) {
+                GameObject gameObject = new GameObject(scene, "Node");
+                gameObject.getTransform().position(level, 1, objects.size() % 100).scale(1.1f).rotate(0, 15, 0);
+                parent.appendChild(gameObject);
+                objects.add(gameObject);
+                parent = gameObject;
+            }
+        }
+        return objects;
+    }
+
+    private void moveRoots(List<GameObject> objects) {
+        for (int i = 0; i < objects.size(); i += DEPTH) {
+            objects.get(i).getTransform().move(0.1f, 0, 0);
+        }
+    }
+
+    private long time(Runnable frame) {
+        for (int i = 0; i < FRAMES; i++) {
+            frame.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < FRAMES; i++) {
+            frame.run();
+        }
+        return (System.nanoTime() - start) / FRAMES;
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.benchmark;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 7:58 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.graphics.components.classes.Component;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
+import de.rafael.ravbite.engine.graphics.objects.scene.scheduler.UpdateScheduler;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class UpdateSchedulerBenchmark {
+
+    private static final int OBJECTS = 20_000;
+    private static final int FRAMES = 20;
+
+    @Test
+    public void parallelMatchesSerial() {
+        List<GameObject> order = new ArrayList<>();
+        Scene serialScene = buildScene(2_000, order);
+        Scene parallelScene = buildScene(2_000, order);
+        parallelScene.enableParallelUpdates(4);
+
+        for (int frame = 0; frame < 3; frame++) {
+            serialScene.update();
+            parallelScene.update();
+        }
+        for (int i = 0; i < serialScene.getObjectRegistry().size(); i++) {
+            WorkComponent expected = serialScene.getObjectRegistry().get(i).getComponent(WorkComponent.class);
+            WorkComponent actual = parallelScene.getObjectRegistry().get(i).getComponent(WorkComponent.class);
+            assertEquals(expected.value, actual.value);
+        }
+
+        // Components that are not thread-safe are updated in scene order
+        order.clear();
+        parallelScene.update();
+        for (int i = 0; i < order.size(); i++) {
+            assertEquals(parallelScene.getObjectRegistry().get(i), order.get(i));
+        }
+        parallelScene.disableParallelUpdates();
+    }
+
+    @Test
+    @Tag("benchmark")
+    public void benchmarkScaling() {
+        Scene scene = buildScene(OBJECTS, new ArrayList<>());
+        System.out.printf("serial | %.3f ms/frame%n", time(scene) / 1e6);
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= processors; threads *= 2) {
+            UpdateScheduler scheduler = scene.enableParallelUpdates(threads);
+            System.out.printf("%d threads | %.3f ms/frame%n", scheduler.getParallelism(), time(scene) / 1e6);
+            scene.disableParallelUpdates();
+        }
+    }
+
+    private Scene buildScene(int count, List<GameObject> order) {
+        Scene scene = new HeadlessScene();
+        for (int i = 0; i < count; i++) {
+            GameObject gameObject = new GameObject(scene, "Object");
+            gameObject.appendComponent(new WorkComponent(i));
+            gameObject.appendComponent(new OrderComponent(order));
+            scene.getSceneObject().appendChild(gameObject);
+        }
+        return scene;
+    }
+
+    private long time(Scene scene) {
+        for (int i = 0; i < FRAMES; i++) {
+            scene.update();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < FRAMES; i++) {
+            scene.update();
+        }
+        return (System.nanoTime() - start) / FRAMES;
+    }
+
+    private static class WorkComponent extends Component {
+
+        private double value;
+
+        public WorkComponent(int seed) {
+            this.value = seed;
+        }
+
+        @Override
+        public void update() {
+            double result = value;
+            for (int i = 0; i < 200; i++) {
+                result = Math.sqrt(result * result + i) * 0.5;
+            }
+            value = result;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+
+    }
+
+    private static class OrderComponent extends Component {
+
+        private final List<GameObject> order;
+
+        public OrderComponent(List<GameObject> order) {
+            this.order = order;
+        }
+
+        @Override
+        public void update() {
+            order.add(getGameObject());
+        }
+
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.benchmark.utils;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/26/2026 at 4:30 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.components.classes.Component;
+import de.rafael.ravbite.engine.graphics.components.rendering.mesh.MeshRendererComponent;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.game.material.IMaterial;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
+
+public class HeadlessObjects {
+
+    /**
+     * Creates a quad facing +z with 4 vertices and 2 triangles
+     * @param material Material or null
+     * @param halfSize Half of the edge length
+     * @return Mesh that is not stored in OpenGL
+     */
+    public static Mesh quad(IMaterial material, float halfSize) {
+        return new Mesh(material,
+                new float[] {-halfSize, -halfSize, 0, halfSize, -halfSize, 0, halfSize, halfSize, 0, -halfSize, halfSize, 0},
+                new float[] {0, 0, 1, 0, 0, 1, 0, 0, 1, 0, 0, 1},
+                null,
+                new float[] {0, 0, 1, 0, 1, 1, 0, 1},
+                new int[] {0, 1, 2, 2, 3, 0});
+    }
+
+    /**
+     * Adds a GameObject with a HeadlessMeshComponent and a MeshRendererComponent to the root of the scene
+     * @param scene Scene
+     * @param mesh Mesh of the GameObject
+     * @param x X position
+     * @param y Y position
+     * @param z Z position
+     * @param isStatic If the GameObject is static
+     * @param components Additional components
+     * @return GameObject
+     */
+    public static GameObject createObject(Scene scene, Mesh mesh, float x, float y, float z, boolean isStatic, Component... components) {
+        GameObject gameObject = new GameObject(scene, "Object");
+        gameObject.getTransform().position(x, y, z);
+        gameObject.setStatic(isStatic);
+        gameObject.appendComponents(new HeadlessMeshComponent(mesh), new MeshRendererComponent());
+        gameObject.appendComponents(components);
+        scene.getSceneObject().appendChild(gameObject);
+        return gameObject;
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.benchmark.utils;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/26/2026 at 3:40 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.StoredMesh;
+import de.rafael.ravbite.engine.graphics.objects.scene.render.RenderQueue;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+
+import java.nio.FloatBuffer;
+
+public class HeadlessRenderQueue extends RenderQueue {
+
+    /**
+     * RenderQueue that runs execute without the GL calls. Sorting, batching, the shader phases and the instance data are the real ones
+     */
+    public HeadlessRenderQueue() {
+        super();
+    }
+
+    @Override
+    protected void uploadInstances(EngineView engineView, FloatBuffer instanceData) {
+
+    }
+
+    @Override
+    protected void bindTexture(int texture) {
+
+    }
+
+    @Override
+    protected void bindVao(int vao) {
+
+    }
+
+    @Override
+    protected void drawElements(StoredMesh mesh) {
+
+    }
+
+    @Override
+    protected void drawElementsInstanced(StoredMesh mesh, int instances) {
+
+    }
+
+    @Override
+    protected void setBlending(boolean enabled) {
+
+    }
+
+}
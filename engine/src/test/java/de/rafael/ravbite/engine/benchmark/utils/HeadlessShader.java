@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.benchmark.utils;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/26/2026 at 4:20 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.components.camera.CameraComponent;
+import de.rafael.ravbite.engine.graphics.components.classes.RenderComponent;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.game.material.IMaterial;
+import de.rafael.ravbite.engine.graphics.shader.AbstractShader;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+
+public class HeadlessShader extends AbstractShader {
+
+    private final AbstractShader instancedShader;
+
+    /**
+     * Shader without a program. Binding and all prepare phases do nothing
+     * @param engineView EngineView
+     */
+    public HeadlessShader(EngineView engineView) {
+        this(engineView, null);
+    }
+
+    /**
+     * @param engineView EngineView
+     * @param instancedShader Shader that draws the instanced batches or null
+     */
+    public HeadlessShader(EngineView engineView, AbstractShader instancedShader) {
+        super(engineView);
+        this.instancedShader = instancedShader;
+    }
+
+    /**
+     * @param engineView EngineView
+     * @return Shader with a headless instanced variant
+     */
+    public static HeadlessShader instanced(EngineView engineView) {
+        return new HeadlessShader(engineView, new HeadlessShader(engineView));
+    }
+
+    @Override
+    public AbstractShader getInstancedShader() {
+        return instancedShader;
+    }
+
+    @Override
+    public void bind() {
+
+    }
+
+    @Override
+    public void unbind() {
+
+    }
+
+    @Override
+    public void prepareObject(GameObject gameObject, IMaterial material, CameraComponent cameraComponent, RenderComponent renderer) {
+
+    }
+
+    @Override
+    public void bindAttributes() {
+
+    }
+
+    @Override
+    public void updateUniformLocations() {
+
+    }
+
+}
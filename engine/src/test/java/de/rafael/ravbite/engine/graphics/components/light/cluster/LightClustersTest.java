@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.components.light.cluster;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/20/2026 at 1:15 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.graphics.components.camera.CameraComponent;
+import de.rafael.ravbite.engine.graphics.components.light.LightComponent;
+import de.rafael.ravbite.engine.graphics.components.light.LightType;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
+import de.rafael.ravbite.engine.graphics.objects.scene.query.ComponentQuery;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.joml.Vector4f;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LightClustersTest {
+
+    private static final int LIGHTS = 1000;
+
+    @Test
+    public void clustersContainEveryLightThatReachesThem() {
+        Scene scene = new HeadlessScene();
+        Random random = new Random(1);
+        for (int i = 0; i < LIGHTS; i++) {
+            GameObject light = new GameObject(scene, "Light-" + i);
+            light.getTransform().position(random.nextFloat() * 200 - 100, random.nextFloat() * 40 - 20, -random.nextFloat() * 200);
+            light.appendComponent(new LightComponent(Color.WHITE, i % 10 == 0 ? LightType.SPOT : LightType.POINT).range(2 + random.nextFloat() * 8));
+            scene.getSceneObject().appendChild(light);
+        }
+        GameObject sun = new GameObject(scene, "Sun");
+        sun.appendComponent(new LightComponent(Color.WHITE, LightType.DIRECTIONAL));
+        scene.getSceneObject().appendChild(sun);
+        CameraComponent camera = createCamera(scene);
+
+        LightClusters clusters = scene.getLightClusters();
+        ComponentQuery<LightComponent> lights = scene.query(LightComponent.class);
+        clusters.pack(lights);
+        clusters.assign(camera);
+
+        assertEquals(LIGHTS + 1, clusters.getLightCount());
+        assertEquals(1, clusters.getDirectionalCount());
+        assertTrue(clusters.getIndexCount() < LightClusters.CLUSTER_COUNT * LIGHTS / 20, "Lights are assigned to too many clusters");
+
+        Matrix4f projection = camera.getProjectionMatrix();
+        Matrix4f inverseView = new Matrix4f(camera.getViewMatrix()).invert();
+        Vector4f point = new Vector4f();
+        Vector3f lightPosition = new Vector3f();
+        for (int sample = 0; sample < 2000; sample++) {
+            float ndcX = random.nextFloat() * 2 - 1, ndcY = random.nextFloat() * 2 - 1;
+            float depth = camera.nearPlane + random.nextFloat() * 200;
+            inverseView.transform(point.set(ndcX * depth / projection.m00(), ndcY * depth / projection.m11(), -depth, 1));
+
+            int cluster = LightClusters.clusterIndex(tile(ndcX, LightClusters.CLUSTERS_X), tile(ndcY, LightClusters.CLUSTERS_Y), clusters.slice(depth));
+            for (int i = 0; i < lights.size(); i++) {
+                LightComponent light = lights.getComponent(i);
+                if(light.getType() == LightType.DIRECTIONAL) continue;
+                light.getGameObject().getTransform().getWorldMatrix().getTranslation(lightPosition);
+                if(lightPosition.distance(point.x, point.y, point.z) > light.getRange()) continue;
+                assertTrue(contains(clusters, cluster, packedIndexOf(clusters, lightPosition)), "Light missing in cluster " + cluster);
+            }
+        }
+    }
+
+    private static boolean contains(LightClusters clusters, int cluster, int light) {
+        int offset = clusters.getClusterOffset(cluster);
+        for (int i = 0; i < clusters.getClusterLightCount(cluster); i++) {
+            if(clusters.getLightIndex(offset + i) == light) return true;
+        }
+        return false;
+    }
+
+    private static int packedIndexOf(LightClusters clusters, Vector3f position) {
+        for (int i = 0; i < clusters.getLightCount(); i++) {
+            if(clusters.getLightPosition(i, new Vector3f()).equals(position)) return i;
+        }
+        return -1;
+    }
+
+    private static int tile(float ndc, int count) {
+        return Math.max(0, Math.min(count - 1, (int) Math.floor((ndc * 0.5f + 0.5f) * count)));
+    }
+
+    private static CameraComponent createCamera(Scene scene) {
+        GameObject cameraObject = new GameObject(scene, "Camera");
+        CameraComponent camera = new CameraComponent() {
+            @Override
+            public void initialize() {
+                updateProjectionMatrix();
+            }
+        };
+        cameraObject.appendComponent(camera);
+        scene.getSceneObject().appendChild(cameraObject);
+        camera.updateFrustum();
+        return camera;
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.components.transform.storage;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/26/2026 at 3:05 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.graphics.components.transform.Transform;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransformStorageTest {
+
+    @Test
+    public void onlyMovedTransformsChangeTheirVersion() {
+        Scene scene = new HeadlessScene();
+        GameObject parent = new GameObject(scene, "Parent");
+        GameObject child = new GameObject(scene, "Child");
+        GameObject other = new GameObject(scene, "Other");
+        parent.appendChild(child);
+        scene.getSceneObject().appendChildren(parent, other);
+        scene.enableTransformStorage(false);
+        try {
+            Transform childTransform = child.getTransform();
+            Transform otherTransform = other.getTransform();
+            childTransform.getWorldMatrix();
+            otherTransform.getWorldMatrix();
+            int childVersion = childTransform.getWorldVersion();
+            int otherVersion = otherTransform.getWorldVersion();
+            assertFalse(otherTransform.isDirty());
+
+            parent.getTransform().move(1, 0, 0);
+            assertTrue(childTransform.isDirty());
+            scene.update();
+
+            assertEquals(1, childTransform.getWorldMatrix().m30());
+            otherTransform.getWorldMatrix();
+            assertNotEquals(childVersion, childTransform.getWorldVersion());
+            assertEquals(otherVersion, otherTransform.getWorldVersion());
+            assertFalse(childTransform.isDirty());
+            assertFalse(otherTransform.isDirty());
+        } finally {
+            scene.getTransformStorage().free();
+        }
+    }
+
+}
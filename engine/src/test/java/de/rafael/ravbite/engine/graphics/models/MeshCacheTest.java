@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.models;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/22/2026 at 3:10 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.graphics.objects.game.material.standard.DiffuseProperty;
+import de.rafael.ravbite.engine.graphics.objects.game.material.standard.Material;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.VertexLayout;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lwjgl.opengl.GL11;
+
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MeshCacheTest {
+
+    @TempDir
+    File directory;
+
+    @Test
+    public void restoresMeshesFromTheCache() throws IOException {
+        EngineView engineView = new HeadlessScene().getEngineView();
+        MeshCache meshCache = new MeshCache(directory);
+
+        Material material = new Material(engineView);
+        material.diffuse(new DiffuseProperty(material, new Color(10, 20, 30, 40))).create();
+        Mesh root = createMesh("Root", material, 0);
+        root.setVertexLayout(VertexLayout.FULL);
+        Mesh child = createMesh("Child", null, 5);
+        root.addSubMesh(child);
+        root.calculateBounds();
+
+        String key = meshCache.createKey(ByteBuffer.wrap(new byte[] {1, 2, 3}), ModelUtils.IMPORT_FLAGS);
+        assertNull(meshCache.load(key, engineView));
+        meshCache.store(key, root);
+        assertTrue(meshCache.getFile(key).isFile());
+
+        Mesh loaded = meshCache.load(key, engineView);
+        assertNotNull(loaded);
+        assertEquals("Root", loaded.getName());
+        assertEquals(1, loaded.getSubMeshes().length);
+        Mesh loadedChild = loaded.getSubMeshes()[0];
+        assertEquals("Child", loadedChild.getName());
+        assertSame(loaded, loadedChild.getParentMesh());
+        assertNull(loadedChild.getMaterial());
+        assertEquals(new Color(10, 20, 30, 40), ((Material) loaded.getMaterial()).getDiffuse().getColor());
+
+        // Bounds are read from the file
+        assertEquals(root.getBounds().min, loaded.getBounds().min);
+        assertEquals(root.getBounds().max, loaded.getBounds().max);
+        assertEquals(root.getBoundingSphere().radius, loaded.getBoundingSphere().radius);
+
+        // The full layout is lossless
+        assertNotNull(loaded.getPackedMesh());
+        assertEquals(GL11.GL_UNSIGNED_INT, loaded.getPackedMesh().getIndexType());
+        assertSame(VertexLayout.FULL, loaded.getVertexLayout());
+        assertArrayEquals(root.getVertices(), loaded.getVertices());
+        assertArrayEquals(root.getNormals(), loaded.getNormals());
+        assertArrayEquals(root.getTangents(), loaded.getTangents());
+        assertArrayEquals(root.getTextureCoords(), loaded.getTextureCoords());
+        assertArrayEquals(root.getIndices(), loaded.getIndices());
+
+        // The compact layout is decoded with its precision
+        assertNotNull(loadedChild.getPackedMesh());
+        assertEquals(GL11.GL_UNSIGNED_SHORT, loadedChild.getPackedMesh().getIndexType());
+        assertArrayEquals(child.getVertices(), loadedChild.getVertices());
+        assertArrayEquals(child.getTextureCoords(), loadedChild.getTextureCoords(), 0.001f);
+        assertArrayEquals(child.getNormals(), loadedChild.getNormals(), 0.002f);
+        assertArrayEquals(child.getIndices(), loadedChild.getIndices());
+
+        // Changing the data drops the packed data
+        loadedChild.setVertices(new float[9]);
+        assertNull(loadedChild.getPackedMesh());
+        assertArrayEquals(child.getIndices(), loadedChild.getIndices());
+    }
+
+    @Test
+    public void ignoresOtherVersionsAndKeys() throws IOException {
+        EngineView engineView = new HeadlessScene().getEngineView();
+        MeshCache meshCache = new MeshCache(directory);
+        ByteBuffer source = ByteBuffer.wrap(new byte[] {1, 2, 3});
+        String key = meshCache.createKey(source, ModelUtils.IMPORT_FLAGS);
+        assertEquals(key, meshCache.createKey(source, ModelUtils.IMPORT_FLAGS));
+        assertNotEquals(key, meshCache.createKey(source, 0));
+        assertNotEquals(key, meshCache.createKey(ByteBuffer.wrap(new byte[] {1, 2, 4}), ModelUtils.IMPORT_FLAGS));
+
+        meshCache.store(key, createMesh("Mesh", null, 0));
+        try (RandomAccessFile file = new RandomAccessFile(meshCache.getFile(key), "rw")) {
+            // Overwrite the version
+            file.seek(4);
+            file.writeInt(-1);
+        }
+        assertNull(meshCache.load(key, engineView));
+    }
+
+    @Test
+    public void discardsBrokenFiles() throws IOException {
+        EngineView engineView = new HeadlessScene().getEngineView();
+        MeshCache meshCache = new MeshCache(directory);
+        String key = meshCache.createKey(ByteBuffer.wrap(new byte[] {1, 2, 3}), ModelUtils.IMPORT_FLAGS);
+        File cacheFile = meshCache.getFile(key);
+
+        // Truncated inside the vertex data
+        meshCache.store(key, createMesh("Mesh", null, 0));
+        try (RandomAccessFile file = new RandomAccessFile(cacheFile, "rw")) {
+            file.setLength(file.length() - 8);
+        }
+        assertNull(meshCache.load(key, engineView));
+        assertFalse(cacheFile.exists());
+
+        // Truncated inside the mesh record
+        meshCache.store(key, createMesh("Mesh", null, 0));
+        try (RandomAccessFile file = new RandomAccessFile(cacheFile, "rw")) {
+            file.setLength(40);
+        }
+        assertNull(meshCache.load(key, engineView));
+        assertFalse(cacheFile.exists());
+
+        // Name longer than the file
+        meshCache.store(key, createMesh("Mesh", null, 0));
+        try (RandomAccessFile file = new RandomAccessFile(cacheFile, "rw")) {
+            file.seek(116);
+            file.writeInt(Integer.reverseBytes(Integer.MAX_VALUE));
+        }
+        assertNull(meshCache.load(key, engineView));
+        assertFalse(cacheFile.exists());
+
+        // Vertex data outside of the file
+        meshCache.store(key, createMesh("Mesh", null, 0));
+        try (RandomAccessFile file = new RandomAccessFile(cacheFile, "rw")) {
+            file.seek(80);
+            file.writeLong(Long.MAX_VALUE - 16);
+        }
+        assertNull(meshCache.load(key, engineView));
+        assertFalse(cacheFile.exists());
+
+        // Mesh count bigger than the file
+        meshCache.store(key, createMesh("Mesh", null, 0));
+        try (RandomAccessFile file = new RandomAccessFile(cacheFile, "rw")) {
+            file.seek(12);
+            file.writeInt(Integer.MAX_VALUE);
+        }
+        assertNull(meshCache.load(key, engineView));
+        assertFalse(cacheFile.exists());
+
+        // A new file can be stored and loaded after a broken one
+        meshCache.store(key, createMesh("Mesh", null, 0));
+        assertNotNull(meshCache.load(key, engineView));
+    }
+
+    @Test
+    public void storesTheSameKeyConcurrently() throws Exception {
+        EngineView engineView = new HeadlessScene().getEngineView();
+        MeshCache meshCache = new MeshCache(directory);
+        String key = meshCache.createKey(ByteBuffer.wrap(new byte[] {1, 2, 3}), ModelUtils.IMPORT_FLAGS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> stores = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                stores.add(executor.submit(() -> {
+                    meshCache.store(key, createMesh("Mesh", null, 0));
+                    return null;
+                }));
+            }
+            for (Future<?> store : stores) {
+                store.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Mesh loaded = meshCache.load(key, engineView);
+        assertNotNull(loaded);
+        assertArrayEquals(new int[] {0, 1, 2, 2, 3, 0}, loaded.getIndices());
+        // No temporary file is left behind
+        assertArrayEquals(new String[] {meshCache.getFile(key).getName()}, directory.list());
+    }
+
+    private Mesh createMesh(String name, Material material, float offset) {
+        return new Mesh(name, material,
+                new float[] {offset, 0, 0, offset + 1, 0, 0, offset + 1, 1, 0, offset, 1, 0},
+                new float[] {0, 0, 1, 0, 0, 1, 0, 0, 1, 0, 0, 1},
+                new float[] {1, 0, 0, 1, 0, 0, 1, 0, 0, 1, 0, 0},
+                new float[] {0, 0, 1, 0, 1, 1, 0, 0.5f},
+                new int[] {0, 1, 2, 2, 3, 0});
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.models;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/23/2026 at 11:15 AM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.graphics.objects.game.material.standard.Material;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.assimp.AIFace;
+import org.lwjgl.assimp.AIMesh;
+import org.lwjgl.assimp.AIScene;
+import org.lwjgl.assimp.AIVector3D;
+import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.system.NativeResource;
+
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModelUtilsTest {
+
+    @Test
+    public void parallelImportMatchesSerialImport() throws IOException {
+        EngineView engineView = new HeadlessScene().getEngineView();
+        List<NativeResource> resources = new ArrayList<>();
+        List<IntBuffer> indexBuffers = new ArrayList<>();
+        Random random = new Random(1);
+
+        AIScene aiScene = AIScene.calloc();
+        PointerBuffer meshes = MemoryUtil.memAllocPointer(64);
+        try {
+            for (int i = 0; i < meshes.capacity(); i++) {
+                meshes.put(i, createMesh(random, 50 + random.nextInt(500), i, resources, indexBuffers));
+            }
+            aiScene.mMeshes(meshes);
+
+            Mesh serial = ModelUtils.rbProcessScene(aiScene, engineView, false);
+            Mesh parallel = ModelUtils.rbProcessScene(aiScene, engineView, true);
+            assertNotNull(serial);
+            assertEquals(63, serial.getSubMeshes().length);
+            assertMeshEquals(serial, parallel);
+            for (int i = 0; i < serial.getSubMeshes().length; i++) {
+                assertMeshEquals(serial.getSubMeshes()[i], parallel.getSubMeshes()[i]);
+                assertSame(parallel, parallel.getSubMeshes()[i].getParentMesh());
+            }
+        } finally {
+            aiScene.free();
+            MemoryUtil.memFree(meshes);
+            resources.forEach(NativeResource::free);
+            indexBuffers.forEach(MemoryUtil::memFree);
+        }
+    }
+
+    private long createMesh(Random random, int vertexCount, int index, List<NativeResource> resources, List<IntBuffer> indexBuffers) {
+        AIMesh aiMesh = AIMesh.calloc();
+        AIVector3D.Buffer vertices = createVectors(random, vertexCount);
+        AIVector3D.Buffer normals = createVectors(random, vertexCount);
+        AIVector3D.Buffer textureCoords = createVectors(random, vertexCount);
+        int triangles = vertexCount / 2;
+        AIFace.Buffer faces = AIFace.calloc(triangles);
+        IntBuffer indices = MemoryUtil.memAllocInt(triangles * 3);
+        for (int i = 0; i < triangles * 3; i++) {
+            indices.put(i, random.nextInt(vertexCount));
+        }
+        for (int i = 0; i < triangles; i++) {
+            long face = faces.address() + (long) i * AIFace.SIZEOF;
+            AIFace.nmNumIndices(face, 3);
+            MemoryUtil.memPutAddress(face + AIFace.MINDICES, MemoryUtil.memAddress(indices) + i * 12L);
+        }
+        aiMesh.mName().data(MemoryUtil.memUTF8("Mesh" + index));
+        aiMesh.mNumVertices(vertexCount).mVertices(vertices).mNormals(normals).mTextureCoords(0, textureCoords).mFaces(faces);
+
+        resources.add(aiMesh);
+        resources.add(vertices);
+        resources.add(normals);
+        resources.add(textureCoords);
+        resources.add(faces);
+        indexBuffers.add(indices);
+        return aiMesh.address();
+    }
+
+    private AIVector3D.Buffer createVectors(Random random, int count) {
+        AIVector3D.Buffer vectors = AIVector3D.calloc(count);
+        FloatBuffer floats = MemoryUtil.memFloatBuffer(vectors.address(), count * 3);
+        for (int i = 0; i < count * 3; i++) {
+            floats.put(i, random.nextFloat() * 10 - 5);
+        }
+        return vectors;
+    }
+
+    private void assertMeshEquals(Mesh expected, Mesh actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertArrayEquals(expected.getVertices(), actual.getVertices());
+        assertArrayEquals(expected.getNormals(), actual.getNormals());
+        assertArrayEquals(expected.getTangents(), actual.getTangents());
+        assertArrayEquals(expected.getTextureCoords(), actual.getTextureCoords());
+        assertArrayEquals(expected.getIndices(), actual.getIndices());
+        assertEquals(expected.getBounds().min, actual.getBounds().min);
+        assertEquals(expected.getBounds().max, actual.getBounds().max);
+        assertEquals(expected.getBoundingSphere().center, actual.getBoundingSphere().center);
+        assertEquals(expected.getBoundingSphere().radius, actual.getBoundingSphere().radius);
+        assertEquals(((Material) expected.getMaterial()).getDiffuse().getColor(), ((Material) actual.getMaterial()).getDiffuse().getColor());
+        assertEquals(((Material) expected.getMaterial()).getDiffuse().getTexturePath(), ((Material) actual.getMaterial()).getDiffuse().getTexturePath());
+    }
+
+}
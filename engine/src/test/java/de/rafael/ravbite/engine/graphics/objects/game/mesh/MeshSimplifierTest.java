@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.game.mesh;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/21/2026 at 4:05 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.graphics.components.camera.CameraComponent;
+import de.rafael.ravbite.engine.graphics.components.mesh.MeshComponent;
+import de.rafael.ravbite.engine.graphics.components.rendering.mesh.MeshRendererComponent;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
+import de.rafael.ravbite.engine.utils.math.BoundingBox;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MeshSimplifierTest {
+
+    @Test
+    public void simplifiesWithoutChangingTheOutline() {
+        Mesh mesh = createGrid(16, 0);
+        Mesh simplified = new MeshSimplifier().simplify(mesh, 0.25f);
+
+        int triangles = simplified.getIndices().length / 3;
+        assertTrue(triangles <= 128, "Triangles: " + triangles);
+        assertTrue(triangles > 0);
+        assertTrue(simplified.getVertices().length < mesh.getVertices().length);
+        assertEquals(simplified.getVertices().length / 3 * 2, simplified.getTextureCoords().length);
+
+        BoundingBox bounds = simplified.getBounds();
+        assertEquals(mesh.getBounds().min, bounds.min);
+        assertEquals(mesh.getBounds().max, bounds.max);
+
+        // No triangle is turned around or collapsed
+        float[] vertices = simplified.getVertices();
+        int[] indices = simplified.getIndices();
+        for (int t = 0; t < triangles; t++) {
+            int a = indices[t * 3], b = indices[t * 3 + 1], c = indices[t * 3 + 2];
+            float abx = vertices[b * 3] - vertices[a * 3], aby = vertices[b * 3 + 1] - vertices[a * 3 + 1];
+            float acx = vertices[c * 3] - vertices[a * 3], acy = vertices[c * 3 + 1] - vertices[a * 3 + 1];
+            assertTrue(abx * acy - aby * acx > 0);
+        }
+    }
+
+    @Test
+    public void generatesLodsForSubMeshes() {
+        Mesh mesh = createGrid(8, 0);
+        mesh.addSubMesh(createGrid(8, 1));
+        Mesh[] lods = new MeshSimplifier().generateLods(mesh, 3);
+        assertEquals(3, lods.length);
+        for (Mesh lod : lods) {
+            assertEquals(1, lod.getSubMeshes().length);
+            assertSame(mesh.getVertexLayout(), lod.getVertexLayout());
+        }
+        assertTrue(lods[2].getIndices().length < lods[1].getIndices().length);
+        assertTrue(lods[1].getIndices().length < lods[0].getIndices().length);
+
+        mesh.setLods(lods);
+        assertSame(mesh, mesh.getLod(0));
+        assertSame(lods[1], mesh.getLod(2));
+        assertSame(lods[2], mesh.getLod(10));
+    }
+
+    @Test
+    public void selectsLodWithHysteresis() {
+        Scene scene = new HeadlessScene();
+        Mesh mesh = createGrid(16, 0);
+        mesh.generateLods(4);
+        assertEquals(4, mesh.getLodCount());
+
+        GameObject gameObject = new GameObject(scene, "Object");
+        MeshRendererComponent renderer = new MeshRendererComponent();
+        gameObject.appendComponents(new MeshComponent(mesh) {
+            @Override
+            public void initialize() {
+
+            }
+        }, renderer);
+        scene.getSceneObject().appendChild(gameObject);
+
+        GameObject cameraObject = new GameObject(scene, "Camera");
+        CameraComponent camera = new CameraComponent() {
+            @Override
+            public void initialize() {
+                updateProjectionMatrix();
+            }
+        };
+        cameraObject.appendComponent(camera);
+        scene.getSceneObject().appendChild(cameraObject);
+        camera.updateFrustum();
+
+        // The grid has a radius of ~1.41 and covers ~2.1 / distance of the screen height
+        assertEquals(0, select(renderer, camera, 2));
+        assertEquals(2, select(renderer, camera, 10));
+        // Inside the hysteresis band of the first screen size
+        assertEquals(2, select(renderer, camera, 8.2f));
+        assertEquals(1, select(renderer, camera, 7));
+        assertEquals(-1, renderer.getPreviousLodLevel(camera));
+
+        // A second camera with another bias keeps its own level and doesn't restart the fade of the first one
+        GameObject minimapObject = new GameObject(scene, "Minimap");
+        CameraComponent minimap = new CameraComponent() {
+            @Override
+            public void initialize() {
+                updateProjectionMatrix();
+            }
+        };
+        minimapObject.appendComponent(minimap);
+        scene.getSceneObject().appendChild(minimapObject);
+        minimap.updateFrustum();
+        minimap.lodBias(0.1f);
+
+        camera.lodBias(0.5f);
+        renderer.lodCrossFade(true, 0.5f);
+        assertEquals(2, select(renderer, camera, 7));
+        assertEquals(4, renderer.selectLod(minimap));
+        assertEquals(2, renderer.selectLod(camera));
+        assertEquals(2, renderer.getLodLevel(camera));
+        assertEquals(1, renderer.getPreviousLodLevel(camera));
+        assertEquals(0, renderer.getLodFade(camera));
+        assertEquals(4, renderer.getLodLevel(minimap));
+        assertEquals(0, renderer.getPreviousLodLevel(minimap));
+    }
+
+    private int select(MeshRendererComponent renderer, CameraComponent camera, float distance) {
+        renderer.getGameObject().getTransform().position(0, 0, -distance);
+        return renderer.selectLod(camera);
+    }
+
+    /**
+     * Grid from -1 to 1 with quads x quads quads facing +z
+     */
+    private Mesh createGrid(int quads, float z) {
+        int size = quads + 1;
+        float[] vertices = new float[size * size * 3];
+        float[] normals = new float[size * size * 3];
+        float[] textureCoords = new float[size * size * 2];
+        int[] indices = new int[quads * quads * 6];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int v = y * size + x;
+                vertices[v * 3] = x * 2f / quads - 1;
+                vertices[v * 3 + 1] = y * 2f / quads - 1;
+                vertices[v * 3 + 2] = z;
+                normals[v * 3 + 2] = 1;
+                textureCoords[v * 2] = x / (float) quads;
+                textureCoords[v * 2 + 1] = y / (float) quads;
+            }
+        }
+        int i = 0;
+        for (int y = 0; y < quads; y++) {
+            for (int x = 0; x < quads; x++) {
+                int v = y * size + x;
+                indices[i++] = v;
+                indices[i++] = v + 1;
+                indices[i++] = v + size + 1;
+                indices[i++] = v + size + 1;
+                indices[i++] = v + size;
+                indices[i++] = v;
+            }
+        }
+        return new Mesh(null, vertices, normals, null, textureCoords, indices);
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.game.mesh;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/20/2026 at 7:40 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import org.junit.jupiter.api.Test;
+import org.lwjgl.opengl.GL11;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VertexLayoutTest {
+
+    @Test
+    public void halfFloatConversion() {
+        assertEquals((short) 0x3C00, VertexLayout.toHalf(1f));
+        assertEquals((short) 0x3800, VertexLayout.toHalf(0.5f));
+        assertEquals((short) 0xC000, VertexLayout.toHalf(-2f));
+        assertEquals((short) 0x7BFF, VertexLayout.toHalf(65504f));
+        assertEquals((short) 0x7C00, VertexLayout.toHalf(70000f));
+        assertEquals((short) 0x0000, VertexLayout.toHalf(0f));
+        // Smallest subnormal half
+        assertEquals((short) 0x0001, VertexLayout.toHalf((float) Math.pow(2, -24)));
+        // 1 + 2^-11 is halfway between 1 and the next half and rounds to even
+        assertEquals((short) 0x3C00, VertexLayout.toHalf(1f + (float) Math.pow(2, -11)));
+    }
+
+    @Test
+    public void normalPacking() {
+        assertEquals(511, VertexLayout.packNormal(1, 0, 0));
+        assertEquals(0x201, VertexLayout.packNormal(-1, 0, 0));
+        assertEquals(511 << 10, VertexLayout.packNormal(0, 1, 0));
+        assertEquals(0x201 << 20, VertexLayout.packNormal(0, 0, -1));
+    }
+
+    @Test
+    public void compactLayoutIsSmaller() {
+        assertEquals(20, VertexLayout.COMPACT.getStride(false));
+        assertEquals(32, VertexLayout.FULL.getStride(false));
+        assertEquals(24, VertexLayout.COMPACT.getStride(true));
+        assertEquals(44, VertexLayout.FULL.getStride(true));
+
+        assertEquals(GL11.GL_UNSIGNED_SHORT, VertexLayout.COMPACT.getIndexType(65535));
+        assertEquals(GL11.GL_UNSIGNED_INT, VertexLayout.COMPACT.getIndexType(65536));
+        assertEquals(GL11.GL_UNSIGNED_INT, VertexLayout.FULL.getIndexType(3));
+    }
+
+    @Test
+    public void writesInterleavedVertices() {
+        Mesh mesh = new Mesh(null,
+                new float[] {1, 2, 3, 4, 5, 6, 7, 8, 9},
+                new float[] {0, 0, 1, 0, 1, 0, 1, 0, 0},
+                null,
+                new float[] {0, 0, 0.5f, 1, 1, 0.25f},
+                new int[] {0, 1, 2});
+
+        ByteBuffer buffer = ByteBuffer.allocate(VertexLayout.COMPACT.getVertexBytes(mesh) + VertexLayout.COMPACT.getIndexBytes(mesh)).order(ByteOrder.nativeOrder());
+        assertEquals(3 * 20 + 3 * 2, buffer.capacity());
+        VertexLayout.COMPACT.writeVertices(mesh, buffer);
+        VertexLayout.COMPACT.writeIndices(mesh, buffer);
+        assertFalse(buffer.hasRemaining());
+
+        buffer.flip();
+        // Second vertex
+        buffer.position(20);
+        assertEquals(4, buffer.getFloat());
+        assertEquals(5, buffer.getFloat());
+        assertEquals(6, buffer.getFloat());
+        assertEquals((short) 0x3800, buffer.getShort());
+        assertEquals((short) 0x3C00, buffer.getShort());
+        assertEquals(511 << 10, buffer.getInt());
+        // Indices
+        buffer.position(60);
+        assertEquals(0, buffer.getShort());
+        assertEquals(1, buffer.getShort());
+        assertEquals(2, buffer.getShort());
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.scene;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 5:31 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.graphics.components.light.LightComponent;
+import de.rafael.ravbite.engine.graphics.components.rendering.mesh.MeshRendererComponent;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.scene.query.ComponentQuery;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComponentQueryTest {
+
+    @Test
+    public void queryFollowsComponentChanges() {
+        Scene scene = new HeadlessScene();
+        GameObject lamp = new GameObject(scene, "Lamp");
+        LightComponent light = new LightComponent(Color.WHITE);
+        lamp.appendComponent(light);
+
+        GameObject other = new GameObject(scene, "Other");
+        scene.getSceneObject().appendChildren(lamp, other);
+
+        ComponentQuery<LightComponent> lights = scene.query(LightComponent.class);
+        ComponentQuery<LightComponent> renderedLights = scene.query(LightComponent.class, MeshRendererComponent.class);
+        assertSame(lights, scene.query(LightComponent.class));
+        assertEquals(List.of(lamp), List.copyOf(lights.asList()));
+        assertSame(light, lights.getComponent(0));
+        assertEquals(0, renderedLights.size());
+
+        MeshRendererComponent renderer = new MeshRendererComponent();
+        lamp.appendComponent(renderer);
+        assertEquals(1, renderedLights.size());
+
+        other.appendComponent(new LightComponent(Color.RED));
+        assertEquals(2, lights.size());
+
+        lamp.removeComponent(renderer);
+        assertEquals(0, renderedLights.size());
+        assertNull(lamp.getComponent(MeshRendererComponent.class));
+
+        scene.getSceneObject().removeChild(other);
+        assertEquals(List.of(lamp), List.copyOf(lights.asList()));
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.scene;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 3:40 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.graphics.components.classes.Component;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.scene.callbacks.SceneCallback;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ObjectRegistryTest {
+
+    @Test
+    public void registryFollowsSceneTree() {
+        Scene scene = new HeadlessScene();
+        List<GameObject> added = new ArrayList<>();
+        List<GameObject> removed = new ArrayList<>();
+        scene.listen(new SceneCallback() {
+            @Override
+            public void objectAdded(GameObject gameObject) {
+                added.add(gameObject);
+            }
+
+            @Override
+            public void objectRemoved(GameObject gameObject) {
+                removed.add(gameObject);
+            }
+        });
+
+        GameObject parent = new GameObject(scene, "Parent");
+        GameObject child = new GameObject(scene, "Child");
+        GameObject other = new GameObject(scene, "Other");
+        parent.appendChild(child);
+
+        // Objects outside of the scene tree are not registered
+        assertEquals(0, scene.getGameObjects().size());
+
+        scene.getSceneObject().appendChildren(parent, other);
+        assertEquals(3, scene.getGameObjects().size());
+        assertEquals(List.of(parent, child, other), added);
+
+        parent.removeChild(child);
+        assertEquals(2, scene.getGameObjects().size());
+        assertEquals(List.of(child), removed);
+        assertFalse(child.isInScene());
+
+        // Removing swaps the last object into the free slot
+        scene.getSceneObject().removeChild(parent);
+        assertEquals(List.of(other), List.copyOf(scene.getGameObjects()));
+        assertEquals(0, other.getRegistryIndex());
+
+        // Moving a registered object to another parent keeps it registered once
+        scene.getSceneObject().appendChild(parent);
+        parent.appendChild(other);
+        assertEquals(2, scene.getGameObjects().size());
+        assertFalse(scene.getSceneObject().getChildrenObjects().contains(other));
+
+        // Moving an object under a parent outside of the scene removes it from the scene
+        GameObject detached = new GameObject(scene, "Detached");
+        detached.appendChild(other);
+        assertEquals(List.of(parent), List.copyOf(scene.getGameObjects()));
+        assertFalse(other.isInScene());
+        assertEquals(List.of(child, parent, other), removed.subList(0, 3));
+    }
+
+    @Test
+    public void spawnAndDestroyDuringUpdate() {
+        Scene scene = new HeadlessScene();
+        List<GameObject> updated = new ArrayList<>();
+        List<GameObject> objects = new ArrayList<>();
+        // Fill the registry up to its initial capacity so the spawn grows the array
+        for (int i = 0; i < 64; i++) {
+            GameObject gameObject = new GameObject(scene, "Object" + i);
+            gameObject.appendComponent(new RecordingComponent(updated));
+            objects.add(gameObject);
+        }
+        GameObject spawned = new GameObject(scene, "Spawned");
+        spawned.appendComponent(new RecordingComponent(updated));
+        GameObject destroyed = objects.get(32);
+        objects.get(0).appendComponent(new Component() {
+            @Override
+            public void update() {
+                if(!spawned.isInScene()) scene.getSceneObject().appendChild(spawned);
+                if(destroyed.isInScene()) destroyed.destroy();
+                // Removing swaps the last object to the front of the pass
+                if(objects.get(1).isInScene()) scene.getSceneObject().removeChild(objects.get(1));
+            }
+        });
+        scene.getSceneObject().appendChildren(objects.toArray(GameObject[]::new));
+
+        scene.update();
+        List<GameObject> expected = new ArrayList<>(objects);
+        expected.remove(destroyed);
+        expected.remove(objects.get(1));
+        assertEquals(expected, updated);
+
+        // Spawned objects are updated from the next frame on
+        updated.clear();
+        scene.update();
+        assertEquals(63, updated.size());
+        assertTrue(updated.contains(spawned));
+        assertFalse(updated.contains(destroyed));
+    }
+
+    private static class RecordingComponent extends Component {
+
+        private final List<GameObject> updated;
+
+        public RecordingComponent(List<GameObject> updated) {
+            this.updated = updated;
+        }
+
+        @Override
+        public void update() {
+            updated.add(getGameObject());
+        }
+
+    }
+
+}
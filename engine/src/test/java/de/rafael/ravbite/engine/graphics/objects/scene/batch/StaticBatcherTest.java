@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.scene.batch;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/20/2026 at 3:50 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessObjects;
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.graphics.components.mesh.MeshComponent;
+import de.rafael.ravbite.engine.graphics.components.rendering.mesh.MeshRendererComponent;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.game.material.standard.DiffuseProperty;
+import de.rafael.ravbite.engine.graphics.objects.game.material.standard.Material;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.StoredMesh;
+import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StaticBatcherTest {
+
+    @Test
+    public void mergesStaticMeshesIntoChunks() {
+        Scene scene = new HeadlessScene();
+        Material stone = createMaterial(scene, Color.GRAY);
+        Material glass = createMaterial(scene, new Color(255, 255, 255, 100));
+
+        // 100 static quads in 4 chunks of 64 units
+        for (int i = 0; i < 100; i++) {
+            createObject(scene, stone, i * 2.5f, true);
+        }
+        GameObject moving = createObject(scene, stone, 0, false);
+        GameObject transparent = createObject(scene, glass, 0, true);
+        GameObject scaled = createObject(scene, stone, 1, true);
+        scaled.getTransform().scale(2, 2, 2);
+
+        StaticBatcher batcher = new StaticBatcher().chunkSize(64);
+        List<StaticBatch> batches = batcher.build(scene.getGameObjects());
+        assertEquals(4, batches.size());
+        assertEquals(101, batcher.getSourceObjects());
+        assertEquals(101 * 4, batcher.getVertexCount());
+        assertEquals(101 * 2, batcher.getTriangleCount());
+
+        for (StaticBatch batch : batches) {
+            assertFalse(batch.getSources().contains(moving));
+            assertFalse(batch.getSources().contains(transparent));
+            assertSame(stone, batch.getMaterial());
+
+            // The vertices are in world space and the indices point into the merged arrays
+            Mesh mesh = batch.getMesh();
+            float[] vertices = mesh.getVertices();
+            for (int s = 0; s < batch.getSources().size(); s++) {
+                GameObject source = batch.getSources().get(s);
+                float scale = source == scaled ? 2 : 1;
+                Vector3f position = source.getTransform().position;
+                assertEquals(position.x - scale, vertices[s * 12], 0.0001f);
+                assertEquals(position.y + scale, vertices[s * 12 + 7], 0.0001f);
+                assertEquals(s * 4 + 2, mesh.getIndices()[s * 6 + 2]);
+            }
+            assertTrue(mesh.getBounds().max.x - mesh.getBounds().min.x <= 64 + 4);
+        }
+
+        // Big groups are split
+        batcher.maxVertices(40).chunkSize(1000);
+        batches = batcher.build(scene.getGameObjects());
+        assertEquals(11, batches.size());
+        for (StaticBatch batch : batches) {
+            assertTrue(batch.getMesh().getVertices().length / 3 <= 40);
+        }
+    }
+
+    @Test
+    public void replacesTheRenderersOfMergedObjects() {
+        Scene scene = new HeadlessScene();
+        Material stone = createMaterial(scene, Color.GRAY);
+        Material glass = createMaterial(scene, new Color(255, 255, 255, 100));
+        for (int i = 0; i < 10; i++) {
+            createObject(scene, stone, i * 2.5f, true);
+        }
+        GameObject moving = createObject(scene, stone, 0, false);
+        GameObject transparent = createObject(scene, glass, 0, true);
+        int objects = scene.getObjectRegistry().size();
+
+        StaticBatcher batcher = new StaticBatcher().chunkSize(16);
+        List<StaticBatch> batches = batcher.build(scene.getGameObjects());
+        assertEquals(2, batches.size());
+        for (StaticBatch batch : batches) {
+            // Marks the merged meshes as stored, so the MeshComponents don't upload them
+            batch.getMesh().setStoredMesh(new StoredMesh(1, batch.getMesh().getIndices().length));
+        }
+        batcher.apply(scene);
+
+        // One GameObject per batch is added and the merged GameObjects stay in the scene
+        assertEquals(objects + batches.size(), scene.getObjectRegistry().size());
+        for (int i = 0; i < batches.size(); i++) {
+            StaticBatch batch = batches.get(i);
+            GameObject batchObject = scene.getObjectRegistry().get(objects + i);
+            assertEquals("StaticBatch-" + i, batchObject.getName());
+            assertTrue(batchObject.isStatic());
+            assertEquals(batch.getRenderLayer(), batchObject.getRenderLayer());
+            assertSame(scene.getSceneObject(), batchObject.getParentObject());
+            assertSame(batch.getMesh(), batchObject.getComponent(MeshComponent.class).getMesh());
+            assertEquals(batch.getTint(), batchObject.getComponent(MeshRendererComponent.class).getTint());
+            for (GameObject source : batch.getSources()) {
+                assertTrue(source.isInScene());
+                assertNull(source.getComponent(MeshRendererComponent.class));
+                assertNotNull(source.getComponent(MeshComponent.class));
+            }
+        }
+        assertNotNull(moving.getComponent(MeshRendererComponent.class));
+        assertNotNull(transparent.getComponent(MeshRendererComponent.class));
+    }
+
+    private Material createMaterial(Scene scene, Color color) {
+        Material material = new Material(scene.getEngineView());
+        material.diffuse(new DiffuseProperty(material, color).texture(1)).create();
+        return material;
+    }
+
+    private GameObject createObject(Scene scene, Material material, float x, boolean isStatic) {
+        return HeadlessObjects.createObject(scene, HeadlessObjects.quad(material, 1), x, 5, -20, isStatic);
+    }
+
+}
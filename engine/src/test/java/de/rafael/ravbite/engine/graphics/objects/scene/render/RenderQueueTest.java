@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.scene.render;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/19/2026 at 12:20 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessObjects;
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessShader;
+import de.rafael.ravbite.engine.graphics.components.camera.CameraComponent;
+import de.rafael.ravbite.engine.graphics.components.rendering.mesh.MeshRendererComponent;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.game.material.standard.DiffuseProperty;
+import de.rafael.ravbite.engine.graphics.objects.game.material.standard.Material;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.StoredMesh;
+import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RenderQueueTest {
+
+    @Test
+    public void opaqueSortsByStateThenFrontToBack() {
+        long near = RenderQueue.createKey(0, false, 1, 5, 3, 0.1f);
+        long far = RenderQueue.createKey(0, false, 1, 5, 3, 0.9f);
+        long otherShader = RenderQueue.createKey(0, false, 2, 0, 0, 0f);
+        long otherTexture = RenderQueue.createKey(0, false, 1, 6, 0, 0f);
+        assertTrue(near < far);
+        assertTrue(far < otherTexture);
+        assertTrue(otherTexture < otherShader);
+    }
+
+    @Test
+    public void rejectsMeshWithoutMaterialLoudly() {
+        Scene scene = new HeadlessScene();
+        GameObject gameObject = new GameObject(scene, "Object");
+        MeshRendererComponent renderer = new MeshRendererComponent();
+        gameObject.appendComponent(renderer);
+        RenderQueue renderQueue = scene.getRenderQueue();
+
+        renderQueue.submit(renderer, null, null);
+        assertEquals(0, renderQueue.size());
+        // Without a StandardShader there is no default material to draw the mesh with
+        assertNull(scene.getEngineView().getDefaultMaterial());
+        assertThrows(IllegalStateException.class, () -> renderQueue.submit(renderer, new StoredMesh(1, 6), null));
+    }
+
+    @Test
+    public void instancedSortsApartFromTheBaseShader() {
+        long base = RenderQueue.createKey(0, false, false, 1, 5, 3, 0.1f);
+        long otherBase = RenderQueue.createKey(0, false, false, 1, 6, 4, 0.1f);
+        long instanced = RenderQueue.createKey(0, false, true, 1, 5, 4, 0.1f);
+        // Every item of the base shader is drawn before the instanced variant is bound
+        assertTrue(base < otherBase);
+        assertTrue(otherBase < instanced);
+        assertTrue(RenderQueue.isInstanced(instanced));
+        assertFalse(RenderQueue.isInstanced(base));
+        assertFalse(RenderQueue.isInstanced(RenderQueue.createKey(0, true, true, 1, 5, 3, 0.1f)));
+        assertFalse(RenderQueue.isInstanced(RenderQueue.createKey(0, true, false, 1, 5, 3, 0f)));
+    }
+
+    @Test
+    public void onlyCountsBatchesWithSeveralItemsAsInstanced() {
+        Scene scene = new HeadlessScene();
+        EngineView engineView = scene.getEngineView();
+        int shaderId = engineView.addShader(HeadlessShader.instanced(engineView));
+        Material material = new Material(engineView).shader(shaderId);
+        material.diffuse(new DiffuseProperty(material, Color.WHITE).texture(1)).create();
+
+        Mesh shared = HeadlessObjects.quad(material, 0.5f);
+        shared.setStoredMesh(new StoredMesh(1, 6));
+        shared.calculateBounds();
+        Mesh single = HeadlessObjects.quad(material, 0.5f);
+        single.setStoredMesh(new StoredMesh(2, 6));
+        single.calculateBounds();
+        for (int i = 0; i < 3; i++) {
+            HeadlessObjects.createObject(scene, shared, i * 2, 0, -10, false);
+        }
+        HeadlessObjects.createObject(scene, single, -2, 0, -10, false);
+
+        GameObject cameraObject = new GameObject(scene, "Camera");
+        CameraComponent camera = new CameraComponent() {
+            @Override
+            public void initialize() {
+                updateProjectionMatrix();
+            }
+        };
+        cameraObject.appendComponent(camera);
+        scene.getSceneObject().appendChild(cameraObject);
+
+        RenderQueue renderQueue = scene.getRenderQueue();
+        scene.collectDrawItems(camera);
+        renderQueue.resetStatistics();
+        renderQueue.execute(engineView);
+        assertEquals(2, renderQueue.getDrawCalls());
+        assertEquals(1, renderQueue.getInstancedDrawCalls());
+        assertEquals(4, renderQueue.getInstances());
+    }
+
+    @Test
+    public void transparentSortsBackToFrontAfterOpaque() {
+        long opaque = RenderQueue.createKey(0, false, 255, 0xFFFF, 0xFFFF, 1f);
+        long far = RenderQueue.createKey(0, true, 0, 0, 0, 0.9f);
+        long near = RenderQueue.createKey(0, true, 0, 0, 0, 0.1f);
+        assertTrue(opaque < far);
+        assertTrue(far < near);
+    }
+
+    @Test
+    public void layerSortsFirst() {
+        long transparent = RenderQueue.createKey(0, true, 255, 0, 0, 0f);
+        long nextLayer = RenderQueue.createKey(1, false, 0, 0, 0, 0f);
+        assertTrue(transparent < nextLayer);
+        assertTrue(RenderQueue.createKey(RenderQueue.MAX_LAYER + 10, true, 255, 0xFFF, 0x7FF, 0f) > 0);
+    }
+
+}
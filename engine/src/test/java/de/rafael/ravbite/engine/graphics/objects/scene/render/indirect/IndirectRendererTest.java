@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.scene.render.indirect;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/20/2026 at 5:45 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessObjects;
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessShader;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.game.material.standard.DiffuseProperty;
+import de.rafael.ravbite.engine.graphics.objects.game.material.standard.Material;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndirectRendererTest {
+
+    @Test
+    public void fallsBackWithoutOpenGL43() {
+        Scene scene = new HeadlessScene();
+        assertFalse(IndirectRenderer.isSupported());
+        assertNull(scene.enableIndirectRendering());
+        assertNull(scene.getIndirectRenderer());
+    }
+
+    @Test
+    public void buildsArenasAndCommands() {
+        Scene scene = new HeadlessScene();
+        EngineView engineView = scene.getEngineView();
+        int shaderId = engineView.addShader(HeadlessShader.instanced(engineView));
+        Material stone = createMaterial(scene, shaderId);
+        Material wood = createMaterial(scene, shaderId);
+        Mesh stoneMesh = HeadlessObjects.quad(stone, 1);
+        Mesh woodMesh = HeadlessObjects.quad(wood, 1);
+
+        // 4 vertices per mesh, arenas with room for 3 meshes
+        for (int i = 0; i < 6; i++) {
+            HeadlessObjects.createObject(scene, i % 2 == 0 ? stoneMesh : HeadlessObjects.quad(stone, 1), i * 3, 0, -20, true);
+        }
+        for (int i = 0; i < 4; i++) {
+            HeadlessObjects.createObject(scene, woodMesh, i * 3, 0, -20, true);
+        }
+        GameObject moving = HeadlessObjects.createObject(scene, stoneMesh, 0, 0, -20, false);
+
+        IndirectRenderer renderer = new IndirectRenderer(12, 18);
+        assertEquals(10, renderer.build(scene.getGameObjects()));
+        assertFalse(renderer.getSources().contains(moving));
+
+        // The shared meshes are stored once per arena
+        int stored = 0;
+        for (MeshArena arena : renderer.getArenas()) {
+            assertTrue(arena.getVertexCount() <= 12);
+            stored += arena.getVertexCount() / 4;
+        }
+        assertEquals(3 + 1 + 1, stored);
+
+        int command = 0;
+        for (IndirectGroup group : renderer.getGroups()) {
+            assertEquals(command, group.getFirstCommand());
+            assertNotNull(group.getShader());
+            for (int i = 0; i < group.getCommandCount(); i++, command++) {
+                assertEquals(6, renderer.getCommand(command, 0));
+                assertEquals(1, renderer.getCommand(command, 1));
+                assertTrue(renderer.getCommand(command, 2) + 6 <= group.getArena().getIndexCount());
+                assertTrue(renderer.getCommand(command, 3) + 4 <= group.getArena().getVertexCount());
+                assertEquals(command, renderer.getCommand(command, 4));
+            }
+        }
+        assertEquals(10, command);
+        assertSame(stone, renderer.getGroups().get(0).getMaterial());
+        assertSame(wood, renderer.getGroups().get(renderer.getGroups().size() - 1).getMaterial());
+    }
+
+    private Material createMaterial(Scene scene, int shaderId) {
+        Material material = new Material(scene.getEngineView()).shader(shaderId);
+        material.diffuse(new DiffuseProperty(material, Color.GRAY).texture(1)).create();
+        return material;
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.scene.scheduler;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/26/2026 at 9:40 AM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.graphics.components.classes.Component;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpdateSchedulerTest {
+
+    private static final int PARENTS = 256;
+    private static final int CHILDREN = 3;
+    private static final int FRAMES = 50;
+
+    @Test
+    public void movesParentsAndChildrenInParallel() {
+        Scene scene = new HeadlessScene();
+        AtomicInteger errors = new AtomicInteger();
+        List<GameObject> children = new ArrayList<>();
+        for (int i = 0; i < PARENTS; i++) {
+            GameObject parent = new GameObject(scene, "Parent" + i);
+            parent.appendComponent(new MovingComponent(errors));
+            for (int j = 0; j < CHILDREN; j++) {
+                GameObject child = new GameObject(scene, "Child" + j);
+                child.appendComponent(new MovingComponent(errors));
+                parent.appendChild(child);
+                children.add(child);
+            }
+            scene.getSceneObject().appendChild(parent);
+        }
+        assertTrue(scene.getGameObjects().size() > UpdateScheduler.DEFAULT_CHUNK_SIZE);
+
+        scene.enableParallelUpdates(4);
+        try {
+            for (int frame = 0; frame < FRAMES; frame++) {
+                scene.update();
+            }
+        } finally {
+            scene.disableParallelUpdates();
+        }
+
+        // Every worker saw the matrices from the start of its frame
+        assertEquals(0, errors.get());
+        for (GameObject child : children) {
+            assertEquals(FRAMES * 2, child.getTransform().getWorldMatrix().m30(), 0.0001f);
+            assertFalse(child.getTransform().isDirty());
+        }
+    }
+
+    @Test
+    public void skipsRemovedObjects() {
+        Scene scene = new HeadlessScene();
+        UpdateScheduler updateScheduler = new UpdateScheduler(4, 4);
+        try {
+            // Serial and parallel path
+            for (int size : new int[] {4, 32}) {
+                GameObject[] objects = new GameObject[size];
+                AtomicInteger[] updates = new AtomicInteger[size];
+                for (int i = 0; i < size; i++) {
+                    updates[i] = new AtomicInteger();
+                    objects[i] = new GameObject(scene, "Object" + i);
+                    objects[i].appendComponent(new CountingComponent(updates[i]));
+                    scene.getSceneObject().appendChild(objects[i]);
+                }
+                // Removed after the scene took its snapshot
+                for (int i = 1; i < size; i += 2) {
+                    objects[i].destroy();
+                }
+
+                updateScheduler.update(objects, size);
+                for (int i = 0; i < size; i++) {
+                    assertEquals(i % 2 == 0 ? 1 : 0, updates[i].get());
+                }
+            }
+        } finally {
+            updateScheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void stopsWhenTheSceneIsDisposed() {
+        Scene scene = new HeadlessScene();
+        UpdateScheduler updateScheduler = scene.enableParallelUpdates(2);
+        assertFalse(updateScheduler.isShutdown());
+
+        scene.dispose();
+        assertNull(scene.getUpdateScheduler());
+        assertTrue(updateScheduler.isShutdown());
+    }
+
+    private static class CountingComponent extends Component {
+
+        private final AtomicInteger updates;
+
+        public CountingComponent(AtomicInteger updates) {
+            this.updates = updates;
+        }
+
+        @Override
+        public void update() {
+            updates.incrementAndGet();
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+
+    }
+
+    private static class MovingComponent extends Component {
+
+        private final AtomicInteger errors;
+        private int frame = 0;
+
+        public MovingComponent(AtomicInteger errors) {
+            this.errors = errors;
+        }
+
+        @Override
+        public void update() {
+            GameObject parentObject = getGameObject().getParentObject();
+            float expected = parentObject == getGameObject().getScene().getSceneObject() ? frame : frame * 2;
+            if(getGameObject().getTransform().getWorldMatrix().m30() != expected) errors.incrementAndGet();
+
+            getGameObject().getTransform().move(1, 0, 0);
+            frame++;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+
+    }
+
+}
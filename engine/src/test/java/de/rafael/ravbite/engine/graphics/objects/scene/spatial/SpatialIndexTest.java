@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.objects.scene.spatial;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/26/2026 at 1:15 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpatialIndexTest {
+
+    @Test
+    public void adaptivePolicyFollowsTheMovedLeaves() {
+        Scene scene = new HeadlessScene();
+        List<GameObject> objects = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            GameObject gameObject = new GameObject(scene, "Object");
+            gameObject.getTransform().position((i % 100) * 4, 0, (i / 100) * 4);
+            scene.getSceneObject().appendChild(gameObject);
+            objects.add(gameObject);
+        }
+        SpatialIndex index = scene.getSpatialIndex().maxRefits(2);
+        index.maintain();
+        assertEquals(1000, index.size());
+
+        // Moves inside the enlarged bounds don't change the tree
+        objects.get(0).getTransform().move(0.05f, 0, 0);
+        index.maintain();
+        assertNull(index.getLastUpdate());
+
+        move(objects, 5);
+        index.maintain();
+        assertEquals(SpatialIndex.UpdatePolicy.INCREMENTAL, index.getLastUpdate());
+
+        move(objects, 100);
+        index.maintain();
+        assertEquals(SpatialIndex.UpdatePolicy.REFIT, index.getLastUpdate());
+        move(objects, 100);
+        index.maintain();
+        assertEquals(SpatialIndex.UpdatePolicy.REFIT, index.getLastUpdate());
+        // Too many refits in a row
+        move(objects, 100);
+        index.maintain();
+        assertEquals(SpatialIndex.UpdatePolicy.REBUILD, index.getLastUpdate());
+        assertEquals(0, index.getRefits());
+
+        move(objects, 1000);
+        index.maintain();
+        assertEquals(SpatialIndex.UpdatePolicy.REBUILD, index.getLastUpdate());
+
+        // The tree stays correct with every update
+        for (GameObject object : objects) {
+            List<GameObject> results = new ArrayList<>();
+            index.querySphere(object.getTransform().getWorldTransform().position, 0.01f, results);
+            assertTrue(results.contains(object));
+        }
+
+        index.updatePolicy(SpatialIndex.UpdatePolicy.REFIT);
+        move(objects, 1);
+        index.maintain();
+        assertEquals(SpatialIndex.UpdatePolicy.REFIT, index.getLastUpdate());
+    }
+
+    private void move(List<GameObject> objects, int count) {
+        Vector3f offset = new Vector3f(1000, 0, 0);
+        for (int i = 0; i < count; i++) {
+            objects.get(i).getTransform().move(offset);
+        }
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.utils;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/25/2026 at 2:10 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.graphics.view.EngineView;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataWatcherTest {
+
+    @Test
+    public void countsObjectsAndBytesPerType() {
+        RecordingWatcher dataWatcher = new RecordingWatcher();
+        dataWatcher.glVao(DataWatcher.DataScope.SCENE, 1).owner("Test");
+        dataWatcher.glVbo(DataWatcher.DataScope.SCENE, 2).bytes(1024);
+        dataWatcher.glVbo(DataWatcher.DataScope.VIEW, 3).bytes(512);
+        dataWatcher.glTexture(DataWatcher.DataScope.CACHE, 4).bytes(4096);
+
+        assertEquals(1, dataWatcher.getLiveCount(DataWatcher.DataType.VAO));
+        assertEquals(2, dataWatcher.getLiveCount(DataWatcher.DataType.BUFFER));
+        assertEquals(1536, dataWatcher.getBytes(DataWatcher.DataType.BUFFER));
+        assertEquals(5632, dataWatcher.getTotalBytes());
+        assertEquals("Test", dataWatcher.getResource(DataWatcher.DataType.VAO, 1).getOwner());
+
+        // Resizing a buffer replaces its old size
+        dataWatcher.getResource(DataWatcher.DataType.BUFFER, 2).bytes(2048);
+        assertEquals(2560, dataWatcher.getBytes(DataWatcher.DataType.BUFFER));
+
+        assertTrue(dataWatcher.release(DataWatcher.DataType.BUFFER, 2));
+        assertFalse(dataWatcher.release(DataWatcher.DataType.BUFFER, 2));
+        assertEquals(List.of("BUFFER#2"), dataWatcher.deleted);
+        assertEquals(1, dataWatcher.getLiveCount(DataWatcher.DataType.BUFFER));
+        assertEquals(512, dataWatcher.getBytes(DataWatcher.DataType.BUFFER));
+    }
+
+    @Test
+    public void cleansUpOnlyTheScope() {
+        RecordingWatcher dataWatcher = new RecordingWatcher();
+        dataWatcher.glVao(DataWatcher.DataScope.SCENE, 1);
+        dataWatcher.track(DataWatcher.DataType.FRAMEBUFFER, DataWatcher.DataScope.SCENE, 2);
+        dataWatcher.glVbo(DataWatcher.DataScope.VIEW, 3);
+        int generation = dataWatcher.getGeneration(DataWatcher.DataScope.SCENE);
+
+        // Deleting through the wrong scope is ignored
+        dataWatcher.rbDeleteVbo(DataWatcher.DataScope.SCENE, 3);
+        assertTrue(dataWatcher.deleted.isEmpty());
+
+        assertEquals(2, dataWatcher.getResources(DataWatcher.DataScope.SCENE).size());
+        dataWatcher.rbCleanUp(DataWatcher.DataScope.SCENE);
+        assertEquals(2, dataWatcher.deleted.size());
+        assertTrue(dataWatcher.deleted.containsAll(List.of("VAO#1", "FRAMEBUFFER#2")));
+        assertTrue(dataWatcher.getResources(DataWatcher.DataScope.SCENE).isEmpty());
+        assertEquals(1, dataWatcher.getResources(DataWatcher.DataScope.VIEW).size());
+        assertEquals(generation + 1, dataWatcher.getGeneration(DataWatcher.DataScope.SCENE));
+        assertEquals(0, dataWatcher.getLiveCount(DataWatcher.DataType.VAO));
+    }
+
+    @Test
+    public void reportsBudgetAndCreationSite() {
+        RecordingWatcher dataWatcher = new RecordingWatcher();
+        dataWatcher.memoryBudget(1000);
+        dataWatcher.glTexture(DataWatcher.DataScope.SCENE, 1).bytes(800);
+        assertFalse(dataWatcher.isOverBudget());
+        dataWatcher.glTexture(DataWatcher.DataScope.SCENE, 2).bytes(800);
+        assertTrue(dataWatcher.isOverBudget());
+        assertTrue(dataWatcher.getReport().contains("texture"));
+
+        assertNull(dataWatcher.getResource(DataWatcher.DataType.TEXTURE, 1).getCreationSite());
+        boolean debugMode = EngineView.DEBUG_MODE;
+        EngineView.DEBUG_MODE = true;
+        try {
+            DataWatcher.TrackedResource resource = dataWatcher.glTexture(DataWatcher.DataScope.SCENE, 3);
+            assertNotNull(resource.getCreationSite());
+            assertTrue(resource.toString().contains(DataWatcherTest.class.getName()));
+        } finally {
+            EngineView.DEBUG_MODE = debugMode;
+        }
+    }
+
+    private static class RecordingWatcher extends DataWatcher {
+
+        private final List<String> deleted = new ArrayList<>();
+
+        @Override
+        protected void delete(DataType dataType, int id) {
+            deleted.add(dataType + "#" + id);
+        }
+
+    }
+
+}
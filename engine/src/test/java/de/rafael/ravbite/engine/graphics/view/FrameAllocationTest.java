@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.view;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/19/2026 at 3:10 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessObjects;
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessShader;
+import de.rafael.ravbite.engine.graphics.components.camera.CameraComponent;
+import de.rafael.ravbite.engine.graphics.components.camera.FrustumCuller;
+import de.rafael.ravbite.engine.graphics.components.classes.Component;
+import de.rafael.ravbite.engine.graphics.components.classes.RenderComponent;
+import de.rafael.ravbite.engine.graphics.components.light.LightComponent;
+import de.rafael.ravbite.engine.graphics.components.mesh.MeshComponent;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.game.material.standard.DiffuseProperty;
+import de.rafael.ravbite.engine.graphics.objects.game.material.standard.Material;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.Mesh;
+import de.rafael.ravbite.engine.graphics.objects.game.mesh.StoredMesh;
+import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
+import de.rafael.ravbite.engine.graphics.objects.scene.query.ComponentQuery;
+import de.rafael.ravbite.engine.graphics.objects.scene.render.RenderQueue;
+import org.joml.Matrix4f;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class FrameAllocationTest {
+
+    private static final int OBJECTS = 500;
+    private static final int WARMUP_FRAMES = 5_000;
+    private static final int MEASURED_FRAMES = 1_000;
+    private static final int MEASURED_ROUNDS = 3;
+
+    @Test
+    public void steadyStateFrameDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        Scene scene = new HeadlessScene();
+        EngineView engineView = scene.getEngineView();
+        engineView.addScene(scene);
+        CameraComponent camera = createReferenceScene(scene);
+        ComponentQuery<LightComponent> lightQuery = scene.query(LightComponent.class);
+        LightComponent[] lights = new LightComponent[15];
+        Matrix4f scratch = new Matrix4f();
+
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frame(scene, camera, lightQuery, lights, scratch);
+        }
+        RenderQueue renderQueue = scene.getRenderQueue();
+        assertTrue(renderQueue.size() == 0 && camera.getVisibleCount() > 0);
+        // The visible objects share mesh and material, so they are drawn instanced
+        assertTrue(renderQueue.getInstancedDrawCalls() > 0);
+        assertEquals(camera.getVisibleCount(), renderQueue.getInstances());
+
+        // A round can catch a one-off allocation of the runtime, e.g. while a method is recompiled. A real per-frame allocation shows up in every round
+        long allocated = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long before = threadBean.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED_FRAMES; i++) {
+                frame(scene, camera, lightQuery, lights, scratch);
+            }
+            allocated = threadBean.getCurrentThreadAllocatedBytes() - before;
+            if(allocated == 0) break;
+        }
+        assertEquals(0, allocated, "Bytes allocated in " + MEASURED_FRAMES + " frames");
+        assertTrue(engineView.getFrameCount() > MEASURED_FRAMES);
+    }
+
+    @Test
+    public void parallelCullDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        Scene scene = new HeadlessScene();
+        CameraComponent camera = createReferenceScene(scene);
+        ComponentQuery<RenderComponent> renderers = scene.query(RenderComponent.class);
+        Mesh mesh = renderers.get(0).getComponent(MeshComponent.class).getMesh();
+        for (int i = 0; i < FrustumCuller.PARALLEL_THRESHOLD * 2; i++) {
+            HeadlessObjects.createObject(scene, mesh, (i % 64) * 3 - 96, (i / 64) * 3 - 96, -50, false);
+        }
+        FrustumCuller frustumCuller = camera.getFrustumCuller();
+        camera.updateFrustum();
+
+        // The parallel cull finds the same GameObjects as the serial one
+        frustumCuller.parallel = false;
+        int visibleCount = frustumCuller.cull(renderers);
+        GameObject[] serialObjects = Arrays.copyOf(frustumCuller.getVisibleObjects(), visibleCount);
+        frustumCuller.parallel = true;
+        assertEquals(visibleCount, frustumCuller.cull(renderers));
+        assertArrayEquals(serialObjects, Arrays.copyOf(frustumCuller.getVisibleObjects(), visibleCount));
+        assertTrue(visibleCount > 0 && frustumCuller.getCulledCount() > 0);
+
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frustumCuller.cull(renderers);
+        }
+        // The chunks run on the workers of the common pool, so their allocations are counted too
+        long[] threadIds = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread == Thread.currentThread() || thread.getName().startsWith("ForkJoinPool.commonPool"))
+                .mapToLong(Thread::getId)
+                .toArray();
+        // The calling thread is not a worker of the pool. The JDK allocates a small wait node whenever it has to block in invoke(), so a few bytes are allowed
+        // A real per-frame allocation is at least 16 bytes per cull
+        long allocated = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long before = sum(threadBean.getThreadAllocatedBytes(threadIds));
+            for (int i = 0; i < MEASURED_FRAMES; i++) {
+                frustumCuller.cull(renderers);
+            }
+            allocated = sum(threadBean.getThreadAllocatedBytes(threadIds)) - before;
+            if(allocated < MEASURED_FRAMES) break;
+        }
+        assertTrue(allocated < MEASURED_FRAMES, allocated + " bytes allocated in " + MEASURED_FRAMES + " parallel culls");
+    }
+
+    private static long sum(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            // -1 if the thread died
+            if(value > 0) sum += value;
+        }
+        return sum;
+    }
+
+    /**
+     * Everything of EngineView.renderFrame except the GL calls. The HeadlessRenderQueue of the scene runs execute without them
+     * Mouse.update needs a GLFW window, so the input update is not part of the frame
+     */
+    private static void frame(Scene scene, CameraComponent camera, ComponentQuery<LightComponent> lightQuery, LightComponent[] lights, Matrix4f scratch) {
+        EngineView engineView = scene.getEngineView();
+        engineView.startFrame();
+        engineView.fixedUpdate();
+
+        scene.getSpatialIndex().maintain();
+        scene.collectDrawItems(camera);
+        scene.getLightClusters().pack(lightQuery);
+        scene.getLightClusters().assign(camera);
+        scene.getLights(camera.getGameObject().getTransform().position, lights);
+        camera.getGameObject().getTransform().viewMatrix(scratch);
+        RenderQueue renderQueue = scene.getRenderQueue();
+        renderQueue.resetStatistics();
+        renderQueue.execute(engineView);
+
+        engineView.update();
+        engineView.endFrame();
+    }
+
+    private static CameraComponent createReferenceScene(Scene scene) {
+        EngineView engineView = scene.getEngineView();
+        int shaderId = engineView.addShader(HeadlessShader.instanced(engineView));
+        Material material = new Material(engineView).shader(shaderId);
+        material.diffuse(new DiffuseProperty(material, Color.RED).texture(1)).create();
+
+        Mesh mesh = HeadlessObjects.quad(material, 1);
+        mesh.setStoredMesh(new StoredMesh(1, 6));
+        mesh.calculateBounds();
+
+        for (int i = 0; i < OBJECTS; i++) {
+            HeadlessObjects.createObject(scene, mesh, (i % 25) * 3 - 36, (i / 25) * 3 - 30, -50, false, new Spinner());
+        }
+
+        GameObject light = new GameObject(scene, "Light");
+        light.getTransform().position(0, 10, 0);
+        light.appendComponent(new LightComponent(Color.WHITE));
+        scene.getSceneObject().appendChild(light);
+
+        GameObject cameraObject = new GameObject(scene, "Camera");
+        CameraComponent camera = new CameraComponent() {
+            @Override
+            public void initialize() {
+                updateProjectionMatrix();
+            }
+        };
+        cameraObject.appendComponent(camera);
+        scene.getSceneObject().appendChild(cameraObject);
+        return camera;
+    }
+
+    private static class Spinner extends Component {
+
+        @Override
+        public void update() {
+            getGameObject().getTransform().rotate(0, 1, 0);
+        }
+
+        @Override
+        public void fixedUpdate() {
+            getGameObject().getTransform().move(0, 0, 0.001f);
+        }
+
+    }
+
+}
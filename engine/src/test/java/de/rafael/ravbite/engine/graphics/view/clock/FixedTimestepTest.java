@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.graphics.view.clock;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/18/2026 at 8:45 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FixedTimestepTest {
+
+    private static final long FRAME_144 = 1_000_000_000L / 144;
+
+    @Test
+    public void runsFixedRateIndependentOfFrameRate() {
+        FixedTimestep timestep = new FixedTimestep(60, 5);
+        int steps = 0;
+        for (int frame = 0; frame < 144; frame++) {
+            steps += timestep.advance(FRAME_144);
+            float alpha = timestep.getAlpha();
+            assertTrue(alpha >= 0 && alpha < 1, "Alpha out of range: " + alpha);
+        }
+        assertEquals(60, steps, 1);
+    }
+
+    @Test
+    public void clampsLongFrames() {
+        FixedTimestep timestep = new FixedTimestep(60, 5);
+        assertEquals(5, timestep.advance(1_000_000_000L));
+        assertTrue(timestep.getAlpha() < 1);
+        assertTrue(timestep.getDroppedNanos() > 0);
+        assertEquals(1, timestep.advance(timestep.getStepNanos()));
+    }
+
+}
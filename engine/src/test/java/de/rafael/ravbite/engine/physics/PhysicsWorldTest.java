@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2022. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     * Redistributions of source code must retain the above copyright notice,
+ *         this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the developer nor the names of its contributors
+ *         may be used to endorse or promote products derived from this software
+ *         without specific prior written permission.
+ *     * Redistributions in source or binary form must keep the original package
+ *         and class name.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.rafael.ravbite.engine.physics;
+
+//------------------------------
+//
+// This class was developed by Rafael K.
+// On 10/26/2026 at 3:55 PM
+// In the project Ravbite
+//
+//------------------------------
+
+import de.rafael.ravbite.engine.benchmark.utils.HeadlessScene;
+import de.rafael.ravbite.engine.graphics.objects.game.GameObject;
+import de.rafael.ravbite.engine.graphics.objects.scene.Scene;
+import de.rafael.ravbite.engine.physics.components.RigidbodyComponent;
+import de.rafael.ravbite.engine.physics.components.collider.SphereColliderComponent;
+import de.rafael.ravbite.utils.performance.EngineWatcher;
+import de.rafael.ravbite.utils.performance.TasksType;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PhysicsWorldTest {
+
+    private static final float FIXED_DELTA_TIME = 1 / 50f;
+
+    @Test
+    public void stepsWithTheFixedDeltaTime() {
+        Scene scene = new HeadlessScene();
+        GameObject ball = createBall(scene, scene.getSceneObject(), 0, 100, 0);
+        PhysicsWorld physicsWorld = new PhysicsWorld(new EngineWatcher());
+        physicsWorld.objectAdded(ball);
+        try {
+            int steps = 25;
+            for (int i = 0; i < steps; i++) {
+                physicsWorld.fixedUpdate(FIXED_DELTA_TIME);
+            }
+            physicsWorld.finishStep();
+
+            // Every step adds gravity * fixedDeltaTime to the velocity of the falling ball
+            Vector3f velocity = ball.getTransform().velocity;
+            assertEquals(-9.81f * FIXED_DELTA_TIME * steps, velocity.y, 0.001f);
+            assertEquals(0, velocity.x, 0.0001f);
+            assertEquals(0, velocity.z, 0.0001f);
+            // The position moves by the new velocity every step
+            assertEquals(100 - 9.81f * FIXED_DELTA_TIME * FIXED_DELTA_TIME * steps * (steps + 1) / 2f, ball.getTransform().position.y, 0.001f);
+            assertEquals(1, physicsWorld.getRigidbodyCount());
+        } finally {
+            physicsWorld.dispose();
+        }
+    }
+
+    @Test
+    public void handsTheResultOverOnTheCallingThread() {
+        Scene scene = new HeadlessScene();
+        GameObject ball = createBall(scene, scene.getSceneObject(), 0, 100, 0);
+        Thread thread = Thread.currentThread();
+        Set<Thread> watcherThreads = Collections.newSetFromMap(new IdentityHashMap<>());
+        EngineWatcher engineWatcher = new EngineWatcher() {
+            @Override
+            public void update(TasksType type, Runnable runnable) {
+                watcherThreads.add(Thread.currentThread());
+                super.update(type, runnable);
+            }
+
+            @Override
+            public void record(TasksType type, long nanos) {
+                watcherThreads.add(Thread.currentThread());
+                super.record(type, nanos);
+            }
+        };
+        PhysicsWorld physicsWorld = new PhysicsWorld(engineWatcher);
+        physicsWorld.objectAdded(ball);
+        try {
+            // The step runs in the background and its result is only written when the step is finished
+            physicsWorld.fixedUpdate(FIXED_DELTA_TIME);
+            assertEquals(100, ball.getTransform().position.y);
+            assertEquals(0, ball.getTransform().velocity.y);
+            physicsWorld.finishStep();
+            assertTrue(ball.getTransform().position.y < 100);
+            assertTrue(ball.getTransform().velocity.y < 0);
+
+            physicsWorld.fixedUpdate(FIXED_DELTA_TIME);
+            float position = ball.getTransform().position.y;
+            physicsWorld.fixedUpdate(FIXED_DELTA_TIME);
+            assertTrue(ball.getTransform().position.y < position);
+            physicsWorld.finishStep();
+
+            assertEquals(Set.of(thread), watcherThreads);
+            assertTrue(engineWatcher.getTask(TasksType.PHYSICS_STEP).getTimeTook() > 0);
+        } finally {
+            physicsWorld.dispose();
+        }
+    }
+
+    @Test
+    public void writesWorldResultsIntoChildTransforms() {
+        Scene scene = new HeadlessScene();
+        GameObject parent = new GameObject(scene, "Parent");
+        parent.getTransform().position(10, 0, 0);
+        parent.getTransform().rotation.rotateY((float) Math.toRadians(90));
+        parent.getTransform().scale(2, 2, 2);
+        scene.getSceneObject().appendChild(parent);
+        GameObject ball = createBall(scene, parent, 0, 50, 0);
+
+        PhysicsWorld physicsWorld = new PhysicsWorld(new EngineWatcher());
+        physicsWorld.objectAdded(parent);
+        physicsWorld.objectAdded(ball);
+        try {
+            for (int i = 0; i < 10; i++) {
+                physicsWorld.fixedUpdate(FIXED_DELTA_TIME);
+            }
+            physicsWorld.finishStep();
+
+            // The ball falls straight down in world space, so only its world height changes
+            com.bulletphysics.linearmath.Transform bodyTransform = new com.bulletphysics.linearmath.Transform();
+            ball.getComponent(RigidbodyComponent.class).getBody().getWorldTransform(bodyTransform);
+            Vector3f worldPosition = ball.getTransform().getWorldMatrix().getTranslation(new Vector3f());
+            assertEquals(bodyTransform.origin.x, worldPosition.x, 0.001f);
+            assertEquals(bodyTransform.origin.y, worldPosition.y, 0.001f);
+            assertEquals(bodyTransform.origin.z, worldPosition.z, 0.001f);
+            assertEquals(10, worldPosition.x, 0.001f);
+            assertEquals(0, worldPosition.z, 0.001f);
+            assertTrue(worldPosition.y < 100);
+            assertSame(parent, ball.getParentObject());
+        } finally {
+            physicsWorld.dispose();
+        }
+    }
+
+    @Test
+    public void interpolatesBetweenTheLastTwoSteps() {
+        Scene scene = new HeadlessScene();
+        GameObject ball = createBall(scene, scene.getSceneObject(), 0, 100, 0);
+        ball.getTransform().setInterpolate(true);
+        scene.enablePhysics();
+        try {
+            // The first fixed update only starts the step, the second one writes its result
+            scene.fixedUpdate();
+            scene.fixedUpdate();
+            float first = ball.getTransform().position.y;
+            assertTrue(first < 100);
+            assertEquals((100 + first) / 2f, renderedHeight(ball, 0.5f), 0.0001f);
+
+            scene.fixedUpdate();
+            float second = ball.getTransform().position.y;
+            assertTrue(second < first);
+            assertEquals(first, renderedHeight(ball, 0), 0.0001f);
+            assertEquals(second, renderedHeight(ball, 1), 0.0001f);
+            float rendered = renderedHeight(ball, 0.5f);
+            assertEquals((first + second) / 2f, rendered, 0.0001f);
+            assertTrue(rendered < first && rendered > second);
+        } finally {
+            scene.disablePhysics();
+        }
+    }
+
+    @Test
+    public void stopsWhenTheSceneIsDisposed() {
+        Scene scene = new HeadlessScene();
+        GameObject ball = createBall(scene, scene.getSceneObject(), 0, 100, 0);
+        PhysicsWorld physicsWorld = scene.enablePhysics();
+        scene.fixedUpdate();
+        scene.fixedUpdate();
+        assertEquals(1, physicsWorld.getBodyCount());
+
+        scene.dispose();
+        assertNull(scene.getPhysicsWorld());
+        assertEquals(0, physicsWorld.getBodyCount());
+        assertNull(ball.getComponent(RigidbodyComponent.class).getBody());
+
+        // A prepared scene gets a new simulation
+        PhysicsWorld preparedWorld = scene.enablePhysics();
+        assertNotSame(physicsWorld, preparedWorld);
+        scene.disablePhysics();
+    }
+
+    private static float renderedHeight(GameObject gameObject, float alpha) {
+        return gameObject.getTransform().getRenderMatrix(alpha).getTranslation(new Vector3f()).y;
+    }
+
+    private static GameObject createBall(Scene scene, GameObject parent, float x, float y, float z) {
+        GameObject ball = new GameObject(scene, "Ball");
+        ball.getTransform().position(x, y, z);
+        ball.appendComponents(new SphereColliderComponent(0.5f), new RigidbodyComponent(1));
+        parent.appendChild(ball);
+        return ball;
+    }
+
+}
@@ -41,6 +41,8 @@ import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.*;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 public class AssetLocation {
 
@@ -158,6 +160,32 @@ public class AssetLocation {
         return location;
     }
 
+    /**
+     * Two locations with the same key point to the same file
+     * Internal paths are normalized and external paths are resolved to their canonical file path
+     * @return Key of the asset
+     */
+    public String getCanonicalKey() {
+        if(location == INTERNAL) {
+            Deque<String> parts = new ArrayDeque<>();
+            for (String part : path.split("/")) {
+                if(part.isEmpty() || part.equals(".")) continue;
+                if(part.equals("..")) {
+                    parts.pollLast();
+                } else {
+                    parts.addLast(part);
+                }
+            }
+            return "INTERNAL#/" + String.join("/", parts);
+        }
+        File file = new File(path);
+        try {
+            return "EXTERNAL#" + file.getCanonicalPath();
+        } catch (IOException exception) {
+            return "EXTERNAL#" + file.getAbsolutePath();
+        }
+    }
+
     @Override
     public String toString() {
         return (location == INTERNAL ? "INTERNAL" : "EXTERNAL") + "#" + path;
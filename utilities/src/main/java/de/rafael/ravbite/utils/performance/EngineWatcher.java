@@ -44,10 +44,15 @@ import java.util.List;
 public class EngineWatcher {
 
     private final List<ExecutedTask> tasks = new ArrayList<>();
+    private final ExecutedTask[] tasksByType;
 
     public EngineWatcher() {
-        for (TasksType value : TasksType.values()) {
-            tasks.add(new ExecutedTask(value));
+        TasksType[] types = TasksType.values();
+        tasksByType = new ExecutedTask[types.length];
+        for (TasksType value : types) {
+            ExecutedTask task = new ExecutedTask(value);
+            tasks.add(task);
+            tasksByType[value.ordinal()] = task;
         }
     }
 
@@ -56,28 +61,39 @@ public class EngineWatcher {
      * @param type Type of the task
      * @param runnable Task
      */
-    // TODO: Optimize
     public void update(TasksType type, Runnable runnable) {
         long start = System.nanoTime();
         runnable.run();
-        long took = System.nanoTime() - start;
-        for (ExecutedTask task : tasks) {
-            if(task.getTasks() == type) {
-                task.setTimeTook(took / 1000000d);
-                break;
-            }
-        }
+        record(type, System.nanoTime() - start);
+    }
+
+    /**
+     * Logs a task that was timed somewhere else, e.g. on another thread
+     * Has to be called on the thread that reads the tasks
+     * @param type Type of the task
+     * @param nanos Time the task took in nanoseconds
+     */
+    public void record(TasksType type, long nanos) {
+        tasksByType[type.ordinal()].setTimeTook(nanos / 1000000d);
     }
 
     /**
      * Clears the max value
      */
     public void clearMax() {
-        for (ExecutedTask task : tasks) {
+        for (ExecutedTask task : tasksByType) {
             task.setMaxTime(0);
         }
     }
 
+    /**
+     * @param type Type of the task
+     * @return Task of the type
+     */
+    public ExecutedTask getTask(TasksType type) {
+        return tasksByType[type.ordinal()];
+    }
+
     /**
      * @return All tasks
      */
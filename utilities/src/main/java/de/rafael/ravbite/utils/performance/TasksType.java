@@ -46,7 +46,10 @@ public enum TasksType {
     LOOP_SWAP_BUFFERS(3),
     LOOP_POLL_EVENTS(4),
     LOOP_STACK_TASKS(5),
-    LOOP_DEBUG_WINDOWS(6);
+    LOOP_DEBUG_WINDOWS(6),
+    LOOP_FIXED_UPDATE(7),
+    PHYSICS_STEP(8),
+    LOOP_ASSET_UPLOADS(9);
 
     private final int id;
 